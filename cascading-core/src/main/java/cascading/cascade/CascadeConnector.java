@@ -21,12 +21,23 @@
 package cascading.cascade;
 
 import java.beans.ConstructorProperties;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import cascading.cascade.planner.FlowGraph;
 import cascading.cascade.planner.IdentifierGraph;
+import cascading.cascade.planner.TapGraph;
+import cascading.flow.BaseFlow;
 import cascading.flow.Flow;
+import cascading.flow.FlowStep;
+import cascading.flow.Flows;
+import cascading.property.PropertyUtil;
+import cascading.tap.CompositeTap;
 import cascading.tap.Tap;
 import cascading.util.Util;
 import org.slf4j.Logger;
@@ -52,6 +63,9 @@ import static cascading.cascade.CascadeDef.cascadeDef;
  * <p/>
  * Use the {@link CascadeProps} fluent helper class to create global properties to pass to the CascadeConnector
  * constructor.
+ * <p/>
+ * If {@link CascadeProps#setShareScans(java.util.Map, boolean)} is enabled, Flows reading the same source Tap may be
+ * merged into a single Flow so the source is only read once.
  *
  * @see CascadeDef
  * @see CascadeProps
@@ -136,12 +150,139 @@ public class CascadeConnector
 
   public Cascade connect( CascadeDef cascadeDef )
     {
-    IdentifierGraph identifierGraph = new IdentifierGraph( cascadeDef.getFlowsArray() );
+    Flow[] flows = cascadeDef.getFlowsArray();
+
+    if( Boolean.parseBoolean( PropertyUtil.getProperty( properties, CascadeProps.SHARE_SCANS, "false" ) ) )
+      flows = shareScans( flows );
+
+    IdentifierGraph identifierGraph = new IdentifierGraph( flows );
     FlowGraph flowGraph = new FlowGraph( identifierGraph );
 
     return new Cascade( cascadeDef, properties, flowGraph, identifierGraph );
     }
 
+  /**
+   * Replaces every set of Flows reading the same single source Tap with one merged Flow, if the merged Flow
+   * is planned with fewer steps than the Flows it replaces.
+   * <p/>
+   * Flows sharing only a source are always independent of each other, a dependency would require a cycle
+   * through the source.
+   *
+   * @param flows of type Flow[]
+   * @return Flow[]
+   */
+  private Flow[] shareScans( Flow[] flows )
+    {
+    TapGraph tapGraph = new TapGraph( flows );
+    List<Flow> results = new ArrayList<Flow>();
+    Set<Flow> visited = new HashSet<Flow>();
+    Set<Flow> merged = new HashSet<Flow>();
+
+    for( Flow flow : flows )
+      {
+      if( !visited.contains( flow ) )
+        {
+        List<Flow> sharing = findFlowsSharingScan( tapGraph, flows, flow, visited );
+
+        // plan each group once, members of a rejected group are not retried
+        visited.add( flow );
+        visited.addAll( sharing );
+
+        Flow mergedFlow = mergeFlows( sharing, merged );
+
+        if( mergedFlow != null )
+          results.add( mergedFlow );
+        }
+
+      if( !merged.contains( flow ) ) // flow may have been left out, see mergeFlows
+        results.add( flow );
+      }
+
+    return results.toArray( new Flow[ results.size() ] );
+    }
+
+  /** Returns the given flow and any shareable flows reading its source not yet visited, in the given order */
+  private List<Flow> findFlowsSharingScan( TapGraph tapGraph, Flow[] flows, Flow flow, Set<Flow> visited )
+    {
+    List<Flow> sharing = new ArrayList<Flow>();
+
+    if( !isScanShareable( flow ) )
+      return sharing;
+
+    Tap source = (Tap) flow.getSourcesCollection().iterator().next();
+    Set<Flow> readers = new HashSet<Flow>();
+
+    for( BaseFlow.FlowHolder holder : tapGraph.outgoingEdgesOf( source ) )
+      readers.add( holder.flow );
+
+    for( Flow current : flows )
+      {
+      if( current == flow || readers.contains( current ) && !visited.contains( current ) && isScanShareable( current ) )
+        sharing.add( current );
+      }
+
+    return sharing;
+    }
+
+  /**
+   * Returns a Flow merging the given flows, first trying all of them, then only those without a group
+   * as a group may require its own step. Returns null if neither can be merged. The merged flows are added to merged.
+   */
+  private Flow mergeFlows( List<Flow> flows, Set<Flow> merged )
+    {
+    Flow mergedFlow = mergeAll( flows, merged );
+
+    if( mergedFlow != null )
+      return mergedFlow;
+
+    List<Flow> ungrouped = new ArrayList<Flow>();
+
+    for( Flow flow : flows )
+      {
+      if( ( (FlowStep) flow.getFlowSteps().get( 0 ) ).getGroup() == null )
+        ungrouped.add( flow );
+      }
+
+    if( ungrouped.size() == flows.size() )
+      return null;
+
+    return mergeAll( ungrouped, merged );
+    }
+
+  private Flow mergeAll( List<Flow> flows, Set<Flow> merged )
+    {
+    if( flows.size() < 2 )
+      return null;
+
+    String[] names = new String[ flows.size() ];
+
+    for( int i = 0; i < names.length; i++ )
+      names[ i ] = flows.get( i ).getName();
+
+    String name = Util.join( names, "+" );
+    Flow mergedFlow = Flows.merge( name, flows );
+
+    // every given flow is a single step, so no scan is shared unless the merged flow has fewer steps
+    if( mergedFlow == null || mergedFlow.getFlowSteps().size() >= flows.size() )
+      return null;
+
+    LOG.info( "sharing source scan of flows: {}, in flow: {}", Arrays.toString( names ), name );
+
+    merged.addAll( flows );
+
+    return mergedFlow;
+    }
+
+  private boolean isScanShareable( Flow flow )
+    {
+    Set<Tap> sources = new HashSet<Tap>( flow.getSourcesCollection() );
+
+    if( sources.size() != 1 || sources.iterator().next() instanceof CompositeTap )
+      return false;
+
+    return flow.getCheckpointsCollection().isEmpty() && flow.getFlowSteps().size() == 1;
+    }
+
   private String makeName( Flow[] flows )
     {
     String[] names = new String[ flows.length ];
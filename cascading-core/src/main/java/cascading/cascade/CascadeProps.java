@@ -32,8 +32,10 @@ import cascading.property.Props;
 public class CascadeProps extends Props
   {
   public static final String MAX_CONCURRENT_FLOWS = "cascading.cascade.maxconcurrentflows";
+  public static final String SHARE_SCANS = "cascading.cascade.sharescans";
 
   int maxConcurrentFlows = 0;
+  boolean shareScans = false;
 
   /**
    * Method setMaxConcurrentFlows sets the maximum number of Flows that a Cascade can run concurrently.
@@ -51,6 +53,24 @@ public class CascadeProps extends Props
     properties.put( MAX_CONCURRENT_FLOWS, Integer.toString( numConcurrentFlows ) );
     }
 
+  /**
+   * Method setShareScans enables scan sharing. When enabled, a {@link CascadeConnector} will merge the Flows that read
+   * the same single source {@link cascading.tap.Tap} into one Flow, if that Flow can be planned with fewer steps,
+   * so the source is read fewer times. On MapReduce, the sinks written on the map side are written by one job.
+   * <p/>
+   * Merged Flows are replaced in the resulting Cascade by the new Flow. Only Flows planned by equivalent
+   * {@link cascading.flow.FlowConnector}s are merged, see {@link cascading.flow.Flows#merge(String, java.util.Collection)}.
+   * <p/>
+   * Scan sharing is disabled by default.
+   *
+   * @param properties of type Map<Object, Object>
+   * @param shareScans of type boolean
+   */
+  public static void setShareScans( Map<Object, Object> properties, boolean shareScans )
+    {
+    properties.put( SHARE_SCANS, Boolean.toString( shareScans ) );
+    }
+
   public static CascadeProps cascadeProps()
     {
     return new CascadeProps();
@@ -72,9 +92,22 @@ public class CascadeProps extends Props
     return this;
     }
 
+  public boolean isShareScans()
+    {
+    return shareScans;
+    }
+
+  public CascadeProps setShareScans( boolean shareScans )
+    {
+    this.shareScans = shareScans;
+
+    return this;
+    }
+
   @Override
   protected void addPropertiesTo( Properties properties )
     {
     setMaxConcurrentFlows( properties, maxConcurrentFlows );
+    setShareScans( properties, shareScans );
     }
   }
@@ -120,6 +120,11 @@ public abstract class BaseFlow<Config> implements Flow<Config>
   /** Field pipeGraph */
   private ElementGraph pipeGraph; // only used for documentation purposes
 
+  /** Field flowDef, the definition this Flow was planned from, released when started */
+  private transient FlowDef flowDef;
+  /** Field flowConnector, the FlowConnector that planned this Flow, released when started */
+  private transient FlowConnector flowConnector;
+
   private transient CascadingServices cascadingServices;
 
   private FlowStepStrategy<Config> flowStepStrategy = null;
@@ -167,6 +172,7 @@ public abstract class BaseFlow<Config> implements Flow<Config>
     this.name = flowDef.getName();
     this.tags = flowDef.getTags();
     this.runID = flowDef.getRunID();
+    this.flowDef = flowDef;
 
     addSessionProperties( properties );
     initConfig( properties, defaultConfig );
@@ -395,6 +401,21 @@ public abstract class BaseFlow<Config> implements Flow<Config>
     return pipeGraph;
     }
 
+  FlowDef getFlowDef()
+    {
+    return flowDef;
+    }
+
+  FlowConnector getFlowConnector()
+    {
+    return flowConnector;
+    }
+
+  void setFlowConnector( FlowConnector flowConnector )
+    {
+    this.flowConnector = flowConnector;
+    }
+
   FlowStepGraph getFlowStepGraph()
     {
     return flowStepGraph;
@@ -737,6 +758,10 @@ public abstract class BaseFlow<Config> implements Flow<Config>
 
     registerShutdownHook();
 
+    // only retained so the flow may be re-planned before it runs, see Flows#merge
+    flowDef = null;
+    flowConnector = null;
+
     internalStart();
 
     String threadName = ( "flow " + Util.toNull( getName() ) ).trim();
@@ -446,12 +446,23 @@ public abstract class FlowConnector
     }
 
   public Flow connect( FlowDef flowDef )
+    {
+    return connect( flowDef, properties );
+    }
+
+  /** Plans the given FlowDef with the given properties in place of the properties of this FlowConnector. */
+  Flow connect( FlowDef flowDef, Map<Object, Object> properties )
     {
     FlowPlanner flowPlanner = createFlowPlanner();
 
     flowPlanner.initialize( this, properties );
 
-    return flowPlanner.buildFlow( flowDef );
+    Flow flow = flowPlanner.buildFlow( flowDef );
+
+    if( flow instanceof BaseFlow )
+      ( (BaseFlow) flow ).setFlowConnector( this ); // allows the flow to be re-planned with others, see Flows#merge
+
+    return flow;
     }
 
   protected abstract FlowPlanner createFlowPlanner();
@@ -41,10 +41,14 @@ public class FlowConnectorProps extends Props
   public static final String ASSERTION_LEVEL = "cascading.flowconnector.assertionlevel";
   public static final String DEBUG_LEVEL = "cascading.flowconnector.debuglevel";
   public static final String INTERMEDIATE_SCHEME_CLASS = "cascading.flowconnector.intermediateschemeclass";
+  public static final String ELIMINATE_COMMON_SUBASSEMBLIES = "cascading.flowconnector.eliminatecommonsubassemblies";
+  public static final String SHARE_SOURCE_SCANS = "cascading.flowconnector.sharesourcescans";
 
   AssertionLevel assertionLevel;
   DebugLevel debugLevel;
   String intermediateSchemeClassName;
+  boolean eliminateCommonSubAssemblies = false;
+  boolean shareSourceScans = false;
 
   /**
    * Method setAssertionLevel sets the target planner {@link cascading.operation.AssertionLevel}.
@@ -92,6 +96,37 @@ public class FlowConnectorProps extends Props
     properties.put( INTERMEDIATE_SCHEME_CLASS, intermediateSchemeClass );
     }
 
+  /**
+   * Method setEliminateCommonSubAssemblies sets whether the planner should collapse branches applying equivalent
+   * {@link cascading.pipe.Each} or {@link cascading.pipe.Every} operations to the same upstream pipe into a single
+   * branch, so the operation is only applied once.
+   * <p/>
+   * Only operations that are {@link cascading.operation.Operation#isSafe()} and that define their own equality
+   * are ever collapsed. This is off by default.
+   *
+   * @param properties                   of type Map<Object, Object>
+   * @param eliminateCommonSubAssemblies of type boolean
+   */
+  public static void setEliminateCommonSubAssemblies( Map<Object, Object> properties, boolean eliminateCommonSubAssemblies )
+    {
+    properties.put( ELIMINATE_COMMON_SUBASSEMBLIES, Boolean.toString( eliminateCommonSubAssemblies ) );
+    }
+
+  /**
+   * Method setShareSourceScans sets whether the planner should write all the sinks fed by the same source
+   * {@link cascading.tap.Tap} from a single step, so the source is only read once.
+   * <p/>
+   * Planners that create a step per sink, like the MapReduce planner, only combine sinks that are written on the map
+   * side and are not fed by any other source. This is off by default.
+   *
+   * @param properties       of type Map<Object, Object>
+   * @param shareSourceScans of type boolean
+   */
+  public static void setShareSourceScans( Map<Object, Object> properties, boolean shareSourceScans )
+    {
+    properties.put( SHARE_SOURCE_SCANS, Boolean.toString( shareSourceScans ) );
+    }
+
   public FlowConnectorProps()
     {
     }
@@ -140,12 +175,38 @@ public class FlowConnectorProps extends Props
     return this;
     }
 
+  public boolean isEliminateCommonSubAssemblies()
+    {
+    return eliminateCommonSubAssemblies;
+    }
+
+  public FlowConnectorProps setEliminateCommonSubAssemblies( boolean eliminateCommonSubAssemblies )
+    {
+    this.eliminateCommonSubAssemblies = eliminateCommonSubAssemblies;
+
+    return this;
+    }
+
+  public boolean isShareSourceScans()
+    {
+    return shareSourceScans;
+    }
+
+  public FlowConnectorProps setShareSourceScans( boolean shareSourceScans )
+    {
+    this.shareSourceScans = shareSourceScans;
+
+    return this;
+    }
+
   @Override
   protected void addPropertiesTo( Properties properties )
     {
     setAssertionLevel( properties, assertionLevel );
     setDebugLevel( properties, debugLevel );
     setIntermediateSchemeClass( properties, intermediateSchemeClassName );
+    setEliminateCommonSubAssemblies( properties, eliminateCommonSubAssemblies );
+    setShareSourceScans( properties, shareSourceScans );
     }
 
   }
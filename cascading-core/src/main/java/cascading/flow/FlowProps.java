@@ -40,12 +40,18 @@ public class FlowProps extends Props
   public static final String JOB_POLLING_INTERVAL = "cascading.flow.job.pollinginterval";
   public static final String MAX_CONCURRENT_STEPS = "cascading.flow.maxconcurrentsteps";
   public static final String STOP_JOBS_ON_EXIT = "cascading.flow.stopjobsonexit"; // create a stop flows on exit for AppConfig
+  public static final String HASH_GROUPING = "cascading.flow.grouping.hash";
+  public static final String FUSE_EACH_STAGES = "cascading.flow.stream.fuseeach";
+  public static final String GENERATE_TUPLE_BUILDERS = "cascading.flow.stream.generatebuilders";
 
   String defaultTupleElementComparator = null;
   boolean preserveTemporaryFiles = false;
   int jobPollingInterval = 5000;
   int maxConcurrentSteps = 0;
   boolean stopJobsOnExit = true;
+  boolean hashGrouping = false;
+  boolean fuseEachStages = true;
+  boolean generateTupleBuilders = false;
 
   /**
    * Sets a default {@link java.util.Comparator} to be used if no Comparator can be found for the class via the
@@ -116,6 +122,53 @@ public class FlowProps extends Props
     properties.put( STOP_JOBS_ON_EXIT, Boolean.toString( stopJobsOnExit ) );
     }
 
+  /**
+   * Property hashGrouping will cause in memory groupings, a {@link cascading.pipe.GroupBy} in local mode and the
+   * accumulated side of a {@link cascading.pipe.HashJoin}, to collect values in a hash table instead of sorting
+   * the grouping keys. Groups are then presented in no particular order. Defaults to {@code false}.
+   * <p/>
+   * Any secondary sorting of values is still honored. May be set on an individual {@link cascading.pipe.Splice}
+   * via its {@link cascading.pipe.Pipe#getConfigDef()}.
+   *
+   * @param properties   of type Map
+   * @param hashGrouping of type boolean
+   */
+  public static void setHashGrouping( Map<Object, Object> properties, boolean hashGrouping )
+    {
+    properties.put( HASH_GROUPING, Boolean.toString( hashGrouping ) );
+    }
+
+  /**
+   * Property fuseEachStages will cause each run of {@link cascading.pipe.Each} functions and filters directly
+   * following one another to be executed as a single stage. The results of every function in the run are kept in
+   * one positional buffer, and only the last Each of the run creates an outgoing {@link cascading.tuple.Tuple}.
+   * Defaults to {@code true}.
+   * <p/>
+   * Runs with unknown fields are not fused, though any filters directly following an Each are still evaluated
+   * inline by it. Failures are still handled by the trap bound to the failing Each.
+   *
+   * @param properties     of type Map
+   * @param fuseEachStages of type boolean
+   */
+  public static void setFuseEachStages( Map<Object, Object> properties, boolean fuseEachStages )
+    {
+    properties.put( FUSE_EACH_STAGES, Boolean.toString( fuseEachStages ) );
+    }
+
+  /**
+   * Property generateTupleBuilders will cause the values selected by each {@link cascading.pipe.Each},
+   * {@link cascading.pipe.Every}, and {@link cascading.pipe.Splice} to be copied by classes compiled at runtime for
+   * the resolved fields, instead of read through generic views. Defaults to {@code false}.
+   * <p/>
+   * Any selection that cannot be compiled falls back to the default views.
+   *
+   * @param properties            of type Map
+   * @param generateTupleBuilders of type boolean
+   */
+  public static void setGenerateTupleBuilders( Map<Object, Object> properties, boolean generateTupleBuilders )
+    {
+    properties.put( GENERATE_TUPLE_BUILDERS, Boolean.toString( generateTupleBuilders ) );
+    }
 
   public FlowProps()
     {
@@ -181,6 +234,42 @@ public class FlowProps extends Props
     return this;
     }
 
+  public boolean isHashGrouping()
+    {
+    return hashGrouping;
+    }
+
+  public FlowProps setHashGrouping( boolean hashGrouping )
+    {
+    this.hashGrouping = hashGrouping;
+
+    return this;
+    }
+
+  public boolean isFuseEachStages()
+    {
+    return fuseEachStages;
+    }
+
+  public FlowProps setFuseEachStages( boolean fuseEachStages )
+    {
+    this.fuseEachStages = fuseEachStages;
+
+    return this;
+    }
+
+  public boolean isGenerateTupleBuilders()
+    {
+    return generateTupleBuilders;
+    }
+
+  public FlowProps setGenerateTupleBuilders( boolean generateTupleBuilders )
+    {
+    this.generateTupleBuilders = generateTupleBuilders;
+
+    return this;
+    }
+
   @Override
   protected void addPropertiesTo( Properties properties )
     {
@@ -189,5 +278,8 @@ public class FlowProps extends Props
     setJobPollingInterval( properties, jobPollingInterval );
     setMaxConcurrentSteps( properties, maxConcurrentSteps );
     setStopJobsOnExit( properties, stopJobsOnExit );
+    setHashGrouping( properties, hashGrouping );
+    setFuseEachStages( properties, fuseEachStages );
+    setGenerateTupleBuilders( properties, generateTupleBuilders );
     }
   }
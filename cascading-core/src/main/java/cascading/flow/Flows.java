@@ -20,6 +20,9 @@
 
 package cascading.flow;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 import cascading.flow.planner.ElementGraph;
@@ -47,4 +50,93 @@ public class Flows
     {
     return ( (BaseFlow) flow ).getFlowStepGraph();
     }
+
+  /**
+   * Method merge plans a single new Flow from the {@link FlowDef}s of all the given Flows, so that any source
+   * {@link cascading.tap.Tap} they have in common may be read once by the new Flow.
+   * <p/>
+   * The new Flow is planned with {@link FlowConnectorProps#setShareSourceScans(java.util.Map, boolean)} enabled.
+   * Only Flows that have not been started may be merged.
+   * <p/>
+   * Null is returned if the given Flows cannot be merged. That is, if any Flow was not planned from a FlowDef
+   * by a {@link FlowConnector}, the FlowConnectors are not of the same type with equal properties, any source, sink,
+   * trap, or checkpoint names are shared, the assertion or debug levels differ, or any Flow has listeners or a
+   * custom {@link FlowStepStrategy} or {@link FlowSkipStrategy}.
+   *
+   * @param name  of type String
+   * @param flows of type Collection<Flow>
+   * @return Flow
+   */
+  public static Flow merge( String name, Collection<Flow> flows )
+    {
+    FlowConnector flowConnector = null;
+    FlowDef merged = FlowDef.flowDef().setName( name );
+
+    for( Flow flow : flows )
+      {
+      if( !isMergeable( flow ) )
+        return null;
+
+      BaseFlow baseFlow = (BaseFlow) flow;
+      FlowDef flowDef = baseFlow.getFlowDef();
+
+      if( flowConnector == null )
+        {
+        flowConnector = baseFlow.getFlowConnector();
+        merged.setAssertionLevel( flowDef.getAssertionLevel() );
+        merged.setDebugLevel( flowDef.getDebugLevel() );
+        }
+      else if( !isEquivalent( flowConnector, baseFlow.getFlowConnector() ) )
+        {
+        return null;
+        }
+
+      if( merged.getAssertionLevel() != flowDef.getAssertionLevel() || merged.getDebugLevel() != flowDef.getDebugLevel() )
+        return null;
+
+      if( !Collections.disjoint( merged.getSources().keySet(), flowDef.getSources().keySet() )
+        || !Collections.disjoint( merged.getSinks().keySet(), flowDef.getSinks().keySet() )
+        || !Collections.disjoint( merged.getTraps().keySet(), flowDef.getTraps().keySet() )
+        || !Collections.disjoint( merged.getCheckpoints().keySet(), flowDef.getCheckpoints().keySet() ) )
+        return null;
+
+      merged
+        .addSources( flowDef.getSources() )
+        .addSinks( flowDef.getSinks() )
+        .addTraps( flowDef.getTraps() )
+        .addCheckpoints( flowDef.getCheckpoints() )
+        .addTails( flowDef.getTails() )
+        .addTags( flowDef.getTags().split( "," ) );
+      }
+
+    if( flowConnector == null )
+      return null;
+
+    Map<Object, Object> properties = new HashMap<Object, Object>( flowConnector.getProperties() );
+
+    FlowConnectorProps.setShareSourceScans( properties, true );
+
+    return flowConnector.connect( merged, properties );
+    }
+
+  private static boolean isMergeable( Flow flow )
+    {
+    if( !( flow instanceof BaseFlow ) )
+      return false;
+
+    BaseFlow baseFlow = (BaseFlow) flow;
+
+    if( baseFlow.getFlowDef() == null || baseFlow.getFlowConnector() == null )
+      return false;
+
+    if( baseFlow.hasListeners() || baseFlow.getFlowStepStrategy() != null )
+      return false;
+
+    return baseFlow.getFlowSkipStrategy().getClass() == FlowSkipIfSinkNotStale.class;
+    }
+
+  private static boolean isEquivalent( FlowConnector lhs, FlowConnector rhs )
+    {
+    return lhs == rhs || lhs.getClass() == rhs.getClass() && lhs.getProperties().equals( rhs.getProperties() );
+    }
   }
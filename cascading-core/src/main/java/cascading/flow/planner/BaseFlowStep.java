@@ -23,6 +23,7 @@ package cascading.flow.planner;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -43,7 +44,16 @@ import cascading.flow.FlowProcess;
 import cascading.flow.FlowStep;
 import cascading.management.CascadingServices;
 import cascading.management.state.ClientState;
+import cascading.operation.Filter;
+import cascading.operation.NoOp;
 import cascading.operation.Operation;
+import cascading.operation.expression.ExpressionFilter;
+import cascading.operation.filter.FilterNotNull;
+import cascading.operation.filter.FilterNull;
+import cascading.operation.filter.Logic;
+import cascading.operation.filter.Not;
+import cascading.operation.regex.RegexFilter;
+import cascading.pipe.Each;
 import cascading.pipe.Group;
 import cascading.pipe.HashJoin;
 import cascading.pipe.Merge;
@@ -52,6 +62,8 @@ import cascading.pipe.Pipe;
 import cascading.property.ConfigDef;
 import cascading.stats.FlowStepStats;
 import cascading.tap.Tap;
+import cascading.tuple.Fields;
+import cascading.tuple.FieldsResolverException;
 import cascading.util.Util;
 import org.jgrapht.GraphPath;
 import org.jgrapht.Graphs;
@@ -551,6 +563,214 @@ public abstract class BaseFlowStep<Config> implements Serializable, FlowStep<Con
     return Graphs.successorListOf( graph, element );
     }
 
+  /**
+   * Method getProjectedSourceFields returns the positions of the given source Tap fields actually consumed
+   * downstream in this step, or {@code null} if all the fields are required.
+   * <p/>
+   * Only chains of {@link Each} pipes are followed, any other element is assumed to require every incoming field.
+   * No projection is ever returned if this step has traps, as a trap receives the whole incoming tuple.
+   *
+   * @param source of type Tap
+   * @return Fields of positions into the source fields, or null
+   */
+  public Fields getProjectedSourceFields( Tap source )
+    {
+    if( !getTraps().isEmpty() || !getGraph().containsVertex( source ) )
+      return null;
+
+    Fields sourceFields = null;
+    BitSet required = new BitSet();
+
+    for( Scope scope : getNextScopes( source ) )
+      {
+      sourceFields = scope.getOutValuesFields();
+
+      BitSet positions = getRequiredPositions( getNextFlowElement( scope ), sourceFields );
+
+      if( positions == null )
+        return null;
+
+      required.or( positions );
+      }
+
+    if( sourceFields == null || required.isEmpty() || required.cardinality() == sourceFields.size() )
+      return null;
+
+    Comparable[] positions = new Comparable[ required.cardinality() ];
+    int count = 0;
+
+    for( int i = required.nextSetBit( 0 ); i >= 0; i = required.nextSetBit( i + 1 ) )
+      positions[ count++ ] = i;
+
+    return new Fields( positions );
+    }
+
+  /**
+   * Method getPushedFilters returns the chain of {@link Each} filters directly following the given source Tap
+   * that may be evaluated by the source {@link cascading.scheme.Scheme}, in stream order.
+   * <p/>
+   * The Scheme must support {@link cascading.scheme.Scheme#isPredicatePushdown()}, the source must not be split into
+   * more than one branch, and this step must not have traps. Only stateless filters are pushed, see
+   * {@link #isPushable(cascading.operation.Filter)}.
+   *
+   * @param source of type Tap
+   * @return List<Each>
+   */
+  public List<Each> getPushedFilters( Tap source )
+    {
+    List<Each> filters = new ArrayList<Each>();
+
+    if( !source.getScheme().isPredicatePushdown() || !getTraps().isEmpty() || !getGraph().containsVertex( source ) )
+      return filters;
+
+    FlowElement current = source;
+
+    while( getNextScopes( current ).size() == 1 )
+      {
+      Scope scope = getNextScopes( current ).iterator().next();
+      FlowElement next = getNextFlowElement( scope );
+
+      if( next.getClass() == Pipe.class )
+        {
+        current = next;
+        continue;
+        }
+
+      if( !( next instanceof Each ) || !( (Each) next ).isFilter() || !isPushable( ( (Each) next ).getFilter() ) )
+        break;
+
+      if( getNextScopes( next ).isEmpty() )
+        break;
+
+      Fields argumentSelector = getNextScopes( next ).iterator().next().getArgumentsSelector();
+
+      // filters pass through all incoming fields, so arguments always resolve against the source fields
+      if( argumentSelector == null || !argumentSelector.isDefined() || !scope.getOutValuesFields().contains( argumentSelector ) )
+        break;
+
+      filters.add( (Each) next );
+      current = next;
+      }
+
+    return filters;
+    }
+
+  /**
+   * Method isPushable returns true if the given filter is known to be stateless and free of side effects, and so may
+   * be evaluated by a Scheme.
+   *
+   * @param filter of type Filter
+   * @return boolean
+   */
+  protected boolean isPushable( Filter filter )
+    {
+    if( filter instanceof RegexFilter || filter instanceof ExpressionFilter || filter instanceof FilterNull || filter instanceof FilterNotNull )
+      return true;
+
+    if( filter instanceof Not )
+      return isPushable( ( (Not) filter ).getFilter() );
+
+    if( filter instanceof Logic )
+      {
+      for( Filter child : ( (Logic) filter ).getFilters() )
+        {
+        if( !isPushable( child ) )
+          return false;
+        }
+
+      return true;
+      }
+
+    return false;
+    }
+
+  private BitSet getRequiredPositions( FlowElement flowElement, Fields incomingFields )
+    {
+    if( !incomingFields.isDefined() )
+      return null;
+
+    if( flowElement.getClass() == Pipe.class )
+      return getSuccessorRequiredPositions( flowElement, incomingFields, incomingFields );
+
+    if( !( flowElement instanceof Each ) )
+      return null;
+
+    Set<Scope> nextScopes = getNextScopes( flowElement );
+
+    if( nextScopes.isEmpty() )
+      return null;
+
+    try
+      {
+      Scope outgoingScope = nextScopes.iterator().next();
+      BitSet required = getSuccessorRequiredPositions( flowElement, incomingFields, outgoingScope.getOutValuesFields() );
+
+      if( required == null )
+        return null;
+
+      // a NoOp, as used by Discard, never reads its arguments
+      if( ( (Each) flowElement ).getOperation() instanceof NoOp )
+        return required;
+
+      int[] argumentPos = incomingFields.getPos( outgoingScope.getArgumentsSelector() );
+
+      if( argumentPos == null )
+        return null;
+
+      for( int pos : argumentPos )
+        required.set( pos );
+
+      return required;
+      }
+    catch( FieldsResolverException exception )
+      {
+      // fields could not be traced back to the incoming tuple
+      return null;
+      }
+    catch( RuntimeException exception )
+      {
+      LOG.debug( "unable to resolve required fields for: " + flowElement + ", disabling projection", exception );
+      return null;
+      }
+    }
+
+  private BitSet getSuccessorRequiredPositions( FlowElement flowElement, Fields incomingFields, Fields outgoingFields )
+    {
+    if( !outgoingFields.isDefined() )
+      return null;
+
+    BitSet outgoing = new BitSet();
+
+    for( Scope scope : getNextScopes( flowElement ) )
+      {
+      BitSet positions = getRequiredPositions( getNextFlowElement( scope ), outgoingFields );
+
+      if( positions == null )
+        {
+        outgoing.set( 0, outgoingFields.size() );
+        break;
+        }
+
+      outgoing.or( positions );
+      }
+
+    BitSet required = new BitSet();
+
+    for( int i = outgoing.nextSetBit( 0 ); i >= 0; i = outgoing.nextSetBit( i + 1 ) )
+      {
+      Comparable field = outgoingFields.get( i );
+
+      if( field instanceof Number )
+        return null;
+
+      // values declared by the operation are not read from the incoming tuple
+      if( incomingFields.contains( new Fields( field ) ) )
+        required.set( incomingFields.getPos( field ) );
+      }
+
+    return required;
+    }
+
   public Set<Tap> getJoinTributariesBetween( FlowElement from, FlowElement to )
     {
     Set<HashJoin> joins = new HashSet<HashJoin>();
@@ -30,20 +30,27 @@ import java.util.Set;
 
 import cascading.flow.Flow;
 import cascading.flow.FlowConnector;
+import cascading.flow.FlowConnectorProps;
 import cascading.flow.FlowDef;
 import cascading.flow.FlowElement;
+import cascading.operation.Aggregator;
 import cascading.operation.AssertionLevel;
+import cascading.operation.BaseOperation;
 import cascading.operation.DebugLevel;
+import cascading.operation.MergeableAggregator;
+import cascading.operation.Operation;
 import cascading.pipe.Checkpoint;
 import cascading.pipe.Each;
 import cascading.pipe.Every;
 import cascading.pipe.Group;
 import cascading.pipe.HashJoin;
 import cascading.pipe.Merge;
+import cascading.pipe.Operator;
 import cascading.pipe.OperatorException;
 import cascading.pipe.Pipe;
 import cascading.pipe.Splice;
 import cascading.pipe.SubAssembly;
+import cascading.pipe.assembly.AggregateBy;
 import cascading.property.PropertyUtil;
 import cascading.scheme.Scheme;
 import cascading.tap.Tap;
@@ -73,6 +80,8 @@ public abstract class FlowPlanner
   protected AssertionLevel assertionLevel;
   /** Field debugLevel */
   protected DebugLevel debugLevel;
+  /** Field eliminateCommonSubAssemblies */
+  protected boolean eliminateCommonSubAssemblies;
 
   /**
    * Method getAssertionLevel returns the configured target planner {@link cascading.operation.AssertionLevel}.
@@ -100,6 +109,18 @@ public abstract class FlowPlanner
     return DebugLevel.valueOf( debugLevel );
     }
 
+  /**
+   * Method getEliminateCommonSubAssemblies returns if common sub-assemblies should be collapsed by the planner.
+   *
+   * @param properties of type Map<Object, Object>
+   * @return boolean
+   * @see FlowConnectorProps#setEliminateCommonSubAssemblies(java.util.Map, boolean)
+   */
+  static boolean getEliminateCommonSubAssemblies( Map<Object, Object> properties )
+    {
+    return Boolean.parseBoolean( PropertyUtil.getProperty( properties, FlowConnectorProps.ELIMINATE_COMMON_SUBASSEMBLIES, "false" ) );
+    }
+
   public abstract PlatformInfo getPlatformInfo();
 
   public void initialize( FlowConnector flowConnector, Map<Object, Object> properties )
@@ -107,6 +128,7 @@ public abstract class FlowPlanner
     this.properties = properties;
     this.assertionLevel = getAssertionLevel( properties );
     this.debugLevel = getDebugLevel( properties );
+    this.eliminateCommonSubAssemblies = getEliminateCommonSubAssemblies( properties );
     }
 
   /**
@@ -580,6 +602,143 @@ public abstract class FlowPlanner
     return tapInsertions.isEmpty();
     }
 
+  /**
+   * Collapses every set of equivalent {@link Operator} pipes consuming the same upstream element into a single
+   * pipe, fanning its output out to all the downstream elements of the collapsed pipes.
+   * <p/>
+   * Collapsed pipes keep their outgoing {@link Scope}s, and so their names, so downstream Groups and sinks are
+   * unaffected. As the graph is collapsed until nothing changes, whole equivalent branches are collapsed an
+   * element at a time.
+   *
+   * @param elementGraph of type ElementGraph
+   */
+  protected void handleCommonSubAssemblies( ElementGraph elementGraph )
+    {
+    // if there was a graph change, iterate again, the collapsed element may now have equivalent successors
+    while( !internalCommonSubAssemblies( elementGraph ) )
+      ;
+    }
+
+  private boolean internalCommonSubAssemblies( ElementGraph elementGraph )
+    {
+    for( FlowElement flowElement : new ArrayList<FlowElement>( elementGraph.vertexSet() ) )
+      {
+      if( elementGraph.outDegreeOf( flowElement ) < 2 )
+        continue;
+
+      List<Operator> operators = new ArrayList<Operator>();
+
+      for( FlowElement successor : elementGraph.getAllSuccessors( flowElement ) )
+        {
+        Operator operator = findBranchOperator( elementGraph, successor );
+
+        if( operator != null )
+          operators.add( operator );
+        }
+
+      for( int i = 0; i < operators.size(); i++ )
+        {
+        for( int j = i + 1; j < operators.size(); j++ )
+          {
+          if( !areCommon( elementGraph, operators.get( i ), operators.get( j ) ) )
+            continue;
+
+          collapseOperator( elementGraph, operators.get( i ), operators.get( j ) );
+
+          return false;
+          }
+        }
+      }
+
+    return true;
+    }
+
+  /** Returns the first Operator on the branch beginning with the given element, skipping any plain Pipe instances */
+  private Operator findBranchOperator( ElementGraph elementGraph, FlowElement flowElement )
+    {
+    while( flowElement.getClass() == Pipe.class && elementGraph.inDegreeOf( flowElement ) == 1 && elementGraph.outDegreeOf( flowElement ) == 1 )
+      flowElement = elementGraph.getAllSuccessors( flowElement ).get( 0 );
+
+    if( !( flowElement instanceof Operator ) || elementGraph.inDegreeOf( flowElement ) != 1 )
+      return null;
+
+    return (Operator) flowElement;
+    }
+
+  private boolean areCommon( ElementGraph elementGraph, Operator lhs, Operator rhs )
+    {
+    if( !lhs.isEquivalentTo( rhs ) || lhs.getPlannerLevel() != rhs.getPlannerLevel() )
+      return false;
+
+    // BaseOperation#equals does not compare the operation type, nor any state it does not know about
+    if( lhs.getOperation().getClass() != rhs.getOperation().getClass() || !definesEquals( lhs.getOperation() ) )
+      return false;
+
+    // operations with side effects must be called once per branch
+    if( !lhs.getOperation().isSafe() )
+      return false;
+
+    if( lhs.hasConfigDef() || lhs.hasStepConfigDef() || rhs.hasConfigDef() || rhs.hasStepConfigDef() )
+      return false;
+
+    Tap lhsTrap = elementGraph.getTrapMap().get( lhs.getName() );
+    Tap rhsTrap = elementGraph.getTrapMap().get( rhs.getName() );
+
+    if( lhsTrap == null ? rhsTrap != null : !lhsTrap.equals( rhsTrap ) )
+      return false;
+
+    // a self join of both branches cannot be collapsed, there would be two edges between the same elements
+    for( FlowElement successor : elementGraph.getAllSuccessors( rhs ) )
+      {
+      if( elementGraph.containsEdge( lhs, successor ) )
+        return false;
+      }
+
+    return true;
+    }
+
+  private boolean definesEquals( Operation operation )
+    {
+    try
+      {
+      Class<?> declaringClass = operation.getClass().getMethod( "equals", Object.class ).getDeclaringClass();
+
+      return declaringClass != BaseOperation.class && declaringClass != Object.class;
+      }
+    catch( NoSuchMethodException exception )
+      {
+      return false;
+      }
+    }
+
+  private void collapseOperator( ElementGraph elementGraph, Operator operator, Operator duplicate )
+    {
+    LOG.debug( "collapsing: {}, into: {}", duplicate, operator );
+
+    for( Scope scope : new HashSet<Scope>( elementGraph.outgoingEdgesOf( duplicate ) ) )
+      {
+      FlowElement target = elementGraph.getEdgeTarget( scope );
+
+      elementGraph.removeEdge( scope );
+      elementGraph.addEdge( operator, target, scope ); // keeps the scope name
+      }
+
+    // remove the duplicate and any plain pipes only leading to it
+    FlowElement current = duplicate;
+
+    while( true )
+      {
+      FlowElement previous = elementGraph.getEdgeSource( elementGraph.incomingEdgesOf( current ).iterator().next() );
+
+      elementGraph.removeVertex( current );
+
+      if( previous.getClass() != Pipe.class || elementGraph.outDegreeOf( previous ) != 0 )
+        break;
+
+      current = previous;
+      }
+    }
+
   /**
    * Method insertTapAfter ...
    *
@@ -838,4 +997,134 @@ public abstract class FlowPlanner
 
     return -1;
     }
+
+  /**
+   * Inserts a map side partial aggregation in front of every unsorted {@link cascading.pipe.GroupBy} that is only
+   * followed by {@link Every} pipes with a {@link MergeableAggregator}, and replaces each of those aggregators with
+   * the Aggregator merging the partial results.
+   * <p/>
+   * The partial aggregation is performed by an {@link AggregateBy.CompositeFunction} on every incoming branch, so
+   * the {@link AggregateBy#AGGREGATE_BY_THRESHOLD} property applies.
+   *
+   * @param elementGraph of type ElementGraph
+   */
+  protected void handleCombiners( ElementGraph elementGraph )
+    {
+    for( Group group : elementGraph.findAllGroups() )
+      {
+      if( !group.isGroupBy() || group.isSorted() || elementGraph.outDegreeOf( group ) != 1 )
+        continue;
+
+      List<Every> everies = new ArrayList<Every>();
+      FlowElement next = elementGraph.getAllSuccessors( group ).get( 0 );
+
+      while( next instanceof Every && isCombinable( (Every) next ) )
+        {
+        everies.add( (Every) next );
+
+        if( elementGraph.outDegreeOf( next ) != 1 )
+          break;
+
+        next = elementGraph.getAllSuccessors( next ).get( 0 );
+        }
+
+      // every Every in the chain must be combinable
+      if( everies.isEmpty() || next instanceof Every )
+        continue;
+
+      Fields[] argumentFields = new Fields[ everies.size() ];
+      AggregateBy.Functor[] functors = new AggregateBy.Functor[ everies.size() ];
+      Fields[] partialFields = new Fields[ everies.size() ];
+      Set<Comparable> partialNames = new HashSet<Comparable>();
+
+      for( int i = 0; i < everies.size(); i++ )
+        {
+        Every every = everies.get( i );
+        MergeableAggregator aggregator = (MergeableAggregator) every.getAggregator();
+
+        String[] names = new String[ aggregator.getNumPartialFields() ];
+
+        for( int j = 0; j < names.length; j++ )
+          names[ j ] = "_partial_" + i + "_" + j;
+
+        Collections.addAll( partialNames, names );
+
+        partialFields[ i ] = new Fields( names );
+
+        argumentFields[ i ] = every.getArgumentSelector();
+        functors[ i ] = aggregator.getPartialFunctor( partialFields[ i ] );
+        }
+
+      Set<Scope> incoming = new HashSet<Scope>( elementGraph.incomingEdgesOf( group ) );
+
+      if( !hasCombinableKeys( group, incoming, partialNames ) )
+        continue;
+
+      LOG.debug( "inserting partial aggregation before: {}", group );
+
+      for( Scope scope : incoming )
+        {
+        Fields groupingFields = group.getKeySelectors().get( scope.getName() );
+        FlowElement previous = elementGraph.getEdgeSource( scope );
+        Each partial = new Each( new Pipe( scope.getName() ), Fields.ALL, new AggregateBy.CompositeFunction( groupingFields, argumentFields, functors, 0 ), Fields.RESULTS );
+
+        elementGraph.removeEdge( scope );
+        elementGraph.addVertex( partial );
+        elementGraph.addEdge( previous, partial, new Scope( scope.getName() ) );
+        elementGraph.addEdge( partial, group, scope );
+        }
+
+      for( int i = 0; i < everies.size(); i++ )
+        {
+        Every every = everies.get( i );
+        Aggregator merge = ( (MergeableAggregator) every.getAggregator() ).getMergeAggregator();
+
+        elementGraph.replaceElementWith( every, new Every( every.getPrevious()[ 0 ], partialFields[ i ], merge, every.getOutputSelector() ) );
+        }
+      }
+    }
+
+  private boolean isCombinable( Every every )
+    {
+    if( !every.isAggregator() || !( every.getAggregator() instanceof MergeableAggregator ) )
+      return false;
+
+    if( every.hasConfigDef() || every.hasStepConfigDef() )
+      return false;
+
+    Fields argumentSelector = every.getArgumentSelector();
+    Fields declaration = every.getFieldDeclaration();
+    Fields outputSelector = every.getOutputSelector();
+
+    // the arguments are selected before the group, so must not depend on its scope
+    if( argumentSelector.isAll() && every.getAggregator().getNumArgs() != Operation.ANY )
+      return false;
+
+    if( !argumentSelector.isAll() && !argumentSelector.isDefined() )
+      return false;
+
+    if( !declaration.isDefined() )
+      return false;
+
+    return outputSelector.isAll() || outputSelector.isResults() || outputSelector.isDefined();
+    }
+
+  private boolean hasCombinableKeys( Group group, Set<Scope> incoming, Set<Comparable> partialNames )
+    {
+    for( Scope scope : incoming )
+      {
+      Fields keys = group.getKeySelectors().get( scope.getName() );
+
+      if( keys == null || !keys.isDefined() )
+        return false;
+
+      for( Comparable key : keys )
+        {
+        if( !( key instanceof String ) || partialNames.contains( key ) )
+          return false;
+        }
+      }
+
+    return true;
+    }
   }
@@ -20,11 +20,19 @@
 
 package cascading.flow.stream;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import cascading.flow.FlowProcess;
 import cascading.pipe.Each;
 import cascading.pipe.Operator;
 import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
 import cascading.tuple.TupleEntry;
+import cascading.tuple.Tuples;
+import cascading.tuple.util.TupleBuilderCompiler;
+import cascading.tuple.util.TupleViews;
 
 /**
  *
@@ -33,12 +41,202 @@ public abstract class EachStage extends OperatorStage<TupleEntry> implements Map
   {
   final Each each;
 
+  /** Field fused, the filters directly following this stage that are evaluated inline by it */
+  private FilterEachStage[] fused;
+  /** Field fusedLast, the last stage of this fused run */
+  private Duct fusedLast;
+  /** Field fusedNext, the duct following the last stage of this fused run */
+  private Duct fusedNext;
+
+  /** Field fusedRun, the values shared by the run of stages this stage is fused by position with, if any */
+  protected FusedRun fusedRun;
+  /** Field fusedSuccessor, the stage following this stage in its run, null if the last stage */
+  private EachStage fusedSuccessor;
+  /** Field fusedResultSlot, the first slot the results of this stage are copied into */
+  protected int fusedResultSlot;
+  /** Field fusedArgumentSlots, the slots the arguments of this stage are selected from */
+  private int[] fusedArgumentSlots;
+  private Object[] fusedArgumentValues;
+  private Tuple fusedArguments;
+  /** Field fusedOutgoingSlots, the slots the outgoing values are selected from, only on the last stage */
+  private int[] fusedOutgoingSlots;
+  private Object[] fusedOutgoingValues;
+  private Tuple fusedOutgoing;
+
   public EachStage( FlowProcess flowProcess, Each each )
     {
     super( flowProcess, each );
     this.each = each;
     }
 
+  @Override
+  public void initialize()
+    {
+    super.initialize();
+
+    setFused( Collections.<FilterEachStage>emptyList() );
+    }
+
+  /**
+   * Method isFusableByPosition returns true if the arguments and outgoing values of this stage can be selected by
+   * position, see {@link #setFusedRun(java.util.List)}.
+   *
+   * @return boolean
+   */
+  boolean isFusableByPosition()
+    {
+    return argumentsPlan != null && outgoingPlan != null;
+    }
+
+  /**
+   * Method setFusedRun fuses the given stages directly following this stage into a single run headed by this stage,
+   * called after all ducts are bound. All stages must be {@link #isFusableByPosition()}.
+   * <p/>
+   * Within the run, the results of every function are copied into one shared array, the arguments of each stage
+   * are selected from it, and only the last stage creates an outgoing Tuple to hand to the next duct. Every stage
+   * still calls its own operation and handles its own failures.
+   *
+   * @param stages of type List<EachStage>
+   */
+  void setFusedRun( List<EachStage> stages )
+    {
+    List<EachStage> run = new ArrayList<EachStage>( stages.size() + 1 );
+
+    run.add( this );
+    run.addAll( stages );
+
+    // slots below zero are read from the tuple received by this stage
+    int[] slots = new int[ Fields.asDeclaration( getIncomingPassThroughFields() ).size() ];
+
+    for( int i = 0; i < slots.length; i++ )
+      slots[ i ] = -i - 1;
+
+    int size = 0;
+
+    for( EachStage stage : run )
+      {
+      stage.fusedArgumentSlots = select( slots, stage.argumentsPlan );
+
+      if( !( stage instanceof FunctionEachStage ) )
+        continue; // a filter passes on what it received
+
+      int[] sources = stage.outgoingPlan[ 0 ];
+      int[] positions = stage.outgoingPlan[ 1 ];
+      int[] outgoing = new int[ positions.length ];
+
+      for( int i = 0; i < positions.length; i++ )
+        outgoing[ i ] = sources[ i ] == TupleBuilderCompiler.INPUT ? slots[ positions[ i ] ] : size + positions[ i ];
+
+      stage.fusedResultSlot = size;
+      size += stage.getOperationDeclaredFields().size();
+      slots = outgoing;
+      }
+
+    FusedRun fusedRun = new FusedRun( size );
+
+    for( int i = 0; i < run.size(); i++ )
+      {
+      EachStage stage = run.get( i );
+
+      stage.fusedRun = fusedRun;
+      stage.fusedSuccessor = i < run.size() - 1 ? run.get( i + 1 ) : null;
+      stage.fusedArgumentValues = new Object[ stage.fusedArgumentSlots.length ];
+      stage.fusedArguments = TupleViews.createObjectArray( stage.fusedArgumentValues );
+      }
+
+    EachStage last = run.get( run.size() - 1 );
+
+    last.fusedOutgoingSlots = slots;
+    last.fusedOutgoingValues = new Object[ slots.length ];
+    last.fusedOutgoing = TupleViews.createObjectArray( last.fusedOutgoingValues );
+    }
+
+  private static int[] select( int[] slots, int[] positions )
+    {
+    int[] selected = new int[ positions.length ];
+
+    for( int i = 0; i < positions.length; i++ )
+      selected[ i ] = slots[ positions[ i ] ];
+
+    return selected;
+    }
+
+  /**
+   * Method setFused sets the filters directly following this stage to be evaluated inline by this stage, called
+   * after all ducts are bound. The fused stages are still prepared, completed, and cleaned up as usual.
+   *
+   * @param stages of type List<FilterEachStage>
+   */
+  void setFused( List<FilterEachStage> stages )
+    {
+    fused = stages.toArray( new FilterEachStage[ stages.size() ] );
+    fusedLast = stages.isEmpty() ? this : stages.get( stages.size() - 1 );
+    fusedNext = fusedLast.getNext();
+    }
+
+  /**
+   * Method passFused hands the given outgoing entry to the next duct, unless removed by any of the fused filters.
+   *
+   * @param outgoingEntry of type TupleEntry
+   */
+  protected void passFused( TupleEntry outgoingEntry )
+    {
+    if( fusedRun != null ) // only a filter heading a run passes on what it received
+      {
+      fusedRun.incoming = outgoingEntry.getTuple();
+      passRun();
+      return;
+      }
+
+    for( FilterEachStage stage : fused )
+      {
+      if( stage.isFusedRemove( outgoingEntry ) )
+        return;
+      }
+
+    fusedNext.receive( fusedLast, outgoingEntry );
+    }
+
+  /**
+   * Method receiveFused is called by the preceding stage in the run this stage is fused by position with, in place
+   * of {@link #receive(Duct, Object)}.
+   */
+  void receiveFused()
+    {
+    throw new IllegalStateException( "stage cannot be fused by position: " + this );
+    }
+
+  /** Returns the arguments of this stage selected from the run it is fused by position with */
+  protected Tuple selectFusedArguments()
+    {
+    fusedRun.select( fusedArgumentSlots, fusedArgumentValues );
+
+    return fusedArguments;
+    }
+
+  /** Runs the following stage in the run this stage is fused by position with, or hands the outgoing tuple of the run to the next duct */
+  protected void passRun()
+    {
+    if( fusedSuccessor != null )
+      {
+      fusedSuccessor.receiveFused();
+      return;
+      }
+
+    fusedRun.select( fusedOutgoingSlots, fusedOutgoingValues );
+
+    outgoingEntry.setTuple( fusedOutgoing );
+
+    try
+      {
+      fusedNext.receive( this, outgoingEntry );
+      }
+    finally
+      {
+      Tuples.asModifiable( fusedOutgoing );
+      }
+    }
+
   @Override
   public Operator getOperator()
     {
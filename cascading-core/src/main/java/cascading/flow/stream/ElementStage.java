@@ -39,6 +39,7 @@ public abstract class ElementStage<Incoming, Outgoing> extends Stage<Incoming, O
   protected final FlowElement flowElement;
   protected Set<String> branchNames;
   protected TrapHandler trapHandler;
+  protected int partition = 0;
 
   protected final List<Scope> incomingScopes = new ArrayList<Scope>();
   protected final List<Scope> outgoingScopes = new ArrayList<Scope>();
@@ -58,6 +59,22 @@ public abstract class ElementStage<Incoming, Outgoing> extends Stage<Incoming, O
     return flowElement;
     }
 
+  public int getPartition()
+    {
+    return partition;
+    }
+
+  /**
+   * Sets the partition of the input this stage processes. Stages of the same element but for different
+   * partitions are distinct so independent copies of a pipeline may be run concurrently.
+   *
+   * @param partition of type int
+   */
+  public void setPartition( int partition )
+    {
+    this.partition = partition;
+    }
+
   @Override
   public List<Scope> getIncomingScopes()
     {
@@ -147,13 +164,18 @@ public abstract class ElementStage<Incoming, Outgoing> extends Stage<Incoming, O
     if( flowElement != null ? flowElement != that.flowElement : that.flowElement != null )
       return false;
 
+    if( partition != that.partition )
+      return false;
+
     return true;
     }
 
   @Override
   public final int hashCode()
     {
-    return flowElement != null ? System.identityHashCode( flowElement ) : 0;
+    int result = flowElement != null ? System.identityHashCode( flowElement ) : 0;
+
+    return 31 * result + partition;
     }
 
   @Override
@@ -34,6 +34,8 @@ import cascading.tuple.TupleEntry;
 public class FilterEachStage extends EachStage
   {
   private Filter filter;
+  /** Field pushed, true if the filter is applied by the source Scheme */
+  private boolean pushed = false;
 
   public FilterEachStage( FlowProcess flowProcess, Each each )
     {
@@ -60,9 +62,111 @@ public class FilterEachStage extends EachStage
     filter = each.getFilter();
     }
 
+  @Override
+  boolean isFusableByPosition()
+    {
+    return argumentsPlan != null; // passes on what it received
+    }
+
+  void setPushed( boolean pushed )
+    {
+    this.pushed = pushed;
+    }
+
+  /**
+   * Method isRemove evaluates the filter against the given entry, called by the source Scheme when the filter
+   * is pushed down. Any failure is handled by this stage, and the entry removed.
+   *
+   * @param incomingEntry of type TupleEntry
+   * @return boolean
+   */
+  boolean isRemove( TupleEntry incomingEntry )
+    {
+    argumentsEntry.setTuple( argumentsBuilder.makeResult( incomingEntry.getTuple(), null ) );
+
+    try
+      {
+      return filter.isRemove( flowProcess, operationCall );
+      }
+    catch( CascadingException exception )
+      {
+      handleException( exception, argumentsEntry );
+      }
+    catch( Throwable throwable )
+      {
+      handleException( new OperatorException( each, "operator Each failed executing operation", throwable ), argumentsEntry );
+      }
+
+    return true;
+    }
+
+  /**
+   * Method isFusedRemove evaluates the filter against the given entry on behalf of the preceding stage this stage
+   * is fused with, see {@link EachStage#setFused(java.util.List)}. Any failure is handled by this stage.
+   *
+   * @param incomingEntry of type TupleEntry
+   * @return boolean
+   */
+  boolean isFusedRemove( TupleEntry incomingEntry )
+    {
+    if( pushed )
+      return false;
+
+    argumentsEntry.setTuple( argumentsBuilder.makeResult( incomingEntry.getTuple(), null ) );
+
+    try
+      {
+      return filter.isRemove( flowProcess, operationCall );
+      }
+    catch( CascadingException exception )
+      {
+      handleException( exception, argumentsEntry );
+      }
+    catch( Throwable throwable )
+      {
+      handleException( new OperatorException( each, "operator Each failed executing operation", throwable ), argumentsEntry );
+      }
+
+    return true;
+    }
+
+  @Override
+  void receiveFused()
+    {
+    if( pushed )
+      {
+      passRun();
+      return;
+      }
+
+    argumentsEntry.setTuple( selectFusedArguments() );
+
+    try
+      {
+      if( filter.isRemove( flowProcess, operationCall ) )
+        return;
+
+      passRun();
+      }
+    catch( CascadingException exception )
+      {
+      handleException( exception, argumentsEntry );
+      }
+    catch( Throwable throwable )
+      {
+      handleException( new OperatorException( each, "operator Each failed executing operation", throwable ), argumentsEntry );
+      }
+    }
+
   @Override
   public void receive( Duct previous, TupleEntry incomingEntry )
     {
+    if( pushed )
+      {
+      passFused( incomingEntry );
+      return;
+      }
+
     argumentsEntry.setTuple( argumentsBuilder.makeResult( incomingEntry.getTuple(), null ) );
 
     try
@@ -70,7 +174,7 @@ public class FilterEachStage extends EachStage
       if( filter.isRemove( flowProcess, operationCall ) )
         return;
 
-      next.receive( this, incomingEntry );
+      passFused( incomingEntry );
       }
     catch( CascadingException exception )
       {
@@ -39,6 +39,8 @@ import cascading.tuple.Tuples;
 public class FunctionEachStage extends EachStage
   {
   private Function function;
+  /** Field resultSize, the number of values declared by the function */
+  private int resultSize;
 
   public FunctionEachStage( FlowProcess flowProcess, Each each )
     {
@@ -63,6 +65,7 @@ public class FunctionEachStage extends EachStage
     super.initialize();
 
     function = each.getFunction();
+    resultSize = getOperationDeclaredFields().isUnknown() ? 0 : getOperationDeclaredFields().size();
 
     operationCall.setArguments( argumentsEntry );
 
@@ -71,13 +74,20 @@ public class FunctionEachStage extends EachStage
     @Override
     protected void collect( TupleEntry input ) throws IOException
       {
+      if( fusedRun != null )
+        {
+        fusedRun.setResult( fusedResultSlot, input.getTuple(), resultSize );
+        passRun();
+        return;
+        }
+
       Tuple outgoing = outgoingBuilder.makeResult( incomingEntry.getTuple(), input.getTuple() );
 
       outgoingEntry.setTuple( outgoing );
 
       try
         {
-        next.receive( FunctionEachStage.this, outgoingEntry );
+        passFused( outgoingEntry );
         }
       finally
         {
@@ -92,8 +102,24 @@ public class FunctionEachStage extends EachStage
     {
     this.incomingEntry = incomingEntry;
 
+    if( fusedRun != null )
+      fusedRun.incoming = incomingEntry.getTuple();
+
     argumentsEntry.setTuple( argumentsBuilder.makeResult( incomingEntry.getTuple(), null ) );
 
+    operate();
+    }
+
+  @Override
+  void receiveFused()
+    {
+    argumentsEntry.setTuple( selectFusedArguments() );
+
+    operate();
+    }
+
+  private void operate()
+    {
     try
       {
       function.operate( flowProcess, operationCall ); // adds results to collector
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.flow.stream;
+
+import cascading.tuple.Tuple;
+
+/**
+ * Class FusedRun holds the values shared by a run of {@link EachStage}s fused by position, see
+ * {@link EachStage#setFusedRun(java.util.List)}.
+ * <p/>
+ * The results of every function in the run are copied into a single array, and the arguments of every stage and
+ * the outgoing values of the last stage are selected from it by position, so no intermediate Tuple is created.
+ */
+class FusedRun
+  {
+  /** Field values, the results of every function in the run */
+  private final Object[] values;
+  /** Field incoming, the Tuple received by the first stage of the run */
+  Tuple incoming;
+
+  FusedRun( int size )
+    {
+    this.values = new Object[ size ];
+    }
+
+  /** Copies the first size values of the given result into the values starting at the given slot */
+  void setResult( int slot, Tuple result, int size )
+    {
+    for( int i = 0; i < size; i++ )
+      values[ slot + i ] = result.getObject( i );
+    }
+
+  /** Copies the values at the given slots into target, slots below zero are read from the incoming Tuple */
+  void select( int[] slots, Object[] target )
+    {
+    for( int i = 0; i < slots.length; i++ )
+      {
+      int slot = slots[ i ];
+
+      target[ i ] = slot < 0 ? incoming.getObject( -slot - 1 ) : values[ slot ];
+      }
+    }
+  }
@@ -20,8 +20,13 @@
 
 package cascading.flow.stream;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
 
 import cascading.flow.FlowProcess;
 import cascading.pipe.Splice;
@@ -29,15 +34,55 @@ import cascading.tuple.Tuple;
 import cascading.tuple.TupleEntry;
 
 /**
- *
+ * Class MemoryCoGroupGate performs a {@link cascading.pipe.CoGroup} in memory.
+ * <p/>
+ * Each thread calling {@link #receive(Duct, TupleEntry)} accumulates into its own unsynchronized partition. The
+ * partitions are merged, one task per incoming pipe, when the last incoming path completes.
  */
 public class MemoryCoGroupGate extends MemorySpliceGate
   {
+  /** The keys and values received by a single thread. */
+  private class Partition
+    {
+    final Set<Tuple> keys = createUnsynchronizedKeySet();
+    final Map<Tuple, Collection<Tuple>>[] keyValues = createKeyValuesArray();
+    }
+
+  private final List<Partition> partitions = new ArrayList<Partition>();
+  private ThreadLocal<Partition> partition;
+
   public MemoryCoGroupGate( FlowProcess flowProcess, Splice splice )
     {
     super( flowProcess, splice );
     }
 
+  @Override
+  public void prepare()
+    {
+    super.prepare();
+
+    partition = createPartition();
+    }
+
+  private ThreadLocal<Partition> createPartition()
+    {
+    return new ThreadLocal<Partition>()
+    {
+    @Override
+    protected Partition initialValue()
+      {
+      Partition partition = new Partition();
+
+      synchronized( partitions )
+        {
+        partitions.add( partition );
+        }
+
+      return partition;
+      }
+    };
+    }
+
   @Override
   protected boolean isBlockingStreamed()
     {
@@ -59,8 +104,10 @@ public class MemoryCoGroupGate extends MemorySpliceGate
 
     groupTuple = getDelegatedTuple( groupTuple ); // wrap so hasher/comparator is honored
 
-    keys.add( groupTuple );
-    keyValues[ pos ].get( groupTuple ).add( valuesTuple );
+    Partition current = partition.get();
+
+    current.keys.add( groupTuple );
+    current.keyValues[ pos ].get( groupTuple ).add( valuesTuple );
     }
 
   @Override
@@ -73,6 +120,8 @@ public class MemoryCoGroupGate extends MemorySpliceGate
 
     try
       {
+      mergePartitions();
+
       Collection<Tuple>[] collections = new Collection[ orderedPrevious.length ];
 
       for( Tuple keysTuple : keys )
@@ -102,9 +151,71 @@ public class MemoryCoGroupGate extends MemorySpliceGate
       keys = createKeySet();
       keyValues = createKeyValuesArray();
 
+      partitions.clear();
+      partition = createPartition();
+
       count.set( numIncomingPaths );
 
       next.complete( this );
       }
     }
+
+  /**
+   * Merges all thread partitions into {@link #keys} and {@link #keyValues}. No synchronization is necessary as all
+   * writer threads have completed.
+   */
+  private void mergePartitions()
+    {
+    if( partitions.isEmpty() )
+      return;
+
+    final Partition first = partitions.get( 0 );
+
+    keys = first.keys;
+    keyValues = first.keyValues;
+
+    if( partitions.size() == 1 )
+      return;
+
+    List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+
+    tasks.add( new Callable<Void>()
+    {
+    @Override
+    public Void call()
+      {
+      for( int i = 1; i < partitions.size(); i++ )
+        keys.addAll( partitions.get( i ).keys );
+
+      return null;
+      }
+    } );
+
+    for( int pos = 0; pos < keyValues.length; pos++ )
+      {
+      if( keyValues[ pos ] == null ) // only true for local mode
+        continue;
+
+      final int currentPos = pos;
+
+      tasks.add( new Callable<Void>()
+      {
+      @Override
+      public Void call()
+        {
+        Map<Tuple, Collection<Tuple>> target = keyValues[ currentPos ];
+
+        for( int i = 1; i < partitions.size(); i++ )
+          {
+          for( Map.Entry<Tuple, Collection<Tuple>> entry : partitions.get( i ).keyValues[ currentPos ].entrySet() )
+            target.get( entry.getKey() ).addAll( entry.getValue() );
+          }
+
+        return null;
+        }
+      } );
+      }
+
+    invokeAll( tasks );
+    }
   }
@@ -24,23 +24,43 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 
 import cascading.flow.FlowProcess;
 import cascading.pipe.HashJoin;
 import cascading.tuple.Tuple;
 import cascading.tuple.TupleEntry;
+import cascading.tuple.collect.CompactTupleMap;
+import cascading.tuple.collect.SpillableProps;
+import cascading.tuple.util.TupleSizeEstimator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- *
+ * Class MemoryHashJoinGate performs a {@link HashJoin} by accumulating all but the left most (streamed) side in
+ * memory.
+ * <p/>
+ * If {@link SpillableProps#JOIN_THRESHOLD} is set, and the platform provides spillable partitions via
+ * {@link #createPartition(int, int)}, once the accumulated sides exceed the byte threshold they are hash partitioned
+ * to disk, as is the streamed side. On completion each partition is joined in turn, a grace hash join. Results
+ * are then no longer emitted in the order of the streamed side.
  */
 public class MemoryHashJoinGate extends MemorySpliceGate
   {
+  private static final Logger LOG = LoggerFactory.getLogger( MemoryHashJoinGate.class );
+
   protected CountDownLatch latch;
 
   private Collection<Tuple>[] collections;
   private ArrayList<Tuple> streamedCollection;
 
+  private long joinThreshold;
+  protected int numPartitions;
+  private long accumulatedBytes;
+  /** Indexed by partition then by ordinal, null until the accumulated sides exceed the join threshold. */
+  private Collection<Tuple>[][] partitions;
+
   public MemoryHashJoinGate( FlowProcess flowProcess, HashJoin join )
     {
     super( flowProcess, join );
@@ -63,6 +83,19 @@ public class MemoryHashJoinGate extends MemorySpliceGate
     streamedCollection = new ArrayList<Tuple>( Arrays.asList( new Tuple() ) ); // placeholder in collection
     collections = new Collection[ orderedPrevious.length ];
     collections[ 0 ] = streamedCollection;
+
+    joinThreshold = getLongProperty( SpillableProps.JOIN_THRESHOLD, SpillableProps.defaultJoinThreshold );
+    numPartitions = (int) getLongProperty( SpillableProps.JOIN_PARTITIONS, SpillableProps.defaultJoinPartitions );
+    }
+
+  private long getLongProperty( String name, long defaultValue )
+    {
+    Object value = flowProcess.getProperty( name );
+
+    if( value == null || value.toString().length() == 0 )
+      return defaultValue;
+
+    return Long.parseLong( value.toString() );
     }
 
   @Override
@@ -77,13 +110,18 @@ public class MemoryHashJoinGate extends MemorySpliceGate
 
     if( pos != 0 )
       {
-      keys.add( keyTuple );
-      keyValues[ pos ].get( keyTuple ).add( incomingTuple ); // always a copy
+      accumulate( pos, keyTuple, incomingTuple );
       return;
       }
 
     waitOnLatch();
 
+    if( partitions != null )
+      {
+      partitions[ partitionFor( keyTuple ) ][ 0 ].add( incomingTuple );
+      return;
+      }
+
     keys.remove( keyTuple );
 
     streamedCollection.set( 0, incomingTuple ); // no need to copy, temp setting
@@ -91,6 +129,100 @@ public class MemoryHashJoinGate extends MemorySpliceGate
     performJoinWith( keyTuple );
     }
 
+  private void accumulate( int pos, Tuple keyTuple, Tuple incomingTuple )
+    {
+    if( partitions != null )
+      {
+      partitions[ partitionFor( keyTuple ) ][ pos ].add( incomingTuple );
+      return;
+      }
+
+    addKey( pos, keyTuple );
+    keyValues[ pos ].get( keyTuple ).add( incomingTuple ); // always a copy
+
+    if( joinThreshold <= 0 )
+      return;
+
+    accumulatedBytes += TupleSizeEstimator.estimateSize( incomingTuple );
+
+    if( accumulatedBytes > joinThreshold )
+      spillToPartitions();
+    }
+
+  /** Moves all accumulated values into partitions, all subsequent values will be partitioned on arrival. */
+  private void spillToPartitions()
+    {
+    Collection<Tuple>[][] newPartitions = new Collection[ numPartitions ][ orderedPrevious.length ];
+
+    for( int i = 0; i < numPartitions; i++ )
+      {
+      for( int pos = 0; pos < orderedPrevious.length; pos++ )
+        {
+        newPartitions[ i ][ pos ] = createPartition( i, pos );
+
+        if( newPartitions[ i ][ pos ] == null ) // platform does not support partitioning
+          {
+          LOG.warn( "join threshold exceeded, but partitions are not supported, disabling threshold" );
+          joinThreshold = -1;
+          return;
+          }
+        }
+      }
+
+    LOG.info( "accumulated ~{} bytes, exceeding join threshold: {}, partitioning into {} partitions", new Object[]{
+      accumulatedBytes, joinThreshold, numPartitions} );
+
+    partitions = newPartitions;
+
+    for( int pos = 1; pos < keyValues.length; pos++ )
+      {
+      for( Map.Entry<Tuple, Collection<Tuple>> entry : keyValues[ pos ].entrySet() )
+        {
+        Collection<Tuple> partition = partitions[ partitionFor( entry.getKey() ) ][ pos ];
+
+        for( Tuple value : entry.getValue() )
+          partition.add( value );
+        }
+      }
+
+    keys = createKeySet();
+    keyValues = createKeyValuesArray();
+    }
+
+  private int partitionFor( Tuple keyTuple )
+    {
+    int hash = keyTuple.hashCode();
+
+    hash ^= ( hash >>> 16 ); // decorrelate from the hash table buckets
+
+    return ( hash & Integer.MAX_VALUE ) % numPartitions;
+    }
+
+  /**
+   * Method createPartition returns a new, possibly disk backed, collection to hold the tuples of the given
+   * partition arriving on the given ordinal. The collection must retain a copy of every tuple added. Iterators
+   * may reuse the returned Tuple instance.
+   * <p/>
+   * By default returns null, as grace hash joins are not supported.
+   *
+   * @param partition of type int
+   * @param ordinal   of type int
+   * @return a Collection, or null if partitioning is not supported
+   */
+  protected Collection<Tuple> createPartition( int partition, int ordinal )
+    {
+    return null;
+    }
+
+  private void addKey( int pos, Tuple keyTuple )
+    {
+    // the key is a view on the incoming values, a compact map does not retain the values so neither should we
+    if( !( keyValues[ pos ] instanceof CompactTupleMap ) )
+      keys.add( keyTuple );
+    else if( !keys.contains( keyTuple ) )
+      keys.add( getDelegatedTuple( new Tuple( keyTuple ) ) );
+    }
+
   private void performJoinWith( Tuple keyTuple )
     {
     // never replace the first array, pos == 0
@@ -122,6 +254,9 @@ public class MemoryHashJoinGate extends MemorySpliceGate
 
     try
       {
+      if( partitions != null )
+        joinPartitions();
+
       collections[ 0 ] = Collections.EMPTY_LIST;
 
       for( Tuple keyTuple : keys )
@@ -133,6 +268,59 @@ public class MemoryHashJoinGate extends MemorySpliceGate
       {
       keys = createKeySet();
       keyValues = createKeyValuesArray();
+      collections[ 0 ] = streamedCollection;
+      partitions = null;
+      accumulatedBytes = 0;
+      }
+    }
+
+  /**
+   * Joins all but the last partition, the last partition is left loaded in memory, with its unmatched keys
+   * remaining, to be completed as if it was never partitioned.
+   */
+  private void joinPartitions()
+    {
+    for( int i = 0; i < partitions.length; i++ )
+      {
+      if( i != 0 )
+        {
+        collections[ 0 ] = Collections.EMPTY_LIST;
+
+        for( Tuple keyTuple : keys ) // unmatched keys from the prior partition
+          performJoinWith( keyTuple );
+
+        keys = createKeySet();
+        keyValues = createKeyValuesArray();
+        collections[ 0 ] = streamedCollection;
+        }
+
+      Collection<Tuple>[] partition = partitions[ i ];
+
+      for( int pos = 1; pos < partition.length; pos++ )
+        {
+        for( Tuple value : partition[ pos ] )
+          {
+          Tuple valueCopy = new Tuple( value ); // iterators may reuse the instance
+          Tuple keyTuple = getDelegatedTuple( keyBuilder[ pos ].makeResult( valueCopy, null ) );
+
+          addKey( pos, keyTuple );
+          keyValues[ pos ].get( keyTuple ).add( valueCopy );
+          }
+
+        partition[ pos ].clear();
+        }
+
+      for( Tuple value : partition[ 0 ] )
+        {
+        Tuple keyTuple = getDelegatedTuple( keyBuilder[ 0 ].makeResult( value, null ) );
+
+        keys.remove( keyTuple );
+        streamedCollection.set( 0, value );
+
+        performJoinWith( keyTuple );
+        }
+
+      partition[ 0 ].clear();
       }
     }
 
@@ -26,9 +26,17 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import cascading.flow.FlowProcess;
@@ -38,6 +46,7 @@ import cascading.pipe.Splice;
 import cascading.tuple.Fields;
 import cascading.tuple.Tuple;
 import cascading.tuple.util.TupleBuilder;
+import cascading.tuple.util.TupleBuilderCompiler;
 import cascading.tuple.util.TupleHasher;
 
 import static cascading.tuple.util.TupleViews.createNarrow;
@@ -58,10 +67,16 @@ public abstract class MemorySpliceGate extends SpliceGate
 
   protected MemoryCoGroupClosure closure;
 
+  /** If true, keys are grouped by hash and never sorted, see {@link FlowProps#HASH_GROUPING}. */
+  protected boolean hashGrouping;
+
   protected int numIncomingPaths;
 
   protected final AtomicInteger count = new AtomicInteger( 0 );
 
+  /** Field executor, lazily created by {@link #invokeAll(java.util.List)} and reused until {@link #cleanup()} */
+  private ExecutorService executor;
+
   public MemorySpliceGate( FlowProcess flowProcess, Splice splice )
     {
     super( flowProcess, splice );
@@ -80,6 +95,11 @@ public abstract class MemorySpliceGate extends SpliceGate
   // we must make a new Tuple instance to wrap the incoming copy
   protected TupleBuilder createDefaultNarrowBuilder( final Fields incomingFields, final Fields narrowFields )
     {
+    TupleBuilder compiled = isGenerateBuilders() ? TupleBuilderCompiler.compileNarrow( incomingFields.getPos( narrowFields ), true ) : null;
+
+    if( compiled != null )
+      return compiled;
+
     return new TupleBuilder()
     {
     int[] pos = incomingFields.getPos( narrowFields );
@@ -135,6 +155,8 @@ public abstract class MemorySpliceGate extends SpliceGate
 
     groupHasher = defaultComparator != null ? new TupleHasher( defaultComparator, new Comparator[ orderedPrevious.length ] ) : null;
 
+    hashGrouping = isHashGrouping();
+
     keys = createKeySet();
 
     count.set( numIncomingPaths ); // the number of paths incoming
@@ -152,6 +174,13 @@ public abstract class MemorySpliceGate extends SpliceGate
     closure = new MemoryCoGroupClosure( flowProcess, splice.getNumSelfJoins(), keyFields, valuesFields );
     }
 
+  protected boolean isHashGrouping()
+    {
+    Object value = flowProcess.getProperty( FlowProps.HASH_GROUPING );
+
+    return value != null && Boolean.parseBoolean( value.toString() );
+    }
+
   protected Comparator getKeyComparator()
     {
     if( groupComparators.length > 0 && groupComparators[ 0 ] != null )
@@ -169,7 +198,106 @@ public abstract class MemorySpliceGate extends SpliceGate
 
   protected Set<Tuple> createKeySet()
     {
-    return Collections.synchronizedSet( new TreeSet<Tuple>( getKeyComparator() ) );
+    return Collections.synchronizedSet( createUnsynchronizedKeySet() );
+    }
+
+  /**
+   * Creates a key set that may only be written to by a single thread at a time.
+   *
+   * @return a new Set instance
+   */
+  protected Set<Tuple> createUnsynchronizedKeySet()
+    {
+    if( hashGrouping )
+      return new LinkedHashSet<Tuple>();
+
+    return new TreeSet<Tuple>( getKeyComparator() );
+    }
+
+  /**
+   * Method invokeAll runs the given tasks concurrently, using at most one thread per available processor, and
+   * blocks until all of them have completed. The threads are reused by this gate until it is cleaned up.
+   *
+   * @param tasks the tasks to run
+   */
+  protected void invokeAll( List<? extends Callable<Void>> tasks )
+    {
+    if( tasks.size() == 1 )
+      {
+      call( tasks.get( 0 ) );
+      return;
+      }
+
+    try
+      {
+      for( Future<Void> future : getExecutor().invokeAll( tasks ) )
+        future.get();
+      }
+    catch( InterruptedException exception )
+      {
+      throw new DuctException( "interrupted", exception );
+      }
+    catch( ExecutionException exception )
+      {
+      if( exception.getCause() instanceof RuntimeException )
+        throw (RuntimeException) exception.getCause();
+
+      throw new DuctException( "failed executing task", exception.getCause() );
+      }
+    }
+
+  private synchronized ExecutorService getExecutor()
+    {
+    if( executor == null )
+      executor = Executors.newFixedThreadPool( Runtime.getRuntime().availableProcessors(), new ThreadFactory()
+      {
+      @Override
+      public Thread newThread( Runnable runnable )
+        {
+        Thread thread = new Thread( runnable, "splice-gate" );
+
+        thread.setDaemon( true );
+
+        return thread;
+        }
+      } );
+
+    return executor;
+    }
+
+  @Override
+  public void cleanup()
+    {
+    try
+      {
+      synchronized( this )
+        {
+        if( executor != null )
+          executor.shutdownNow();
+
+        executor = null;
+        }
+      }
+    finally
+      {
+      super.cleanup();
+      }
+    }
+
+  private static void call( Callable<Void> task )
+    {
+    try
+      {
+      task.call();
+      }
+    catch( RuntimeException exception )
+      {
+      throw exception;
+      }
+    catch( Exception exception )
+      {
+      throw new DuctException( "failed executing task", exception );
+      }
     }
 
   /**
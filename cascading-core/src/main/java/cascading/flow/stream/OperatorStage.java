@@ -22,6 +22,7 @@ package cascading.flow.stream;
 
 import cascading.flow.FlowElement;
 import cascading.flow.FlowProcess;
+import cascading.flow.FlowProps;
 import cascading.flow.planner.Scope;
 import cascading.operation.ConcreteCall;
 import cascading.pipe.Operator;
@@ -30,6 +31,7 @@ import cascading.tuple.Tuple;
 import cascading.tuple.TupleEntry;
 import cascading.tuple.TupleEntryCollector;
 import cascading.tuple.util.TupleBuilder;
+import cascading.tuple.util.TupleBuilderCompiler;
 import cascading.tuple.util.TupleViews;
 
 import static cascading.tuple.util.TupleViews.*;
@@ -47,11 +49,19 @@ public abstract class OperatorStage<Incoming> extends ElementStage<Incoming, Tup
   protected Fields outgoingSelector;
   protected TupleEntry outgoingEntry;
 
+  /** Field argumentsPlan, the incoming positions selected as arguments, or null if not known */
+  protected int[] argumentsPlan;
+  /** Field outgoingPlan, the sources and positions selected as outgoing values, or null if not known */
+  protected int[][] outgoingPlan;
+
   protected TupleBuilder argumentsBuilder;
   protected TupleBuilder outgoingBuilder;
 
   protected TupleEntryCollector outputCollector;
 
+  /** Field generateBuilders, see {@link FlowProps#GENERATE_TUPLE_BUILDERS} */
+  protected boolean generateBuilders;
+
   public OperatorStage( FlowProcess flowProcess, FlowElement flowElement )
     {
     super( flowProcess, flowElement );
@@ -70,7 +80,137 @@ public abstract class OperatorStage<Incoming> extends ElementStage<Incoming, Tup
 
   protected abstract Fields getIncomingArgumentsFields();
 
-  protected TupleBuilder createArgumentsBuilder( final Fields incomingFields, final Fields argumentsSelector )
+  protected boolean isGenerateBuilders()
+    {
+    Object value = flowProcess.getProperty( FlowProps.GENERATE_TUPLE_BUILDERS );
+
+    return value != null && Boolean.parseBoolean( value.toString() );
+    }
+
+  /** Returns a compiled builder selecting the values of the given plan, or null if not generated or the plan is not known */
+  protected TupleBuilder compile( int[][] plan )
+    {
+    if( !generateBuilders || plan == null )
+      return null;
+
+    return TupleBuilderCompiler.compile( plan[ 0 ], plan[ 1 ], false );
+    }
+
+  /** Returns the sources and positions selecting the given input positions followed by the leading output values */
+  static int[][] compositePlan( int[] inputPos, int outputSize )
+    {
+    int[] sources = new int[ inputPos.length + outputSize ];
+    int[] positions = new int[ inputPos.length + outputSize ];
+
+    for( int i = 0; i < inputPos.length; i++ )
+      {
+      sources[ i ] = TupleBuilderCompiler.INPUT;
+      positions[ i ] = inputPos[ i ];
+      }
+
+    for( int i = 0; i < outputSize; i++ )
+      {
+      sources[ inputPos.length + i ] = TupleBuilderCompiler.OUTPUT;
+      positions[ inputPos.length + i ] = i;
+      }
+
+    return new int[][]{sources, positions};
+    }
+
+  /** Returns the sources and positions replacing the given input positions with the output values */
+  static int[][] overridePlan( int inputSize, int[] overridePos )
+    {
+    int[] sources = new int[ inputSize ];
+    int[] positions = new int[ inputSize ];
+
+    for( int i = 0; i < inputSize; i++ )
+      {
+      sources[ i ] = TupleBuilderCompiler.INPUT;
+      positions[ i ] = i;
+      }
+
+    for( int i = 0; i < overridePos.length; i++ )
+      {
+      sources[ overridePos[ i ] ] = TupleBuilderCompiler.OUTPUT;
+      positions[ overridePos[ i ] ] = i;
+      }
+
+    return new int[][]{sources, positions};
+    }
+
+  /** Returns the sources and positions selecting the given positions from the input values followed by the output values */
+  static int[][] appendedPlan( int inputSize, int[] appendedPos )
+    {
+    int[] sources = new int[ appendedPos.length ];
+    int[] positions = new int[ appendedPos.length ];
+
+    for( int i = 0; i < appendedPos.length; i++ )
+      {
+      boolean isInput = appendedPos[ i ] < inputSize;
+
+      sources[ i ] = isInput ? TupleBuilderCompiler.INPUT : TupleBuilderCompiler.OUTPUT;
+      positions[ i ] = isInput ? appendedPos[ i ] : appendedPos[ i ] - inputSize;
+      }
+
+    return new int[][]{sources, positions};
+    }
+
+  /** Returns the incoming positions selected by the given arguments selector, or null if the incoming fields are unknown */
+  protected int[] createArgumentsPlan( Fields incomingFields, Fields argumentsSelector )
+    {
+    if( incomingFields.isUnknown() )
+      return null;
+
+    Fields inputDeclarationFields = Fields.asDeclaration( incomingFields );
+
+    if( argumentsSelector.isAll() )
+      return inputDeclarationFields.getPos();
+
+    if( argumentsSelector.isNone() )
+      return new int[ 0 ];
+
+    return inputDeclarationFields.getPos( argumentsSelector );
+    }
+
+  /**
+   * Returns the sources and positions of the outgoing values selected from the incoming and declared values, or
+   * null if they cannot be selected by position. The plan is resolved once by {@link #initialize()}, and both the
+   * compiled outgoing builder and any fused stages select their values from it.
+   */
+  protected int[][] createOutgoingPlan( Operator operator, Fields incomingFields, Fields argumentSelector, Fields remainderFields, Fields declaredFields, Fields outgoingSelector )
+    {
+    Fields inputDeclarationFields = Fields.asDeclaration( incomingFields );
+    Fields outputSelector = operator.getOutputSelector();
+
+    if( outputSelector.isResults() || outputSelector.isSwap() && remainderFields.size() == 0 )
+      return declaredFields.isUnknown() ? null : compositePlan( new int[ 0 ], declaredFields.size() );
+
+    if( outputSelector.isReplace() )
+      {
+      Fields resultFields = operator.getFieldDeclaration().isArguments() ? argumentSelector : declaredFields;
+
+      if( incomingFields.isUnknown() || resultFields.isUnknown() )
+        return null;
+
+      return overridePlan( inputDeclarationFields.size(), inputDeclarationFields.getPos( resultFields ) );
+      }
+
+    if( incomingFields.isUnknown() || declaredFields.isUnknown() )
+      return null;
+
+    if( outputSelector.isAll() )
+      return compositePlan( inputDeclarationFields.getPos(), declaredFields.size() );
+
+    if( outputSelector.isSwap() )
+      return compositePlan( inputDeclarationFields.getPos( remainderFields ), declaredFields.size() );
+
+    Fields inputFields = operator.getFieldDeclaration().isArguments() ? Fields.mask( inputDeclarationFields, declaredFields ) : inputDeclarationFields;
+    Fields allFields = Fields.resolve( Fields.ALL, inputFields, declaredFields );
+
+    return appendedPlan( inputFields.size(), allFields.getPos( outgoingSelector ) );
+    }
+
+  protected TupleBuilder createArgumentsBuilder( final Fields incomingFields, final Fields argumentsSelector, int[] argumentsPlan )
     {
     if( incomingFields.isUnknown() )
       return new TupleBuilder()
@@ -102,11 +242,16 @@ public abstract class OperatorStage<Incoming> extends ElementStage<Incoming, Tup
         }
       };
 
-    final Fields inputDeclarationFields = Fields.asDeclaration( incomingFields );
+    TupleBuilder compiled = compile( compositePlan( argumentsPlan, 0 ) );
+
+    if( compiled != null )
+      return compiled;
+
+    final int[] argumentsPos = argumentsPlan;
 
     return new TupleBuilder()
     {
-    Tuple result = createNarrow( inputDeclarationFields.getPos( argumentsSelector ) );
+    Tuple result = createNarrow( argumentsPos );
 
     @Override
     public Tuple makeResult( Tuple input, Tuple output )
@@ -116,11 +261,11 @@ public abstract class OperatorStage<Incoming> extends ElementStage<Incoming, Tup
     };
     }
 
-  protected TupleBuilder createOutgoingBuilder( final Operator operator, final Fields incomingFields, final Fields argumentSelector, final Fields remainderFields, final Fields declaredFields, final Fields outgoingSelector )
+  protected TupleBuilder createOutgoingBuilder( final Operator operator, final Fields incomingFields, final Fields argumentSelector, final Fields remainderFields, final Fields declaredFields, final Fields outgoingSelector, int[][] outgoingPlan )
     {
     final Fields inputDeclarationFields = Fields.asDeclaration( incomingFields );
 
-    if( operator.getOutputSelector().isResults() )
+    if( operator.getOutputSelector().isResults() || operator.getOutputSelector().isSwap() && remainderFields.size() == 0 ) // swap is the same as Fields.RESULTS
       return new TupleBuilder()
       {
       @Override
@@ -130,6 +275,11 @@ public abstract class OperatorStage<Incoming> extends ElementStage<Incoming, Tup
         }
       };
 
+    TupleBuilder compiled = compile( outgoingPlan );
+
+    if( compiled != null )
+      return compiled;
+
     if( operator.getOutputSelector().isAll() && !( incomingFields.isUnknown() || declaredFields.isUnknown() ) )
       return new TupleBuilder()
       {
@@ -143,10 +293,12 @@ public abstract class OperatorStage<Incoming> extends ElementStage<Incoming, Tup
       };
 
     if( operator.getOutputSelector().isReplace() )
-      return new TupleBuilder()
       {
       // todo: test when arg and decl are not the same?
-      Fields resultFields = operator.getFieldDeclaration().isArguments() ? argumentSelector : declaredFields;
+      final Fields resultFields = operator.getFieldDeclaration().isArguments() ? argumentSelector : declaredFields;
+
+      return new TupleBuilder()
+      {
       Tuple result = createOverride( inputDeclarationFields, resultFields );
 
       @Override
@@ -155,19 +307,11 @@ public abstract class OperatorStage<Incoming> extends ElementStage<Incoming, Tup
         return TupleViews.reset( result, input, output );
         }
       };
+      }
 
     if( operator.getOutputSelector().isSwap() )
       {
-      if( remainderFields.size() == 0 ) // the same as Fields.RESULTS
-        return new TupleBuilder()
-        {
-        @Override
-        public Tuple makeResult( Tuple input, Tuple output )
-          {
-          return output;
-          }
-        };
-      else if( declaredFields.isUnknown() )
+      if( declaredFields.isUnknown() )
         return new TupleBuilder()
         {
         @Override
@@ -176,20 +320,20 @@ public abstract class OperatorStage<Incoming> extends ElementStage<Incoming, Tup
           return input.get( incomingFields, remainderFields ).append( output );
           }
         };
-      else
-        return new TupleBuilder()
-        {
-        Tuple view = createNarrow( inputDeclarationFields.getPos( remainderFields ) );
-        Tuple result = createComposite( Fields.asDeclaration( remainderFields ), declaredFields );
 
-        @Override
-        public Tuple makeResult( Tuple input, Tuple output )
-          {
-          TupleViews.reset( view, input );
+      return new TupleBuilder()
+      {
+      Tuple view = createNarrow( inputDeclarationFields.getPos( remainderFields ) );
+      Tuple result = createComposite( Fields.asDeclaration( remainderFields ), declaredFields );
 
-          return TupleViews.reset( result, view, output );
-          }
-        };
+      @Override
+      public Tuple makeResult( Tuple input, Tuple output )
+        {
+        TupleViews.reset( view, input );
+
+        return TupleViews.reset( result, view, output );
+        }
+      };
       }
 
     if( incomingFields.isUnknown() || declaredFields.isUnknown() )
@@ -209,11 +353,12 @@ public abstract class OperatorStage<Incoming> extends ElementStage<Incoming, Tup
         }
       };
 
+    final Fields inputFields = operator.getFieldDeclaration().isArguments() ? Fields.mask( inputDeclarationFields, declaredFields ) : inputDeclarationFields;
+    final Fields allFields = Fields.resolve( Fields.ALL, inputFields, declaredFields );
+
     return new TupleBuilder()
     {
-    Fields inputFields = operator.getFieldDeclaration().isArguments() ? Fields.mask( inputDeclarationFields, declaredFields ) : inputDeclarationFields;
     Tuple appended = createComposite( inputFields, declaredFields );
-    Fields allFields = Fields.resolve( Fields.ALL, inputFields, declaredFields );
     Tuple result = createNarrow( allFields.getPos( outgoingSelector ), appended );
 
 
@@ -232,6 +377,8 @@ public abstract class OperatorStage<Incoming> extends ElementStage<Incoming, Tup
     {
     Scope outgoingScope = outgoingScopes.get( 0 );
 
+    generateBuilders = isGenerateBuilders();
+
     operationCall = new ConcreteCall( outgoingScope.getArgumentsDeclarator() );
 
     argumentsSelector = outgoingScope.getArgumentsSelector();
@@ -244,8 +391,11 @@ public abstract class OperatorStage<Incoming> extends ElementStage<Incoming, Tup
 
     operationCall.setArguments( argumentsEntry );
 
-    argumentsBuilder = createArgumentsBuilder( getIncomingArgumentsFields(), argumentsSelector );
-    outgoingBuilder = createOutgoingBuilder( getOperator(), getIncomingPassThroughFields(), argumentsSelector, remainderFields, getOperationDeclaredFields(), outgoingSelector );
+    argumentsPlan = createArgumentsPlan( getIncomingArgumentsFields(), argumentsSelector );
+    outgoingPlan = createOutgoingPlan( getOperator(), getIncomingPassThroughFields(), argumentsSelector, remainderFields, getOperationDeclaredFields(), outgoingSelector );
+
+    argumentsBuilder = createArgumentsBuilder( getIncomingArgumentsFields(), argumentsSelector, argumentsPlan );
+    outgoingBuilder = createOutgoingBuilder( getOperator(), getIncomingPassThroughFields(), argumentsSelector, remainderFields, getOperationDeclaredFields(), outgoingSelector, outgoingPlan );
     }
 
   @Override
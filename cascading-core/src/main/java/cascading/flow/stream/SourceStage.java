@@ -20,15 +20,22 @@
 
 package cascading.flow.stream;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.Callable;
 
 import cascading.CascadingException;
 import cascading.flow.FlowProcess;
 import cascading.flow.SliceCounters;
 import cascading.flow.StepCounters;
+import cascading.scheme.SourcePredicate;
 import cascading.tap.Tap;
+import cascading.tuple.Fields;
 import cascading.tuple.TupleEntry;
 import cascading.tuple.TupleEntryIterator;
+import cascading.tuple.TupleEntrySchemeIterator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +47,8 @@ public class SourceStage extends ElementStage<Void, TupleEntry> implements Calla
   private static final Logger LOG = LoggerFactory.getLogger( SourceStage.class );
 
   private final Tap source;
+  /** Field pushedFilters, the filters directly downstream to be evaluated by the source Scheme */
+  private List<FilterEachStage> pushedFilters = Collections.emptyList();
 
   public SourceStage( FlowProcess flowProcess, Tap source )
     {
@@ -47,6 +56,11 @@ public class SourceStage extends ElementStage<Void, TupleEntry> implements Calla
     this.source = source;
     }
 
+  void setPushedFilters( List<FilterEachStage> pushedFilters )
+    {
+    this.pushedFilters = pushedFilters;
+    }
+
   @Override
   public Throwable call() throws Exception
     {
@@ -73,6 +87,8 @@ public class SourceStage extends ElementStage<Void, TupleEntry> implements Calla
       // input may be null
       iterator = source.openForRead( flowProcess, input );
 
+      pushFilters( iterator );
+
       while( iterator.hasNext() )
         {
         TupleEntry tupleEntry = null;
@@ -128,6 +144,55 @@ public class SourceStage extends ElementStage<Void, TupleEntry> implements Calla
     return localThrowable;
     }
 
+  private void pushFilters( TupleEntryIterator iterator )
+    {
+    if( pushedFilters.isEmpty() || !( iterator instanceof TupleEntrySchemeIterator ) )
+      return;
+
+    ( (TupleEntrySchemeIterator) iterator ).setPredicate( new FilterPredicate() );
+
+    for( FilterEachStage stage : pushedFilters )
+      stage.setPushed( true );
+    }
+
+  /** Evaluates the pushed filters in stream order on behalf of the source Scheme */
+  private class FilterPredicate implements SourcePredicate
+    {
+    private final Fields argumentFields;
+
+    FilterPredicate()
+      {
+      Fields sourceFields = Fields.asDeclaration( outgoingScopes.get( 0 ).getOutValuesFields() );
+      Set<Integer> positions = new TreeSet<Integer>();
+
+      for( FilterEachStage stage : pushedFilters )
+        {
+        for( int pos : sourceFields.getPos( stage.argumentsSelector ) )
+          positions.add( pos );
+        }
+
+      argumentFields = new Fields( positions.toArray( new Integer[ positions.size() ] ) );
+      }
+
+    @Override
+    public Fields getArgumentFields()
+      {
+      return argumentFields;
+      }
+
+    @Override
+    public boolean isRemove( TupleEntry incomingEntry )
+      {
+      for( FilterEachStage stage : pushedFilters )
+        {
+        if( stage.isRemove( incomingEntry ) )
+          return true;
+        }
+
+      return false;
+      }
+    }
+
   @Override
   public void initialize()
     {
@@ -27,6 +27,7 @@ import java.util.Set;
 
 import cascading.flow.FlowElement;
 import cascading.flow.FlowProcess;
+import cascading.flow.FlowProps;
 import cascading.flow.planner.Scope;
 import cascading.pipe.Splice;
 import cascading.tuple.Fields;
@@ -36,6 +37,7 @@ import cascading.tuple.TupleEntryChainIterator;
 import cascading.tuple.TupleEntryIterator;
 import cascading.tuple.Tuples;
 import cascading.tuple.util.TupleBuilder;
+import cascading.tuple.util.TupleBuilderCompiler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -160,8 +162,20 @@ public abstract class SpliceGate extends Gate<TupleEntry, Grouping<TupleEntry, T
     return createDefaultNarrowBuilder( incomingFields, narrowFields );
     }
 
+  protected boolean isGenerateBuilders()
+    {
+    Object value = flowProcess.getProperty( FlowProps.GENERATE_TUPLE_BUILDERS );
+
+    return value != null && Boolean.parseBoolean( value.toString() );
+    }
+
   protected TupleBuilder createDefaultNarrowBuilder( final Fields incomingFields, final Fields narrowFields )
     {
+    TupleBuilder compiled = isGenerateBuilders() ? TupleBuilderCompiler.compileNarrow( incomingFields.getPos( narrowFields ), false ) : null;
+
+    if( compiled != null )
+      return compiled;
+
     return new TupleBuilder()
     {
     Tuple result = createNarrow( incomingFields.getPos( narrowFields ) );
@@ -20,13 +20,18 @@
 
 package cascading.flow.stream;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 
 import cascading.flow.FlowElement;
 import cascading.flow.FlowProcess;
+import cascading.flow.FlowProps;
 import cascading.flow.planner.BaseFlowStep;
 import cascading.flow.planner.Scope;
 import cascading.pipe.CoGroup;
@@ -71,6 +76,145 @@ public abstract class StepStreamGraph extends StreamGraph
       addTail( lhsDuct );
     }
 
+  @Override
+  public void bind()
+    {
+    super.bind();
+
+    bindPushedFilters();
+
+    if( isFuseEachStages() )
+      bindFusedStages();
+    }
+
+  protected boolean isFuseEachStages()
+    {
+    Object value = getProperty( FlowProps.FUSE_EACH_STAGES );
+
+    return value == null || Boolean.parseBoolean( value.toString() );
+    }
+
+  /**
+   * Fuses each run of functions and filters directly following one another into the first stage of the run, see
+   * {@link FlowProps#FUSE_EACH_STAGES}.
+   * <p/>
+   * If every stage of a run selects its values by position, the run is fused by position, so only its last stage
+   * creates an outgoing tuple. Otherwise only the filters directly following a stage are evaluated inline by it.
+   */
+  protected void bindFusedStages()
+    {
+    Map<EachStage, List<EachStage>> runs = new LinkedHashMap<EachStage, List<EachStage>>();
+    Set<EachStage> fusedByPosition = new HashSet<EachStage>();
+
+    for( Duct duct : getAllDucts() )
+      {
+      if( !( duct instanceof FunctionEachStage ) && !( duct instanceof FilterEachStage ) )
+        continue;
+
+      EachStage stage = (EachStage) duct;
+      List<EachStage> run = findFusableRun( stage );
+
+      runs.put( stage, run );
+
+      if( isFusableByPosition( stage, run ) )
+        fusedByPosition.addAll( run );
+      }
+
+    for( Map.Entry<EachStage, List<EachStage>> entry : runs.entrySet() )
+      {
+      EachStage stage = entry.getKey();
+      List<EachStage> run = entry.getValue();
+
+      if( fusedByPosition.contains( stage ) ) // part of a run fused by position with a preceding stage
+        continue;
+
+      if( isFusableByPosition( stage, run ) )
+        {
+        stage.setFusedRun( run );
+        continue;
+        }
+
+      List<FilterEachStage> filters = new ArrayList<FilterEachStage>();
+
+      for( EachStage next : run )
+        {
+        if( !( next instanceof FilterEachStage ) )
+          break;
+
+        filters.add( (FilterEachStage) next );
+        }
+
+      stage.setFused( filters );
+      }
+    }
+
+  /** Returns the functions and filters directly following the given stage, up to the first with a different trap */
+  private List<EachStage> findFusableRun( EachStage stage )
+    {
+    Tap trap = step.getTrap( stage.each.getName() );
+    List<EachStage> run = new ArrayList<EachStage>();
+    Duct next = stage.getNext();
+
+    // a downstream failure is handled by the head of the run, so the traps must agree
+    while( ( next instanceof FunctionEachStage || next instanceof FilterEachStage ) && isSameTrap( trap, step.getTrap( ( (EachStage) next ).each.getName() ) ) )
+      {
+      run.add( (EachStage) next );
+      next = next.getNext();
+      }
+
+    return run;
+    }
+
+  /** Returns true if the given run includes a function and every stage selects its values by position */
+  private boolean isFusableByPosition( EachStage stage, List<EachStage> run )
+    {
+    if( run.isEmpty() || !stage.isFusableByPosition() )
+      return false;
+
+    boolean hasFunction = stage instanceof FunctionEachStage;
+
+    for( EachStage next : run )
+      {
+      if( !next.isFusableByPosition() )
+        return false;
+
+      hasFunction |= next instanceof FunctionEachStage;
+      }
+
+    return hasFunction;
+    }
+
+  private boolean isSameTrap( Tap lhs, Tap rhs )
+    {
+    return lhs == null ? rhs == null : lhs.equals( rhs );
+    }
+
+  /** Hands the filters the planner found pushable to the SourceStage reading each source */
+  protected void bindPushedFilters()
+    {
+    for( Duct head : getHeads() )
+      {
+      if( !( head instanceof SourceStage ) )
+        continue;
+
+      SourceStage sourceStage = (SourceStage) head;
+      List<Each> filters = step.getPushedFilters( (Tap) sourceStage.getFlowElement() );
+      List<FilterEachStage> stages = new ArrayList<FilterEachStage>();
+      Duct next = sourceStage.getNext();
+
+      for( Each filter : filters )
+        {
+        if( !( next instanceof FilterEachStage ) || ( (FilterEachStage) next ).getFlowElement() != filter )
+          break;
+
+        stages.add( (FilterEachStage) next );
+        next = next.getNext();
+        }
+
+      sourceStage.setPushedFilters( stages );
+      }
+    }
+
   protected abstract boolean stopOnElement( FlowElement lhsElement, List<FlowElement> successors );
 
   private void handleSuccessors( Duct lhsDuct, List<FlowElement> successors )
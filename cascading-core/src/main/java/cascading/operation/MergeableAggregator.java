@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.operation;
+
+import cascading.pipe.assembly.AggregateBy;
+import cascading.tuple.Fields;
+
+/**
+ * A MergeableAggregator is an {@link Aggregator} whose result can be computed from partial results, each calculated
+ * over a subset of the values in a grouping.
+ * <p/>
+ * When enabled, a planner may use this to perform partial aggregation before the {@link cascading.pipe.GroupBy}, much
+ * like {@link AggregateBy} does, by applying the {@link AggregateBy.Functor} returned by
+ * {@link #getPartialFunctor(cascading.tuple.Fields)} to the values of each grouping, and replacing this Aggregator
+ * with the one returned by {@link #getMergeAggregator()}, applied to the partial results.
+ * <p/>
+ * The merged result must be the same as the result of this Aggregator over all the original values.
+ *
+ * @see cascading.operation.aggregator.Sum
+ * @see cascading.operation.aggregator.Count
+ * @see cascading.operation.aggregator.Max
+ * @see cascading.operation.aggregator.Min
+ */
+public interface MergeableAggregator<Context> extends Aggregator<Context>
+  {
+  /**
+   * Method getNumPartialFields returns the number of fields in each partial result.
+   *
+   * @return int
+   */
+  int getNumPartialFields();
+
+  /**
+   * Method getPartialFunctor returns a new {@link AggregateBy.Functor} that calculates a partial result over the
+   * same arguments as this Aggregator, declaring the given partialFields.
+   *
+   * @param partialFields of type Fields
+   * @return Functor
+   */
+  AggregateBy.Functor getPartialFunctor( Fields partialFields );
+
+  /**
+   * Method getMergeAggregator returns a new {@link Aggregator} that merges the partial results into the final
+   * result. It must accept {@link #getNumPartialFields()} arguments and declare the same fields as this Aggregator.
+   *
+   * @return Aggregator
+   */
+  Aggregator getMergeAggregator();
+  }
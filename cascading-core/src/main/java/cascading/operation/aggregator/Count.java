@@ -26,7 +26,10 @@ import cascading.flow.FlowProcess;
 import cascading.operation.Aggregator;
 import cascading.operation.AggregatorCall;
 import cascading.operation.BaseOperation;
+import cascading.operation.MergeableAggregator;
 import cascading.operation.OperationCall;
+import cascading.pipe.assembly.AggregateBy;
+import cascading.pipe.assembly.CountBy;
 import cascading.tuple.Fields;
 import cascading.tuple.Tuple;
 import cascading.util.Pair;
@@ -35,8 +38,10 @@ import cascading.util.Pair;
  * Class Count is an {@link Aggregator} that calculates the number of items in the current group.
  * </p>
  * Note the resulting value for count is always a long. So any comparisons should be against a long value.
+ * <p/>
+ * Count is a {@link MergeableAggregator}, partial counts are merged by summing them.
  */
-public class Count extends BaseOperation<Pair<Long[], Tuple>> implements Aggregator<Pair<Long[], Tuple>>
+public class Count extends BaseOperation<Pair<Long[], Tuple>> implements MergeableAggregator<Pair<Long[], Tuple>>
   {
   /** Field COUNT */
   public static final String FIELD_NAME = "count";
@@ -88,4 +93,22 @@ public class Count extends BaseOperation<Pair<Long[], Tuple>> implements Aggrega
 
     return aggregatorCall.getContext().getRhs();
     }
+
+  @Override
+  public int getNumPartialFields()
+    {
+    return 1;
+    }
+
+  @Override
+  public AggregateBy.Functor getPartialFunctor( Fields partialFields )
+    {
+    return new CountBy.CountPartials( partialFields );
+    }
+
+  @Override
+  public Aggregator getMergeAggregator()
+    {
+    return new Sum( getFieldDeclaration(), Long.TYPE );
+    }
   }
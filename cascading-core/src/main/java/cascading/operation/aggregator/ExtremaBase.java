@@ -29,7 +29,9 @@ import cascading.flow.FlowProcess;
 import cascading.operation.Aggregator;
 import cascading.operation.AggregatorCall;
 import cascading.operation.BaseOperation;
+import cascading.operation.MergeableAggregator;
 import cascading.operation.OperationCall;
+import cascading.pipe.assembly.AggregateBy;
 import cascading.tuple.Fields;
 import cascading.tuple.Tuple;
 import cascading.tuple.TupleEntry;
@@ -37,8 +39,11 @@ import cascading.tuple.TupleEntry;
 /**
  * Class ExtremaBase is the base class for Max and Min. The unique thing about Max and Min are that they return the original,
  * un-coerced, argument value, though a coerced version of the argument is used for the comparison.
+ * <p/>
+ * ExtremaBase is a {@link MergeableAggregator}. Each partial result holds the original value and its coerced version,
+ * so the merged result is the same original value that would have been returned without partial aggregation.
  */
-public abstract class ExtremaBase extends BaseOperation<ExtremaBase.Context> implements Aggregator<ExtremaBase.Context>
+public abstract class ExtremaBase extends BaseOperation<ExtremaBase.Context> implements MergeableAggregator<ExtremaBase.Context>
   {
   /** Field ignoreValues */
   protected final Collection ignoreValues;
@@ -141,6 +146,149 @@ public abstract class ExtremaBase extends BaseOperation<ExtremaBase.Context> imp
     return aggregatorCall.getContext().value;
     }
 
+  @Override
+  public int getNumPartialFields()
+    {
+    return 2;
+    }
+
+  @Override
+  public AggregateBy.Functor getPartialFunctor( Fields partialFields )
+    {
+    return new ExtremaPartials( this, partialFields );
+    }
+
+  @Override
+  public Aggregator getMergeAggregator()
+    {
+    return new ExtremaMerge( this );
+    }
+
+  /**
+   * Class ExtremaPartials is a {@link AggregateBy.Functor} that returns the original value and the coerced extrema of
+   * the values seen, as compared by the given ExtremaBase.
+   */
+  public static class ExtremaPartials implements AggregateBy.Functor
+    {
+    private final ExtremaBase extremaBase;
+    private final Fields declaredFields;
+
+    public ExtremaPartials( ExtremaBase extremaBase, Fields declaredFields )
+      {
+      this.extremaBase = extremaBase;
+      this.declaredFields = declaredFields;
+
+      if( declaredFields.size() != 2 )
+        throw new IllegalArgumentException( "declared fields must have two fields, got: " + declaredFields );
+      }
+
+    @Override
+    public Fields getDeclaredFields()
+      {
+      return declaredFields;
+      }
+
+    @Override
+    public Tuple aggregate( FlowProcess flowProcess, TupleEntry args, Tuple context )
+      {
+      if( context == null )
+        context = new Tuple( null, extremaBase.getInitialValue() );
+
+      Object arg = args.getObject( 0 );
+
+      if( extremaBase.ignoreValues != null && extremaBase.ignoreValues.contains( arg ) )
+        return context;
+
+      Number rhs;
+
+      if( arg instanceof Number )
+        rhs = (Number) arg;
+      else
+        rhs = args.getDouble( 0 );
+
+      if( extremaBase.compare( (Number) context.getObject( 1 ), rhs ) )
+        {
+        context.set( 0, arg );
+        context.set( 1, rhs );
+        }
+
+      return context;
+      }
+
+    @Override
+    public Tuple complete( FlowProcess flowProcess, Tuple context )
+      {
+      return context;
+      }
+    }
+
+  /**
+   * Class ExtremaMerge is an {@link Aggregator} that takes the partial results of {@link ExtremaPartials} as
+   * arguments, and returns the original value of the winning extrema, as compared by the given ExtremaBase.
+   */
+  public static class ExtremaMerge extends BaseOperation<Context> implements Aggregator<Context>
+    {
+    private final ExtremaBase extremaBase;
+
+    public ExtremaMerge( ExtremaBase extremaBase )
+      {
+      super( 2, extremaBase.getFieldDeclaration() );
+      this.extremaBase = extremaBase;
+      }
+
+    @Override
+    public void prepare( FlowProcess flowProcess, OperationCall<Context> operationCall )
+      {
+      operationCall.setContext( new Context( extremaBase.getInitialValue() ) );
+      }
+
+    @Override
+    public void start( FlowProcess flowProcess, AggregatorCall<Context> aggregatorCall )
+      {
+      aggregatorCall.getContext().reset( extremaBase.getInitialValue() );
+      }
+
+    @Override
+    public void aggregate( FlowProcess flowProcess, AggregatorCall<Context> aggregatorCall )
+      {
+      TupleEntry entry = aggregatorCall.getArguments();
+      Context context = aggregatorCall.getContext();
+
+      Number rhs = (Number) entry.getObject( 1 );
+
+      if( extremaBase.compare( context.extrema, rhs ) )
+        {
+        context.value.set( 0, entry.getObject( 0 ) );
+        context.extrema = rhs;
+        }
+      }
+
+    @Override
+    public void complete( FlowProcess flowProcess, AggregatorCall<Context> aggregatorCall )
+      {
+      aggregatorCall.getOutputCollector().add( aggregatorCall.getContext().value );
+      }
+
+    @Override
+    public boolean equals( Object object )
+      {
+      if( this == object )
+        return true;
+      if( !( object instanceof ExtremaMerge ) )
+        return false;
+      if( !super.equals( object ) )
+        return false;
+
+      return extremaBase.equals( ( (ExtremaMerge) object ).extremaBase );
+      }
+
+    @Override
+    public int hashCode()
+      {
+      return 31 * super.hashCode() + extremaBase.hashCode();
+      }
+    }
+
   @Override
   public boolean equals( Object object )
     {
@@ -26,14 +26,21 @@ import cascading.flow.FlowProcess;
 import cascading.operation.Aggregator;
 import cascading.operation.AggregatorCall;
 import cascading.operation.BaseOperation;
+import cascading.operation.MergeableAggregator;
 import cascading.operation.OperationCall;
+import cascading.pipe.assembly.AggregateBy;
+import cascading.pipe.assembly.SumBy;
 import cascading.tuple.Fields;
 import cascading.tuple.Tuple;
 import cascading.tuple.Tuples;
 import cascading.util.Pair;
 
-/** Class Sum is an {@link Aggregator} that returns the sum of all numeric values in the current group. */
-public class Sum extends BaseOperation<Pair<Double[], Tuple>> implements Aggregator<Pair<Double[], Tuple>>
+/**
+ * Class Sum is an {@link Aggregator} that returns the sum of all numeric values in the current group.
+ * <p/>
+ * Sum is a {@link MergeableAggregator}, partial sums are merged by summing them.
+ */
+public class Sum extends BaseOperation<Pair<Double[], Tuple>> implements MergeableAggregator<Pair<Double[], Tuple>>
   {
   /** Field FIELD_NAME */
   public static final String FIELD_NAME = "sum";
@@ -107,6 +114,24 @@ public class Sum extends BaseOperation<Pair<Double[], Tuple>> implements Aggrega
     return aggregatorCall.getContext().getRhs();
     }
 
+  @Override
+  public int getNumPartialFields()
+    {
+    return 1;
+    }
+
+  @Override
+  public AggregateBy.Functor getPartialFunctor( Fields partialFields )
+    {
+    return new SumBy.SumPartials( partialFields, Double.TYPE );
+    }
+
+  @Override
+  public Aggregator getMergeAggregator()
+    {
+    return new Sum( getFieldDeclaration(), type );
+    }
+
   @Override
   public boolean equals( Object object )
     {
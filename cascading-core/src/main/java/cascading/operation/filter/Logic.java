@@ -90,6 +90,16 @@ public abstract class Logic extends BaseOperation<Logic.Context> implements Filt
     this.numArgs = getFieldsSize();
     }
 
+  public Fields[] getArgumentSelectors()
+    {
+    return argumentSelectors;
+    }
+
+  public Filter[] getFilters()
+    {
+    return filters;
+    }
+
   protected void verify()
     {
     if( argumentSelectors == null )
@@ -24,6 +24,7 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,6 +44,7 @@ import cascading.tuple.Fields;
 import cascading.tuple.Tuple;
 import cascading.tuple.TupleEntry;
 import cascading.tuple.TupleEntryCollector;
+import cascading.tuple.util.TupleSizeEstimator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -87,6 +89,14 @@ import org.slf4j.LoggerFactory;
  * is {@code 10, 000} unique keys. Note "flushes" from the LRU will be logged in threshold increments along with memory
  * information.
  * <p/>
+ * Alternatively, set the {@link #AGGREGATE_BY_ADAPTIVE} property to {@code true} to have the LRU size itself. The
+ * {@code threshold} then becomes the initial number of keys. The LRU is periodically resized from the measured per-key
+ * footprint and the heap headroom, using at most the {@link #AGGREGATE_BY_MEMORY_FRACTION} of free memory, and is
+ * grown while it is full and still reducing the number of tuples emitted. Frequently seen, skewed, keys remain
+ * resident as the LRU is access ordered. If growing the LRU no longer improves a hit ratio below
+ * {@link CompositeFunction#MIN_REDUCTION}, partial aggregation is disabled and each value is passed through as its own
+ * partial result.
+ * <p/>
  * Note using a AggregateBy instance automatically inserts a {@link GroupBy} into the resulting {@link cascading.flow.Flow}.
  * And passing multiple AggregateBy instances to a parent AggregateBy instance still results in one GroupBy.
  * <p/>
@@ -102,6 +112,12 @@ public class AggregateBy extends SubAssembly
 
   public static final String AGGREGATE_BY_THRESHOLD = "cascading.aggregateby.threshold";
 
+  /** Whether to size the map side LRU from observed memory and hit ratio, false by default. */
+  public static final String AGGREGATE_BY_ADAPTIVE = "cascading.aggregateby.adaptive";
+
+  /** The fraction of free heap the adaptive LRU may grow into, {@code 0.25} by default. */
+  public static final String AGGREGATE_BY_MEMORY_FRACTION = "cascading.aggregateby.adaptive.memory";
+
   private String name;
   private int threshold;
   private Fields[] argumentFields;
@@ -164,6 +180,16 @@ public class AggregateBy extends SubAssembly
   public static class CompositeFunction extends BaseOperation<LinkedHashMap<Tuple, Tuple[]>> implements Function<LinkedHashMap<Tuple, Tuple[]>>
     {
     public static final int DEFAULT_THRESHOLD = 10000;
+    public static final float DEFAULT_MEMORY_FRACTION = 0.25f;
+
+    /** The minimum fraction of values that must hit a cached key for adaptive partial aggregation to continue. */
+    public static final double MIN_REDUCTION = 0.1;
+
+    /** The number of values between each adaptive resizing of the LRU. */
+    static final int ADAPTIVE_INTERVAL = 10000;
+    static final int MIN_ADAPTIVE_THRESHOLD = 1000;
+    /** The approximate bytes retained by a map entry and its context array, beyond the tuples themselves. */
+    static final int ENTRY_OVERHEAD = 96;
 
     private int threshold = 0;
     private final Fields groupingFields;
@@ -229,6 +255,17 @@ public class AggregateBy extends SubAssembly
           threshold = DEFAULT_THRESHOLD;
         }
 
+      if( isAdaptive( flowProcess ) )
+        {
+        float memoryFraction = getMemoryFraction( flowProcess );
+
+        LOG.info( "using adaptive threshold, initial value: {}, memory fraction: {}", threshold, memoryFraction );
+
+        operationCall.setContext( new AdaptiveCache( flowProcess, (FunctionCall) operationCall, threshold, memoryFraction ) );
+
+        return;
+        }
+
       LOG.info( "using threshold value: {}", threshold );
 
       operationCall.setContext( new LinkedHashMap<Tuple, Tuple[]>( threshold, 0.75f, true )
@@ -264,21 +301,60 @@ public class AggregateBy extends SubAssembly
       } );
       }
 
+    private static boolean isAdaptive( FlowProcess flowProcess )
+      {
+      Object value = flowProcess.getProperty( AGGREGATE_BY_ADAPTIVE );
+
+      return value != null && Boolean.parseBoolean( value.toString() );
+      }
+
+    private static float getMemoryFraction( FlowProcess flowProcess )
+      {
+      Object value = flowProcess.getProperty( AGGREGATE_BY_MEMORY_FRACTION );
+
+      if( value == null || value.toString().isEmpty() )
+        return DEFAULT_MEMORY_FRACTION;
+
+      return Float.parseFloat( value.toString() );
+      }
+
     @Override
     public void operate( FlowProcess flowProcess, FunctionCall<LinkedHashMap<Tuple, Tuple[]>> functionCall )
       {
       TupleEntry args = functionCall.getArguments();
       Tuple key = args.selectTuple( groupingFields );
-      Tuple[] context = functionCall.getContext().get( key );
+      LinkedHashMap<Tuple, Tuple[]> cache = functionCall.getContext();
+
+      if( cache instanceof AdaptiveCache && ( (AdaptiveCache) cache ).isPassThrough() )
+        {
+        passThrough( flowProcess, functionCall.getOutputCollector(), args, key );
+        return;
+        }
+
+      Tuple[] context = cache.get( key );
+      boolean hit = context != null;
 
       if( context == null )
         {
         context = new Tuple[ functors.length ];
-        functionCall.getContext().put( key, context );
+        cache.put( key, context );
         }
 
       for( int i = 0; i < functors.length; i++ )
         context[ i ] = functors[ i ].aggregate( flowProcess, args.selectEntry( argumentFields[ i ] ), context[ i ] );
+
+      if( cache instanceof AdaptiveCache )
+        ( (AdaptiveCache) cache ).record( key, context, hit );
+      }
+
+    private void passThrough( FlowProcess flowProcess, TupleEntryCollector outputCollector, TupleEntry args, Tuple key )
+      {
+      Tuple result = new Tuple( key );
+
+      for( int i = 0; i < functors.length; i++ )
+        result.addAll( functors[ i ].complete( flowProcess, functors[ i ].aggregate( flowProcess, args.selectEntry( argumentFields[ i ] ), null ) ) );
+
+      outputCollector.add( result );
       }
 
     @Override
@@ -304,6 +380,142 @@ public class AggregateBy extends SubAssembly
       outputCollector.add( result );
       }
 
+    /**
+     * AdaptiveCache is an access ordered LRU whose capacity is periodically recomputed from the sampled per entry
+     * footprint, the current heap headroom, and the observed hit ratio.
+     */
+    private class AdaptiveCache extends LinkedHashMap<Tuple, Tuple[]>
+      {
+      private final FlowProcess flowProcess;
+      private final FunctionCall operationCall;
+      private final float memoryFraction;
+
+      private int capacity;
+      private boolean passThrough = false;
+
+      private long values = 0;
+      private long hits = 0;
+      private double lastHitRatio = -1;
+      private boolean grown = false;
+
+      private double entryBytes = 0;
+      private long sampled = 0;
+      private long flushes = 0;
+
+      AdaptiveCache( FlowProcess flowProcess, FunctionCall operationCall, int capacity, float memoryFraction )
+        {
+        super( Math.max( 16, capacity ), 0.75f, true );
+        this.flowProcess = flowProcess;
+        this.operationCall = operationCall;
+        this.capacity = Math.max( 1, capacity );
+        this.memoryFraction = memoryFraction;
+        }
+
+      boolean isPassThrough()
+        {
+        return passThrough;
+        }
+
+      @Override
+      protected boolean removeEldestEntry( Map.Entry<Tuple, Tuple[]> eldest )
+        {
+        if( size() <= capacity )
+          return false;
+
+        completeFunctors( flowProcess, operationCall.getOutputCollector(), eldest );
+        flowProcess.increment( Flush.Num_Keys_Flushed, 1 );
+        flushes++;
+
+        return true;
+        }
+
+      void record( Tuple key, Tuple[] context, boolean hit )
+        {
+        values++;
+
+        if( hit )
+          hits++;
+        else if( sampled < 100 || values % 100 == 0 ) // sample new entries, more eagerly until an estimate exists
+          sample( key, context );
+
+        if( values % ADAPTIVE_INTERVAL == 0 )
+          adapt();
+        }
+
+      private void sample( Tuple key, Tuple[] context )
+        {
+        long bytes = ENTRY_OVERHEAD + TupleSizeEstimator.estimateSize( key );
+
+        for( Tuple tuple : context )
+          bytes += TupleSizeEstimator.estimateSize( tuple );
+
+        sampled++;
+        entryBytes += ( bytes - entryBytes ) / Math.min( sampled, 1000 );
+        }
+
+      private void adapt()
+        {
+        double hitRatio = (double) hits / ADAPTIVE_INTERVAL;
+        boolean full = size() >= capacity;
+
+        hits = 0;
+
+        Runtime runtime = Runtime.getRuntime();
+        long headroom = runtime.maxMemory() - ( runtime.totalMemory() - runtime.freeMemory() );
+        long budget = (long) ( ( headroom + size() * entryBytes ) * memoryFraction );
+        int memoryCapacity = (int) Math.max( MIN_ADAPTIVE_THRESHOLD, Math.min( Integer.MAX_VALUE / 2, budget / Math.max( 1, entryBytes ) ) );
+
+        if( full && hitRatio < MIN_REDUCTION && ( capacity >= memoryCapacity || ( grown && hitRatio <= lastHitRatio ) ) )
+          {
+          LOG.info( "disabling partial aggregation, hit ratio: {}, with threshold: {}", hitRatio, capacity );
+
+          passThrough = true;
+          drain();
+
+          return;
+          }
+
+        int previous = capacity;
+
+        if( full && capacity < memoryCapacity )
+          capacity = (int) Math.min( memoryCapacity, Math.max( MIN_ADAPTIVE_THRESHOLD, capacity * 2L ) );
+        else if( capacity > memoryCapacity )
+          capacity = memoryCapacity;
+
+        grown = capacity > previous;
+        lastHitRatio = hitRatio;
+
+        if( capacity < size() )
+          trim();
+
+        if( capacity != previous )
+          {
+          LOG.info( "resized threshold from: {}, to: {}, with hit ratio: {}, est. bytes per key: {}", new Object[]{
+            previous, capacity, hitRatio, (long) entryBytes} );
+          LOG.info( "keys flushed: {}, mem headroom (mb): {}", flushes, headroom / 1024 / 1024 );
+          }
+        }
+
+      private void trim()
+        {
+        Iterator<Map.Entry<Tuple, Tuple[]>> iterator = entrySet().iterator();
+
+        while( size() > capacity && iterator.hasNext() )
+          {
+          completeFunctors( flowProcess, operationCall.getOutputCollector(), iterator.next() );
+          flowProcess.increment( Flush.Num_Keys_Flushed, 1 );
+          flushes++;
+          iterator.remove();
+          }
+        }
+
+      private void drain()
+        {
+        capacity = 0;
+        trim();
+        }
+      }
+
     @Override
     public boolean equals( Object object )
       {
@@ -20,6 +20,7 @@
 
 package cascading.scheme;
 
+import cascading.tuple.Fields;
 import cascading.tuple.TupleEntry;
 
 /**
@@ -33,6 +34,8 @@ public class ConcreteCall<Context, IO> implements SourceCall<Context, IO>, SinkC
   Context context;
   TupleEntry entry;
   IO io;
+  Fields projectedFields;
+  SourcePredicate predicate;
 
   @Override
   public Context getContext()
@@ -79,6 +82,42 @@ public class ConcreteCall<Context, IO> implements SourceCall<Context, IO>, SinkC
     this.io = input;
     }
 
+  /**
+   * Method getProjectedFields returns the subset of the declared source fields consumed downstream, or {@code null}
+   * if every field is required.
+   * <p/>
+   * A Scheme may skip parsing or deserializing any value not in this set, leaving it {@code null} in the incoming
+   * entry. The incoming entry itself is still the size of the declared source fields.
+   *
+   * @return the projected Fields, or null
+   */
+  public Fields getProjectedFields()
+    {
+    return projectedFields;
+    }
+
+  public void setProjectedFields( Fields projectedFields )
+    {
+    this.projectedFields = projectedFields;
+    }
+
+  /**
+   * Method getPredicate returns the filters pushed down into this source by the planner, or {@code null} if none.
+   * <p/>
+   * Only set if {@link Scheme#isPredicatePushdown()} returns {@code true}.
+   *
+   * @return the SourcePredicate, or null
+   */
+  public SourcePredicate getPredicate()
+    {
+    return predicate;
+    }
+
+  public void setPredicate( SourcePredicate predicate )
+    {
+    this.predicate = predicate;
+    }
+
   @Override
   public IO getOutput()
     {
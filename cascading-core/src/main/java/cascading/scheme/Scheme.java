@@ -209,6 +209,20 @@ public abstract class Scheme<Config, Input, Output, SourceContext, SinkContext>
     return getSourceFields().equals( Fields.UNKNOWN ) && getSinkFields().equals( Fields.ALL ) || getSinkFields().equals( getSourceFields() );
     }
 
+  /**
+   * Method isPredicatePushdown returns {@code true} if this Scheme applies any {@link SourcePredicate} given via
+   * {@link #getPredicate(SourceCall)} while sourcing.
+   * <p/>
+   * If {@code true}, simple filters directly following this Scheme's Tap may be evaluated by the Scheme instead of
+   * the pipe assembly. False by default.
+   *
+   * @return boolean
+   */
+  public boolean isPredicatePushdown()
+    {
+    return false;
+    }
+
   /**
    * Method isSource returns true if this Scheme instance can be used as a source.
    *
@@ -388,6 +402,38 @@ public abstract class Scheme<Config, Input, Output, SourceContext, SinkContext>
     {
     }
 
+  /**
+   * Method getProjectedFields returns the subset of the declared source fields consumed downstream by the given
+   * {@link SourceCall}, or {@code null} if every field is required or the call carries no projection.
+   *
+   * @param sourceCall of type SourceCall
+   * @return the projected Fields, or null
+   * @see ConcreteCall#getProjectedFields()
+   */
+  protected static Fields getProjectedFields( SourceCall sourceCall )
+    {
+    if( sourceCall instanceof ConcreteCall )
+      return ( (ConcreteCall) sourceCall ).getProjectedFields();
+
+    return null;
+    }
+
+  /**
+   * Method getPredicate returns the filters pushed down by the planner into the given {@link SourceCall}, or
+   * {@code null} if none.
+   *
+   * @param sourceCall of type SourceCall
+   * @return the SourcePredicate, or null
+   * @see ConcreteCall#getPredicate()
+   */
+  protected static SourcePredicate getPredicate( SourceCall sourceCall )
+    {
+    if( sourceCall instanceof ConcreteCall )
+      return ( (ConcreteCall) sourceCall ).getPredicate();
+
+    return null;
+    }
+
   /**
    * Method sinkPrepare is used to initialize resources needed during each call of
    * {@link #sink(cascading.flow.FlowProcess, SinkCall)}.
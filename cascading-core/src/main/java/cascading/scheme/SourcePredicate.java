@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.scheme;
+
+import cascading.tuple.Fields;
+import cascading.tuple.TupleEntry;
+
+/**
+ * SourcePredicate is a chain of {@link cascading.operation.Filter} operations the planner found directly after a
+ * source {@link cascading.tap.Tap}, handed to a {@link Scheme} via {@link ConcreteCall#getPredicate()}.
+ * <p/>
+ * A Scheme returning {@code true} from {@link Scheme#isPredicatePushdown()} must not return any tuple the predicate
+ * removes, as the filters will not be applied again downstream. Only the {@link #getArgumentFields()} values must be
+ * populated in the incoming entry before calling {@link #isRemove(cascading.tuple.TupleEntry)}, so all other values
+ * may be parsed or deserialized after the predicate accepts the tuple.
+ */
+public interface SourcePredicate
+  {
+  /**
+   * Method getArgumentFields returns the positions of the source fields read by this predicate.
+   *
+   * @return Fields of positions
+   */
+  Fields getArgumentFields();
+
+  /**
+   * Method isRemove returns {@code true} if the given incoming entry should be discarded.
+   *
+   * @param incomingEntry of type TupleEntry, the size of the declared source fields
+   * @return boolean
+   */
+  boolean isRemove( TupleEntry incomingEntry );
+  }
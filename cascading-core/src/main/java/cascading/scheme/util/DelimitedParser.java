@@ -26,6 +26,7 @@ import java.util.Arrays;
 import java.util.regex.Pattern;
 
 import cascading.flow.FlowProcess;
+import cascading.scheme.SourcePredicate;
 import cascading.tap.Tap;
 import cascading.tap.TapException;
 import cascading.tuple.Fields;
@@ -57,6 +58,15 @@ public class DelimitedParser implements Serializable
   /** Field ESCAPE_REGEX_FORMAT */
   static final String ESCAPE_REGEX_FORMAT = "(%1$s%1$s)";
 
+  /**
+   * Property to disable the hand written single pass parser, falling back to the regular expression based
+   * parser. The fast path is used by default whenever the delimiter and quote allow it.
+   */
+  public static final String FAST_PATH = "cascading.scheme.delimited.fastpath";
+
+  /** Field UNSAFE_QUOTE_CHARS, quote characters with special meaning in the regular expressions */
+  static final String UNSAFE_QUOTE_CHARS = "[]{}()<>|.*+?^$\\=!-&";
+
   /** Field sourceFields */
   private Fields sourceFields;
 
@@ -82,6 +92,26 @@ public class DelimitedParser implements Serializable
   boolean safe = true;
   /** skipHeader */
   boolean skipHeader;
+  /** Field fastPath, true if the delimiter and quote allow lines to be split and cleaned without regular expressions */
+  boolean fastPath;
+  /** Field projection, the last resolved projection, replaced as a whole so may be shared across threads */
+  private transient Projection projection;
+
+  private static class Projection
+    {
+    final Fields projectedFields;
+    final SourcePredicate predicate;
+    final boolean[] mask;
+    final boolean[] predicateMask;
+
+    Projection( Fields projectedFields, SourcePredicate predicate, boolean[] mask, boolean[] predicateMask )
+      {
+      this.projectedFields = projectedFields;
+      this.predicate = predicate;
+      this.mask = mask;
+      this.predicateMask = predicateMask;
+      }
+    }
 
   public DelimitedParser( String delimiter, String quote, Class[] types, boolean strict, boolean safe, boolean skipHeader, Fields sourceFields, Fields sinkFields )
     {
@@ -123,6 +153,8 @@ public class DelimitedParser implements Serializable
     cleanPattern = createCleanPatternFor( this.quote );
     escapePattern = createEscapePatternFor( this.quote );
 
+    fastPath = isFastPathSupported( this.delimiter, this.quote );
+
     if( types != null && types.length == 0 )
       this.types = null;
 
@@ -141,6 +173,41 @@ public class DelimitedParser implements Serializable
     return delimiter;
     }
 
+  /**
+   * Method isFastPathEnabled returns false if the fast path was disabled by the {@link #FAST_PATH} property of the
+   * given FlowProcess. It should be resolved once per source or sink call, and passed to the parser.
+   *
+   * @param flowProcess of type FlowProcess
+   * @return boolean
+   */
+  public static boolean isFastPathEnabled( FlowProcess flowProcess )
+    {
+    return !"false".equalsIgnoreCase( flowProcess.getStringProperty( FAST_PATH ) );
+    }
+
+  /**
+   * Method isFastPathSupported returns true if the given delimiter and quote can be parsed without regular
+   * expressions with identical results. That is, the quote is a single character without any special meaning
+   * in a regular expression, and is not part of the delimiter.
+   *
+   * @param delimiter of type String
+   * @param quote     of type String
+   * @return boolean
+   */
+  public static boolean isFastPathSupported( String delimiter, String quote )
+    {
+    if( delimiter.indexOf( '{' ) != -1 || delimiter.indexOf( '}' ) != -1 ) // not escaped by the split pattern
+      return false;
+
+    if( quote == null || quote.isEmpty() )
+      return true;
+
+    if( quote.length() != 1 || UNSAFE_QUOTE_CHARS.indexOf( quote.charAt( 0 ) ) != -1 )
+      return false;
+
+    return delimiter.indexOf( quote.charAt( 0 ) ) == -1;
+    }
+
   public String getQuote()
     {
     return quote;
@@ -242,6 +309,59 @@ public class DelimitedParser implements Serializable
     return split;
     }
 
+  private Projection getProjection( Fields projectedFields, SourcePredicate predicate )
+    {
+    Projection current = projection;
+
+    if( current != null && current.projectedFields == projectedFields && current.predicate == predicate )
+      return current;
+
+    boolean[] mask = getMask( projectedFields );
+    boolean[] predicateMask = predicate == null ? null : getMask( predicate.getArgumentFields() );
+
+    current = new Projection( projectedFields, predicate, mask, predicateMask );
+
+    projection = current;
+
+    return current;
+    }
+
+  private boolean[] getMask( Fields fields )
+    {
+    if( fields == null )
+      return null;
+
+    try
+      {
+      int[] pos = sourceFields.getPos( fields );
+
+      if( pos == null )
+        return null;
+
+      int size = 0;
+
+      for( int i : pos )
+        size = Math.max( size, i + 1 );
+
+      boolean[] mask = new boolean[ size ];
+
+      for( int i : pos )
+        mask[ i ] = true;
+
+      return mask;
+      }
+    catch( Exception exception )
+      {
+      LOG.warn( "unable to resolve fields: {}, parsing all fields", fields.printVerbose() );
+      return null;
+      }
+    }
+
+  private static boolean isSet( boolean[] mask, int pos )
+    {
+    return mask == null || pos < mask.length && mask[ pos ];
+    }
+
   public Fields parseFirstLine( FlowProcess flowProcess, Tap tap )
     {
     Fields sourceFields;
@@ -287,7 +407,91 @@ public class DelimitedParser implements Serializable
 
   public Object[] parseLine( String line )
     {
-    Object[] split = createSplit( line, splitPattern, numValues == 0 ? 0 : -1 );
+    return parseLine( line, null );
+    }
+
+  /**
+   * Method parseLine parses the given line, only cleaning and coercing the values in the given {@code projectedFields}.
+   * All other values are returned as {@code null}. If {@code projectedFields} is null, all values are parsed.
+   *
+   * @param line            of type String
+   * @param projectedFields of type Fields
+   * @return Object[]
+   */
+  public Object[] parseLine( String line, Fields projectedFields )
+    {
+    return parseLine( line, projectedFields, null, null );
+    }
+
+  /**
+   * Method parseLine parses the given line as {@link #parseLine(String, cascading.tuple.Fields)}.
+   * <p/>
+   * If a {@code predicate} is given, only its argument values are parsed into the given {@code entry} before
+   * it is evaluated. If the predicate removes the line, {@code null} is returned and the remaining values are
+   * never cleaned or coerced.
+   *
+   * @param line            of type String
+   * @param projectedFields of type Fields
+   * @param predicate       of type SourcePredicate
+   * @param entry           of type TupleEntry
+   * @return Object[], or null if removed
+   */
+  public Object[] parseLine( String line, Fields projectedFields, SourcePredicate predicate, TupleEntry entry )
+    {
+    return parseLine( line, projectedFields, predicate, entry, true );
+    }
+
+  /**
+   * Method parseLine parses the given line as {@link #parseLine(String, cascading.tuple.Fields, cascading.scheme.SourcePredicate, cascading.tuple.TupleEntry)}.
+   * <p/>
+   * If {@code fastPath} is false, the regular expression based parser is used even if the delimiter and quote
+   * allow the fast path, see {@link #isFastPathEnabled(cascading.flow.FlowProcess)}.
+   *
+   * @param line            of type String
+   * @param projectedFields of type Fields
+   * @param predicate       of type SourcePredicate
+   * @param entry           of type TupleEntry
+   * @param fastPath        of type boolean
+   * @return Object[], or null if removed
+   */
+  public Object[] parseLine( String line, Fields projectedFields, SourcePredicate predicate, TupleEntry entry, boolean fastPath )
+    {
+    fastPath &= this.fastPath;
+
+    Projection projection = getProjection( projectedFields, predicate );
+    Object[] split = splitLine( line, fastPath );
+
+    if( predicate == null )
+      {
+      // parse in place if every value is kept as a String
+      Object[] result = types == null && projection.mask == null ? split : new Object[ split.length ];
+
+      parseValues( line, split, projection.mask, null, result, fastPath );
+
+      return result;
+      }
+
+    Object[] result = new Object[ split.length ];
+
+    parseValues( line, split, projection.predicateMask, null, result, fastPath );
+
+    Tuple tuple = entry.getTuple();
+
+    tuple.clear();
+    tuple.addAll( result );
+
+    if( predicate.isRemove( entry ) )
+      return null;
+
+    if( projection.predicateMask != null ) // otherwise all values are parsed
+      parseValues( line, split, projection.mask, projection.predicateMask, result, fastPath );
+
+    return result;
+    }
+
+  private Object[] splitLine( String line, boolean fastPath )
+    {
+    Object[] split = fastPath ? splitFast( line, numValues == 0 ) : createSplit( line, splitPattern, numValues == 0 ? 0 : -1 );
 
     if( numValues != 0 && split.length != numValues )
       {
@@ -305,35 +509,183 @@ public class DelimitedParser implements Serializable
       split = array;
       }
 
-    cleanSplit( split, cleanPattern, escapePattern, quote );
+    return split;
+    }
 
-    if( types != null ) // forced null in ctor
+  /** Cleans and coerces every value set in {@code include}, skipping any already parsed value set in {@code exclude} */
+  private void parseValues( String line, Object[] split, boolean[] include, boolean[] exclude, Object[] result, boolean fastPath )
+    {
+    for( int i = 0; i < split.length; i++ )
       {
-      Object[] result = new Object[ split.length ];
+      if( !isSet( include, i ) || exclude != null && isSet( exclude, i ) )
+        continue;
 
-      for( int i = 0; i < split.length; i++ )
+      result[ i ] = parseValue( line, (String) split[ i ], i, fastPath );
+      }
+    }
+
+  /**
+   * Splits the given line in a single pass with the same results as the split pattern. A delimiter only splits the
+   * line if it is followed by an even number of quotes, that is, if the number of preceding quotes has the same
+   * parity as the total number of quotes on the line.
+   */
+  private String[] splitFast( String line, boolean removeTrailingEmpty )
+    {
+    int length = line.length();
+    int delimiterLength = delimiter.length();
+    char first = delimiter.charAt( 0 );
+    boolean hasQuote = quote != null && !quote.isEmpty();
+    char quoteChar = hasQuote ? quote.charAt( 0 ) : 0;
+    int parity = 0;
+
+    if( hasQuote )
+      {
+      for( int i = 0; i < length; i++ )
         {
-        try
-          {
-          result[ i ] = Tuples.coerce( split[ i ], types[ i ] );
-          }
-        catch( Exception exception )
-          {
-          String message = "field " + sourceFields.get( i ) + " cannot be coerced from : " + split[ i ] + " to: " + types[ i ].getName();
+        if( line.charAt( i ) == quoteChar )
+          parity ^= 1;
+        }
+      }
 
-          result[ i ] = null;
+    int[] splits = new int[ numValues == 0 ? 16 : numValues ];
+    int numSplits = 0;
+    int quotes = 0;
+    int i = 0;
 
-          LOG.warn( message, exception );
+    while( i < length )
+      {
+      char current = line.charAt( i );
 
-          if( !safe )
-            throw new TapException( message, exception, new Tuple( line ) ); // trap actual line data
-          }
+      if( hasQuote && current == quoteChar )
+        {
+        quotes ^= 1;
+        i++;
         }
+      else if( current == first && quotes == parity && line.startsWith( delimiter, i ) )
+        {
+        if( numSplits == splits.length )
+          splits = Arrays.copyOf( splits, splits.length * 2 );
 
-      split = result;
+        splits[ numSplits++ ] = i;
+        i += delimiterLength;
+        }
+      else
+        {
+        i++;
+        }
       }
 
-    return split;
+    if( numSplits == 0 )
+      return new String[]{line};
+
+    String[] values = new String[ numSplits + 1 ];
+    int start = 0;
+
+    for( int j = 0; j < numSplits; j++ )
+      {
+      values[ j ] = line.substring( start, splits[ j ] );
+      start = splits[ j ] + delimiterLength;
+      }
+
+    values[ numSplits ] = line.substring( start );
+
+    if( !removeTrailingEmpty )
+      return values;
+
+    int size = values.length;
+
+    while( size > 0 && values[ size - 1 ].isEmpty() )
+      size--;
+
+    return size == values.length ? values : Arrays.copyOf( values, size );
+    }
+
+  /** Removes enclosing quotes and un-escapes doubled quotes with the same results as the clean and escape patterns */
+  private String cleanFast( String value )
+    {
+    char quoteChar = quote.charAt( 0 );
+    int length = value.length();
+
+    if( length >= 2 && value.charAt( 0 ) == quoteChar && value.charAt( length - 1 ) == quoteChar )
+      {
+      value = value.substring( 1, length - 1 );
+      length -= 2;
+      }
+
+    int index = value.indexOf( quoteChar );
+
+    if( index == -1 || index == length - 1 )
+      return value;
+
+    StringBuilder builder = null;
+    int start = 0;
+
+    for( int i = index; i < length - 1; i++ )
+      {
+      if( value.charAt( i ) != quoteChar || value.charAt( i + 1 ) != quoteChar )
+        continue;
+
+      if( builder == null )
+        builder = new StringBuilder( length );
+
+      builder.append( value, start, i + 1 );
+      start = i + 2;
+      i++;
+      }
+
+    if( builder == null )
+      return value;
+
+    return builder.append( value, start, length ).toString();
+    }
+
+  /** The regular expressions treat line terminators specially, so such values are never cleaned on the fast path */
+  private static boolean hasLineTerminator( String value )
+    {
+    for( int i = 0; i < value.length(); i++ )
+      {
+      char c = value.charAt( i );
+
+      if( c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029' )
+        return true;
+      }
+
+    return false;
+    }
+
+  private Object parseValue( String line, String value, int pos, boolean fastPath )
+    {
+    if( cleanPattern != null && fastPath && !hasLineTerminator( value ) )
+      {
+      value = cleanFast( value );
+      }
+    else if( cleanPattern != null )
+      {
+      value = cleanPattern.matcher( value ).replaceAll( "$1" );
+      value = escapePattern.matcher( value ).replaceAll( quote );
+      }
+
+    if( value.isEmpty() )
+      value = null;
+
+    if( types == null ) // forced null in ctor
+      return value;
+
+    try
+      {
+      return Tuples.coerce( value, types[ pos ] );
+      }
+    catch( Exception exception )
+      {
+      String message = "field " + sourceFields.get( pos ) + " cannot be coerced from : " + value + " to: " + types[ pos ].getName();
+
+      LOG.warn( message, exception );
+
+      if( !safe )
+        throw new TapException( message, exception, new Tuple( line ) ); // trap actual line data
+
+      return null;
+      }
     }
 
   public Appendable joinLine( Iterable iterable, Appendable buffer )
@@ -351,6 +703,92 @@ public class DelimitedParser implements Serializable
       }
     }
 
+  /**
+   * Method joinLine writes the given values as a delimited line into the given {@link LineBuffer}. When the delimiter
+   * and quote allow the fast path, integral numbers are written without being converted to Strings first, and values
+   * are quoted and escaped as by {@link #joinLine(Iterable, Appendable)}. Otherwise the line is written by
+   * {@link #joinLine(Iterable, Appendable)}.
+   * <p/>
+   * To honor a disabled {@link #FAST_PATH}, callers should write through {@link #joinLine(Iterable, Appendable)}.
+   *
+   * @param iterable of type Iterable
+   * @param buffer   of type LineBuffer
+   * @return LineBuffer
+   */
+  public LineBuffer joinLine( Iterable iterable, LineBuffer buffer )
+    {
+    if( !fastPath )
+      {
+      joinLine( iterable, (Appendable) buffer );
+      return buffer;
+      }
+
+    try
+      {
+      return joinFast( iterable, buffer );
+      }
+    catch( IOException exception )
+      {
+      throw new TapException( "unable to append data", exception );
+      }
+    }
+
+  private LineBuffer joinFast( Iterable tuple, LineBuffer buffer ) throws IOException
+    {
+    boolean hasQuote = quote != null && !quote.isEmpty();
+    boolean writeNumbers = !hasNumberChars( delimiter ) && ( !hasQuote || !hasNumberChars( quote ) );
+    int count = 0;
+
+    for( Object value : tuple )
+      {
+      if( count++ != 0 )
+        buffer.write( delimiter );
+
+      if( value == null )
+        continue;
+
+      if( writeNumbers && ( value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte ) )
+        buffer.writeLong( ( (Number) value ).longValue() );
+      else if( hasQuote )
+        writeQuoted( value.toString(), buffer );
+      else
+        buffer.write( value.toString() );
+      }
+
+    return buffer;
+    }
+
+  /** Doubles any quotes, then encloses the value in quotes if it contains the delimiter, as joinWithQuote */
+  private void writeQuoted( String value, LineBuffer buffer ) throws IOException
+    {
+    if( value.contains( quote ) )
+      value = value.replace( quote, quote + quote );
+
+    if( value.contains( delimiter ) )
+      {
+      buffer.write( quote );
+      buffer.write( value );
+      buffer.write( quote );
+      }
+    else
+      {
+      buffer.write( value );
+      }
+    }
+
+  private static boolean hasNumberChars( String value )
+    {
+    for( int i = 0; i < value.length(); i++ )
+      {
+      char c = value.charAt( i );
+
+      if( c == '-' || ( c >= '0' && c <= '9' ) )
+        return true;
+      }
+
+    return false;
+    }
+
   private Appendable joinWithQuote( Iterable tuple, Appendable buffer ) throws IOException
     {
     int count = 0;
@@ -0,0 +1,362 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.scheme.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Class LineBuffer is a reusable {@link Writer} that encodes all characters written to it directly into a growable
+ * byte array in the given {@link Charset}.
+ * <p/>
+ * It is used by the delimited text Schemes to format each line without creating intermediate Strings. The buffered
+ * bytes may either be retrieved via {@link #getBytes()} and {@link #getLength()} and then {@link #clear()}'ed, or,
+ * if an {@link OutputStream} was given, are written to it in bulk once {@code flushSize} bytes are buffered, or on
+ * {@link #flush()} or {@link #close()}.
+ * <p/>
+ * Only UTF-8, ISO-8859-1 and US-ASCII are supported, see {@link #isSupported(java.nio.charset.Charset)}. Malformed
+ * surrogates and unmappable characters are replaced by '?', as {@link String#getBytes(java.nio.charset.Charset)}
+ * would.
+ * <p/>
+ * This class is not thread safe.
+ */
+public class LineBuffer extends Writer
+  {
+  /** Field DEFAULT_FLUSH_SIZE */
+  public static final int DEFAULT_FLUSH_SIZE = 64 * 1024;
+
+  private static final int UTF8 = 0;
+  private static final int LATIN1 = 1;
+  private static final int ASCII = 2;
+
+  /** Field encoding, one of the constants above */
+  private final int encoding;
+  /** Field outputStream, may be null */
+  private final OutputStream outputStream;
+  /** Field flushSize */
+  private final int flushSize;
+
+  /** Field bytes */
+  private byte[] bytes = new byte[ 1024 ];
+  /** Field length */
+  private int length;
+  /** Field highSurrogate, a pending high surrogate written without its low surrogate yet */
+  private char highSurrogate;
+  /** Field digits, scratch space for writing long values */
+  private final byte[] digits = new byte[ 20 ];
+
+  public LineBuffer( Charset charset )
+    {
+    this( charset, null, DEFAULT_FLUSH_SIZE );
+    }
+
+  public LineBuffer( Charset charset, OutputStream outputStream )
+    {
+    this( charset, outputStream, DEFAULT_FLUSH_SIZE );
+    }
+
+  public LineBuffer( Charset charset, OutputStream outputStream, int flushSize )
+    {
+    this.outputStream = outputStream;
+    this.flushSize = flushSize;
+
+    String name = charset.name();
+
+    if( "UTF-8".equals( name ) )
+      encoding = UTF8;
+    else if( "ISO-8859-1".equals( name ) )
+      encoding = LATIN1;
+    else if( "US-ASCII".equals( name ) )
+      encoding = ASCII;
+    else
+      throw new IllegalArgumentException( "unsupported charset: " + name );
+    }
+
+  /**
+   * Method isSupported returns true if the given Charset can be encoded by a LineBuffer.
+   *
+   * @param charset of type Charset
+   * @return boolean
+   */
+  public static boolean isSupported( Charset charset )
+    {
+    String name = charset.name();
+
+    return "UTF-8".equals( name ) || "ISO-8859-1".equals( name ) || "US-ASCII".equals( name );
+    }
+
+  /**
+   * Method getBytes returns the underlying byte array, only the first {@link #getLength()} bytes are valid.
+   *
+   * @return byte[]
+   */
+  public byte[] getBytes()
+    {
+    flushPending();
+
+    return bytes;
+    }
+
+  public int getLength()
+    {
+    flushPending();
+
+    return length;
+    }
+
+  /** Method clear discards all buffered bytes. */
+  public void clear()
+    {
+    length = 0;
+    highSurrogate = 0;
+    }
+
+  /**
+   * Method writeLong writes the decimal representation of the given value, identical to {@link Long#toString(long)},
+   * without creating a String.
+   *
+   * @param value of type long
+   * @throws IOException when the buffer cannot be flushed
+   */
+  public void writeLong( long value ) throws IOException
+    {
+    if( value == Long.MIN_VALUE )
+      {
+      write( Long.toString( value ) );
+      return;
+      }
+
+    flushPending();
+
+    int pos = digits.length;
+    boolean negative = value < 0;
+
+    if( negative )
+      value = -value;
+
+    do
+      {
+      digits[ --pos ] = (byte) ( '0' + value % 10 );
+      value /= 10;
+      }
+    while( value != 0 );
+
+    if( negative )
+      digits[ --pos ] = '-';
+
+    int count = digits.length - pos;
+
+    ensure( count );
+    System.arraycopy( digits, pos, bytes, length, count );
+    length += count;
+
+    flushIfFull();
+    }
+
+  @Override
+  public void write( int c ) throws IOException
+    {
+    writeChar( (char) c );
+    flushIfFull();
+    }
+
+  @Override
+  public void write( char[] chars, int offset, int count ) throws IOException
+    {
+    for( int i = offset; i < offset + count; i++ )
+      writeChar( chars[ i ] );
+
+    flushIfFull();
+    }
+
+  @Override
+  public void write( String string ) throws IOException
+    {
+    write( string, 0, string.length() );
+    }
+
+  @Override
+  public void write( String string, int offset, int count ) throws IOException
+    {
+    append( string, offset, offset + count );
+    }
+
+  @Override
+  public Writer append( CharSequence sequence ) throws IOException
+    {
+    if( sequence == null )
+      sequence = "null";
+
+    return append( sequence, 0, sequence.length() );
+    }
+
+  @Override
+  public Writer append( CharSequence sequence, int start, int end ) throws IOException
+    {
+    if( sequence == null )
+      sequence = "null";
+
+    for( int i = start; i < end; i++ )
+      writeChar( sequence.charAt( i ) );
+
+    flushIfFull();
+
+    return this;
+    }
+
+  @Override
+  public Writer append( char c ) throws IOException
+    {
+    write( c );
+
+    return this;
+    }
+
+  /** Writes all buffered bytes to the underlying OutputStream, if any, and flushes it. */
+  @Override
+  public void flush() throws IOException
+    {
+    if( outputStream == null )
+      return;
+
+    flushPending();
+    flushBytes();
+    outputStream.flush();
+    }
+
+  @Override
+  public void close() throws IOException
+    {
+    if( outputStream == null )
+      return;
+
+    flush();
+    outputStream.close();
+    }
+
+  private void writeChar( char c )
+    {
+    if( highSurrogate != 0 )
+      {
+      char high = highSurrogate;
+
+      highSurrogate = 0;
+
+      if( Character.isLowSurrogate( c ) )
+        {
+        writeCodePoint( Character.toCodePoint( high, c ) );
+        return;
+        }
+
+      writeByte( '?' );
+      }
+
+    if( c < 0x80 )
+      {
+      ensure( 1 );
+      bytes[ length++ ] = (byte) c;
+      }
+    else if( Character.isHighSurrogate( c ) )
+      {
+      highSurrogate = c;
+      }
+    else if( Character.isLowSurrogate( c ) )
+      {
+      writeByte( '?' );
+      }
+    else if( encoding == UTF8 )
+      {
+      if( c < 0x800 )
+        {
+        ensure( 2 );
+        bytes[ length++ ] = (byte) ( 0xC0 | ( c >> 6 ) );
+        bytes[ length++ ] = (byte) ( 0x80 | ( c & 0x3F ) );
+        }
+      else
+        {
+        ensure( 3 );
+        bytes[ length++ ] = (byte) ( 0xE0 | ( c >> 12 ) );
+        bytes[ length++ ] = (byte) ( 0x80 | ( ( c >> 6 ) & 0x3F ) );
+        bytes[ length++ ] = (byte) ( 0x80 | ( c & 0x3F ) );
+        }
+      }
+    else if( encoding == LATIN1 && c < 0x100 )
+      {
+      writeByte( c );
+      }
+    else
+      {
+      writeByte( '?' );
+      }
+    }
+
+  private void writeCodePoint( int codePoint )
+    {
+    if( encoding != UTF8 )
+      {
+      writeByte( '?' );
+      return;
+      }
+
+    ensure( 4 );
+    bytes[ length++ ] = (byte) ( 0xF0 | ( codePoint >> 18 ) );
+    bytes[ length++ ] = (byte) ( 0x80 | ( ( codePoint >> 12 ) & 0x3F ) );
+    bytes[ length++ ] = (byte) ( 0x80 | ( ( codePoint >> 6 ) & 0x3F ) );
+    bytes[ length++ ] = (byte) ( 0x80 | ( codePoint & 0x3F ) );
+    }
+
+  private void writeByte( int b )
+    {
+    ensure( 1 );
+    bytes[ length++ ] = (byte) b;
+    }
+
+  /** A dangling high surrogate is written as '?' before any bytes leave the buffer */
+  private void flushPending()
+    {
+    if( highSurrogate == 0 )
+      return;
+
+    highSurrogate = 0;
+    writeByte( '?' );
+    }
+
+  private void ensure( int count )
+    {
+    if( length + count > bytes.length )
+      bytes = Arrays.copyOf( bytes, Math.max( bytes.length * 2, length + count ) );
+    }
+
+  private void flushIfFull() throws IOException
+    {
+    if( outputStream != null && length >= flushSize )
+      flushBytes();
+    }
+
+  private void flushBytes() throws IOException
+    {
+    outputStream.write( bytes, 0, length );
+    length = 0;
+    }
+  }
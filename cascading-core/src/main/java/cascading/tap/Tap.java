@@ -66,6 +66,9 @@ public abstract class Tap<Config, Input, Output> implements FlowElement, Seriali
   /** Field scheme */
   private Scheme<Config, Input, Output, ?, ?> scheme;
 
+  /** Property prefix, followed by the Tap id, holding the source field positions consumed by the current step */
+  public static final String SOURCE_PROJECTION = "cascading.step.source.projection.";
+
   /** Field mode */
   SinkMode sinkMode = SinkMode.KEEP;
 
@@ -226,6 +229,37 @@ public abstract class Tap<Config, Input, Output> implements FlowElement, Seriali
     return getScheme().getSourceFields();
     }
 
+  /**
+   * Method getProjectedSourceFields returns the subset of the source fields the planner found to be consumed
+   * downstream of this Tap in the current step, or {@code null} if all fields are required.
+   * <p/>
+   * The returned value is intended to be handed to the Scheme via {@link cascading.scheme.ConcreteCall#getProjectedFields()}.
+   *
+   * @param flowProcess of type FlowProcess
+   * @return Fields
+   */
+  public Fields getProjectedSourceFields( FlowProcess<Config> flowProcess )
+    {
+    String value = flowProcess.getStringProperty( SOURCE_PROJECTION + id( this ) );
+
+    if( value == null || value.isEmpty() )
+      return null;
+
+    String[] split = value.split( "," );
+    Comparable[] positions = new Comparable[ split.length ];
+
+    for( int i = 0; i < split.length; i++ )
+      positions[ i ] = Integer.parseInt( split[ i ] );
+
+    Fields projected = new Fields( positions );
+    Fields sourceFields = getSourceFields();
+
+    if( sourceFields.isDefined() )
+      return sourceFields.select( projected );
+
+    return projected;
+    }
+
   /**
    * Method getSinkFields returns the sinkFields of this Tap object.
    *
@@ -26,6 +26,7 @@ import java.io.IOException;
 import cascading.flow.FlowProcess;
 import cascading.scheme.ConcreteCall;
 import cascading.scheme.Scheme;
+import cascading.scheme.SourcePredicate;
 import cascading.util.CloseableIterator;
 import cascading.util.SingleCloseableInputIterator;
 
@@ -59,12 +60,22 @@ public class TupleEntrySchemeIterator<Config, Input> extends TupleEntryIterator
     this( flowProcess, scheme, (CloseableIterator<Input>) new SingleCloseableInputIterator( (Closeable) input ), identifier );
     }
 
+  public TupleEntrySchemeIterator( FlowProcess<Config> flowProcess, Scheme scheme, Input input, String identifier, Fields projectedFields )
+    {
+    this( flowProcess, scheme, (CloseableIterator<Input>) new SingleCloseableInputIterator( (Closeable) input ), identifier, projectedFields );
+    }
+
   public TupleEntrySchemeIterator( FlowProcess<Config> flowProcess, Scheme scheme, CloseableIterator<Input> inputIterator )
     {
     this( flowProcess, scheme, inputIterator, null );
     }
 
   public TupleEntrySchemeIterator( FlowProcess<Config> flowProcess, Scheme scheme, CloseableIterator<Input> inputIterator, String identifier )
+    {
+    this( flowProcess, scheme, inputIterator, identifier, null );
+    }
+
+  public TupleEntrySchemeIterator( FlowProcess<Config> flowProcess, Scheme scheme, CloseableIterator<Input> inputIterator, String identifier, Fields projectedFields )
     {
     super( scheme.getSourceFields() );
     this.flowProcess = flowProcess;
@@ -84,6 +95,7 @@ public class TupleEntrySchemeIterator<Config, Input> extends TupleEntryIterator
     sourceCall = new ConcreteCall();
 
     sourceCall.setIncomingEntry( getTupleEntry() );
+    sourceCall.setProjectedFields( projectedFields );
     sourceCall.setInput( wrapInput( inputIterator.next() ) );
 
     try
@@ -96,6 +108,18 @@ public class TupleEntrySchemeIterator<Config, Input> extends TupleEntryIterator
       }
     }
 
+  /**
+   * Method setPredicate hands the given filters to the underlying Scheme, it must be called before the first
+   * call to {@link #hasNext()}.
+   *
+   * @param predicate of type SourcePredicate
+   */
+  public void setPredicate( SourcePredicate predicate )
+    {
+    if( sourceCall != null ) // input is empty
+      sourceCall.setPredicate( predicate );
+    }
+
   protected FlowProcess<Config> getFlowProcess()
     {
     return flowProcess;
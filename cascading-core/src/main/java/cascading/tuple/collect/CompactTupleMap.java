@@ -0,0 +1,568 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.tuple.collect;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import cascading.flow.FlowProcess;
+import cascading.tuple.Tuple;
+import cascading.tuple.TupleException;
+import cascading.tuple.io.TupleInputStream;
+import cascading.tuple.io.TupleOutputStream;
+
+/**
+ * CompactTupleMap is a "tuple map" that stores its keys and values serialized into large byte slabs, instead of
+ * as {@link Tuple} object graphs. This typically reduces the memory used by the accumulated side of a
+ * {@link cascading.pipe.HashJoin} several fold, and leaves the garbage collector very few objects to trace.
+ * <p/>
+ * Keys are located through an open addressing hash index holding only primitive offsets into the slabs. The values
+ * of a key are chained within the slabs, so values may be appended in any key order.
+ * <p/>
+ * As required by the {@link TupleMapFactory} contract, {@link #get(Object)} never returns {@code null}, the
+ * returned Collection is a live view and only supports {@link Collection#add(Object)} and iteration. Every
+ * iteration deserializes new Tuple instances.
+ * <p/>
+ * Two keys are equal if they have the same {@link Object#hashCode()} and the same serialized form. So key equality
+ * must be consistent with the serialized form, which is not the case if the join keys declare custom
+ * {@link java.util.Comparator}s that consider different values equal.
+ * <p/>
+ * If {@link #OFF_HEAP} is {@code true}, slabs are allocated outside of the Java heap as direct
+ * {@link ByteBuffer}s, remember to size {@code -XX:MaxDirectMemorySize} accordingly.
+ * <p/>
+ * This class is not thread-safe.
+ */
+public abstract class CompactTupleMap extends AbstractMap<Tuple, Collection<Tuple>>
+  {
+  /** The number of bytes allocated for each slab, defaults to 4MB. */
+  public static final String SLAB_SIZE = "cascading.compact.map.slab.size";
+
+  /** Whether slabs are allocated off heap, defaults to {@code false}. */
+  public static final String OFF_HEAP = "cascading.compact.map.offheap";
+
+  public static final int defaultSlabSize = 4 * 1024 * 1024;
+
+  private static final long NIL = -1;
+  private static final int KEY_HEADER = 4; // length
+  private static final int VALUE_HEADER = 8 + 4; // next address, length
+  private static final int INITIAL_CAPACITY = 1024;
+
+  public static int getSlabSize( FlowProcess flowProcess, int defaultValue )
+    {
+    String value = (String) flowProcess.getProperty( SLAB_SIZE );
+
+    if( value == null || value.length() == 0 )
+      return defaultValue;
+
+    return Integer.parseInt( value );
+    }
+
+  public static boolean isOffHeap( FlowProcess flowProcess, boolean defaultValue )
+    {
+    String value = (String) flowProcess.getProperty( OFF_HEAP );
+
+    if( value == null || value.length() == 0 )
+      return defaultValue;
+
+    return Boolean.parseBoolean( value );
+    }
+
+  private final int slabSize;
+  private final boolean offHeap;
+
+  private final List<ByteBuffer> slabs = new ArrayList<ByteBuffer>();
+  private ByteBuffer currentSlab;
+
+  /** Maps a hash slot to an entry, or -1 if empty. */
+  private int[] index;
+
+  // entries, in insertion order
+  private int[] entryHashes;
+  private long[] entryKeys;
+  private long[] entryFirstValues;
+  private long[] entryLastValues;
+  private int[] entryCounts;
+  private int size = 0;
+
+  private final Buffer buffer = new Buffer();
+  private final SlabInputStream slabInputStream = new SlabInputStream();
+  private TupleOutputStream tupleOutputStream;
+  private TupleInputStream tupleInputStream;
+
+  protected CompactTupleMap( int slabSize, boolean offHeap )
+    {
+    this.slabSize = slabSize;
+    this.offHeap = offHeap;
+
+    initialize( INITIAL_CAPACITY );
+    }
+
+  protected abstract TupleOutputStream createTupleOutputStream( OutputStream outputStream );
+
+  protected abstract TupleInputStream createTupleInputStream( InputStream inputStream );
+
+  private void initialize( int capacity )
+    {
+    index = new int[ capacity * 2 ];
+    Arrays.fill( index, -1 );
+
+    entryHashes = new int[ capacity ];
+    entryKeys = new long[ capacity ];
+    entryFirstValues = new long[ capacity ];
+    entryLastValues = new long[ capacity ];
+    entryCounts = new int[ capacity ];
+    }
+
+  /**
+   * Method getNumSlabBytes returns the number of bytes allocated for slabs by this map.
+   *
+   * @return a long
+   */
+  public long getNumSlabBytes()
+    {
+    long bytes = 0;
+
+    for( ByteBuffer slab : slabs )
+      bytes += slab.capacity();
+
+    return bytes;
+    }
+
+  @Override
+  public int size()
+    {
+    return size;
+    }
+
+  @Override
+  public boolean containsKey( Object object )
+    {
+    Tuple key = (Tuple) object;
+    int length = serialize( key );
+
+    return findEntry( key.hashCode(), length ) != -1;
+    }
+
+  @Override
+  public Collection<Tuple> get( Object object )
+    {
+    Tuple key = (Tuple) object;
+    int hash = key.hashCode();
+    int length = serialize( key );
+
+    int entry = findEntry( hash, length );
+
+    if( entry == -1 )
+      entry = addEntry( hash, length );
+
+    return new Values( entry );
+    }
+
+  @Override
+  public Collection<Tuple> put( Tuple key, Collection<Tuple> value )
+    {
+    throw new UnsupportedOperationException( "put is not supported, use get(key).add(value)" );
+    }
+
+  @Override
+  public void clear()
+    {
+    slabs.clear();
+    currentSlab = null;
+    size = 0;
+
+    initialize( INITIAL_CAPACITY );
+    }
+
+  @Override
+  public Set<Map.Entry<Tuple, Collection<Tuple>>> entrySet()
+    {
+    return new AbstractSet<Map.Entry<Tuple, Collection<Tuple>>>()
+    {
+    @Override
+    public Iterator<Map.Entry<Tuple, Collection<Tuple>>> iterator()
+      {
+      return new Iterator<Map.Entry<Tuple, Collection<Tuple>>>()
+      {
+      int entry = 0;
+
+      @Override
+      public boolean hasNext()
+        {
+        return entry < size;
+        }
+
+      @Override
+      public Map.Entry<Tuple, Collection<Tuple>> next()
+        {
+        if( !hasNext() )
+          throw new NoSuchElementException();
+
+        Tuple key = readTuple( entryKeys[ entry ], KEY_HEADER );
+
+        return new SimpleImmutableEntry<Tuple, Collection<Tuple>>( key, new Values( entry++ ) );
+        }
+
+      @Override
+      public void remove()
+        {
+        throw new UnsupportedOperationException( "remove is not supported" );
+        }
+      };
+      }
+
+    @Override
+    public int size()
+      {
+      return size;
+      }
+    };
+    }
+
+  private static int slot( int hash, int mask )
+    {
+    hash ^= ( hash >>> 20 ) ^ ( hash >>> 12 );
+    hash ^= ( hash >>> 7 ) ^ ( hash >>> 4 );
+
+    return hash & mask;
+    }
+
+  /** Returns the entry for the key currently serialized in the buffer, or -1. */
+  private int findEntry( int hash, int length )
+    {
+    int mask = index.length - 1;
+
+    for( int slot = slot( hash, mask ); ; slot = ( slot + 1 ) & mask )
+      {
+      int entry = index[ slot ];
+
+      if( entry == -1 )
+        return -1;
+
+      if( entryHashes[ entry ] == hash && keyEquals( entryKeys[ entry ], length ) )
+        return entry;
+      }
+    }
+
+  private int addEntry( int hash, int length )
+    {
+    if( size == entryHashes.length )
+      grow();
+
+    long address = allocate( KEY_HEADER + length );
+    ByteBuffer slab = slabFor( address );
+
+    slab.putInt( length );
+    slab.put( buffer.bytes(), 0, length );
+
+    int entry = size++;
+
+    entryHashes[ entry ] = hash;
+    entryKeys[ entry ] = address;
+    entryFirstValues[ entry ] = NIL;
+    entryLastValues[ entry ] = NIL;
+    entryCounts[ entry ] = 0;
+
+    insertIntoIndex( entry );
+
+    return entry;
+    }
+
+  private void insertIntoIndex( int entry )
+    {
+    int mask = index.length - 1;
+    int slot = slot( entryHashes[ entry ], mask );
+
+    while( index[ slot ] != -1 )
+      slot = ( slot + 1 ) & mask;
+
+    index[ slot ] = entry;
+    }
+
+  private void grow()
+    {
+    int capacity = entryHashes.length * 2;
+
+    entryHashes = Arrays.copyOf( entryHashes, capacity );
+    entryKeys = Arrays.copyOf( entryKeys, capacity );
+    entryFirstValues = Arrays.copyOf( entryFirstValues, capacity );
+    entryLastValues = Arrays.copyOf( entryLastValues, capacity );
+    entryCounts = Arrays.copyOf( entryCounts, capacity );
+
+    // keep the index at most half full, the stored hashes avoid deserializing any keys
+    index = new int[ capacity * 2 ];
+    Arrays.fill( index, -1 );
+
+    for( int entry = 0; entry < size; entry++ )
+      insertIntoIndex( entry );
+    }
+
+  private void addValue( int entry, Tuple value )
+    {
+    int length = serialize( value );
+    long address = allocate( VALUE_HEADER + length );
+    ByteBuffer slab = slabFor( address );
+
+    slab.putLong( NIL );
+    slab.putInt( length );
+    slab.put( buffer.bytes(), 0, length );
+
+    long last = entryLastValues[ entry ];
+
+    if( last == NIL )
+      entryFirstValues[ entry ] = address;
+    else
+      slabFor( last ).putLong( offset( last ), address );
+
+    entryLastValues[ entry ] = address;
+    entryCounts[ entry ]++;
+    }
+
+  private boolean keyEquals( long address, int length )
+    {
+    ByteBuffer slab = slabFor( address );
+    int offset = offset( address );
+
+    if( slab.getInt( offset ) != length )
+      return false;
+
+    byte[] bytes = buffer.bytes();
+
+    offset += KEY_HEADER;
+
+    for( int i = 0; i < length; i++ )
+      {
+      if( slab.get( offset + i ) != bytes[ i ] )
+        return false;
+      }
+
+    return true;
+    }
+
+  /** Reserves length bytes in the current slab and returns the address, the slab position is left at the address. */
+  private long allocate( int length )
+    {
+    if( currentSlab == null || currentSlab.remaining() < length )
+      {
+      int capacity = Math.max( slabSize, length );
+
+      currentSlab = offHeap ? ByteBuffer.allocateDirect( capacity ) : ByteBuffer.allocate( capacity );
+      slabs.add( currentSlab );
+      }
+
+    return ( (long) ( slabs.size() - 1 ) << 32 ) | currentSlab.position();
+    }
+
+  private ByteBuffer slabFor( long address )
+    {
+    return slabs.get( (int) ( address >>> 32 ) );
+    }
+
+  private static int offset( long address )
+    {
+    return (int) address;
+    }
+
+  /** Serializes the given tuple into the buffer, returning the number of bytes written. */
+  private int serialize( Tuple tuple )
+    {
+    if( tupleOutputStream == null )
+      tupleOutputStream = createTupleOutputStream( buffer );
+
+    buffer.reset();
+
+    try
+      {
+      tupleOutputStream.writeTuple( tuple );
+      tupleOutputStream.flush();
+      }
+    catch( IOException exception )
+      {
+      throw new TupleException( "unable to serialize tuple: " + tuple.print(), exception );
+      }
+
+    return buffer.size();
+    }
+
+  private Tuple readTuple( long address, int headerSize )
+    {
+    if( tupleInputStream == null )
+      tupleInputStream = createTupleInputStream( slabInputStream );
+
+    ByteBuffer slab = slabFor( address );
+    int offset = offset( address );
+    int length = slab.getInt( offset + headerSize - 4 );
+
+    slabInputStream.reset( slab, offset + headerSize, length );
+
+    try
+      {
+      return tupleInputStream.readTuple();
+      }
+    catch( IOException exception )
+      {
+      throw new TupleException( "unable to deserialize tuple", exception );
+      }
+    }
+
+  /** A live view of the values of a single entry. */
+  private class Values extends AbstractCollection<Tuple>
+    {
+    private final int entry;
+
+    private Values( int entry )
+      {
+      this.entry = entry;
+      }
+
+    @Override
+    public boolean add( Tuple tuple )
+      {
+      addValue( entry, tuple );
+
+      return true;
+      }
+
+    @Override
+    public int size()
+      {
+      return entryCounts[ entry ];
+      }
+
+    @Override
+    public Iterator<Tuple> iterator()
+      {
+      return new Iterator<Tuple>()
+      {
+      long address = entryFirstValues[ entry ];
+
+      @Override
+      public boolean hasNext()
+        {
+        return address != NIL;
+        }
+
+      @Override
+      public Tuple next()
+        {
+        if( !hasNext() )
+          throw new NoSuchElementException();
+
+        Tuple tuple = readTuple( address, VALUE_HEADER );
+
+        address = slabFor( address ).getLong( offset( address ) );
+
+        return tuple;
+        }
+
+      @Override
+      public void remove()
+        {
+        throw new UnsupportedOperationException( "remove is not supported" );
+        }
+      };
+      }
+    }
+
+  /** Exposes the internal array so the serialized bytes need not be copied. */
+  private static class Buffer extends ByteArrayOutputStream
+    {
+    private Buffer()
+      {
+      super( 1024 );
+      }
+
+    private byte[] bytes()
+      {
+      return buf;
+      }
+    }
+
+  /** Reads a region of a slab, may be reset to read another region. */
+  private static class SlabInputStream extends InputStream
+    {
+    private ByteBuffer slab;
+    private int position;
+    private int limit;
+
+    private void reset( ByteBuffer slab, int position, int length )
+      {
+      this.slab = slab;
+      this.position = position;
+      this.limit = position + length;
+      }
+
+    @Override
+    public int read()
+      {
+      if( position >= limit )
+        return -1;
+
+      return slab.get( position++ ) & 0xFF;
+      }
+
+    @Override
+    public int read( byte[] bytes, int offset, int length )
+      {
+      if( length == 0 )
+        return 0;
+
+      if( position >= limit )
+        return -1;
+
+      length = Math.min( length, limit - position );
+
+      if( slab.hasArray() )
+        {
+        System.arraycopy( slab.array(), slab.arrayOffset() + position, bytes, offset, length );
+        }
+      else
+        {
+        for( int i = 0; i < length; i++ )
+          bytes[ offset + i ] = slab.get( position + i );
+        }
+
+      position += length;
+
+      return length;
+      }
+
+    @Override
+    public int available()
+      {
+      return limit - position;
+      }
+    }
+  }
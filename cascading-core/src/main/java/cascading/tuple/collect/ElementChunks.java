@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.tuple.collect;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Class ElementChunks is an append only buffer of tuple element arrays used to hold the in-memory portion of a
+ * {@link SpillableTupleList}.
+ * <p/>
+ * Elements are stored in a list of array chunks. Chunks start small so the many short lists created by a
+ * {@link cascading.pipe.HashJoin} remain cheap, and double in size up to a fixed maximum so long lists do not pay a
+ * node allocation per tuple, as a linked list would, nor copy on growth, as a single array would.
+ */
+final class ElementChunks implements Iterable<Object[]>
+  {
+  static final int MIN_CHUNK_SIZE = 8;
+  static final int MAX_CHUNK_SIZE = 8 * 1024;
+
+  private final List<Object[][]> chunks = new ArrayList<Object[][]>();
+  /** Field last is the chunk currently being appended to */
+  private Object[][] last;
+  /** Field position is the next free slot in the last chunk */
+  private int position;
+  private int size;
+
+  ElementChunks()
+    {
+    }
+
+  void add( Object[] elements )
+    {
+    if( last == null || position == last.length )
+      {
+      last = new Object[ last == null ? MIN_CHUNK_SIZE : Math.min( MAX_CHUNK_SIZE, last.length * 2 ) ][];
+      chunks.add( last );
+      position = 0;
+      }
+
+    last[ position++ ] = elements;
+    size++;
+    }
+
+  int size()
+    {
+    return size;
+    }
+
+  boolean isEmpty()
+    {
+    return size == 0;
+    }
+
+  /**
+   * Method clear empties this buffer. The first chunk is retained for reuse, larger chunks are released so a
+   * single large group does not pin memory for the remainder of the task.
+   */
+  void clear()
+    {
+    if( chunks.isEmpty() )
+      return;
+
+    Object[][] first = chunks.get( 0 );
+
+    Arrays.fill( first, null );
+    chunks.clear();
+    chunks.add( first );
+
+    last = first;
+    position = 0;
+    size = 0;
+    }
+
+  @Override
+  public Iterator<Object[]> iterator()
+    {
+    return new Iterator<Object[]>()
+    {
+    int remaining = size;
+    int chunkIndex = 0;
+    int index = 0;
+    Object[][] chunk = chunks.isEmpty() ? null : chunks.get( 0 );
+
+    @Override
+    public boolean hasNext()
+      {
+      return remaining != 0;
+      }
+
+    @Override
+    public Object[] next()
+      {
+      if( remaining == 0 )
+        throw new NoSuchElementException();
+
+      if( index == chunk.length )
+        {
+        chunk = chunks.get( ++chunkIndex );
+        index = 0;
+        }
+
+      remaining--;
+
+      return chunk[ index++ ];
+      }
+
+    @Override
+    public void remove()
+      {
+      throw new UnsupportedOperationException( "remove is not supported" );
+      }
+    };
+    }
+  }
@@ -46,12 +46,35 @@ public class SpillableProps extends Props
   /** A comma delimited list of possible codecs to try. This is platform dependent. */
   public static final String SPILL_CODECS = "cascading.spill.codecs";
 
+  /**
+   * Whether to write spills on a background thread while values continue to be buffered in memory, off by default.
+   * <p/>
+   * When enabled, up to twice the list threshold may be held in memory.
+   */
+  public static final String SPILL_ASYNC = "cascading.spill.async";
+
+  /**
+   * The maximum number of distinct String values per spill file to write as small dictionary ids when repeated, so
+   * low cardinality String fields shrink the spill. This is platform dependent.
+   * <p/>
+   * A value of 0, the default, disables the dictionary.
+   */
+  public static final String SPILL_DICTIONARY_SIZE = "cascading.spill.dictionary.size";
+
   /** Number of tuples to hold in memory before spilling them to disk. */
   public static final String LIST_THRESHOLD = "cascading.spill.list.threshold";
 
   /** The total number of tuple values (not keys) to attempt to keep in memory. */
   public static final String MAP_THRESHOLD = "cascading.spill.map.threshold";
 
+  /**
+   * The approximate number of bytes of tuple values (not keys) to attempt to keep in memory. Once met, the largest
+   * value collections are spilled to disk until half the threshold is reclaimed.
+   * <p/>
+   * A value of -1, the default, disables byte accounting.
+   */
+  public static final String MAP_BYTES_THRESHOLD = "cascading.spill.map.threshold.bytes";
+
   /**
    * The initial hash map capacity.
    *
@@ -66,21 +89,45 @@ public class SpillableProps extends Props
    */
   public static final String MAP_LOADFACTOR = "cascading.spill.map.loadfactor";
 
+  /**
+   * The approximate number of bytes of tuples the accumulated side of a {@link cascading.pipe.HashJoin} may hold in
+   * memory. Once met, the accumulated and the streamed sides are hash partitioned to disk and joined one partition
+   * at a time, a grace hash join.
+   * <p/>
+   * A value of -1, the default, disables partitioning. Only supported on platforms that provide spillable
+   * collections.
+   */
+  public static final String JOIN_THRESHOLD = "cascading.spill.join.threshold";
+
+  /** The number of partitions a {@link cascading.pipe.HashJoin} is divided into once it exceeds its threshold. */
+  public static final String JOIN_PARTITIONS = "cascading.spill.join.partitions";
+
   public static final int defaultListThreshold = 10 * 1000;
+  public static final int defaultDictionarySize = 0;
 
   public static final int defaultMapThreshold = 10 * 1000;
+  public static final long defaultMapBytesThreshold = -1;
   public static final int defaultMapInitialCapacity = 100 * 1000;
   public static final float defaultMapLoadFactor = 0.75f;
 
+  public static final long defaultJoinThreshold = -1;
+  public static final int defaultJoinPartitions = 32;
+
   boolean compressSpill = true;
+  boolean asyncSpill = false;
+  int spillDictionarySize = defaultDictionarySize;
   List<String> codecs = new ArrayList<String>();
 
   int listSpillThreshold = defaultListThreshold;
 
   int mapSpillThreshold = defaultMapThreshold;
+  long mapBytesSpillThreshold = defaultMapBytesThreshold;
   int mapInitialCapacity = defaultMapInitialCapacity;
   float mapLoadFactor = defaultMapLoadFactor;
 
+  long joinThreshold = defaultJoinThreshold;
+  int joinPartitions = defaultJoinPartitions;
+
   public static SpillableProps spillableProps()
     {
     return new SpillableProps();
@@ -102,6 +149,30 @@ public class SpillableProps extends Props
     return this;
     }
 
+  public boolean isAsyncSpill()
+    {
+    return asyncSpill;
+    }
+
+  public SpillableProps setAsyncSpill( boolean asyncSpill )
+    {
+    this.asyncSpill = asyncSpill;
+
+    return this;
+    }
+
+  public int getSpillDictionarySize()
+    {
+    return spillDictionarySize;
+    }
+
+  public SpillableProps setSpillDictionarySize( int spillDictionarySize )
+    {
+    this.spillDictionarySize = spillDictionarySize;
+
+    return this;
+    }
+
   public List<String> getCodecs()
     {
     return codecs;
@@ -152,6 +223,18 @@ public class SpillableProps extends Props
     return this;
     }
 
+  public long getMapBytesSpillThreshold()
+    {
+    return mapBytesSpillThreshold;
+    }
+
+  public SpillableProps setMapBytesSpillThreshold( long mapBytesSpillThreshold )
+    {
+    this.mapBytesSpillThreshold = mapBytesSpillThreshold;
+
+    return this;
+    }
+
   public int getMapInitialCapacity()
     {
     return mapInitialCapacity;
@@ -176,6 +259,30 @@ public class SpillableProps extends Props
     return this;
     }
 
+  public long getJoinThreshold()
+    {
+    return joinThreshold;
+    }
+
+  public SpillableProps setJoinThreshold( long joinThreshold )
+    {
+    this.joinThreshold = joinThreshold;
+
+    return this;
+    }
+
+  public int getJoinPartitions()
+    {
+    return joinPartitions;
+    }
+
+  public SpillableProps setJoinPartitions( int joinPartitions )
+    {
+    this.joinPartitions = joinPartitions;
+
+    return this;
+    }
+
   @Override
   protected void addPropertiesTo( Properties properties )
     {
@@ -187,10 +294,16 @@ public class SpillableProps extends Props
       }
 
     properties.setProperty( SPILL_COMPRESS, Boolean.toString( compressSpill ) );
+    properties.setProperty( SPILL_ASYNC, Boolean.toString( asyncSpill ) );
+    properties.setProperty( SPILL_DICTIONARY_SIZE, Integer.toString( spillDictionarySize ) );
     properties.setProperty( LIST_THRESHOLD, Integer.toString( listSpillThreshold ) );
 
     properties.setProperty( MAP_THRESHOLD, Integer.toString( mapSpillThreshold ) );
+    properties.setProperty( MAP_BYTES_THRESHOLD, Long.toString( mapBytesSpillThreshold ) );
     properties.setProperty( MAP_CAPACITY, Integer.toString( mapInitialCapacity ) );
     properties.setProperty( MAP_LOADFACTOR, Float.toString( mapLoadFactor ) );
+
+    properties.setProperty( JOIN_THRESHOLD, Long.toString( joinThreshold ) );
+    properties.setProperty( JOIN_PARTITIONS, Integer.toString( joinPartitions ) );
     }
   }
@@ -29,6 +29,12 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import cascading.flow.FlowProcess;
 import cascading.tuple.Tuple;
@@ -45,6 +51,9 @@ import org.slf4j.LoggerFactory;
  * {@code threshold} is met.
  * <p/>
  * Using a {@code threshold } of -1 will disable the spill, all values will remain in memory.
+ * <p/>
+ * If {@link SpillableProps#SPILL_ASYNC} is enabled, spills are written by a background thread while new values
+ * are added to a second in-memory buffer, at the cost of holding up to twice the threshold in memory.
  * <p.></p.>
  * This class is used by the {@link cascading.pipe.CoGroup} pipe, to set properties specific to a given
  * CoGroup instance, see the {@link cascading.pipe.CoGroup#getConfigDef()} method.
@@ -84,6 +93,26 @@ public abstract class SpillableTupleList implements Collection<Tuple>, Spillable
     return Integer.parseInt( value );
     }
 
+  public static boolean isAsyncSpill( FlowProcess flowProcess, boolean defaultValue )
+    {
+    String value = (String) flowProcess.getProperty( SpillableProps.SPILL_ASYNC );
+
+    if( value == null || value.length() == 0 )
+      return defaultValue;
+
+    return Boolean.parseBoolean( value );
+    }
+
+  public static int getDictionarySize( FlowProcess flowProcess, int defaultValue )
+    {
+    String value = (String) flowProcess.getProperty( SpillableProps.SPILL_DICTIONARY_SIZE );
+
+    if( value == null || value.length() == 0 )
+      return defaultValue;
+
+    return Integer.parseInt( value );
+    }
+
   protected static Class getCodecClass( FlowProcess flowProcess, String defaultCodecs, Class subClass )
     {
     String compress = (String) flowProcess.getProperty( SpillableProps.SPILL_COMPRESS );
@@ -126,13 +155,32 @@ public abstract class SpillableTupleList implements Collection<Tuple>, Spillable
     return codecClass;
     }
 
+  // shared across all lists in the jvm, each list has at most one spill in flight so file order is retained
+  private static ExecutorService spillWriters = Executors.newCachedThreadPool( new ThreadFactory()
+  {
+  @Override
+  public Thread newThread( Runnable runnable )
+    {
+    Thread thread = new Thread( runnable, "spill-writer" );
+
+    thread.setDaemon( true );
+
+    return thread;
+    }
+  } );
 
   private SpillStrategy spillStrategy;
 
   /** Field files */
   private List<File> files = Collections.EMPTY_LIST; // lazy init if we do a spill
   /** Field current */
-  private final List<Object[]> current = new LinkedList<Object[]>();
+  private ElementChunks current = new ElementChunks();
+  /** Field writing is the buffer handed to the last asynchronous spill, reused once the spill completes */
+  private ElementChunks writing;
+  /** Field pendingSpill */
+  private Future<Void> pendingSpill;
+  /** Field asyncSpill */
+  private boolean asyncSpill = false;
   /** Field size */
   private int size = 0;
   /** Fields listener */
@@ -194,6 +242,22 @@ public abstract class SpillableTupleList implements Collection<Tuple>, Spillable
     return files.size();
     }
 
+  public boolean isAsyncSpill()
+    {
+    return asyncSpill;
+    }
+
+  /**
+   * Method setAsyncSpill enables writing spills on a background thread while new values are added to a second
+   * in-memory buffer.
+   *
+   * @param asyncSpill of type boolean
+   */
+  public void setAsyncSpill( boolean asyncSpill )
+    {
+    this.asyncSpill = asyncSpill;
+    }
+
   private class SpilledListIterator implements Iterator<Tuple>
     {
     int fileIndex = 0;
@@ -283,7 +347,7 @@ public abstract class SpillableTupleList implements Collection<Tuple>, Spillable
   @Override
   public boolean isEmpty()
     {
-    return files.isEmpty() && current.size() == 0;
+    return files.isEmpty() && current.isEmpty();
     }
 
   private final boolean doSpill()
@@ -291,15 +355,69 @@ public abstract class SpillableTupleList implements Collection<Tuple>, Spillable
     if( !spillStrategy.doSpill( this, current.size() ) )
       return false;
 
-    long start = System.currentTimeMillis();
-    spillListener.notifyWriteSpillBegin( this, current.size(), spillStrategy.getSpillReason( this ) );
+    return spill( spillStrategy.getSpillReason( this ) );
+    }
+
+  /**
+   * Method spill writes all the tuples currently held in memory to a new spill file, regardless of the current
+   * {@link SpillStrategy}. Used by containers, like {@link SpillableTupleMap}, that must reclaim memory across
+   * many lists.
+   *
+   * @param spillReason of type String
+   * @return true if any tuples were spilled
+   */
+  public boolean spill( String spillReason )
+    {
+    if( current.isEmpty() )
+      return false;
+
+    awaitSpill(); // only one spill in flight per list
+
+    final long start = System.currentTimeMillis();
+    spillListener.notifyWriteSpillBegin( this, current.size(), spillReason );
+
+    final File file = createTempFile();
+
+    if( files == Collections.EMPTY_LIST )
+      files = new LinkedList<File>();
+
+    files.add( file );
+
+    // created on this thread, as stream factories may share state that is not thread safe
+    final TupleOutputStream dataOutputStream = createTupleOutputStream( file );
+
+    if( !asyncSpill )
+      {
+      writeFile( dataOutputStream, current, start );
+      current.clear();
+
+      return true;
+      }
+
+    final ElementChunks list = current;
+
+    current = writing == null ? new ElementChunks() : writing;
+    writing = list;
 
-    File file = createTempFile();
-    TupleOutputStream dataOutputStream = createTupleOutputStream( file );
+    pendingSpill = spillWriters.submit( new Callable<Void>()
+    {
+    @Override
+    public Void call() throws Exception
+      {
+      writeFile( dataOutputStream, list, start );
+
+      return null;
+      }
+    } );
+
+    return true;
+    }
 
+  private void writeFile( TupleOutputStream dataOutputStream, ElementChunks list, long start )
+    {
     try
       {
-      writeList( dataOutputStream, current );
+      writeList( dataOutputStream, list );
       }
     finally
       {
@@ -308,14 +426,36 @@ public abstract class SpillableTupleList implements Collection<Tuple>, Spillable
       }
 
     spillListener.notifyWriteSpillEnd( this, System.currentTimeMillis() - start );
+    }
 
-    if( files == Collections.EMPTY_LIST )
-      files = new LinkedList<File>();
+  /** Method awaitSpill blocks until any asynchronous spill in flight has been written to disk. */
+  private void awaitSpill()
+    {
+    if( pendingSpill == null )
+      return;
 
-    files.add( file );
-    current.clear();
+    try
+      {
+      pendingSpill.get();
+      }
+    catch( InterruptedException exception )
+      {
+      Thread.currentThread().interrupt();
 
-    return true;
+      throw new TupleException( "interrupted while writing spill", exception );
+      }
+    catch( ExecutionException exception )
+      {
+      if( exception.getCause() instanceof TupleException )
+        throw (TupleException) exception.getCause();
+
+      throw new TupleException( "unable to write spill", exception.getCause() );
+      }
+    finally
+      {
+      pendingSpill = null;
+      writing.clear();
+      }
     }
 
   private void flushSilent( Flushable flushable )
@@ -342,7 +482,7 @@ public abstract class SpillableTupleList implements Collection<Tuple>, Spillable
       }
     }
 
-  private void writeList( TupleOutputStream dataOutputStream, List<Object[]> list )
+  private void writeList( TupleOutputStream dataOutputStream, ElementChunks list )
     {
     try
       {
@@ -434,6 +574,8 @@ public abstract class SpillableTupleList implements Collection<Tuple>, Spillable
   @Override
   public void clear()
     {
+    awaitSpill();
+
     files.clear();
     current.clear();
     size = 0;
@@ -442,6 +584,8 @@ public abstract class SpillableTupleList implements Collection<Tuple>, Spillable
   @Override
   public Iterator<Tuple> iterator()
     {
+    awaitSpill();
+
     if( files.isEmpty() )
       return asTupleIterator();
 
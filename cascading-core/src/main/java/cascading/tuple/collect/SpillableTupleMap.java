@@ -20,11 +20,18 @@
 
 package cascading.tuple.collect;
 
+import java.util.AbstractCollection;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 
 import cascading.flow.FlowProcess;
 import cascading.tuple.Tuple;
+import cascading.tuple.util.TupleSizeEstimator;
 
 import static cascading.tuple.collect.SpillableProps.defaultMapInitialCapacity;
 import static cascading.tuple.collect.SpillableProps.defaultMapLoadFactor;
@@ -39,6 +46,12 @@ import static cascading.tuple.collect.SpillableProps.defaultMapLoadFactor;
  * used by each child SpillableTupleList instance using
  * {@code threshold = Min( list_threshold, map_threshold / current_num_keys ) }.
  * <p/>
+ * The {@link cascading.tuple.collect.SpillableProps#MAP_BYTES_THRESHOLD} value additionally sets the approximate number
+ * of bytes of values this map will strive to keep in memory. When set, the retained size of every value added is
+ * estimated, and once the threshold is met the value collections holding the most bytes are forced to spill until
+ * half the threshold has been reclaimed. Each spill is reported through the current
+ * {@link cascading.tuple.collect.Spillable.SpillListener}.
+ * <p/>
  * To set the list threshold, see {@link cascading.tuple.collect.SpillableProps} fluent helper class.
  * <p/>
  * This class is used by the {@link cascading.pipe.HashJoin} pipe, to set properties specific to a given
@@ -70,6 +83,10 @@ public abstract class SpillableTupleMap extends HashMap<Tuple, Collection<Tuple>
 
   private int mapThreshold;
   private int initListThreshold;
+  private long mapBytesThreshold = SpillableProps.defaultMapBytesThreshold;
+  /** Field retainedBytes is the estimated number of value bytes currently held in memory by all accounted collections */
+  private long retainedBytes = 0;
+  private Spillable.SpillStrategy spillStrategy;
   private Spillable.SpillListener spillListener = Spillable.SpillListener.NULL;
 
   public static int getMapThreshold( FlowProcess flowProcess, int defaultValue )
@@ -82,6 +99,16 @@ public abstract class SpillableTupleMap extends HashMap<Tuple, Collection<Tuple>
     return Integer.parseInt( value );
     }
 
+  public static long getMapBytesThreshold( FlowProcess flowProcess, long defaultValue )
+    {
+    String value = (String) flowProcess.getProperty( SpillableProps.MAP_BYTES_THRESHOLD );
+
+    if( value == null || value.length() == 0 )
+      return defaultValue;
+
+    return Long.parseLong( value );
+    }
+
   public static int getMapCapacity( FlowProcess flowProcess, int defaultValue )
     {
     String value = (String) flowProcess.getProperty( SpillableProps.MAP_CAPACITY );
@@ -126,6 +153,33 @@ public abstract class SpillableTupleMap extends HashMap<Tuple, Collection<Tuple>
     return initListThreshold;
     }
 
+  public long getMapBytesThreshold()
+    {
+    return mapBytesThreshold;
+    }
+
+  /**
+   * Method setMapBytesThreshold sets the approximate number of value bytes to keep in memory. Must be set before
+   * any values are added. A value of -1 disables byte accounting.
+   *
+   * @param mapBytesThreshold of type long
+   */
+  public void setMapBytesThreshold( long mapBytesThreshold )
+    {
+    this.mapBytesThreshold = mapBytesThreshold;
+    }
+
+  /**
+   * Method getRetainedBytes returns the estimated number of value bytes currently held in memory. Always 0 if
+   * byte accounting is disabled.
+   *
+   * @return long
+   */
+  public long getRetainedBytes()
+    {
+    return retainedBytes;
+    }
+
   @Override
   public Collection<Tuple> get( Object object )
     {
@@ -135,12 +189,33 @@ public abstract class SpillableTupleMap extends HashMap<Tuple, Collection<Tuple>
       {
       value = createTupleCollection( (Tuple) object );
 
+      if( mapBytesThreshold > 0 )
+        value = new AccountedCollection( value );
+
       super.put( (Tuple) object, value );
       }
 
     return value;
     }
 
+  @Override
+  public Collection<Tuple> remove( Object object )
+    {
+    Collection<Tuple> value = super.remove( object );
+
+    if( value instanceof AccountedCollection )
+      retainedBytes -= ( (AccountedCollection) value ).bytes;
+
+    return value;
+    }
+
+  @Override
+  public void clear()
+    {
+    super.clear();
+    retainedBytes = 0;
+    }
+
   protected abstract Collection<Tuple> createTupleCollection( Tuple object );
 
   @Override
@@ -154,15 +229,43 @@ public abstract class SpillableTupleMap extends HashMap<Tuple, Collection<Tuple>
     return null;
     }
 
+  /**
+   * Method setSpillStrategy sets the SpillStrategy handed to each new value collection. Collections already
+   * created are not affected.
+   *
+   * @param spillStrategy of type SpillStrategy
+   */
   @Override
   public void setSpillStrategy( SpillStrategy spillStrategy )
     {
+    this.spillStrategy = spillStrategy;
     }
 
+  protected Spillable.SpillStrategy getCollectionSpillStrategy()
+    {
+    return spillStrategy;
+    }
+
+  /**
+   * Method spillCount returns the total number of spills performed by all the value collections in this map.
+   *
+   * @return int
+   */
   @Override
   public int spillCount()
     {
-    return 0;
+    int count = 0;
+
+    for( Collection<Tuple> value : values() )
+      {
+      if( value instanceof AccountedCollection )
+        value = ( (AccountedCollection) value ).delegate;
+
+      if( value instanceof Spillable )
+        count += ( (Spillable) value ).spillCount();
+      }
+
+    return count;
     }
 
   public Spillable.SpillListener getSpillListener()
@@ -174,4 +277,113 @@ public abstract class SpillableTupleMap extends HashMap<Tuple, Collection<Tuple>
     {
     this.spillListener = spillListener;
     }
+
+  private void evict()
+    {
+    List<AccountedCollection> candidates = new ArrayList<AccountedCollection>();
+
+    for( Collection<Tuple> value : values() )
+      {
+      if( value instanceof AccountedCollection && ( (AccountedCollection) value ).isEvictable() )
+        candidates.add( (AccountedCollection) value );
+      }
+
+    Collections.sort( candidates, new Comparator<AccountedCollection>()
+    {
+    @Override
+    public int compare( AccountedCollection lhs, AccountedCollection rhs )
+      {
+      return lhs.bytes < rhs.bytes ? 1 : ( lhs.bytes == rhs.bytes ? 0 : -1 );
+      }
+    } );
+
+    long target = mapBytesThreshold / 2;
+    String spillReason = "map met bytes threshold: " + mapBytesThreshold + ", retaining: " + retainedBytes;
+
+    for( AccountedCollection candidate : candidates )
+      {
+      if( retainedBytes <= target )
+        break;
+
+      if( ( (SpillableTupleList) candidate.delegate ).spill( spillReason ) )
+        candidate.reset();
+      }
+    }
+
+  /**
+   * AccountedCollection wraps a value collection and tracks the estimated bytes it retains in memory, so the
+   * largest collections may be evicted when the map exceeds its bytes threshold.
+   */
+  private class AccountedCollection extends AbstractCollection<Tuple>
+    {
+    private final Collection<Tuple> delegate;
+    private long bytes = 0;
+
+    private AccountedCollection( Collection<Tuple> delegate )
+      {
+      this.delegate = delegate;
+      }
+
+    private boolean isEvictable()
+      {
+      return bytes != 0 && delegate instanceof SpillableTupleList;
+      }
+
+    private int delegateSpillCount()
+      {
+      return delegate instanceof Spillable ? ( (Spillable) delegate ).spillCount() : 0;
+      }
+
+    private void reset()
+      {
+      retainedBytes -= bytes;
+      bytes = 0;
+      }
+
+    @Override
+    public boolean add( Tuple tuple )
+      {
+      long size = TupleSizeEstimator.estimateSize( tuple );
+      int spillCount = delegateSpillCount();
+
+      boolean result = delegate.add( tuple );
+
+      // the delegate spilled on its own, the tuples previously accounted for are no longer in memory
+      if( spillCount != delegateSpillCount() )
+        reset();
+
+      bytes += size;
+      retainedBytes += size;
+
+      if( retainedBytes >= mapBytesThreshold )
+        evict();
+
+      return result;
+      }
+
+    @Override
+    public Iterator<Tuple> iterator()
+      {
+      return delegate.iterator();
+      }
+
+    @Override
+    public int size()
+      {
+      return delegate.size();
+      }
+
+    @Override
+    public boolean isEmpty()
+      {
+      return delegate.isEmpty();
+      }
+
+    @Override
+    public void clear()
+      {
+      delegate.clear();
+      reset();
+      }
+    }
   }
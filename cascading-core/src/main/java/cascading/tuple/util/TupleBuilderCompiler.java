@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.tuple.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.codehaus.janino.ClassBodyEvaluator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class TupleBuilderCompiler compiles {@link TupleBuilder} classes specialized for a fixed selection of values,
+ * using the <a href="http://www.janino.net/">Janino</a> compiler.
+ * <p/>
+ * Each position of the resulting {@link cascading.tuple.Tuple} is copied from a fixed position of either the
+ * {@code input} or the {@code output} Tuple handed to {@link TupleBuilder#makeResult(cascading.tuple.Tuple, cascading.tuple.Tuple)},
+ * by straight line code. The values are copied when the result is made, where the views created by {@link TupleViews}
+ * read through to the underlying Tuples on every access.
+ * <p/>
+ * Compiled classes are cached by their source, so each distinct selection is only compiled once per ClassLoader.
+ * If a class cannot be compiled, {@code null} is returned so the caller may fall back to a view based builder.
+ * <p/>
+ * This class is experimental and for internal use only.
+ */
+public class TupleBuilderCompiler
+  {
+  /** Field LOG */
+  private static final Logger LOG = LoggerFactory.getLogger( TupleBuilderCompiler.class );
+
+  /** Field INPUT, the value is selected from the input Tuple */
+  public static final int INPUT = 0;
+  /** Field OUTPUT, the value is selected from the output Tuple */
+  public static final int OUTPUT = 1;
+
+  private static final String TUPLE = "cascading.tuple.Tuple";
+
+  /** Field classes, compiled classes keyed by their source */
+  private static final Map<String, Class<? extends TupleBuilder>> classes = new ConcurrentHashMap<String, Class<? extends TupleBuilder>>();
+
+  /**
+   * Method compileNarrow returns a TupleBuilder selecting the given positions from the input Tuple.
+   *
+   * @param inputPos of type int[]
+   * @param copy     true if a new Tuple must be returned for every result, as it may be retained
+   * @return TupleBuilder, or null if it could not be compiled
+   */
+  public static TupleBuilder compileNarrow( int[] inputPos, boolean copy )
+    {
+    return compile( new int[ inputPos.length ], inputPos, copy );
+    }
+
+  /**
+   * Method compile returns a TupleBuilder where the value at position {@code i} of the result is selected from
+   * the Tuple named by {@code sources[ i ]}, either {@link #INPUT} or {@link #OUTPUT}, at position
+   * {@code positions[ i ]}.
+   *
+   * @param sources   of type int[]
+   * @param positions of type int[]
+   * @param copy      true if a new Tuple must be returned for every result, as it may be retained
+   * @return TupleBuilder, or null if it could not be compiled
+   */
+  public static TupleBuilder compile( int[] sources, int[] positions, boolean copy )
+    {
+    if( sources.length != positions.length )
+      throw new IllegalArgumentException( "sources and positions must be the same length" );
+
+    if( positions.length == 0 )
+      return null;
+
+    String body = copy ? createCopyBody( sources, positions ) : createReuseBody( sources, positions );
+
+    try
+      {
+      return getClassFor( body ).newInstance();
+      }
+    catch( Exception exception )
+      {
+      LOG.warn( "unable to compile tuple builder, using default", exception );
+
+      return null;
+      }
+    }
+
+  private static Class<? extends TupleBuilder> getClassFor( String body ) throws Exception
+    {
+    Class<? extends TupleBuilder> type = classes.get( body );
+
+    if( type != null )
+      return type;
+
+    ClassBodyEvaluator evaluator = new ClassBodyEvaluator();
+
+    evaluator.setParentClassLoader( TupleBuilder.class.getClassLoader() );
+    evaluator.setExtendedClass( TupleBuilder.class );
+    evaluator.cook( body );
+
+    type = (Class<? extends TupleBuilder>) evaluator.getClazz();
+
+    classes.put( body, type );
+
+    return type;
+    }
+
+  private static String createCopyBody( int[] sources, int[] positions )
+    {
+    StringBuilder body = new StringBuilder();
+
+    body.append( "public " ).append( TUPLE ).append( " makeResult( " ).append( TUPLE ).append( " input, " ).append( TUPLE ).append( " output )\n" );
+    body.append( "  {\n" );
+    body.append( "  return new " ).append( TUPLE ).append( "( new Object[]{\n" );
+
+    for( int i = 0; i < positions.length; i++ )
+      {
+      body.append( "    " );
+      appendValue( body, sources[ i ], positions[ i ] );
+      body.append( i < positions.length - 1 ? ",\n" : "\n" );
+      }
+
+    body.append( "  } );\n" );
+    body.append( "  }\n" );
+
+    return body.toString();
+    }
+
+  private static String createReuseBody( int[] sources, int[] positions )
+    {
+    StringBuilder body = new StringBuilder();
+
+    body.append( "private final Object[] values = new Object[ " ).append( positions.length ).append( " ];\n" );
+    body.append( "private final " ).append( TUPLE ).append( " result = cascading.tuple.util.TupleViews.createObjectArray( values );\n" );
+    body.append( "public " ).append( TUPLE ).append( " makeResult( " ).append( TUPLE ).append( " input, " ).append( TUPLE ).append( " output )\n" );
+    body.append( "  {\n" );
+    body.append( "  Object[] values = this.values;\n" );
+
+    for( int i = 0; i < positions.length; i++ )
+      {
+      body.append( "  values[ " ).append( i ).append( " ] = " );
+      appendValue( body, sources[ i ], positions[ i ] );
+      body.append( ";\n" );
+      }
+
+    body.append( "  return result;\n" );
+    body.append( "  }\n" );
+
+    return body.toString();
+    }
+
+  private static void appendValue( StringBuilder body, int source, int position )
+    {
+    if( source == INPUT )
+      body.append( "input" );
+    else if( source == OUTPUT )
+      body.append( "output" );
+    else
+      throw new IllegalArgumentException( "unknown source: " + source );
+
+    body.append( ".getObject( " ).append( position ).append( " )" );
+    }
+  }
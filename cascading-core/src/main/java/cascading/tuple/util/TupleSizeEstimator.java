@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.tuple.util;
+
+import java.util.List;
+
+import cascading.tuple.Tuple;
+
+/**
+ * Class TupleSizeEstimator provides a cheap approximation of the heap retained by a {@link Tuple} instance.
+ * <p/>
+ * Estimates assume a 64 bit JVM with compressed object pointers. They are not exact, but are sufficient to
+ * bound the memory held by an in memory collection of tuples before it must spill to disk.
+ */
+public class TupleSizeEstimator
+  {
+  /** Object header plus alignment padding. */
+  public static final int OBJECT_OVERHEAD = 16;
+  /** Tuple instance and its backing ArrayList. */
+  public static final int TUPLE_OVERHEAD = 2 * OBJECT_OVERHEAD + 16;
+  /** Size of a single object reference. */
+  public static final int REFERENCE_SIZE = 4;
+
+  private TupleSizeEstimator()
+    {
+    }
+
+  /**
+   * Method estimateSize returns the approximate number of bytes retained by the given tuple, including the size
+   * of its elements.
+   *
+   * @param tuple of type Tuple
+   * @return long
+   */
+  public static long estimateSize( Tuple tuple )
+    {
+    List<Object> elements = Tuple.elements( tuple );
+    long size = TUPLE_OVERHEAD;
+
+    for( int i = 0; i < elements.size(); i++ )
+      size += REFERENCE_SIZE + estimateSize( elements.get( i ) );
+
+    return size;
+    }
+
+  /**
+   * Method estimateSize returns the approximate number of bytes retained by the given tuple element.
+   *
+   * @param element of type Object
+   * @return long
+   */
+  public static long estimateSize( Object element )
+    {
+    if( element == null )
+      return 0;
+
+    if( element instanceof String )
+      return 2 * OBJECT_OVERHEAD + 8 + 2L * ( (String) element ).length();
+
+    if( element instanceof Tuple )
+      return estimateSize( (Tuple) element );
+
+    if( element instanceof Long || element instanceof Double )
+      return OBJECT_OVERHEAD + 8;
+
+    if( element instanceof Number || element instanceof Boolean || element instanceof Character )
+      return OBJECT_OVERHEAD;
+
+    if( element instanceof byte[] )
+      return OBJECT_OVERHEAD + ( (byte[]) element ).length;
+
+    // unknown types are assumed to be a small object graph
+    return 4 * OBJECT_OVERHEAD;
+    }
+  }
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.pipe.assembly;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import cascading.CascadingTestCase;
+import cascading.flow.FlowProcess;
+import cascading.operation.ConcreteCall;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+import cascading.tuple.TupleEntry;
+import cascading.tuple.TupleListCollector;
+import org.junit.Test;
+
+/**
+ *
+ */
+public class AggregateByTest extends CascadingTestCase
+  {
+  public AggregateByTest()
+    {
+    }
+
+  private FlowProcess getAdaptiveFlowProcess()
+    {
+    return new FlowProcess.NullFlowProcess()
+    {
+    @Override
+    public Object getProperty( String key )
+      {
+      if( AggregateBy.AGGREGATE_BY_ADAPTIVE.equals( key ) )
+        return "true";
+
+      return null;
+      }
+    };
+    }
+
+  private Map<String, Long> invokeCounts( FlowProcess flowProcess, AggregateBy.CompositeFunction function, String[] keys, TupleListCollector collector )
+    {
+    ConcreteCall operationCall = new ConcreteCall();
+    Fields incoming = new Fields( "value" );
+
+    operationCall.setOutputCollector( collector );
+    function.prepare( flowProcess, operationCall );
+
+    for( String key : keys )
+      {
+      operationCall.setArguments( new TupleEntry( incoming, new Tuple( key ) ) );
+      function.operate( flowProcess, operationCall );
+      }
+
+    function.flush( flowProcess, operationCall );
+    function.cleanup( flowProcess, operationCall );
+
+    Map<String, Long> counts = new HashMap<String, Long>();
+
+    for( Tuple tuple : collector )
+      {
+      Long count = counts.get( tuple.getString( 0 ) );
+      counts.put( tuple.getString( 0 ), ( count == null ? 0 : count ) + tuple.getLong( 1 ) );
+      }
+
+    return counts;
+    }
+
+  @Test
+  public void testAdaptiveSkewed()
+    {
+    AggregateBy.CompositeFunction function = new AggregateBy.CompositeFunction( new Fields( "value" ), Fields.ALL, new CountBy.CountPartials( new Fields( "count" ) ), 10 );
+
+    String[] keys = new String[ 100 * 1000 ];
+
+    for( int i = 0; i < keys.length; i++ )
+      keys[ i ] = i % 2 == 0 ? "hot" : "key" + ( i / 2 % 5000 );
+
+    TupleListCollector collector = new TupleListCollector( new Fields( "value", "count" ), true );
+    Map<String, Long> counts = invokeCounts( getAdaptiveFlowProcess(), function, keys, collector );
+
+    assertEquals( 5001, counts.size() );
+    assertEquals( 50 * 1000L, (long) counts.get( "hot" ) );
+    assertEquals( 10L, (long) counts.get( "key1" ) );
+
+    // the threshold grows to hold all the keys, so each is emitted at most a few times
+    assertTrue( "too many partials: " + collector.size(), collector.size() < keys.length / 4 );
+    }
+
+  @Test
+  public void testAdaptivePassThrough()
+    {
+    AggregateBy.CompositeFunction function = new AggregateBy.CompositeFunction( new Fields( "value" ), Fields.ALL, new CountBy.CountPartials( new Fields( "count" ) ), 1000 );
+
+    int unique = 5 * AggregateBy.CompositeFunction.ADAPTIVE_INTERVAL;
+    String[] keys = new String[ unique + 1000 ];
+
+    for( int i = 0; i < keys.length; i++ )
+      keys[ i ] = i < unique ? "key" + i : "repeated";
+
+    TupleListCollector collector = new TupleListCollector( new Fields( "value", "count" ), true );
+    Map<String, Long> counts = invokeCounts( getAdaptiveFlowProcess(), function, keys, collector );
+
+    assertEquals( unique + 1, counts.size() );
+    assertEquals( 1000L, (long) counts.get( "repeated" ) );
+
+    // no reduction was observed, so partial aggregation was disabled before the repeated key was seen
+    assertEquals( keys.length, collector.size() );
+    }
+  }
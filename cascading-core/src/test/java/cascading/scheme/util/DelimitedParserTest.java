@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.scheme.util;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import cascading.CascadingTestCase;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+import org.junit.Test;
+
+/**
+ *
+ */
+public class DelimitedParserTest extends CascadingTestCase
+  {
+  private static final Tuple[] TUPLES = new Tuple[]{
+    new Tuple( "foo", "bar", 1, 2L ),
+    new Tuple( "foo,bar", "b\"az", null, -42L ),
+    new Tuple( "\"quoted\"", "", Long.MIN_VALUE, Long.MAX_VALUE ),
+    new Tuple( "caf\u00e9", "\u20ac,\"", (short) -7, (byte) 3 ),
+    new Tuple( "\uD83D\uDE00", 1.5d, "1,2", null )
+  };
+
+  public DelimitedParserTest()
+    {
+    }
+
+  @Test
+  public void testJoinLineBuffer()
+    {
+    runJoinLineBuffer( ",", "\"", "UTF-8" );
+    runJoinLineBuffer( ",", null, "UTF-8" );
+    runJoinLineBuffer( "|", "'", "ISO-8859-1" );
+    runJoinLineBuffer( "\t", "\"", "US-ASCII" );
+    runJoinLineBuffer( "1", "\"", "UTF-8" );
+    runJoinLineBuffer( ",", "''", "UTF-8" );
+    }
+
+  private void runJoinLineBuffer( String delimiter, String quote, String charsetName )
+    {
+    Charset charset = Charset.forName( charsetName );
+    Fields fields = new Fields( "a", "b", "c", "d" );
+
+    DelimitedParser parser = new DelimitedParser( delimiter, quote, null, true, true, false, fields, fields );
+    LineBuffer buffer = new LineBuffer( charset );
+
+    for( Tuple tuple : TUPLES )
+      {
+      StringBuilder expected = (StringBuilder) parser.joinLine( tuple, new StringBuilder() );
+
+      buffer.clear();
+      parser.joinLine( tuple, buffer );
+
+      byte[] result = Arrays.copyOf( buffer.getBytes(), buffer.getLength() );
+
+      assertTrue( "not equal: " + expected, Arrays.equals( expected.toString().getBytes( charset ), result ) );
+      }
+    }
+  }
@@ -21,6 +21,8 @@
 package cascading.tuple;
 
 import cascading.CascadingTestCase;
+import cascading.tuple.util.TupleBuilder;
+import cascading.tuple.util.TupleBuilderCompiler;
 import cascading.tuple.util.TupleViews;
 import org.junit.Test;
 
@@ -197,4 +199,44 @@ public class TupleViewTest extends CascadingTestCase
     assertEquals( new Tuple( 2, 3, 0, 1 ), outgoingTuple );
     assertEquals( new Tuple( 2, 3, 0, 1 ), new Tuple( outgoingTuple ) );
     }
+
+  @Test
+  public void testCompiledNarrow()
+    {
+    Fields declarator = new Fields( "1", "2", "3", "4" );
+    Tuple incoming = new Tuple( 1, 2, 3, 4 );
+    Fields selector = new Fields( "3", "2" );
+
+    int[] pos = incoming.getPos( declarator, selector );
+
+    TupleBuilder reused = TupleBuilderCompiler.compileNarrow( pos, false );
+    TupleBuilder copied = TupleBuilderCompiler.compileNarrow( pos, true );
+
+    assertTuple( reused.makeResult( incoming, null ) );
+    assertTuple( copied.makeResult( incoming, null ) );
+
+    assertSame( reused.makeResult( incoming, null ), reused.makeResult( incoming, null ) );
+    assertNotSame( copied.makeResult( incoming, null ), copied.makeResult( incoming, null ) );
+    }
+
+  @Test
+  public void testCompiledSelector()
+    {
+    Tuple incoming = new Tuple( 1, 2, 3, 4 );
+    Tuple result = new Tuple( 5, 6, 7 );
+
+    int in = TupleBuilderCompiler.INPUT;
+    int out = TupleBuilderCompiler.OUTPUT;
+
+    TupleBuilder builder = TupleBuilderCompiler.compile( new int[]{out, in, out, in}, new int[]{2, 3, 0, 0}, false );
+
+    Tuple outgoing = builder.makeResult( incoming, result );
+
+    assertEquals( new Tuple( 7, 4, 5, 1 ), outgoing );
+    assertEquals( new Tuple( 7, 4, 5, 1 ), new Tuple( outgoing ) );
+
+    outgoing = builder.makeResult( new Tuple( 8, 9, 10, 11 ), new Tuple( 12, 13, 14 ) );
+
+    assertEquals( new Tuple( 14, 11, 12, 8 ), outgoing );
+    }
   }
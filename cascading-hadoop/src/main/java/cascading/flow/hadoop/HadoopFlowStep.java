@@ -22,6 +22,7 @@ package cascading.flow.hadoop;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -30,6 +31,7 @@ import java.util.Set;
 
 import cascading.flow.FlowException;
 import cascading.flow.FlowProcess;
+import cascading.flow.FlowProps;
 import cascading.flow.hadoop.planner.HadoopFlowStepJob;
 import cascading.flow.hadoop.util.HadoopUtil;
 import cascading.flow.planner.BaseFlowStep;
@@ -43,6 +45,10 @@ import cascading.tap.hadoop.util.TempHfs;
 import cascading.tuple.Fields;
 import cascading.tuple.Tuple;
 import cascading.tuple.hadoop.TupleSerialization;
+import cascading.tuple.hadoop.TupleSerializationProps;
+import cascading.tuple.hadoop.io.HadoopTupleOutputStream;
+import cascading.tuple.hadoop.io.KeyTuple;
+import cascading.tuple.hadoop.io.ValueTuple;
 import cascading.tuple.hadoop.util.CoGroupingComparator;
 import cascading.tuple.hadoop.util.CoGroupingPartitioner;
 import cascading.tuple.hadoop.util.GroupingComparator;
@@ -72,6 +78,8 @@ public class HadoopFlowStep extends BaseFlowStep<JobConf>
   private final Map<String, Tap> mapperTraps = new HashMap<String, Tap>();
   /** Field reducerTraps */
   private final Map<String, Tap> reducerTraps = new HashMap<String, Tap>();
+  /** Field sink, the sink bound to the job output when this step writes more than one sink */
+  private Tap sink;
 
   public HadoopFlowStep( String name, int stepNum )
     {
@@ -96,12 +104,16 @@ public class HadoopFlowStep extends BaseFlowStep<JobConf>
     // set for use by the shuffling phase
     TupleSerialization.setSerializations( conf );
 
+    initSourceProjections( conf );
+
     initFromSources( flowProcess, conf );
 
     initFromSink( flowProcess, conf );
 
     initFromTraps( flowProcess, conf );
 
+    initFromSideSinks( flowProcess, conf );
+
     initFromProcessConfigDef( conf );
 
     if( getSink().getScheme().getNumSinkParts() != 0 )
@@ -156,6 +168,12 @@ public class HadoopFlowStep extends BaseFlowStep<JobConf>
         // no need to supply a reverse comparator, only equality is checked
         conf.setOutputValueGroupingComparator( GroupingComparator.class );
         }
+
+      if( getGroup().isGroupBy() )
+        initShuffleTokens( conf );
+
+      if( getGroup().isGroupBy() && getGroup().isSorted() )
+        initNormalizedKey( conf );
       }
 
     // perform last so init above will pass to tasks
@@ -257,6 +275,9 @@ public class HadoopFlowStep extends BaseFlowStep<JobConf>
       cleanTapMetaData( config, getSink() );
       }
 
+    for( Tap tap : getSideSinks() )
+      cleanTapMetaData( config, tap );
+
     for( Tap tap : getMapperTraps().values() )
       cleanTapMetaData( config, tap );
 
@@ -277,6 +298,116 @@ public class HadoopFlowStep extends BaseFlowStep<JobConf>
       }
     }
 
+  /**
+   * If the incoming field types of the GroupBy were declared, records the element tokens of the key, sort, and value
+   * tuples so they are written to the shuffle without per element tokens.
+   *
+   * @param conf of type JobConf
+   */
+  private void initShuffleTokens( JobConf conf )
+    {
+    String types = conf.get( TupleSerializationProps.SHUFFLE_TYPES );
+
+    if( types == null || types.isEmpty() )
+      return;
+
+    Scope incomingScope = getPreviousScopes( getGroup() ).iterator().next();
+    Scope outgoingScope = getNextScope( getGroup() );
+    Fields incomingFields = incomingScope.getIncomingSpliceFields();
+    String[] typeNames = types.split( "," );
+
+    if( incomingFields.isUnknown() || incomingFields.size() != typeNames.length )
+      {
+      logWarn( "declared shuffle types: " + types + ", do not match incoming fields: " + incomingFields.printVerbose() + ", on: " + getGroup() );
+      return;
+      }
+
+    int[] valueTokens = new int[ typeNames.length ];
+
+    for( int i = 0; i < typeNames.length; i++ )
+      {
+      valueTokens[ i ] = HadoopTupleOutputStream.getTypedToken( typeNames[ i ] );
+
+      if( valueTokens[ i ] == -1 )
+        {
+        logWarn( "declared shuffle type: " + typeNames[ i ] + ", is not supported, on: " + getGroup() );
+        return;
+        }
+      }
+
+    Fields keyFields = outgoingScope.getKeySelectors().get( incomingScope.getName() );
+    int[] groupTokens = selectTokens( incomingFields, keyFields, valueTokens );
+
+    TupleSerialization.setShuffleTokens( conf, TupleSerialization.SHUFFLE_GROUP_TOKENS, groupTokens );
+    TupleSerialization.setShuffleTokens( conf, TupleSerialization.SHUFFLE_VALUE_TOKENS, valueTokens );
+
+    if( getGroup().isSorted() )
+      {
+      Fields sortFields = outgoingScope.getSortingSelectors().get( incomingScope.getName() );
+
+      TupleSerialization.setShuffleTokens( conf, TupleSerialization.SHUFFLE_SORT_TOKENS, selectTokens( incomingFields, sortFields, valueTokens ) );
+      }
+    else
+      {
+      conf.setMapOutputKeyClass( KeyTuple.class );
+      }
+
+    conf.setMapOutputValueClass( ValueTuple.class );
+    }
+
+  /**
+   * If a normalized key size was given, records how many of the leading grouping fields are naturally ordered, and
+   * so may be encoded in the normalized key prefix of each TuplePair key.
+   *
+   * @param conf of type JobConf
+   */
+  private void initNormalizedKey( JobConf conf )
+    {
+    if( conf.getInt( TupleSerializationProps.NORMALIZED_KEY_SIZE, 0 ) <= 0 )
+      return;
+
+    // a default comparator may not agree with the natural order of the elements
+    String defaultComparator = conf.get( FlowProps.DEFAULT_ELEMENT_COMPARATOR );
+
+    if( defaultComparator != null && !defaultComparator.isEmpty() )
+      return;
+
+    Fields keyFields = getGroup().getKeySelectors().values().iterator().next();
+    int numFields = Integer.MAX_VALUE; // no custom comparators, all fields are naturally ordered
+
+    if( keyFields.hasComparators() )
+      {
+      Comparator[] comparators = keyFields.getComparators();
+
+      numFields = 0;
+
+      while( numFields < comparators.length && comparators[ numFields ] == null )
+        numFields++;
+      }
+
+    if( numFields == 0 )
+      {
+      logWarn( "normalized key disabled, first grouping field has a custom comparator, on: " + getGroup() );
+      return;
+      }
+
+    conf.setInt( TupleSerialization.SHUFFLE_NORMALIZED_KEY_FIELDS, numFields );
+    }
+
+  private static int[] selectTokens( Fields incomingFields, Fields selector, int[] valueTokens )
+    {
+    if( selector.isNone() )
+      return new int[ 0 ];
+
+    int[] pos = incomingFields.getPos( selector );
+    int[] tokens = new int[ pos.length ];
+
+    for( int i = 0; i < pos.length; i++ )
+      tokens[ i ] = valueTokens[ pos[ i ] ];
+
+    return tokens;
+    }
+
   private void addComparators( JobConf conf, String property, Map<String, Fields> map )
     {
     Iterator<Fields> fieldsIterator = map.values().iterator();
@@ -314,6 +445,17 @@ public class HadoopFlowStep extends BaseFlowStep<JobConf>
       }
     }
 
+  protected void initSourceProjections( JobConf conf )
+    {
+    for( Tap tap : getSources() )
+      {
+      Fields projected = getProjectedSourceFields( tap );
+
+      if( projected != null )
+        conf.set( Tap.SOURCE_PROJECTION + Tap.id( tap ), Util.join( projected.getPos(), "," ) );
+      }
+    }
+
   protected void initFromSources( FlowProcess<JobConf> flowProcess, JobConf conf )
     {
     // handles case where same tap is used on multiple branches
@@ -431,12 +573,69 @@ public class HadoopFlowStep extends BaseFlowStep<JobConf>
       tempSink.sinkConfInit( flowProcess, conf );
     }
 
+  protected void initFromSideSinks( FlowProcess<JobConf> flowProcess, JobConf conf )
+    {
+    Set<Tap> sideSinks = getSideSinks();
+
+    if( sideSinks.isEmpty() )
+      return;
+
+    JobConf sinkConf = new JobConf( conf );
+
+    for( Tap tap : sideSinks )
+      tap.sinkConfInit( flowProcess, sinkConf );
+    }
+
   protected void initFromTraps( FlowProcess<JobConf> flowProcess, JobConf conf )
     {
     initFromTraps( flowProcess, conf, getMapperTraps() );
     initFromTraps( flowProcess, conf, getReducerTraps() );
     }
 
+  /**
+   * Method getSink returns the sink bound to the job output. If this step writes more than one sink, this is the
+   * sink given to {@link #setSink(cascading.tap.Tap)}, all others are side sinks.
+   *
+   * @return Tap
+   */
+  @Override
+  public Tap getSink()
+    {
+    if( sink != null )
+      return sink;
+
+    return super.getSink();
+    }
+
+  /**
+   * Method setSink sets the sink bound to the job output when this step writes more than one sink from a shared
+   * scan of its source.
+   *
+   * @param sink of type Tap
+   */
+  public void setSink( Tap sink )
+    {
+    this.sink = sink;
+    }
+
+  /**
+   * Method getSideSinks returns all sinks other than {@link #getSink()}. Side sinks are written directly
+   * from the map tasks, like traps, and may only be present on steps without a reducer.
+   *
+   * @return Set<Tap>
+   */
+  public Set<Tap> getSideSinks()
+    {
+    if( sink == null )
+      return Collections.emptySet();
+
+    Set<Tap> set = new HashSet<Tap>( getSinks() );
+
+    set.remove( sink );
+
+    return Collections.unmodifiableSet( set );
+    }
+
   @Override
   public Set<Tap> getTraps()
     {
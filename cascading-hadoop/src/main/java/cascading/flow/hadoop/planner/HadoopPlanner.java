@@ -34,6 +34,7 @@ import java.util.TreeSet;
 
 import cascading.flow.Flow;
 import cascading.flow.FlowConnector;
+import cascading.flow.FlowConnectorProps;
 import cascading.flow.FlowDef;
 import cascading.flow.FlowElement;
 import cascading.flow.hadoop.HadoopFlow;
@@ -157,6 +158,46 @@ public class HadoopPlanner extends FlowPlanner
     return Boolean.parseBoolean( PropertyUtil.getProperty( properties, "cascading.multimapreduceplanner.normalizesources", "false" ) );
     }
 
+  /**
+   * Method setCombineAggregators adds the given doCombine boolean to the given properties object.
+   * <p/>
+   * When enabled, every {@link cascading.pipe.Every} following an unsorted {@link cascading.pipe.GroupBy} whose
+   * Aggregator is a {@link cascading.operation.MergeableAggregator} is partially aggregated in the mapper, reducing
+   * the number of tuples shuffled, much as {@link cascading.pipe.assembly.AggregateBy} does.
+   * <p/>
+   * Combining is off by default.
+   *
+   * @param properties of type Map
+   * @param doCombine  of type boolean
+   */
+  public static void setCombineAggregators( Map<Object, Object> properties, boolean doCombine )
+    {
+    properties.put( "cascading.multimapreduceplanner.combineaggregators", Boolean.toString( doCombine ) );
+    }
+
+  /**
+   * Method getCombineAggregators returns if this planner will plan in partial aggregation of mergeable Aggregators.
+   *
+   * @param properties of type Map
+   * @return a boolean
+   */
+  public static boolean getCombineAggregators( Map<Object, Object> properties )
+    {
+    return Boolean.parseBoolean( PropertyUtil.getProperty( properties, "cascading.multimapreduceplanner.combineaggregators", "false" ) );
+    }
+
+  /**
+   * Method getShareSourceScans returns if map side sinks fed by the same source should be written by a single job.
+   *
+   * @param properties of type Map
+   * @return a boolean
+   * @see FlowConnectorProps#setShareSourceScans(java.util.Map, boolean)
+   */
+  public static boolean getShareSourceScans( Map<Object, Object> properties )
+    {
+    return Boolean.parseBoolean( PropertyUtil.getProperty( properties, FlowConnectorProps.SHARE_SOURCE_SCANS, "false" ) );
+    }
+
   @Override
   public PlatformInfo getPlatformInfo()
     {
@@ -207,6 +248,10 @@ public class HadoopPlanner extends FlowPlanner
       failOnMisusedBuffer( elementGraph );
       failOnGroupEverySplit( elementGraph );
 
+      // generic
+      if( eliminateCommonSubAssemblies )
+        handleCommonSubAssemblies( elementGraph );
+
       // m/r specific
       handleWarnEquivalentPaths( elementGraph );
       handleSplit( elementGraph );
@@ -217,6 +262,9 @@ public class HadoopPlanner extends FlowPlanner
       if( getNormalizeHeterogeneousSources( properties ) )
         handleHeterogeneousSources( elementGraph );
 
+      if( getCombineAggregators( properties ) )
+        handleCombiners( elementGraph );
+
       // generic
       elementGraph.removeUnnecessaryPipes(); // groups must be added before removing pipes
       elementGraph.resolveFields();
@@ -226,7 +274,7 @@ public class HadoopPlanner extends FlowPlanner
       // m/r specific
       handleAdjacentTaps( elementGraph );
 
-      FlowStepGraph flowStepGraph = new HadoopStepGraph( flowDef.getName(), elementGraph );
+      FlowStepGraph flowStepGraph = new HadoopStepGraph( flowDef.getName(), elementGraph, getShareSourceScans( properties ) );
 
       flow.initialize( elementGraph, flowStepGraph );
 
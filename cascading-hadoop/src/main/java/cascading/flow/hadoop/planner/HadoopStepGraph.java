@@ -20,7 +20,10 @@
 
 package cascading.flow.hadoop.planner;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -55,13 +58,33 @@ public class HadoopStepGraph extends FlowStepGraph<JobConf>
   /** Field LOG */
   private static final Logger LOG = LoggerFactory.getLogger( HadoopStepGraph.class );
 
+  /** Field shareScans */
+  private boolean shareScans;
+
   public HadoopStepGraph()
     {
     }
 
   public HadoopStepGraph( String flowName, ElementGraph elementGraph )
     {
-    super( flowName, elementGraph );
+    this( flowName, elementGraph, false );
+    }
+
+  /**
+   * Constructor HadoopStepGraph creates a new HadoopStepGraph instance.
+   * <p/>
+   * If shareScans is true, all the sinks fed by a single source on the map side only are written by one step,
+   * so the source is only read once.
+   *
+   * @param flowName     of type String
+   * @param elementGraph of type ElementGraph
+   * @param shareScans   of type boolean
+   */
+  public HadoopStepGraph( String flowName, ElementGraph elementGraph, boolean shareScans )
+    {
+    this.shareScans = shareScans;
+
+    makeStepGraph( flowName, elementGraph );
     }
 
   protected FlowStep<JobConf> createFlowStep( String stepName, int stepNum )
@@ -78,10 +101,12 @@ public class HadoopStepGraph extends FlowStepGraph<JobConf>
   protected void makeStepGraph( String flowName, ElementGraph elementGraph )
     {
     SimpleDirectedGraph<Tap, Integer> tapGraph = elementGraph.makeTapGraph();
+    Map<Tap, Set<Tap>> sharedSinks = shareScans ? findSharedSinks( elementGraph, tapGraph ) : Collections.<Tap, Set<Tap>>emptyMap();
 
-    int numJobs = countNumJobs( tapGraph );
+    int numJobs = countNumJobs( tapGraph, sharedSinks );
 
     Map<Tap, FlowStep<JobConf>> steps = new LinkedHashMap<Tap, FlowStep<JobConf>>();
+    Map<Tap, FlowStep<JobConf>> sideSteps = new HashMap<Tap, FlowStep<JobConf>>(); // kept apart so steps are numbered in order
     TopologicalOrderIterator<Tap, Integer> iterator = new TopologicalOrderIterator<Tap, Integer>( tapGraph );
     int count = 0;
 
@@ -92,23 +117,90 @@ public class HadoopStepGraph extends FlowStepGraph<JobConf>
       LOG.debug( "handling source: {}", source );
 
       List<Tap> sinks = Graphs.successorListOf( tapGraph, source );
+      Set<Tap> shared = sharedSinks.get( source );
+      HadoopFlowStep sharedStep = null;
 
       for( Tap sink : sinks )
         {
         LOG.debug( "handling path: {} -> {}", source, sink );
 
-        HadoopFlowStep step = (HadoopFlowStep) getCreateFlowStep( steps, sink, numJobs );
+        HadoopFlowStep step;
+
+        if( shared == null || !shared.contains( sink ) )
+          {
+          step = (HadoopFlowStep) getCreateFlowStep( steps, sink, numJobs );
+          }
+        else if( sharedStep == null )
+          {
+          step = sharedStep = (HadoopFlowStep) getCreateFlowStep( steps, sink, numJobs );
+          step.setSink( sink );
+          }
+        else
+          {
+          LOG.debug( "sharing scan of: {}, with sink: {}", source, sink );
+
+          step = sharedStep;
+          sideSteps.put( sink, step );
+          }
 
         addVertex( step );
 
-        if( steps.containsKey( source ) )
-          addEdge( steps.get( source ), step, count++ );
+        FlowStep<JobConf> sourceStep = steps.containsKey( source ) ? steps.get( source ) : sideSteps.get( source );
+
+        if( sourceStep != null )
+          addEdge( sourceStep, step, count++ );
 
         populateStep( elementGraph, source, sink, step );
         }
       }
     }
 
+  /**
+   * Returns, for every source feeding more than one such sink, the sinks that are only fed by that source and
+   * only on the map side. These sinks can all be written by a single map only step.
+   */
+  private Map<Tap, Set<Tap>> findSharedSinks( ElementGraph elementGraph, SimpleDirectedGraph<Tap, Integer> tapGraph )
+    {
+    Map<Tap, Set<Tap>> sharedSinks = new HashMap<Tap, Set<Tap>>();
+
+    for( Tap source : tapGraph.vertexSet() )
+      {
+      Set<Tap> sinks = new LinkedHashSet<Tap>();
+
+      for( Tap sink : Graphs.successorListOf( tapGraph, source ) )
+        {
+        if( !sink.isTemporary() && tapGraph.inDegreeOf( sink ) == 1 && isMapSideOnly( elementGraph, source, sink ) )
+          sinks.add( sink );
+        }
+
+      if( sinks.size() > 1 )
+        sharedSinks.put( source, sinks );
+      }
+
+    return sharedSinks;
+    }
+
+  private boolean isMapSideOnly( ElementGraph elementGraph, Tap source, Tap sink )
+    {
+    List<GraphPath<FlowElement, Scope>> paths = getAllShortestPathsBetween( elementGraph, source, sink );
+
+    for( GraphPath<FlowElement, Scope> path : paths )
+      {
+      if( pathContainsTap( path ) )
+        continue;
+
+      for( Scope scope : path.getEdgeList() )
+        {
+        FlowElement element = elementGraph.getEdgeTarget( scope );
+
+        if( element instanceof Group || element instanceof HashJoin )
+          return false;
+        }
+      }
+
+    return true;
+    }
+
   private void populateStep( ElementGraph elementGraph, Tap source, Tap sink, HadoopFlowStep step )
     {
     Map<String, Tap> traps = elementGraph.getTrapMap();
@@ -184,7 +276,7 @@ public class HadoopStepGraph extends FlowStepGraph<JobConf>
       }
     }
 
-  private int countNumJobs( SimpleDirectedGraph<Tap, Integer> tapGraph )
+  private int countNumJobs( SimpleDirectedGraph<Tap, Integer> tapGraph, Map<Tap, Set<Tap>> sharedSinks )
     {
     Set<Tap> vertices = tapGraph.vertexSet();
     int count = 0;
@@ -195,6 +287,9 @@ public class HadoopStepGraph extends FlowStepGraph<JobConf>
         count++;
       }
 
+    for( Set<Tap> sinks : sharedSinks.values() )
+      count -= sinks.size() - 1;
+
     return count;
     }
   }
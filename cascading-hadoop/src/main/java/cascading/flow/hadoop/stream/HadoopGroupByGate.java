@@ -22,6 +22,7 @@ package cascading.flow.hadoop.stream;
 
 import cascading.CascadingException;
 import cascading.flow.FlowProcess;
+import cascading.flow.hadoop.HadoopFlowProcess;
 import cascading.flow.SliceCounters;
 import cascading.flow.hadoop.HadoopGroupByClosure;
 import cascading.flow.stream.Duct;
@@ -29,13 +30,21 @@ import cascading.flow.stream.DuctException;
 import cascading.pipe.GroupBy;
 import cascading.tuple.Tuple;
 import cascading.tuple.TupleEntry;
+import cascading.tuple.hadoop.io.KeyTuple;
+import cascading.tuple.hadoop.io.ValueTuple;
 import cascading.tuple.io.TuplePair;
+import org.apache.hadoop.mapred.JobConf;
 
 /**
  *
  */
 public class HadoopGroupByGate extends HadoopGroupGate
   {
+  /** Field keyTuple is non-null if the grouping key is written with its declared types */
+  private KeyTuple keyTuple;
+  /** Field valueTuple is non-null if the values are written with their declared types */
+  private ValueTuple valueTuple;
+
   public HadoopGroupByGate( FlowProcess flowProcess, GroupBy groupBy, Role role )
     {
     super( flowProcess, groupBy, role );
@@ -48,6 +57,17 @@ public class HadoopGroupByGate extends HadoopGroupGate
 
     if( role != Role.sink )
       closure = new HadoopGroupByClosure( flowProcess, keyFields, valuesFields );
+
+    if( role == Role.source )
+      return;
+
+    JobConf jobConf = ( (HadoopFlowProcess) flowProcess ).getJobConf();
+
+    if( jobConf.getMapOutputKeyClass() == KeyTuple.class )
+      keyTuple = new KeyTuple();
+
+    if( jobConf.getMapOutputValueClass() == ValueTuple.class )
+      valueTuple = new ValueTuple();
     }
 
   @Override
@@ -60,6 +80,12 @@ public class HadoopGroupByGate extends HadoopGroupGate
 
     Tuple groupKey = sortTuple == null ? groupTuple : new TuplePair( groupTuple, sortTuple );
 
+    if( keyTuple != null )
+      groupKey = keyTuple.reset( groupKey );
+
+    if( valueTuple != null )
+      valuesTuple = valueTuple.reset( valuesTuple );
+
     try
       {
       collector.collect( groupKey, valuesTuple );
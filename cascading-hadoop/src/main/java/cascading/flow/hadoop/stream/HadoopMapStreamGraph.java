@@ -129,6 +129,10 @@ public class HadoopMapStreamGraph extends StepStreamGraph
   @Override
   protected SinkStage createSinkStage( Tap element )
     {
+    // side sinks are not bound to the job output, they open their own collector
+    if( ( (HadoopFlowStep) step ).getSideSinks().contains( element ) )
+      return new SinkStage( flowProcess, element );
+
     return new HadoopSinkStage( flowProcess, element );
     }
 
@@ -32,8 +32,12 @@ import cascading.provider.FactoryLoader;
 import cascading.tuple.Tuple;
 import cascading.tuple.collect.Spillable;
 import cascading.tuple.collect.SpillableTupleList;
+import cascading.tuple.collect.SpillableProps;
 import cascading.tuple.collect.TupleMapFactory;
+import cascading.tuple.hadoop.TupleSerialization;
+import cascading.tuple.hadoop.collect.HadoopSpillableTupleList;
 import cascading.tuple.hadoop.collect.HadoopTupleMapFactory;
+import org.apache.hadoop.io.compress.CompressionCodec;
 import org.apache.hadoop.mapred.JobConf;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -101,6 +105,9 @@ public class HadoopMemoryJoinGate extends MemoryHashJoinGate
   private final SpillListener spillListener;
   private TupleMapFactory<JobConf> tupleMapFactory;
 
+  private TupleSerialization tupleSerialization;
+  private CompressionCodec codec;
+
   public HadoopMemoryJoinGate( FlowProcess<JobConf> flowProcess, HashJoin join )
     {
     super( flowProcess, join );
@@ -129,6 +136,31 @@ public class HadoopMemoryJoinGate extends MemoryHashJoinGate
     return map;
     }
 
+  /**
+   * Partitions are buffered in memory up to the list threshold divided between all partitions, before being
+   * spilled to disk.
+   */
+  @Override
+  protected Collection<Tuple> createPartition( int partition, int ordinal )
+    {
+    if( tupleSerialization == null )
+      {
+      tupleSerialization = new TupleSerialization( flowProcess );
+      codec = HadoopSpillableTupleList.getCodec( flowProcess, HadoopSpillableTupleList.defaultCodecs );
+      }
+
+    int listThreshold = SpillableTupleList.getThreshold( flowProcess, SpillableProps.defaultListThreshold );
+    int numLists = orderedPrevious.length * numPartitions;
+
+    HadoopSpillableTupleList list = new HadoopSpillableTupleList( Math.max( 100, listThreshold / numLists ), tupleSerialization, codec );
+
+    list.setGrouping( new Tuple( "partition", partition, ordinal ) );
+    list.setDictionarySize( SpillableTupleList.getDictionarySize( flowProcess, SpillableProps.defaultDictionarySize ) );
+    list.setSpillListener( spillListener );
+
+    return list;
+    }
+
   @Override
   protected void waitOnLatch()
     {
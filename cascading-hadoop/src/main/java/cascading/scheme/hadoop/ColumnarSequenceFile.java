@@ -0,0 +1,585 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.scheme.hadoop;
+
+import java.beans.ConstructorProperties;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import cascading.flow.FlowProcess;
+import cascading.scheme.Scheme;
+import cascading.scheme.SinkCall;
+import cascading.scheme.SourceCall;
+import cascading.scheme.SourcePredicate;
+import cascading.tap.Tap;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+import cascading.tuple.TupleEntry;
+import cascading.tuple.hadoop.TupleSerialization;
+import cascading.tuple.hadoop.io.HadoopTupleInputStream;
+import cascading.tuple.hadoop.io.HadoopTupleOutputStream;
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.DataInputBuffer;
+import org.apache.hadoop.io.DataOutputBuffer;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.SequenceFile.CompressionType;
+import org.apache.hadoop.io.WritableUtils;
+import org.apache.hadoop.mapred.FileOutputFormat;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.OutputCollector;
+import org.apache.hadoop.mapred.RecordReader;
+import org.apache.hadoop.mapred.SequenceFileInputFormat;
+import org.apache.hadoop.mapred.SequenceFileOutputFormat;
+
+/**
+ * A ColumnarSequenceFile is a type of {@link cascading.scheme.Scheme} that stores blocks of tuples column by column
+ * in a block compressed SequenceFile. It is intended as an intermediate scheme between MapReduce jobs, see
+ * {@link cascading.flow.FlowConnectorProps#setIntermediateSchemeClass(java.util.Map, Class)}.
+ * <p/>
+ * Each SequenceFile value holds up to {@link #BLOCK_ROWS} tuples. Every column in a block is encoded on its own,
+ * columns holding only Long or only Integer values are delta encoded, all other columns are written as tuple elements
+ * with repeated Strings written as dictionary ids.
+ * <p/>
+ * If the source fields are a subset of the sink fields, only those columns are decoded when reading, all other
+ * columns are skipped without being deserialized. Likewise any source field the planner finds unused downstream,
+ * see {@link cascading.scheme.ConcreteCall#getProjectedFields()}, is skipped and left {@code null}.
+ * <p/>
+ * Filters pushed down by the planner, see {@link cascading.scheme.ConcreteCall#getPredicate()}, are evaluated after
+ * decoding only their argument columns, blocks without any matching tuples are skipped without decoding the remaining
+ * columns.
+ * <p/>
+ * Block compression uses the job output codec, set {@link #COMPRESS} to false to disable it.
+ */
+public class ColumnarSequenceFile extends Scheme<JobConf, RecordReader, OutputCollector, ColumnarSequenceFile.BlockReader, ColumnarSequenceFile.BlockWriter>
+  {
+  /** Number of tuples stored in each block, 4096 by default. */
+  public static final String BLOCK_ROWS = "cascading.scheme.columnar.block.rows";
+
+  /** Whether to block compress the file, true by default. */
+  public static final String COMPRESS = "cascading.scheme.columnar.compress";
+
+  public static final int defaultBlockRows = 4096;
+
+  /** Field DICTIONARY_SIZE is the maximum number of distinct Strings dictionary encoded per column in a block */
+  static final int DICTIONARY_SIZE = 1024;
+
+  static final byte PLAIN_ENCODING = 0;
+  static final byte LONG_DELTA_ENCODING = 1;
+  static final byte INTEGER_DELTA_ENCODING = 2;
+
+  /**
+   * Creates a new ColumnarSequenceFile instance that stores and reads the given field names.
+   *
+   * @param fields of type Fields
+   */
+  @ConstructorProperties({"fields"})
+  public ColumnarSequenceFile( Fields fields )
+    {
+    super( fields, fields );
+    }
+
+  /**
+   * Creates a new ColumnarSequenceFile instance that stores the given field names, but only reads the columns of the
+   * given selected field names.
+   *
+   * @param fields         of type Fields
+   * @param selectedFields of type Fields
+   */
+  @ConstructorProperties({"fields", "selectedFields"})
+  public ColumnarSequenceFile( Fields fields, Fields selectedFields )
+    {
+    super( selectedFields, fields );
+    }
+
+  @Override
+  public void sourceConfInit( FlowProcess<JobConf> flowProcess, Tap<JobConf, RecordReader, OutputCollector> tap, JobConf conf )
+    {
+    conf.setInputFormat( SequenceFileInputFormat.class );
+    }
+
+  @Override
+  public void sinkConfInit( FlowProcess<JobConf> flowProcess, Tap<JobConf, RecordReader, OutputCollector> tap, JobConf conf )
+    {
+    conf.setOutputKeyClass( NullWritable.class );
+    conf.setOutputValueClass( BytesWritable.class );
+    conf.setOutputFormat( SequenceFileOutputFormat.class );
+
+    if( conf.getBoolean( COMPRESS, true ) )
+      {
+      FileOutputFormat.setCompressOutput( conf, true );
+      SequenceFileOutputFormat.setOutputCompressionType( conf, CompressionType.BLOCK );
+      }
+    }
+
+  @Override
+  public void sourcePrepare( FlowProcess<JobConf> flowProcess, SourceCall<BlockReader, RecordReader> sourceCall )
+    {
+    int[] selected = null;
+
+    if( getSinkFields().isDefined() && getSourceFields().isDefined() && !getSinkFields().equals( getSourceFields() ) )
+      selected = getSinkFields().getPos( getSourceFields() );
+
+    Fields projectedFields = getProjectedFields( sourceCall );
+
+    if( projectedFields != null && getSourceFields().isDefined() )
+      selected = project( selected, getSourceFields().getPos( projectedFields ) );
+
+    TupleSerialization tupleSerialization = new TupleSerialization( flowProcess );
+
+    sourceCall.setContext( new BlockReader( tupleSerialization.getElementReader(), selected, (BytesWritable) sourceCall.getInput().createValue() ) );
+    }
+
+  private int[] project( int[] selected, int[] projected )
+    {
+    int[] result = new int[ getSourceFields().size() ];
+
+    // unprojected columns are marked -1 so they never match a stored column and remain null
+    Arrays.fill( result, -1 );
+
+    for( int pos : projected )
+      result[ pos ] = selected == null ? pos : selected[ pos ];
+
+    return result;
+    }
+
+  @Override
+  public boolean isPredicatePushdown()
+    {
+    return true;
+    }
+
+  @Override
+  public boolean source( FlowProcess<JobConf> flowProcess, SourceCall<BlockReader, RecordReader> sourceCall ) throws IOException
+    {
+    BlockReader reader = sourceCall.getContext();
+
+    while( !reader.nextRow() )
+      {
+      if( !sourceCall.getInput().next( NullWritable.get(), reader.value ) )
+        return false;
+
+      reader.readBlock( getPredicate( sourceCall ), sourceCall.getIncomingEntry() );
+      }
+
+    reader.setTuple( sourceCall.getIncomingEntry(), null );
+
+    return true;
+    }
+
+  @Override
+  public void sourceCleanup( FlowProcess<JobConf> flowProcess, SourceCall<BlockReader, RecordReader> sourceCall )
+    {
+    sourceCall.setContext( null );
+    }
+
+  @Override
+  public void sinkPrepare( FlowProcess<JobConf> flowProcess, SinkCall<BlockWriter, OutputCollector> sinkCall )
+    {
+    String blockRows = flowProcess.getStringProperty( BLOCK_ROWS );
+    TupleSerialization tupleSerialization = new TupleSerialization( flowProcess );
+
+    int rows = blockRows == null || blockRows.isEmpty() ? defaultBlockRows : Integer.parseInt( blockRows );
+
+    sinkCall.setContext( new BlockWriter( tupleSerialization.getElementWriter(), rows ) );
+    }
+
+  @Override
+  public void sink( FlowProcess<JobConf> flowProcess, SinkCall<BlockWriter, OutputCollector> sinkCall ) throws IOException
+    {
+    BlockWriter writer = sinkCall.getContext();
+    Tuple tuple = sinkCall.getOutgoingEntry().getTuple();
+
+    // unknown fields may vary in size, every tuple in a block must have the same number of columns
+    if( writer.numRows != 0 && writer.numColumns != tuple.size() )
+      writer.writeBlock( sinkCall.getOutput() );
+
+    writer.add( tuple );
+
+    if( writer.numRows == writer.blockRows )
+      writer.writeBlock( sinkCall.getOutput() );
+    }
+
+  @Override
+  public void sinkCleanup( FlowProcess<JobConf> flowProcess, SinkCall<BlockWriter, OutputCollector> sinkCall ) throws IOException
+    {
+    BlockWriter writer = sinkCall.getContext();
+
+    if( writer.numRows != 0 )
+      writer.writeBlock( sinkCall.getOutput() );
+
+    sinkCall.setContext( null );
+    }
+
+  /** Class BlockWriter buffers the columns of the current block as they are written. */
+  public static class BlockWriter
+    {
+    final TupleSerialization.SerializationElementWriter elementWriter;
+    final int blockRows;
+    final DataOutputBuffer buffer = new DataOutputBuffer();
+    final BytesWritable value = new BytesWritable();
+
+    ColumnWriter[] columns = new ColumnWriter[ 0 ];
+    int numColumns;
+    int numRows;
+
+    BlockWriter( TupleSerialization.SerializationElementWriter elementWriter, int blockRows )
+      {
+      this.elementWriter = elementWriter;
+      this.blockRows = blockRows;
+      }
+
+    void add( Tuple tuple ) throws IOException
+      {
+      if( numRows == 0 )
+        start( tuple.size() );
+
+      for( int i = 0; i < numColumns; i++ )
+        columns[ i ].add( tuple.getObject( i ) );
+
+      numRows++;
+      }
+
+    private void start( int size )
+      {
+      if( columns.length < size )
+        {
+        ColumnWriter[] resized = new ColumnWriter[ size ];
+
+        System.arraycopy( columns, 0, resized, 0, columns.length );
+
+        for( int i = columns.length; i < size; i++ )
+          resized[ i ] = new ColumnWriter( elementWriter );
+
+        columns = resized;
+        }
+
+      numColumns = size;
+
+      for( int i = 0; i < numColumns; i++ )
+        columns[ i ].reset();
+      }
+
+    void writeBlock( OutputCollector output ) throws IOException
+      {
+      buffer.reset();
+
+      WritableUtils.writeVInt( buffer, numRows );
+      WritableUtils.writeVInt( buffer, numColumns );
+
+      for( int i = 0; i < numColumns; i++ )
+        columns[ i ].write( buffer );
+
+      value.set( buffer.getData(), 0, buffer.getLength() );
+
+      output.collect( NullWritable.get(), value );
+
+      numRows = 0;
+      }
+    }
+
+  /**
+   * Class ColumnWriter writes the values of a column as tuple elements, unless they are all Long or all Integer
+   * values, which are held back so they may be delta encoded.
+   */
+  static class ColumnWriter
+    {
+    final DataOutputBuffer buffer = new DataOutputBuffer();
+    final HadoopTupleOutputStream stream;
+
+    Class numericType;
+    long[] numbers = new long[ 64 ];
+    int count;
+    boolean plain;
+
+    ColumnWriter( TupleSerialization.SerializationElementWriter elementWriter )
+      {
+      stream = new HadoopTupleOutputStream( buffer, elementWriter );
+      }
+
+    void reset()
+      {
+      buffer.reset();
+      stream.enableStringDictionary( DICTIONARY_SIZE ); // a new dictionary for every block
+      numericType = null;
+      count = 0;
+      plain = false;
+      }
+
+    void add( Object element ) throws IOException
+      {
+      if( !plain )
+        {
+        if( isNumeric( element ) )
+          {
+          if( count == numbers.length )
+            {
+            long[] resized = new long[ count * 2 ];
+            System.arraycopy( numbers, 0, resized, 0, count );
+            numbers = resized;
+            }
+
+          numericType = element.getClass();
+          numbers[ count++ ] = ( (Number) element ).longValue();
+          return;
+          }
+
+        plain = true;
+
+        for( int i = 0; i < count; i++ )
+          stream.writeElement( numericType == Long.class ? (Object) numbers[ i ] : (Object) (int) numbers[ i ] );
+        }
+
+      stream.writeElement( element );
+      }
+
+    private boolean isNumeric( Object element )
+      {
+      if( element == null )
+        return false;
+
+      if( numericType != null )
+        return element.getClass() == numericType;
+
+      return element.getClass() == Long.class || element.getClass() == Integer.class;
+      }
+
+    void write( DataOutput output ) throws IOException
+      {
+      byte encoding = PLAIN_ENCODING;
+
+      if( !plain )
+        {
+        encoding = numericType == Long.class ? LONG_DELTA_ENCODING : INTEGER_DELTA_ENCODING;
+
+        long previous = 0;
+
+        for( int i = 0; i < count; i++ )
+          {
+          WritableUtils.writeVLong( buffer, numbers[ i ] - previous );
+          previous = numbers[ i ];
+          }
+        }
+
+      output.writeByte( encoding );
+      WritableUtils.writeVInt( output, buffer.getLength() );
+      output.write( buffer.getData(), 0, buffer.getLength() );
+      }
+    }
+
+  /** Class BlockReader decodes the selected columns of the current block. */
+  public static class BlockReader
+    {
+    final TupleSerialization.SerializationElementReader elementReader;
+    final int[] selected;
+    final BytesWritable value;
+    final DataInputBuffer buffer = new DataInputBuffer();
+    final DataInputBuffer columnBuffer = new DataInputBuffer();
+
+    Object[][] columns = new Object[ 0 ][];
+    byte[] encodings = new byte[ 0 ];
+    int[] starts = new int[ 0 ];
+    int[] lengths = new int[ 0 ];
+    BitSet accepted; // rows not removed by the pushed down predicate, null if all
+    int numRows;
+    int row = -1;
+
+    BlockReader( TupleSerialization.SerializationElementReader elementReader, int[] selected, BytesWritable value )
+      {
+      this.elementReader = elementReader;
+      this.selected = selected;
+      this.value = value;
+      }
+
+    boolean nextRow()
+      {
+      row = accepted == null ? row + 1 : accepted.nextSetBit( row + 1 );
+
+      if( row >= 0 && row < numRows )
+        return true;
+
+      row = numRows;
+
+      return false;
+      }
+
+    /**
+     * If a predicate is given, only its argument columns are decoded first. The remaining columns are only decoded
+     * if at least one row in the block is accepted, so a block without any matching rows is skipped entirely.
+     */
+    void readBlock( SourcePredicate predicate, TupleEntry entry ) throws IOException
+      {
+      buffer.reset( value.getBytes(), 0, value.getLength() );
+
+      numRows = WritableUtils.readVInt( buffer );
+      row = -1;
+
+      int numColumns = WritableUtils.readVInt( buffer );
+      int numSelected = selected == null ? numColumns : selected.length;
+
+      if( columns.length != numSelected )
+        columns = new Object[ numSelected ][];
+
+      if( encodings.length != numColumns )
+        {
+        encodings = new byte[ numColumns ];
+        starts = new int[ numColumns ];
+        lengths = new int[ numColumns ];
+        }
+
+      for( int i = 0; i < numColumns; i++ )
+        {
+        encodings[ i ] = buffer.readByte();
+        lengths[ i ] = WritableUtils.readVInt( buffer );
+        starts[ i ] = buffer.getPosition();
+
+        buffer.skip( lengths[ i ] );
+        }
+
+      boolean[] mask = predicate == null ? null : getMask( predicate.getArgumentFields() );
+
+      if( mask == null )
+        {
+        accepted = null;
+        decodeColumns( null, true );
+
+        if( predicate != null )
+          applyPredicate( predicate, entry, null );
+
+        return;
+        }
+
+      decodeColumns( mask, true );
+
+      applyPredicate( predicate, entry, mask );
+
+      if( !accepted.isEmpty() )
+        decodeColumns( mask, false );
+      }
+
+    private boolean[] getMask( Fields argumentFields )
+      {
+      boolean[] mask = new boolean[ columns.length ];
+
+      for( int pos : argumentFields.getPos() )
+        {
+        if( pos < 0 || pos >= mask.length )
+          return null;
+
+        mask[ pos ] = true;
+        }
+
+      return mask;
+      }
+
+    private void decodeColumns( boolean[] mask, boolean inMask ) throws IOException
+      {
+      for( int i = 0; i < columns.length; i++ )
+        {
+        if( mask != null && mask[ i ] != inMask )
+          continue;
+
+        int column = selected == null ? i : selected[ i ];
+
+        if( column == -1 || column >= encodings.length )
+          {
+          columns[ i ] = null; // column is not read, or missing from this block
+          continue;
+          }
+
+        columnBuffer.reset( value.getBytes(), starts[ column ], lengths[ column ] );
+
+        columns[ i ] = readColumn( encodings[ column ], columns[ i ] );
+        }
+      }
+
+    private void applyPredicate( SourcePredicate predicate, TupleEntry entry, boolean[] mask )
+      {
+      if( accepted == null )
+        accepted = new BitSet( numRows );
+
+      accepted.clear();
+
+      for( int i = 0; i < numRows; i++ )
+        {
+        row = i;
+        setTuple( entry, mask );
+
+        if( !predicate.isRemove( entry ) )
+          accepted.set( i );
+        }
+
+      row = -1;
+      }
+
+    /** Copies the current row into the given entry, values outside the given mask are set to null */
+    void setTuple( TupleEntry entry, boolean[] mask )
+      {
+      Tuple tuple = entry.getTuple();
+      boolean isDefined = entry.getFields().isDefined();
+
+      if( !isDefined )
+        tuple.clear();
+
+      for( int i = 0; i < columns.length; i++ )
+        {
+        Object value = columns[ i ] == null || mask != null && !mask[ i ] ? null : columns[ i ][ row ];
+
+        if( isDefined )
+          tuple.set( i, value );
+        else
+          tuple.add( value );
+        }
+      }
+
+    private Object[] readColumn( byte encoding, Object[] values ) throws IOException
+      {
+      if( values == null || values.length < numRows )
+        values = new Object[ numRows ];
+
+      if( encoding == PLAIN_ENCODING )
+        {
+        // a new stream for every block, as each column has its own String dictionary
+        HadoopTupleInputStream stream = new HadoopTupleInputStream( columnBuffer, elementReader );
+
+        for( int i = 0; i < numRows; i++ )
+          values[ i ] = stream.getNextElement();
+
+        return values;
+        }
+
+      long previous = 0;
+
+      for( int i = 0; i < numRows; i++ )
+        {
+        previous += WritableUtils.readVLong( columnBuffer );
+
+        if( encoding == LONG_DELTA_ENCODING )
+          values[ i ] = previous;
+        else
+          values[ i ] = (int) previous;
+        }
+
+      return values;
+      }
+    }
+  }
@@ -23,11 +23,13 @@ package cascading.scheme.hadoop;
 import java.beans.ConstructorProperties;
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 
 import cascading.flow.FlowProcess;
 import cascading.scheme.SinkCall;
 import cascading.scheme.SourceCall;
 import cascading.scheme.util.DelimitedParser;
+import cascading.scheme.util.LineBuffer;
 import cascading.tap.CompositeTap;
 import cascading.tap.Tap;
 import cascading.tap.TapException;
@@ -788,6 +790,12 @@ public class TextDelimited extends TextLine
     return delimitedParser.getQuote();
     }
 
+  @Override
+  public boolean isPredicatePushdown()
+    {
+    return true;
+    }
+
   @Override
   public boolean isSymmetrical()
     {
@@ -842,21 +850,41 @@ public class TextDelimited extends TextLine
     presentSinkFieldsInternal( fields );
     }
 
+  @Override
+  public void sourcePrepare( FlowProcess<JobConf> flowProcess, SourceCall<Object[], RecordReader> sourceCall )
+    {
+    super.sourcePrepare( flowProcess, sourceCall );
+
+    // the parser is shared, so the fast path is resolved per call
+    Object[] context = Arrays.copyOf( sourceCall.getContext(), 4 );
+
+    context[ 3 ] = DelimitedParser.isFastPathEnabled( flowProcess );
+
+    sourceCall.setContext( context );
+    }
+
   @Override
   public boolean source( FlowProcess<JobConf> flowProcess, SourceCall<Object[], RecordReader> sourceCall ) throws IOException
     {
     Object[] context = sourceCall.getContext();
+    boolean fastPath = (Boolean) context[ 3 ];
+    Object[] split = null;
 
-    if( !sourceCall.getInput().next( context[ 0 ], context[ 1 ] ) )
-      return false;
-
-    if( skipHeader && ( (LongWritable) context[ 0 ] ).get() == 0 )
+    // read until a line is not removed by any pushed down filter
+    while( split == null )
       {
       if( !sourceCall.getInput().next( context[ 0 ], context[ 1 ] ) )
         return false;
+
+      if( skipHeader && ( (LongWritable) context[ 0 ] ).get() == 0 )
+        {
+        if( !sourceCall.getInput().next( context[ 0 ], context[ 1 ] ) )
+          return false;
+        }
+
+      split = delimitedParser.parseLine( makeEncodedString( context ), getProjectedFields( sourceCall ), getPredicate( sourceCall ), sourceCall.getIncomingEntry(), fastPath );
       }
 
-    Object[] split = delimitedParser.parseLine( makeEncodedString( context ) );
     Tuple tuple = sourceCall.getIncomingEntry().getTuple();
 
     tuple.clear();
@@ -871,9 +899,17 @@ public class TextDelimited extends TextLine
     {
     sinkCall.setContext( new Object[ 3 ] );
 
+    Charset charset = Charset.forName( charsetName );
+
     sinkCall.getContext()[ 0 ] = new Text();
-    sinkCall.getContext()[ 1 ] = new StringBuilder( 4 * 1024 );
-    sinkCall.getContext()[ 2 ] = Charset.forName( charsetName );
+
+    // the parser is shared, so a disabled fast path falls back to the StringBuilder
+    if( LineBuffer.isSupported( charset ) && DelimitedParser.isFastPathEnabled( flowProcess ) )
+      sinkCall.getContext()[ 1 ] = new LineBuffer( charset );
+    else
+      sinkCall.getContext()[ 1 ] = new StringBuilder( 4 * 1024 );
+
+    sinkCall.getContext()[ 2 ] = charset;
 
     if( writeHeader )
       {
@@ -894,6 +930,22 @@ public class TextDelimited extends TextLine
   private void write( SinkCall<Object[], OutputCollector> sinkCall, Iterable value ) throws IOException
     {
     Text text = (Text) sinkCall.getContext()[ 0 ];
+
+    if( sinkCall.getContext()[ 1 ] instanceof LineBuffer )
+      {
+      LineBuffer buffer = (LineBuffer) sinkCall.getContext()[ 1 ];
+
+      delimitedParser.joinLine( value, buffer );
+
+      text.set( buffer.getBytes(), 0, buffer.getLength() );
+
+      sinkCall.getOutput().collect( null, text );
+
+      buffer.clear();
+
+      return;
+      }
+
     StringBuilder line = (StringBuilder) sinkCall.getContext()[ 1 ];
     Charset charset = (Charset) sinkCall.getContext()[ 2 ];
 
@@ -27,6 +27,7 @@ import cascading.flow.SliceCounters;
 import cascading.scheme.Scheme;
 import cascading.tap.Tap;
 import cascading.tap.hadoop.util.MeasuredRecordReader;
+import cascading.tuple.Fields;
 import cascading.tuple.TupleEntrySchemeIterator;
 import cascading.util.CloseableIterator;
 import org.apache.hadoop.mapred.JobConf;
@@ -41,12 +42,17 @@ public class HadoopTupleEntrySchemeIterator extends TupleEntrySchemeIterator<Job
 
   public HadoopTupleEntrySchemeIterator( FlowProcess<JobConf> flowProcess, Tap parentTap, RecordReader recordReader ) throws IOException
     {
-    this( flowProcess, parentTap.getScheme(), makeIterator( flowProcess, parentTap, recordReader ) );
+    this( flowProcess, parentTap.getScheme(), makeIterator( flowProcess, parentTap, recordReader ), parentTap.getProjectedSourceFields( flowProcess ) );
     }
 
   public HadoopTupleEntrySchemeIterator( FlowProcess<JobConf> flowProcess, Scheme scheme, CloseableIterator<RecordReader> closeableIterator )
     {
-    super( flowProcess, scheme, closeableIterator, flowProcess.getStringProperty( "cascading.source.path" ) );
+    this( flowProcess, scheme, closeableIterator, null );
+    }
+
+  public HadoopTupleEntrySchemeIterator( FlowProcess<JobConf> flowProcess, Scheme scheme, CloseableIterator<RecordReader> closeableIterator, Fields projectedFields )
+    {
+    super( flowProcess, scheme, closeableIterator, flowProcess.getStringProperty( "cascading.source.path" ), projectedFields );
     }
 
   private static CloseableIterator<RecordReader> makeIterator( FlowProcess<JobConf> flowProcess, Tap parentTap, RecordReader recordReader ) throws IOException
@@ -40,10 +40,16 @@ import cascading.tuple.TupleException;
 import cascading.tuple.hadoop.io.HadoopTupleOutputStream;
 import cascading.tuple.hadoop.io.IndexTupleDeserializer;
 import cascading.tuple.hadoop.io.IndexTupleSerializer;
+import cascading.tuple.hadoop.io.KeyTuple;
 import cascading.tuple.hadoop.io.TupleDeserializer;
 import cascading.tuple.hadoop.io.TuplePairDeserializer;
 import cascading.tuple.hadoop.io.TuplePairSerializer;
 import cascading.tuple.hadoop.io.TupleSerializer;
+import cascading.tuple.hadoop.io.TypedTupleDeserializer;
+import cascading.tuple.hadoop.io.TypedTuplePairDeserializer;
+import cascading.tuple.hadoop.io.TypedTuplePairSerializer;
+import cascading.tuple.hadoop.io.TypedTupleSerializer;
+import cascading.tuple.hadoop.io.ValueTuple;
 import cascading.tuple.io.IndexTuple;
 import cascading.tuple.io.TupleInputStream;
 import cascading.tuple.io.TupleOutputStream;
@@ -78,6 +84,14 @@ import static cascading.tuple.hadoop.TupleSerializationProps.HADOOP_IO_SERIALIZA
  * <p/>
  * By default this Serialization interface registers the class {@link org.apache.hadoop.io.ByteWritable} as
  * token 127.
+ * <p/>
+ * If the types of the fields entering a {@link cascading.pipe.GroupBy} are declared via
+ * {@link TupleSerializationProps#SHUFFLE_TYPES}, the planner records the element tokens of the grouping, sorting,
+ * and value tuples in the job, and those tuples are written to the shuffle without a token per element.
+ * <p/>
+ * If a {@link TupleSerializationProps#NORMALIZED_KEY_SIZE} is given for a sorted GroupBy, the planner records how
+ * many of the leading grouping fields are naturally ordered, and each {@link TuplePair} key is written with a fixed
+ * width, order preserving prefix of those fields so most raw comparisons only compare the prefix bytes.
  */
 @SerializationToken(
   tokens = {127},
@@ -87,6 +101,15 @@ public class TupleSerialization extends Configured implements Serialization
   /** Field LOG */
   private static final Logger LOG = LoggerFactory.getLogger( TupleSerialization.class );
 
+  /** Field SHUFFLE_GROUP_TOKENS holds the element tokens of the grouping tuple written to the shuffle */
+  public static final String SHUFFLE_GROUP_TOKENS = "cascading.serialization.shuffle.group.tokens";
+  /** Field SHUFFLE_SORT_TOKENS holds the element tokens of the sorting tuple written to the shuffle */
+  public static final String SHUFFLE_SORT_TOKENS = "cascading.serialization.shuffle.sort.tokens";
+  /** Field SHUFFLE_VALUE_TOKENS holds the element tokens of the values tuple written to the shuffle */
+  public static final String SHUFFLE_VALUE_TOKENS = "cascading.serialization.shuffle.value.tokens";
+  /** Field SHUFFLE_NORMALIZED_KEY_FIELDS holds the number of leading grouping fields encoded in the normalized key */
+  public static final String SHUFFLE_NORMALIZED_KEY_FIELDS = "cascading.serialization.shuffle.normalizedkey.fields";
+
   /** Field defaultComparator * */
   private Comparator defaultComparator;
   /** Field classCache */
@@ -186,6 +209,59 @@ public class TupleSerialization extends Configured implements Serialization
     return jobConf.get( HADOOP_IO_SERIALIZATIONS, null );
     }
 
+  /**
+   * Method setShuffleTokens records the given element tokens under the given property, see {@link #SHUFFLE_GROUP_TOKENS}.
+   *
+   * @param jobConf  of type Configuration
+   * @param property of type String
+   * @param tokens   of type int[]
+   */
+  public static void setShuffleTokens( Configuration jobConf, String property, int[] tokens )
+    {
+    jobConf.set( property, Util.join( tokens, "," ) );
+    }
+
+  /**
+   * Method getShuffleTokens returns the element tokens recorded under the given property, or null if none.
+   *
+   * @param jobConf  of type Configuration
+   * @param property of type String
+   * @return int[]
+   */
+  public static int[] getShuffleTokens( Configuration jobConf, String property )
+    {
+    String value = jobConf.get( property );
+
+    if( value == null )
+      return null;
+
+    if( value.isEmpty() )
+      return new int[ 0 ];
+
+    String[] split = value.split( "," );
+    int[] tokens = new int[ split.length ];
+
+    for( int i = 0; i < split.length; i++ )
+      tokens[ i ] = Integer.parseInt( split[ i ].trim() );
+
+    return tokens;
+    }
+
+  /**
+   * Method getNormalizedKeySize returns the width in bytes of the normalized key prefix written ahead of each
+   * {@link TuplePair} key, or zero if the planner did not enable it for the current job.
+   *
+   * @param jobConf of type Configuration
+   * @return int
+   */
+  public static int getNormalizedKeySize( Configuration jobConf )
+    {
+    if( jobConf.get( SHUFFLE_NORMALIZED_KEY_FIELDS ) == null )
+      return 0;
+
+    return jobConf.getInt( TupleSerializationProps.NORMALIZED_KEY_SIZE, 0 );
+    }
+
   public static Comparator getDefaultComparator( Configuration jobConf )
     {
     String typeName = jobConf.get( FlowProps.DEFAULT_ELEMENT_COMPARATOR );
@@ -259,7 +335,7 @@ public class TupleSerialization extends Configured implements Serialization
     return super.getConf();
     }
 
-  SerializationFactory getSerializationFactory()
+  synchronized SerializationFactory getSerializationFactory()
     {
     if( serializationFactory == null )
       serializationFactory = new SerializationFactory( getConf() );
@@ -267,8 +343,11 @@ public class TupleSerialization extends Configured implements Serialization
     return serializationFactory;
     }
 
-  /** Must be called before {@link #getClassNameFor(int)} and {@link #getTokenFor(String)} methods. */
-  void initTokenMaps()
+  /**
+   * Must be called before {@link #getClassNameFor(int)} and {@link #getTokenFor(String)} methods. Synchronized as
+   * element readers and writers sharing this instance may be created on different threads.
+   */
+  synchronized void initTokenMaps()
     {
     if( tokenClassesMap != null )
       return;
@@ -443,8 +522,15 @@ public class TupleSerialization extends Configured implements Serialization
       }
     }
 
-  TuplePairDeserializer getTuplePairDeserializer()
+  Deserializer<TuplePair> getTuplePairDeserializer()
     {
+    int[] groupTokens = getShuffleTokens( getConf(), SHUFFLE_GROUP_TOKENS );
+    int[] sortTokens = getShuffleTokens( getConf(), SHUFFLE_SORT_TOKENS );
+    int normalizedKeySize = getNormalizedKeySize( getConf() );
+
+    if( groupTokens != null || sortTokens != null || normalizedKeySize != 0 )
+      return new TypedTuplePairDeserializer( getElementReader(), groupTokens, sortTokens, normalizedKeySize );
+
     return new TuplePairDeserializer( getElementReader() );
     }
 
@@ -463,11 +549,29 @@ public class TupleSerialization extends Configured implements Serialization
     return new TupleDeserializer( getElementReader() );
     }
 
-  private TuplePairSerializer getTuplePairSerializer()
+  private Serializer<TuplePair> getTuplePairSerializer()
     {
+    int[] groupTokens = getShuffleTokens( getConf(), SHUFFLE_GROUP_TOKENS );
+    int[] sortTokens = getShuffleTokens( getConf(), SHUFFLE_SORT_TOKENS );
+    int normalizedKeySize = getNormalizedKeySize( getConf() );
+    int normalizedKeyFields = getConf().getInt( SHUFFLE_NORMALIZED_KEY_FIELDS, 0 );
+
+    if( groupTokens != null || sortTokens != null || normalizedKeySize != 0 )
+      return new TypedTuplePairSerializer( getElementWriter(), groupTokens, sortTokens, normalizedKeySize, normalizedKeyFields );
+
     return new TuplePairSerializer( getElementWriter() );
     }
 
+  private TypedTupleSerializer getTypedTupleSerializer( String property )
+    {
+    return new TypedTupleSerializer( getElementWriter(), getShuffleTokens( getConf(), property ) );
+    }
+
+  private TypedTupleDeserializer getTypedTupleDeserializer( String property )
+    {
+    return new TypedTupleDeserializer( getElementReader(), getShuffleTokens( getConf(), property ) );
+    }
+
   IndexTupleDeserializer getIndexTupleDeserializer()
     {
     return new IndexTupleDeserializer( getElementReader() );
@@ -501,7 +605,7 @@ public class TupleSerialization extends Configured implements Serialization
    */
   public boolean accept( Class c )
     {
-    return Tuple.class == c || TuplePair.class == c || IndexTuple.class == c;
+    return Tuple.class == c || TuplePair.class == c || IndexTuple.class == c || KeyTuple.class == c || ValueTuple.class == c;
     }
 
   /**
@@ -518,6 +622,10 @@ public class TupleSerialization extends Configured implements Serialization
       return getTuplePairDeserializer();
     else if( c == IndexTuple.class )
       return getIndexTupleDeserializer();
+    else if( c == KeyTuple.class )
+      return getTypedTupleDeserializer( SHUFFLE_GROUP_TOKENS );
+    else if( c == ValueTuple.class )
+      return getTypedTupleDeserializer( SHUFFLE_VALUE_TOKENS );
 
     throw new IllegalArgumentException( "unknown class, cannot deserialize: " + c.getName() );
     }
@@ -536,6 +644,10 @@ public class TupleSerialization extends Configured implements Serialization
       return getTuplePairSerializer();
     else if( c == IndexTuple.class )
       return getIndexTupleSerializer();
+    else if( c == KeyTuple.class )
+      return getTypedTupleSerializer( SHUFFLE_GROUP_TOKENS );
+    else if( c == ValueTuple.class )
+      return getTypedTupleSerializer( SHUFFLE_VALUE_TOKENS );
 
     throw new IllegalArgumentException( "unknown class, cannot serialize: " + c.getName() );
     }
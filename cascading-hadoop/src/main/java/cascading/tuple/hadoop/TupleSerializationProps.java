@@ -41,9 +41,13 @@ public class TupleSerializationProps extends Props
   {
   public static final String SERIALIZATION_TOKENS = "cascading.serialization.tokens";
   public static final String HADOOP_IO_SERIALIZATIONS = "io.serializations";
+  public static final String SHUFFLE_TYPES = "cascading.serialization.shuffle.types";
+  public static final String NORMALIZED_KEY_SIZE = "cascading.serialization.shuffle.normalizedkey.size";
 
   Map<Integer, String> serializationTokens = new LinkedHashMap<Integer, String>();
   List<String> hadoopSerializations = new ArrayList<String>();
+  Class[] shuffleTypes;
+  int normalizedKeySize;
 
   /**
    * Adds the given token and className pair as a serialization token property. During object serialization and deserialization,
@@ -84,6 +88,48 @@ public class TupleSerializationProps extends Props
     properties.put( HADOOP_IO_SERIALIZATIONS, Util.join( ",", Util.removeNulls( serializations, className ) ) );
     }
 
+  /**
+   * Sets the types of the fields entering a {@link cascading.pipe.GroupBy}, in field order, so the grouping keys and
+   * values may be written to the shuffle without a type token in front of each element.
+   * <p/>
+   * Only String and the primitive wrapper types Integer, Long, Float, Double, Boolean and Short are supported. Values
+   * found at runtime that do not match the declared types are written with element tokens as usual.
+   * <p/>
+   * This property may be set on the flow properties, or on the {@link cascading.pipe.GroupBy#getStepConfigDef()}
+   * so it only applies to the given GroupBy.
+   *
+   * @param properties of type Map
+   * @param types      of type Class...
+   */
+  public static void setShuffleTypes( Map<Object, Object> properties, Class... types )
+    {
+    String[] names = new String[ types.length ];
+
+    for( int i = 0; i < types.length; i++ )
+      names[ i ] = types[ i ].getName();
+
+    properties.put( SHUFFLE_TYPES, Util.join( names, "," ) );
+    }
+
+  /**
+   * Sets the width in bytes of the normalized key prefix written ahead of the grouping and sorting keys of a
+   * {@link cascading.pipe.GroupBy} with secondary sorting, see {@link TupleSerialization}.
+   * <p/>
+   * The prefix encodes the leading grouping fields that have no custom {@link java.util.Comparator}, so most key
+   * comparisons during the sort and merge finish after comparing the prefix bytes. Long and numeric keys benefit
+   * most, Strings are encoded up to the remaining width. A value of 0, the default, disables the prefix.
+   * <p/>
+   * This property may be set on the flow properties, or on the {@link cascading.pipe.GroupBy#getStepConfigDef()}
+   * so it only applies to the given GroupBy.
+   *
+   * @param properties        of type Map
+   * @param normalizedKeySize of type int
+   */
+  public static void setNormalizedKeySize( Map<Object, Object> properties, int normalizedKeySize )
+    {
+    properties.put( NORMALIZED_KEY_SIZE, Integer.toString( normalizedKeySize ) );
+    }
+
   public static TupleSerializationProps tupleSerializationProps()
     {
     return new TupleSerializationProps();
@@ -145,6 +191,44 @@ public class TupleSerializationProps extends Props
     return this;
     }
 
+  public Class[] getShuffleTypes()
+    {
+    return shuffleTypes;
+    }
+
+  /**
+   * Method setShuffleTypes sets the types of the fields entering a {@link cascading.pipe.GroupBy}, in field order.
+   *
+   * @param shuffleTypes of type Class...
+   * @return TupleSerializationProps
+   * @see #setShuffleTypes(java.util.Map, Class[])
+   */
+  public TupleSerializationProps setShuffleTypes( Class... shuffleTypes )
+    {
+    this.shuffleTypes = shuffleTypes;
+
+    return this;
+    }
+
+  public int getNormalizedKeySize()
+    {
+    return normalizedKeySize;
+    }
+
+  /**
+   * Method setNormalizedKeySize sets the width in bytes of the normalized key prefix of sorted GroupBy keys.
+   *
+   * @param normalizedKeySize of type int
+   * @return TupleSerializationProps
+   * @see #setNormalizedKeySize(java.util.Map, int)
+   */
+  public TupleSerializationProps setNormalizedKeySize( int normalizedKeySize )
+    {
+    this.normalizedKeySize = normalizedKeySize;
+
+    return this;
+    }
+
   @Override
   protected void addPropertiesTo( Properties properties )
     {
@@ -153,5 +237,11 @@ public class TupleSerializationProps extends Props
 
     for( String hadoopSerialization : hadoopSerializations )
       addSerialization( properties, hadoopSerialization );
+
+    if( shuffleTypes != null )
+      setShuffleTypes( properties, shuffleTypes );
+
+    if( normalizedKeySize != 0 )
+      setNormalizedKeySize( properties, normalizedKeySize );
     }
   }
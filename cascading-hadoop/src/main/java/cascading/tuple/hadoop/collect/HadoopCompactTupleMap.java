@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.tuple.hadoop.collect;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import cascading.tuple.collect.CompactTupleMap;
+import cascading.tuple.hadoop.TupleSerialization;
+import cascading.tuple.hadoop.io.HadoopTupleInputStream;
+import cascading.tuple.hadoop.io.HadoopTupleOutputStream;
+import cascading.tuple.io.TupleInputStream;
+import cascading.tuple.io.TupleOutputStream;
+
+/**
+ * HadoopCompactTupleMap is a {@link CompactTupleMap} that serializes its keys and values with the current
+ * {@link TupleSerialization}.
+ *
+ * @see HadoopCompactTupleMapFactory
+ */
+public class HadoopCompactTupleMap extends CompactTupleMap
+  {
+  private final TupleSerialization tupleSerialization;
+
+  public HadoopCompactTupleMap( TupleSerialization tupleSerialization, int slabSize, boolean offHeap )
+    {
+    super( slabSize, offHeap );
+    this.tupleSerialization = tupleSerialization;
+    }
+
+  @Override
+  protected TupleOutputStream createTupleOutputStream( OutputStream outputStream )
+    {
+    return new HadoopTupleOutputStream( outputStream, tupleSerialization.getElementWriter() );
+    }
+
+  @Override
+  protected TupleInputStream createTupleInputStream( InputStream inputStream )
+    {
+    return new HadoopTupleInputStream( inputStream, tupleSerialization.getElementReader() );
+    }
+  }
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.tuple.hadoop.collect;
+
+import java.util.Collection;
+import java.util.Map;
+
+import cascading.flow.FlowProcess;
+import cascading.tuple.Tuple;
+import cascading.tuple.collect.CompactTupleMap;
+import cascading.tuple.collect.TupleMapFactory;
+import cascading.tuple.hadoop.TupleSerialization;
+import org.apache.hadoop.mapred.JobConf;
+
+/**
+ * HadoopCompactTupleMapFactory creates {@link HadoopCompactTupleMap} instances to hold the accumulated side of a
+ * {@link cascading.pipe.HashJoin} as serialized bytes.
+ * <p/>
+ * To use, set {@link TupleMapFactory#TUPLE_MAP_FACTORY} to this class name, either on the Flow or on a given
+ * HashJoin via its {@link cascading.pipe.Pipe#getConfigDef()}. The slab size and whether slabs are allocated
+ * off heap may be set with {@link CompactTupleMap#SLAB_SIZE} and {@link CompactTupleMap#OFF_HEAP}.
+ * <p/>
+ * Note the values are never spilled to disk.
+ */
+public class HadoopCompactTupleMapFactory implements TupleMapFactory<JobConf>
+  {
+  private int slabSize;
+  private boolean offHeap;
+  private TupleSerialization tupleSerialization;
+
+  @Override
+  public void initialize( FlowProcess<JobConf> flowProcess )
+    {
+    slabSize = CompactTupleMap.getSlabSize( flowProcess, CompactTupleMap.defaultSlabSize );
+    offHeap = CompactTupleMap.isOffHeap( flowProcess, false );
+    tupleSerialization = new TupleSerialization( flowProcess );
+    }
+
+  @Override
+  public Map<Tuple, Collection<Tuple>> create( FlowProcess<JobConf> flowProcess )
+    {
+    return new HadoopCompactTupleMap( tupleSerialization, slabSize, offHeap );
+    }
+  }
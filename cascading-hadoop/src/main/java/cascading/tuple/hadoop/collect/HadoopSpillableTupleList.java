@@ -66,6 +66,8 @@ public class HadoopSpillableTupleList extends SpillableTupleList
   private final CompressionCodec codec;
   /** Field serializationElementWriter */
   private final TupleSerialization tupleSerialization;
+  /** Field dictionarySize is the maximum number of distinct Strings dictionary encoded per spill file */
+  private int dictionarySize = 0;
 
   public static synchronized CompressionCodec getCodec( FlowProcess flowProcess, String defaultCodecs )
     {
@@ -105,6 +107,22 @@ public class HadoopSpillableTupleList extends SpillableTupleList
     this.codec = codec;
     }
 
+  public int getDictionarySize()
+    {
+    return dictionarySize;
+    }
+
+  /**
+   * Method setDictionarySize enables dictionary encoding of repeated String elements in each spill file, up to the
+   * given number of distinct values, see {@link cascading.tuple.collect.SpillableProps#SPILL_DICTIONARY_SIZE}.
+   *
+   * @param dictionarySize of type int
+   */
+  public void setDictionarySize( int dictionarySize )
+    {
+    this.dictionarySize = dictionarySize;
+    }
+
   @Override
   protected TupleOutputStream createTupleOutputStream( File file )
     {
@@ -124,7 +142,7 @@ public class HadoopSpillableTupleList extends SpillableTupleList
 
       final Compressor finalCompressor = compressor;
 
-      return new HadoopTupleOutputStream( outputStream, tupleSerialization.getElementWriter() )
+      HadoopTupleOutputStream tupleOutputStream = new HadoopTupleOutputStream( outputStream, tupleSerialization.getElementWriter() )
       {
       @Override
       public void close() throws IOException
@@ -140,6 +158,11 @@ public class HadoopSpillableTupleList extends SpillableTupleList
           }
         }
       };
+
+      if( dictionarySize > 0 )
+        tupleOutputStream.enableStringDictionary( dictionarySize );
+
+      return tupleOutputStream;
       }
     catch( IOException exception )
       {
@@ -26,6 +26,7 @@ import cascading.flow.FlowProcess;
 import cascading.provider.FactoryLoader;
 import cascading.tuple.Tuple;
 import cascading.tuple.collect.Spillable;
+import cascading.tuple.collect.SpillableProps;
 import cascading.tuple.collect.SpillableTupleList;
 import cascading.tuple.collect.SpillableTupleMap;
 import cascading.tuple.collect.TupleCollectionFactory;
@@ -41,14 +42,20 @@ import org.apache.hadoop.mapred.JobConf;
 public class HadoopSpillableTupleMap extends SpillableTupleMap
   {
   private final FlowProcess<JobConf> flowProcess;
-  private final Spillable.SpillStrategy spillStrategy;
   private final TupleCollectionFactory<JobConf> tupleCollectionFactory;
 
   public HadoopSpillableTupleMap( int initialCapacity, float loadFactor, int mapThreshold, int listThreshold, FlowProcess<JobConf> flowProcess )
+    {
+    this( initialCapacity, loadFactor, mapThreshold, SpillableProps.defaultMapBytesThreshold, listThreshold, flowProcess );
+    }
+
+  public HadoopSpillableTupleMap( int initialCapacity, float loadFactor, int mapThreshold, long mapBytesThreshold, int listThreshold, FlowProcess<JobConf> flowProcess )
     {
     super( initialCapacity, loadFactor, mapThreshold, listThreshold );
     this.flowProcess = flowProcess;
-    this.spillStrategy = getSpillStrategy();
+
+    setMapBytesThreshold( mapBytesThreshold );
+    setSpillStrategy( getSpillStrategy() );
 
     FactoryLoader loader = FactoryLoader.getInstance();
 
@@ -64,7 +71,7 @@ public class HadoopSpillableTupleMap extends SpillableTupleMap
       {
       ( (Spillable) collection ).setGrouping( tuple );
       ( (Spillable) collection ).setSpillListener( getSpillListener() );
-      ( (Spillable) collection ).setSpillStrategy( spillStrategy );
+      ( (Spillable) collection ).setSpillStrategy( getCollectionSpillStrategy() );
       }
 
     return collection;
@@ -29,8 +29,11 @@ import cascading.tuple.hadoop.TupleSerialization;
 import org.apache.hadoop.io.compress.CompressionCodec;
 import org.apache.hadoop.mapred.JobConf;
 
+import static cascading.tuple.collect.SpillableProps.defaultDictionarySize;
 import static cascading.tuple.collect.SpillableProps.defaultListThreshold;
+import static cascading.tuple.collect.SpillableTupleList.getDictionarySize;
 import static cascading.tuple.collect.SpillableTupleList.getThreshold;
+import static cascading.tuple.collect.SpillableTupleList.isAsyncSpill;
 
 /**
  *
@@ -38,6 +41,8 @@ import static cascading.tuple.collect.SpillableTupleList.getThreshold;
 public class HadoopTupleCollectionFactory implements TupleCollectionFactory<JobConf>
   {
   private int spillThreshold;
+  private boolean asyncSpill;
+  private int dictionarySize;
   private CompressionCodec codec;
   private TupleSerialization tupleSerialization;
 
@@ -45,6 +50,8 @@ public class HadoopTupleCollectionFactory implements TupleCollectionFactory<JobC
   public void initialize( FlowProcess<JobConf> flowProcess )
     {
     this.spillThreshold = getThreshold( flowProcess, defaultListThreshold );
+    this.asyncSpill = isAsyncSpill( flowProcess, false );
+    this.dictionarySize = getDictionarySize( flowProcess, defaultDictionarySize );
     this.codec = HadoopSpillableTupleList.getCodec( flowProcess, HadoopSpillableTupleList.defaultCodecs );
 
     this.tupleSerialization = new TupleSerialization( flowProcess );
@@ -53,6 +60,11 @@ public class HadoopTupleCollectionFactory implements TupleCollectionFactory<JobC
   @Override
   public Collection<Tuple> create( FlowProcess<JobConf> flowProcess )
     {
-    return new HadoopSpillableTupleList( spillThreshold, tupleSerialization, codec );
+    HadoopSpillableTupleList list = new HadoopSpillableTupleList( spillThreshold, tupleSerialization, codec );
+
+    list.setAsyncSpill( asyncSpill );
+    list.setDictionarySize( dictionarySize );
+
+    return list;
     }
   }
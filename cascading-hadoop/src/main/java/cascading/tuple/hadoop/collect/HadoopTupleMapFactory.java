@@ -39,6 +39,7 @@ public class HadoopTupleMapFactory implements TupleMapFactory<JobConf>
   private int capacity;
   private float loadFactor;
   private int mapThreshold;
+  private long mapBytesThreshold;
   private int listThreshold;
 
   @Override
@@ -47,12 +48,13 @@ public class HadoopTupleMapFactory implements TupleMapFactory<JobConf>
     capacity = SpillableTupleMap.getMapCapacity( flowProcess, SpillableProps.defaultMapInitialCapacity );
     loadFactor = SpillableTupleMap.getMapLoadFactor( flowProcess, SpillableProps.defaultMapLoadFactor );
     mapThreshold = SpillableTupleMap.getMapThreshold( flowProcess, SpillableProps.defaultMapThreshold );
+    mapBytesThreshold = SpillableTupleMap.getMapBytesThreshold( flowProcess, SpillableProps.defaultMapBytesThreshold );
     listThreshold = SpillableTupleList.getThreshold( flowProcess, SpillableProps.defaultListThreshold );
     }
 
   @Override
   public Map<Tuple, Collection<Tuple>> create( FlowProcess<JobConf> flowProcess )
     {
-    return new HadoopSpillableTupleMap( capacity, loadFactor, mapThreshold, listThreshold, flowProcess );
+    return new HadoopSpillableTupleMap( capacity, loadFactor, mapThreshold, mapBytesThreshold, listThreshold, flowProcess );
     }
   }
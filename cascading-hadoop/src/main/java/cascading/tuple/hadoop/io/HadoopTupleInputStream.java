@@ -22,7 +22,10 @@ package cascading.tuple.hadoop.io;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 
+import cascading.tuple.Tuple;
 import cascading.tuple.io.IndexTuple;
 import cascading.tuple.io.TupleInputStream;
 import org.apache.hadoop.io.WritableUtils;
@@ -32,19 +35,107 @@ import org.apache.hadoop.io.WritableUtils;
  */
 public class HadoopTupleInputStream extends TupleInputStream
   {
+  /** Field expectedTokens are the element tokens of the next tuple to be read, if it was written typed */
+  private int[] expectedTokens;
+  /** Field typedTokens are the element tokens of the typed tuple currently being read */
+  private int[] typedTokens;
+  private int typedPosition;
+  private int typedSize;
+  private byte[] typedNulls = new byte[ 8 ];
+
+  private int[] markedTokens;
+  private int markedPosition;
+
+  /** Field stringDictionary holds the Strings added to the dictionary of the stream being read, in id order */
+  private List<String> stringDictionary;
+
   public HadoopTupleInputStream( InputStream inputStream, ElementReader elementReader )
     {
     super( inputStream, elementReader );
     }
 
+  /**
+   * Method expectTypedTuple declares the next tuple read from this stream was written by
+   * {@link HadoopTupleOutputStream#writeTypedTuple(cascading.tuple.Tuple, int[])} with the given tokens. A null
+   * value of tokens is ignored.
+   *
+   * @param tokens of type int[]
+   */
+  public void expectTypedTuple( int[] tokens )
+    {
+    this.expectedTokens = tokens;
+    }
+
+  public Tuple readTypedTuple( Tuple tuple, int[] tokens ) throws IOException
+    {
+    expectTypedTuple( tokens );
+
+    return readTuple( tuple );
+    }
+
   public int getNumElements() throws IOException
     {
-    return readVInt();
+    typedTokens = null; // a comparison may not have consumed the previous typed tuple
+
+    if( expectedTokens == null )
+      return readVInt();
+
+    int[] tokens = expectedTokens;
+
+    expectedTokens = null;
+
+    int size = readVInt();
+
+    if( size == HadoopTupleOutputStream.UNTYPED_TUPLE )
+      return readVInt();
+
+    if( size == 0 )
+      return size;
+
+    int numBytes = ( size + 7 ) / 8;
+
+    if( typedNulls.length < numBytes )
+      typedNulls = new byte[ numBytes ];
+
+    readFully( typedNulls, 0, numBytes );
+
+    typedTokens = tokens;
+    typedPosition = 0;
+    typedSize = size;
+
+    return size;
     }
 
   public int readToken() throws IOException
     {
-    return readVInt();
+    if( typedTokens == null )
+      return readVInt();
+
+    int position = typedPosition++;
+    int token = ( typedNulls[ position / 8 ] & ( 1 << ( position % 8 ) ) ) != 0 ? 0 : typedTokens[ position ];
+
+    if( typedPosition == typedSize )
+      typedTokens = null;
+
+    return token;
+    }
+
+  @Override
+  public synchronized void mark( int readLimit )
+    {
+    super.mark( readLimit );
+
+    markedTokens = typedTokens;
+    markedPosition = typedPosition;
+    }
+
+  @Override
+  public synchronized void reset() throws IOException
+    {
+    super.reset();
+
+    typedTokens = markedTokens;
+    typedPosition = markedPosition;
     }
 
   public Object getNextElement() throws IOException
@@ -52,6 +143,18 @@ public class HadoopTupleInputStream extends TupleInputStream
     return readType( readToken() );
     }
 
+  /**
+   * Method readElement reads the next element, its token having already been read by {@link #readToken()}.
+   *
+   * @param token of type int
+   * @return Object
+   * @throws IOException
+   */
+  public Object readElement( int token ) throws IOException
+    {
+    return readType( token );
+    }
+
   public IndexTuple readIndexTuple( IndexTuple indexTuple ) throws IOException
     {
     indexTuple.setIndex( readVInt() );
@@ -75,6 +178,18 @@ public class HadoopTupleInputStream extends TupleInputStream
     return WritableUtils.readString( this );
     }
 
+  private String readDictionaryEntry() throws IOException
+    {
+    if( stringDictionary == null )
+      stringDictionary = new ArrayList<String>();
+
+    String value = readString();
+
+    stringDictionary.add( value );
+
+    return value;
+    }
+
   protected final Object readType( int type ) throws IOException
     {
     switch( type )
@@ -101,6 +216,10 @@ public class HadoopTupleInputStream extends TupleInputStream
         return readTuplePair();
       case 10:
         return readIndexTuple();
+      case HadoopTupleOutputStream.DICTIONARY_ENTRY_TOKEN:
+        return readDictionaryEntry();
+      case HadoopTupleOutputStream.DICTIONARY_ID_TOKEN:
+        return stringDictionary.get( readVInt() );
       default:
         return elementReader.read( type, this );
       }
@@ -22,7 +22,10 @@ package cascading.tuple.hadoop.io;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 
 import cascading.tuple.Tuple;
@@ -39,6 +42,48 @@ public class HadoopTupleOutputStream extends TupleOutputStream
   /** Field WRITABLE_TOKEN */
   public static final int WRITABLE_TOKEN = 32;
 
+  /** Field UNTYPED_TUPLE marks a tuple written with element tokens where a typed tuple was expected */
+  public static final int UNTYPED_TUPLE = -1;
+
+  /** Field DICTIONARY_ENTRY_TOKEN marks a String element that is also added to the stream string dictionary */
+  public static final int DICTIONARY_ENTRY_TOKEN = 11;
+  /** Field DICTIONARY_ID_TOKEN marks a String element written as the id of a previous dictionary entry */
+  public static final int DICTIONARY_ID_TOKEN = 12;
+  /** Field MAX_DICTIONARY_STRING_LENGTH is the longest String that will be added to a string dictionary */
+  public static final int MAX_DICTIONARY_STRING_LENGTH = 128;
+
+  /** Field TYPED_CLASSES maps the native element tokens that may be written positionally to their classes */
+  static final Class[] TYPED_CLASSES = new Class[]{
+    null, String.class, Float.class, Double.class, Integer.class, Long.class, Boolean.class, Short.class
+  };
+
+  /**
+   * Method getTypedToken returns the native element token for the given type name, if elements of that type
+   * may be written positionally by {@link #writeTypedTuple(cascading.tuple.Tuple, int[])}, otherwise -1.
+   * <p/>
+   * Simple names, fully qualified names, and primitive names are accepted, e.g. "String", "java.lang.Long", or "int".
+   *
+   * @param typeName of type String
+   * @return int
+   */
+  public static int getTypedToken( String typeName )
+    {
+    typeName = typeName.trim();
+
+    if( typeName.equals( "int" ) )
+      typeName = "Integer";
+    else if( !typeName.isEmpty() && Character.isLowerCase( typeName.charAt( 0 ) ) && typeName.indexOf( '.' ) == -1 )
+      typeName = Character.toUpperCase( typeName.charAt( 0 ) ) + typeName.substring( 1 );
+
+    for( int i = 1; i < TYPED_CLASSES.length; i++ )
+      {
+      if( TYPED_CLASSES[ i ].getName().equals( typeName ) || TYPED_CLASSES[ i ].getSimpleName().equals( typeName ) )
+        return i;
+      }
+
+    return -1;
+    }
+
   private static final Map<Class, TupleElementWriter> staticTupleElementWriters = new IdentityHashMap<Class, TupleElementWriter>();
 
   static
@@ -48,8 +93,7 @@ public class HadoopTupleOutputStream extends TupleOutputStream
     @Override
     public void write( TupleOutputStream stream, Object element ) throws IOException
       {
-      WritableUtils.writeVInt( stream, 1 );
-      WritableUtils.writeString( stream, (String) element );
+      ( (HadoopTupleOutputStream) stream ).writeStringElement( (String) element );
       }
     } );
 
@@ -144,6 +188,12 @@ public class HadoopTupleOutputStream extends TupleOutputStream
     } );
     }
 
+  /** Field normalizedKey is the reusable buffer for {@link #writeNormalizedKey(cascading.tuple.Tuple, int, int)} */
+  private byte[] normalizedKey;
+  /** Field stringDictionary maps each String written so far to its id, if enabled */
+  private Map<String, Integer> stringDictionary;
+  private int maxDictionarySize;
+
   public HadoopTupleOutputStream( OutputStream outputStream, ElementWriter elementWriter )
     {
     super( staticTupleElementWriters, outputStream, elementWriter );
@@ -155,6 +205,266 @@ public class HadoopTupleOutputStream extends TupleOutputStream
     WritableUtils.writeVInt( this, value );
     }
 
+  /**
+   * Method enableStringDictionary writes repeated String elements as the id of their first occurrence on this
+   * stream, up to the given number of distinct values. Strings longer than {@link #MAX_DICTIONARY_STRING_LENGTH},
+   * or seen once the dictionary is full, are written as usual.
+   * <p/>
+   * As ids refer to earlier elements, the stream must be read back in full and in order by a single
+   * {@link HadoopTupleInputStream}, as is the case for spill files, but not for shuffle records.
+   *
+   * @param maxDictionarySize of type int
+   */
+  public void enableStringDictionary( int maxDictionarySize )
+    {
+    this.stringDictionary = new HashMap<String, Integer>();
+    this.maxDictionarySize = maxDictionarySize;
+    }
+
+  private void writeStringElement( String value ) throws IOException
+    {
+    if( stringDictionary == null )
+      {
+      WritableUtils.writeVInt( this, 1 );
+      WritableUtils.writeString( this, value );
+      return;
+      }
+
+    Integer id = stringDictionary.get( value );
+
+    if( id != null )
+      {
+      WritableUtils.writeVInt( this, DICTIONARY_ID_TOKEN );
+      WritableUtils.writeVInt( this, id );
+      }
+    else if( stringDictionary.size() < maxDictionarySize && value.length() <= MAX_DICTIONARY_STRING_LENGTH )
+      {
+      stringDictionary.put( value, stringDictionary.size() );
+      WritableUtils.writeVInt( this, DICTIONARY_ENTRY_TOKEN );
+      WritableUtils.writeString( this, value );
+      }
+    else
+      {
+      WritableUtils.writeVInt( this, 1 );
+      WritableUtils.writeString( this, value );
+      }
+    }
+
+  /**
+   * Method writeTypedTuple writes the given tuple positionally using the given element tokens, without a token in
+   * front of each element. Null elements are recorded in a bit mask following the element count.
+   * <p/>
+   * If tokens is null, or any element does not match its declared type, the tuple is written with element tokens
+   * and read back transparently by {@link HadoopTupleInputStream#readTypedTuple(cascading.tuple.Tuple, int[])}.
+   *
+   * @param tuple  of type Tuple
+   * @param tokens of type int[]
+   * @throws IOException
+   */
+  public void writeTypedTuple( Tuple tuple, int[] tokens ) throws IOException
+    {
+    if( tokens == null )
+      {
+      writeTuple( tuple );
+      return;
+      }
+
+    List<Object> elements = Tuple.elements( tuple );
+
+    if( !matchesTypes( elements, tokens ) )
+      {
+      writeIntInternal( UNTYPED_TUPLE );
+      writeTuple( tuple );
+      return;
+      }
+
+    int size = elements.size();
+
+    writeIntInternal( size );
+
+    for( int i = 0; i < size; i += 8 )
+      {
+      int nulls = 0;
+
+      for( int j = 0; j < 8 && i + j < size; j++ )
+        {
+        if( elements.get( i + j ) == null )
+          nulls |= 1 << j;
+        }
+
+      write( nulls );
+      }
+
+    for( int i = 0; i < size; i++ )
+      {
+      Object element = elements.get( i );
+
+      if( element != null )
+        writeTypedElement( tokens[ i ], element );
+      }
+    }
+
+  private static boolean matchesTypes( List<Object> elements, int[] tokens )
+    {
+    if( elements.size() != tokens.length )
+      return false;
+
+    for( int i = 0; i < tokens.length; i++ )
+      {
+      Object element = elements.get( i );
+
+      if( element != null && element.getClass() != TYPED_CLASSES[ tokens[ i ] ] )
+        return false;
+      }
+
+    return true;
+    }
+
+  private void writeTypedElement( int token, Object element ) throws IOException
+    {
+    switch( token )
+      {
+      case 1:
+        WritableUtils.writeString( this, (String) element );
+        break;
+      case 2:
+        writeFloat( (Float) element );
+        break;
+      case 3:
+        writeDouble( (Double) element );
+        break;
+      case 4:
+        WritableUtils.writeVInt( this, (Integer) element );
+        break;
+      case 5:
+        WritableUtils.writeVLong( this, (Long) element );
+        break;
+      case 6:
+        writeBoolean( (Boolean) element );
+        break;
+      case 7:
+        writeShort( (Short) element );
+        break;
+      default:
+        throw new IllegalArgumentException( "unsupported typed token: " + token );
+      }
+    }
+
+  /**
+   * Method writeNormalizedKey writes a fixed width prefix of the given tuple whose unsigned byte order agrees with
+   * the natural order of the tuple. If two prefixes differ, the tuples compare the same way, if they are equal,
+   * the tuples must be compared in full.
+   * <p/>
+   * The prefix holds the tuple size followed by the first numFields elements, in order, until the prefix is full.
+   * Only native element types are encoded, encoding stops after the first String, null, or other type, as the
+   * elements following it may not be ordered by the bytes that would follow.
+   *
+   * @param tuple     of type Tuple
+   * @param size      of type int
+   * @param numFields of type int
+   * @throws IOException
+   */
+  public void writeNormalizedKey( Tuple tuple, int size, int numFields ) throws IOException
+    {
+    if( normalizedKey == null || normalizedKey.length != size )
+      normalizedKey = new byte[ size ];
+    else
+      Arrays.fill( normalizedKey, (byte) 0 );
+
+    List<Object> elements = Tuple.elements( tuple );
+    int numElements = elements.size();
+
+    normalizedKey[ 0 ] = (byte) Math.min( numElements, 0xFF );
+
+    // larger tuples all share the same size byte, so the elements cannot be ordered after it
+    if( numElements < 0xFF )
+      {
+      int pos = 1;
+
+      for( int i = 0; i < numElements && i < numFields && pos != -1 && pos < size; i++ )
+        pos = normalizeElement( elements.get( i ), normalizedKey, pos );
+      }
+
+    write( normalizedKey, 0, size );
+    }
+
+  /** Returns the position following the encoded element, or -1 if no further elements may be encoded. */
+  private static int normalizeElement( Object element, byte[] bytes, int pos )
+    {
+    if( element == null )
+      return -1; // the remaining zero bytes sort before any value
+
+    Class type = element.getClass();
+
+    if( type == String.class )
+      {
+      normalizeString( (String) element, bytes, pos );
+      return -1;
+      }
+
+    if( type == Long.class )
+      return normalizeBits( (Long) element ^ Long.MIN_VALUE, 8, bytes, pos );
+
+    if( type == Integer.class )
+      return normalizeBits( (Integer) element ^ Integer.MIN_VALUE, 4, bytes, pos );
+
+    if( type == Short.class )
+      return normalizeBits( (Short) element ^ Short.MIN_VALUE, 2, bytes, pos );
+
+    if( type == Boolean.class )
+      return normalizeBits( (Boolean) element ? 1 : 0, 1, bytes, pos );
+
+    if( type == Double.class )
+      {
+      long bits = Double.doubleToLongBits( (Double) element );
+
+      return normalizeBits( bits < 0 ? ~bits : bits ^ Long.MIN_VALUE, 8, bytes, pos );
+      }
+
+    if( type == Float.class )
+      {
+      int bits = Float.floatToIntBits( (Float) element );
+
+      return normalizeBits( bits < 0 ? ~bits : bits ^ Integer.MIN_VALUE, 4, bytes, pos );
+      }
+
+    return -1;
+    }
+
+  /** Writes the given number of low order bytes of value, most significant first, truncated to the buffer. */
+  private static int normalizeBits( long value, int width, byte[] bytes, int pos )
+    {
+    for( int i = width - 1; i >= 0 && pos < bytes.length; i-- )
+      bytes[ pos++ ] = (byte) ( value >>> ( i * 8 ) );
+
+    return pos;
+    }
+
+  /**
+   * Each UTF-16 code unit is written individually as UTF-8 would write it, so byte order follows
+   * {@link String#compareTo(String)}, including for supplementary characters.
+   */
+  private static void normalizeString( String value, byte[] bytes, int pos )
+    {
+    for( int i = 0; i < value.length() && pos < bytes.length; i++ )
+      {
+      char c = value.charAt( i );
+
+      if( c < 0x80 )
+        {
+        bytes[ pos++ ] = (byte) c;
+        }
+      else if( c < 0x800 )
+        {
+        pos = normalizeBits( 0xC080 | ( ( c & 0x7C0 ) << 2 ) | ( c & 0x3F ), 2, bytes, pos );
+        }
+      else
+        {
+        pos = normalizeBits( 0xE08080 | ( ( c & 0xF000 ) << 4 ) | ( ( c & 0xFC0 ) << 2 ) | ( c & 0x3F ), 3, bytes, pos );
+        }
+      }
+    }
+
   public void writeIndexTuple( IndexTuple indexTuple ) throws IOException
     {
     writeIntInternal( indexTuple.getIndex() );
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.tuple.hadoop.io;
+
+import java.io.IOException;
+
+import cascading.tuple.Tuple;
+import cascading.tuple.hadoop.TupleSerialization;
+
+public class TypedTupleDeserializer extends BaseDeserializer<Tuple>
+  {
+  private final int[] tokens;
+
+  public TypedTupleDeserializer( TupleSerialization.SerializationElementReader elementReader, int[] tokens )
+    {
+    super( elementReader );
+    this.tokens = tokens;
+    }
+
+  public Tuple deserialize( Tuple tuple ) throws IOException
+    {
+    // always read into a plain Tuple, the marker classes are only written
+    if( tuple == null || tuple.getClass() != Tuple.class )
+      tuple = new Tuple();
+
+    return ( (HadoopTupleInputStream) inputStream ).readTypedTuple( tuple, tokens );
+    }
+  }
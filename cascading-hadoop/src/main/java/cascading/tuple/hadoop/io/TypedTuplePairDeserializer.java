@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.tuple.hadoop.io;
+
+import java.io.IOException;
+
+import cascading.tuple.hadoop.TupleSerialization;
+import cascading.tuple.io.TuplePair;
+
+public class TypedTuplePairDeserializer extends BaseDeserializer<TuplePair>
+  {
+  private final int[] lhsTokens;
+  private final int[] rhsTokens;
+  private final byte[] normalizedKey;
+
+  public TypedTuplePairDeserializer( TupleSerialization.SerializationElementReader elementReader, int[] lhsTokens, int[] rhsTokens )
+    {
+    this( elementReader, lhsTokens, rhsTokens, 0 );
+    }
+
+  public TypedTuplePairDeserializer( TupleSerialization.SerializationElementReader elementReader, int[] lhsTokens, int[] rhsTokens, int normalizedKeySize )
+    {
+    super( elementReader );
+    this.lhsTokens = lhsTokens;
+    this.rhsTokens = rhsTokens;
+    this.normalizedKey = new byte[ normalizedKeySize ];
+    }
+
+  public TuplePair deserialize( TuplePair tuplePair ) throws IOException
+    {
+    if( tuplePair == null )
+      tuplePair = new TuplePair();
+
+    HadoopTupleInputStream stream = (HadoopTupleInputStream) inputStream;
+
+    stream.readFully( normalizedKey ); // only used for sorting
+
+    stream.readTypedTuple( tuplePair.getLhs(), lhsTokens ); // guaranteed to not be null
+    stream.readTypedTuple( tuplePair.getRhs(), rhsTokens ); // guaranteed to not be null
+
+    return tuplePair;
+    }
+  }
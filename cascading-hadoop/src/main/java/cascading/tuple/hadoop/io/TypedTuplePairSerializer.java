@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.tuple.hadoop.io;
+
+import java.io.IOException;
+
+import cascading.tuple.hadoop.TupleSerialization;
+import cascading.tuple.io.TuplePair;
+
+public class TypedTuplePairSerializer extends BaseSerializer<TuplePair>
+  {
+  private final int[] lhsTokens;
+  private final int[] rhsTokens;
+  private final int normalizedKeySize;
+  private final int normalizedKeyFields;
+
+  public TypedTuplePairSerializer( TupleSerialization.SerializationElementWriter elementWriter, int[] lhsTokens, int[] rhsTokens )
+    {
+    this( elementWriter, lhsTokens, rhsTokens, 0, 0 );
+    }
+
+  public TypedTuplePairSerializer( TupleSerialization.SerializationElementWriter elementWriter, int[] lhsTokens, int[] rhsTokens, int normalizedKeySize, int normalizedKeyFields )
+    {
+    super( elementWriter );
+    this.lhsTokens = lhsTokens;
+    this.rhsTokens = rhsTokens;
+    this.normalizedKeySize = normalizedKeySize;
+    this.normalizedKeyFields = normalizedKeyFields;
+    }
+
+  public void serialize( TuplePair tuplePair ) throws IOException
+    {
+    HadoopTupleOutputStream stream = (HadoopTupleOutputStream) outputStream;
+
+    if( normalizedKeySize != 0 )
+      stream.writeNormalizedKey( tuplePair.getLhs(), normalizedKeySize, normalizedKeyFields );
+
+    stream.writeTypedTuple( tuplePair.getLhs(), lhsTokens );
+    stream.writeTypedTuple( tuplePair.getRhs(), rhsTokens );
+    }
+  }
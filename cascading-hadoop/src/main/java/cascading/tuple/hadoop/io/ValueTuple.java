@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.tuple.hadoop.io;
+
+import java.util.List;
+
+import cascading.tuple.Tuple;
+
+/**
+ * Class ValueTuple marks the values of a {@link cascading.pipe.GroupBy} written to the shuffle when typed
+ * shuffle serialization is enabled, so they may be serialized positionally by their declared types.
+ * <p/>
+ * ValueTuple instances are only written, they are read back as plain {@link Tuple} instances.
+ *
+ * @see cascading.tuple.hadoop.TupleSerializationProps#SHUFFLE_TYPES
+ */
+public class ValueTuple extends Tuple
+  {
+  public ValueTuple()
+    {
+    super( (List<Object>) null );
+    }
+
+  /**
+   * Method reset makes this instance a view of the given tuple.
+   *
+   * @param tuple of type Tuple
+   * @return ValueTuple
+   */
+  public ValueTuple reset( Tuple tuple )
+    {
+    this.elements = Tuple.elements( tuple );
+
+    return this;
+    }
+  }
@@ -86,6 +86,10 @@ public class DelegatingTupleElementComparator implements StreamComparator<TupleI
       if( foundComparator == null )
         foundComparator = tupleSerialization.getDefaultComparator();
 
+      // natural ordering, compare on the serialized bytes
+      if( foundComparator == null )
+        return new RawTupleElementComparator();
+
       if( foundComparator instanceof StreamComparator )
         return new TupleElementStreamComparator( (StreamComparator) foundComparator );
       else
@@ -34,6 +34,7 @@ import cascading.tuple.hadoop.io.HadoopTupleInputStream;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.conf.Configured;
 import org.apache.hadoop.io.RawComparator;
+import org.apache.hadoop.io.WritableComparator;
 
 /** Class DeserializerComparator is the base class for all Cascading comparator classes. */
 public abstract class DeserializerComparator<T> extends Configured implements RawComparator<T>
@@ -47,6 +48,8 @@ public abstract class DeserializerComparator<T> extends Configured implements Ra
   HadoopTupleInputStream rhsStream;
 
   Comparator[] groupComparators;
+  int[] groupTokens;
+  int normalizedKeySize;
 
   @Override
   public void setConf( Configuration conf )
@@ -64,6 +67,8 @@ public abstract class DeserializerComparator<T> extends Configured implements Ra
 
     groupComparators = deserializeComparatorsFor( "cascading.group.comparator" );
     groupComparators = delegatingComparatorsFor( groupComparators );
+    groupTokens = TupleSerialization.getShuffleTokens( conf, TupleSerialization.SHUFFLE_GROUP_TOKENS );
+    normalizedKeySize = TupleSerialization.getNormalizedKeySize( conf );
     }
 
   Comparator[] deserializeComparatorsFor( String name )
@@ -142,8 +147,37 @@ public abstract class DeserializerComparator<T> extends Configured implements Ra
     return 0;
     }
 
+  /**
+   * Compares the normalized key prefixes written ahead of {@link cascading.tuple.io.TuplePair} keys, if any. If they
+   * are equal, both buffers are positioned after the prefix so the tuples may be compared in full.
+   */
+  final int compareNormalizedKeys()
+    {
+    if( normalizedKeySize == 0 )
+      return 0;
+
+    int c = WritableComparator.compareBytes( lhsBuffer.getBuffer(), lhsBuffer.getPosition(), normalizedKeySize, rhsBuffer.getBuffer(), rhsBuffer.getPosition(), normalizedKeySize );
+
+    if( c != 0 )
+      return c;
+
+    lhsBuffer.skip( normalizedKeySize );
+    rhsBuffer.skip( normalizedKeySize );
+
+    return 0;
+    }
+
   final int compareTuples( Comparator[] comparators ) throws IOException
     {
+    return compareTuples( comparators, null );
+    }
+
+  final int compareTuples( Comparator[] comparators, int[] tokens ) throws IOException
+    {
+    // tuples written with declared types carry no element tokens, a null value is ignored
+    lhsStream.expectTypedTuple( tokens );
+    rhsStream.expectTypedTuple( tokens );
+
     int lhsLen = lhsStream.getNumElements();
     int rhsLen = rhsStream.getNumElements();
 
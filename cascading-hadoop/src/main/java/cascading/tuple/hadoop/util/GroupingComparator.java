@@ -35,8 +35,13 @@ public class GroupingComparator extends DeserializerComparator<TuplePair>
       lhsBuffer.reset( b1, s1, l1 );
       rhsBuffer.reset( b2, s2, l2 );
 
+      int c = compareNormalizedKeys();
+
+      if( c != 0 )
+        return c;
+
       // only compare the first tuple in the pair
-      return compareTuples( groupComparators );
+      return compareTuples( groupComparators, groupTokens );
       }
     catch( IOException exception )
       {
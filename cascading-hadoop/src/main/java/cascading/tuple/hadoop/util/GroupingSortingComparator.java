@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.util.Comparator;
 
 import cascading.CascadingException;
+import cascading.tuple.hadoop.TupleSerialization;
 import cascading.tuple.io.TuplePair;
 import org.apache.hadoop.conf.Configuration;
 
@@ -31,6 +32,7 @@ import org.apache.hadoop.conf.Configuration;
 public class GroupingSortingComparator extends DeserializerComparator<TuplePair>
   {
   Comparator[] sortComparators;
+  int[] sortTokens;
 
   @Override
   public void setConf( Configuration conf )
@@ -42,6 +44,7 @@ public class GroupingSortingComparator extends DeserializerComparator<TuplePair>
 
     sortComparators = deserializeComparatorsFor( "cascading.sort.comparator" );
     sortComparators = delegatingComparatorsFor( sortComparators );
+    sortTokens = TupleSerialization.getShuffleTokens( conf, TupleSerialization.SHUFFLE_SORT_TOKENS );
     }
 
   public int compare( byte[] b1, int s1, int l1, byte[] b2, int s2, int l2 )
@@ -51,12 +54,17 @@ public class GroupingSortingComparator extends DeserializerComparator<TuplePair>
       lhsBuffer.reset( b1, s1, l1 );
       rhsBuffer.reset( b2, s2, l2 );
 
-      int c = compareTuples( groupComparators );
+      int c = compareNormalizedKeys();
 
       if( c != 0 )
         return c;
 
-      return compareTuples( sortComparators );
+      c = compareTuples( groupComparators, groupTokens );
+
+      if( c != 0 )
+        return c;
+
+      return compareTuples( sortComparators, sortTokens );
       }
     catch( IOException exception )
       {
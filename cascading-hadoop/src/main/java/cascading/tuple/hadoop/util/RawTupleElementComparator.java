@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.tuple.hadoop.util;
+
+import java.io.IOException;
+import java.util.Comparator;
+
+import cascading.CascadingException;
+import cascading.tuple.StreamComparator;
+import cascading.tuple.hadoop.io.BufferedInputStream;
+import cascading.tuple.hadoop.io.HadoopTupleInputStream;
+import org.apache.hadoop.io.WritableComparator;
+import org.apache.hadoop.io.WritableUtils;
+
+/**
+ * Class RawTupleElementComparator compares elements in their natural order directly on the serialized bytes,
+ * without creating element instances.
+ * <p/>
+ * Strings, floats, doubles, integers, longs, booleans, shorts, and nested tuples of these are compared in place. Any
+ * other element type is read from the stream and compared as an object.
+ * <p/>
+ * The streams must be backed by a {@link BufferedInputStream}, as they are within {@link DeserializerComparator}
+ * sub-classes, otherwise all elements are compared as objects.
+ */
+public class RawTupleElementComparator implements StreamComparator<HadoopTupleInputStream>, Comparator<Object>
+  {
+  private final TupleElementComparator comparator = new TupleElementComparator();
+
+  @Override
+  public int compare( Object lhs, Object rhs )
+    {
+    return comparator.compare( lhs, rhs );
+    }
+
+  @Override
+  public int compare( HadoopTupleInputStream lhsStream, HadoopTupleInputStream rhsStream )
+    {
+    if( !( lhsStream.getInputStream() instanceof BufferedInputStream ) || !( rhsStream.getInputStream() instanceof BufferedInputStream ) )
+      return comparator.compare( lhsStream, rhsStream );
+
+    try
+      {
+      return compareElements( lhsStream, rhsStream );
+      }
+    catch( IOException exception )
+      {
+      throw new CascadingException( "unable to read element from underlying stream", exception );
+      }
+    }
+
+  /**
+   * Compares the next element of each stream. When the result is not zero, the streams are left mid element, as the
+   * remainder of the tuples being compared will not be read.
+   */
+  private int compareElements( HadoopTupleInputStream lhsStream, HadoopTupleInputStream rhsStream ) throws IOException
+    {
+    int lhsToken = lhsStream.readToken();
+    int rhsToken = rhsStream.readToken();
+
+    if( lhsToken == 0 || rhsToken == 0 )
+      return lhsToken == rhsToken ? 0 : lhsToken == 0 ? -1 : 1;
+
+    if( lhsToken > 8 || rhsToken > 8 )
+      return compareObjects( lhsStream.readElement( lhsToken ), rhsStream.readElement( rhsToken ) );
+
+    if( lhsToken != rhsToken )
+      throw new CascadingException( "unable to compare Tuples, likely a CoGroup is being attempted on fields of " +
+        "different types or custom comparators are incorrectly set on Fields, lhs token: " + lhsToken + " rhs token: " + rhsToken );
+
+    BufferedInputStream lhsBuffer = (BufferedInputStream) lhsStream.getInputStream();
+    BufferedInputStream rhsBuffer = (BufferedInputStream) rhsStream.getInputStream();
+
+    byte[] lhsBytes = lhsBuffer.getBuffer();
+    byte[] rhsBytes = rhsBuffer.getBuffer();
+    int lhsPos = lhsBuffer.getPosition();
+    int rhsPos = rhsBuffer.getPosition();
+
+    int c;
+    int lhsLength;
+    int rhsLength;
+
+    switch( lhsToken )
+      {
+      case 1:
+        lhsLength = WritableComparator.readInt( lhsBytes, lhsPos );
+        rhsLength = WritableComparator.readInt( rhsBytes, rhsPos );
+        c = compareUTF8( lhsBytes, lhsPos + 4, lhsLength, rhsBytes, rhsPos + 4, rhsLength );
+        lhsLength += 4;
+        rhsLength += 4;
+        break;
+      case 2:
+        c = Float.compare( WritableComparator.readFloat( lhsBytes, lhsPos ), WritableComparator.readFloat( rhsBytes, rhsPos ) );
+        lhsLength = rhsLength = 4;
+        break;
+      case 3:
+        c = Double.compare( WritableComparator.readDouble( lhsBytes, lhsPos ), WritableComparator.readDouble( rhsBytes, rhsPos ) );
+        lhsLength = rhsLength = 8;
+        break;
+      case 4:
+      case 5:
+        long lhsValue = WritableComparator.readVLong( lhsBytes, lhsPos );
+        long rhsValue = WritableComparator.readVLong( rhsBytes, rhsPos );
+        c = lhsValue < rhsValue ? -1 : lhsValue == rhsValue ? 0 : 1;
+        lhsLength = WritableUtils.decodeVIntSize( lhsBytes[ lhsPos ] );
+        rhsLength = WritableUtils.decodeVIntSize( rhsBytes[ rhsPos ] );
+        break;
+      case 6:
+        c = lhsBytes[ lhsPos ] - rhsBytes[ rhsPos ];
+        lhsLength = rhsLength = 1;
+        break;
+      case 7:
+        c = (short) ( ( lhsBytes[ lhsPos ] << 8 ) | ( lhsBytes[ lhsPos + 1 ] & 0xFF ) ) - (short) ( ( rhsBytes[ rhsPos ] << 8 ) | ( rhsBytes[ rhsPos + 1 ] & 0xFF ) );
+        lhsLength = rhsLength = 2;
+        break;
+      default:
+        return compareTuples( lhsStream, rhsStream );
+      }
+
+    if( c != 0 )
+      return c;
+
+    lhsBuffer.skip( lhsLength );
+    rhsBuffer.skip( rhsLength );
+
+    return 0;
+    }
+
+  private int compareTuples( HadoopTupleInputStream lhsStream, HadoopTupleInputStream rhsStream ) throws IOException
+    {
+    int lhsSize = lhsStream.getNumElements();
+    int rhsSize = rhsStream.getNumElements();
+
+    if( lhsSize != rhsSize )
+      return lhsSize - rhsSize;
+
+    for( int i = 0; i < lhsSize; i++ )
+      {
+      int c = compareElements( lhsStream, rhsStream );
+
+      if( c != 0 )
+        return c;
+      }
+
+    return 0;
+    }
+
+  private int compareObjects( Object lhs, Object rhs )
+    {
+    try
+      {
+      return comparator.compare( lhs, rhs );
+      }
+    catch( Exception exception )
+      {
+      throw new CascadingException( "unable to compare Tuples, likely a CoGroup is being attempted on fields of " +
+        "different types or custom comparators are incorrectly set on Fields, lhs: '" + lhs + "' rhs: '" + rhs + "'", exception );
+      }
+    }
+
+  /**
+   * Compares two UTF-8 encoded strings in the order of {@link String#compareTo(String)}, that is by UTF-16 code
+   * unit, which differs from code point order for supplementary characters.
+   */
+  static int compareUTF8( byte[] lhs, int lhsStart, int lhsLength, byte[] rhs, int rhsStart, int rhsLength )
+    {
+    int lhsPos = lhsStart;
+    int rhsPos = rhsStart;
+    int lhsEnd = lhsStart + lhsLength;
+    int rhsEnd = rhsStart + rhsLength;
+
+    while( lhsPos < lhsEnd && rhsPos < rhsEnd )
+      {
+      int lhsByte = lhs[ lhsPos ] & 0xFF;
+      int rhsByte = rhs[ rhsPos ] & 0xFF;
+
+      if( lhsByte < 0x80 && rhsByte < 0x80 )
+        {
+        if( lhsByte != rhsByte )
+          return lhsByte - rhsByte;
+
+        lhsPos++;
+        rhsPos++;
+        continue;
+        }
+
+      int lhsCodePoint = decodeUTF8( lhs, lhsPos );
+      int rhsCodePoint = decodeUTF8( rhs, rhsPos );
+
+      if( lhsCodePoint != rhsCodePoint )
+        {
+        int lhsChar = lhsCodePoint < 0x10000 ? lhsCodePoint : highSurrogate( lhsCodePoint );
+        int rhsChar = rhsCodePoint < 0x10000 ? rhsCodePoint : highSurrogate( rhsCodePoint );
+
+        if( lhsChar != rhsChar )
+          return lhsChar - rhsChar;
+
+        return lowSurrogate( lhsCodePoint ) - lowSurrogate( rhsCodePoint ); // both are supplementary
+        }
+
+      lhsPos += sizeOfUTF8( lhsByte );
+      rhsPos += sizeOfUTF8( rhsByte );
+      }
+
+    return ( lhsEnd - lhsPos ) - ( rhsEnd - rhsPos );
+    }
+
+  private static int sizeOfUTF8( int leadByte )
+    {
+    if( leadByte < 0x80 )
+      return 1;
+    else if( leadByte < 0xE0 )
+      return 2;
+    else if( leadByte < 0xF0 )
+      return 3;
+    else
+      return 4;
+    }
+
+  private static int decodeUTF8( byte[] bytes, int pos )
+    {
+    int leadByte = bytes[ pos ] & 0xFF;
+
+    switch( sizeOfUTF8( leadByte ) )
+      {
+      case 1:
+        return leadByte;
+      case 2:
+        return ( ( leadByte & 0x1F ) << 6 ) | ( bytes[ pos + 1 ] & 0x3F );
+      case 3:
+        return ( ( leadByte & 0x0F ) << 12 ) | ( ( bytes[ pos + 1 ] & 0x3F ) << 6 ) | ( bytes[ pos + 2 ] & 0x3F );
+      default:
+        return ( ( leadByte & 0x07 ) << 18 ) | ( ( bytes[ pos + 1 ] & 0x3F ) << 12 ) | ( ( bytes[ pos + 2 ] & 0x3F ) << 6 ) | ( bytes[ pos + 3 ] & 0x3F );
+      }
+    }
+
+  private static int highSurrogate( int codePoint )
+    {
+    return ( ( codePoint - 0x10000 ) >>> 10 ) + 0xD800;
+    }
+
+  private static int lowSurrogate( int codePoint )
+    {
+    return ( ( codePoint - 0x10000 ) & 0x3FF ) + 0xDC00;
+    }
+  }
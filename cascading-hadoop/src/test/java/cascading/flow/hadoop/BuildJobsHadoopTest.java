@@ -22,10 +22,12 @@ package cascading.flow.hadoop;
 
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 
 import cascading.CascadingTestCase;
 import cascading.TestBuffer;
@@ -340,6 +342,54 @@ public class BuildJobsHadoopTest extends CascadingTestCase
     assertEquals( "not equal: steps.size()", 2, steps.size() );
     }
 
+  @Test
+  public void testSplitShareSourceScans()
+    {
+    Tap source = new Hfs( new TextLine( new Fields( "offset", "line" ) ), "foo" );
+    Tap sink1 = new Hfs( new TextLine(), "foo/split1", true );
+    Tap sink2 = new Hfs( new TextLine(), "foo/split2", true );
+    Tap sink3 = new Hfs( new TextLine(), "foo/split3", true );
+
+    Pipe pipe = new Pipe( "split" );
+
+    pipe = new Each( pipe, new Fields( "line" ), new RegexFilter( "^68.*" ) );
+
+    Pipe left = new Each( new Pipe( "left", pipe ), new Fields( "line" ), new RegexFilter( ".*46.*" ) );
+    Pipe right = new Each( new Pipe( "right", pipe ), new Fields( "line" ), new RegexFilter( ".*192.*" ) );
+    Pipe grouped = new GroupBy( new Pipe( "grouped", pipe ), new Fields( "line" ) );
+
+    Map sources = new HashMap();
+    sources.put( "split", source );
+
+    Map sinks = new HashMap();
+    sinks.put( "left", sink1 );
+    sinks.put( "right", sink2 );
+    sinks.put( "grouped", sink3 );
+
+    Map<Object, Object> properties = new HashMap<Object, Object>();
+
+    FlowConnectorProps.setShareSourceScans( properties, true );
+
+    Flow flow = new HadoopFlowConnector( properties ).connect( sources, sinks, left, right, grouped );
+
+    List<FlowStep> steps = flow.getFlowSteps();
+
+    assertEquals( "not equal: steps.size()", 2, steps.size() );
+
+    HadoopFlowStep shared = null;
+
+    for( FlowStep step : steps )
+      {
+      if( step.getGroup() == null )
+        shared = (HadoopFlowStep) step;
+      }
+
+    assertNotNull( shared );
+    assertEquals( 2, shared.getSinks().size() );
+    assertEquals( 1, shared.getSideSinks().size() );
+    assertFalse( shared.getSideSinks().contains( shared.getSink() ) );
+    }
+
   /** this test verifies that the planner recognizes there are fewer tails than sinks. */
   @Test
   public void testSplitHangingTails()
@@ -567,6 +617,57 @@ public class BuildJobsHadoopTest extends CascadingTestCase
     assertTrue( "not a TempHfs", operator instanceof TempHfs );
     }
 
+  @Test
+  public void testCommonSubAssemblies()
+    {
+    assertEquals( "wrong num eaches", 2, countEaches( commonSubAssembliesFlow( false ) ) );
+    assertEquals( "wrong num eaches", 1, countEaches( commonSubAssembliesFlow( true ) ) );
+    }
+
+  private Flow commonSubAssembliesFlow( boolean eliminate )
+    {
+    Tap source = new Hfs( new TextLine( new Fields( "offset", "line" ) ), "foo" );
+    Tap sink1 = new Hfs( new TextLine(), "foo/split1", true );
+    Tap sink2 = new Hfs( new TextLine(), "foo/split2", true );
+
+    Pipe pipe = new Pipe( "split" );
+
+    Pipe left = new Each( new Pipe( "left", pipe ), new Fields( "line" ), new RegexParser( new Fields( "ip" ), "^[^ ]*" ), new Fields( "ip" ) );
+    left = new GroupBy( left, new Fields( "ip" ) );
+
+    Pipe right = new Each( new Pipe( "right", pipe ), new Fields( "line" ), new RegexParser( new Fields( "ip" ), "^[^ ]*" ), new Fields( "ip" ) );
+    right = new GroupBy( right, new Fields( "ip" ) );
+
+    Map sources = new HashMap();
+    sources.put( "split", source );
+
+    Map sinks = new HashMap();
+    sinks.put( "left", sink1 );
+    sinks.put( "right", sink2 );
+
+    Map<Object, Object> properties = new HashMap<Object, Object>();
+
+    FlowConnectorProps.setEliminateCommonSubAssemblies( properties, eliminate );
+
+    return new HadoopFlowConnector( properties ).connect( sources, sinks, left, right );
+    }
+
+  private int countEaches( Flow flow )
+    {
+    Set<FlowElement> eaches = new HashSet<FlowElement>();
+
+    for( Object step : flow.getFlowSteps() )
+      {
+      for( FlowElement flowElement : ( (BaseFlowStep) step ).getGraph().vertexSet() )
+        {
+        if( flowElement instanceof Each )
+          eaches.add( flowElement );
+        }
+      }
+
+    return eaches.size();
+    }
+
   @Test
   public void testMerge()
     {
@@ -20,6 +20,7 @@
 
 package cascading.flow.hadoop;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -32,35 +33,48 @@ import java.util.concurrent.TimeUnit;
 import cascading.PlatformTestCase;
 import cascading.flow.FailingFlowListener;
 import cascading.flow.Flow;
+import cascading.flow.FlowElement;
 import cascading.flow.FlowProcess;
 import cascading.flow.FlowStep;
 import cascading.flow.Flows;
 import cascading.flow.LockingFlowListener;
 import cascading.flow.hadoop.planner.HadoopFlowStepJob;
 import cascading.flow.hadoop.planner.HadoopPlanner;
+import cascading.flow.planner.BaseFlowStep;
 import cascading.flow.planner.FlowStepJob;
 import cascading.operation.BaseOperation;
 import cascading.operation.Debug;
 import cascading.operation.Filter;
 import cascading.operation.FilterCall;
 import cascading.operation.Function;
+import cascading.operation.aggregator.Count;
+import cascading.operation.aggregator.Max;
+import cascading.operation.aggregator.Min;
+import cascading.operation.aggregator.Sum;
+import cascading.operation.expression.ExpressionFunction;
 import cascading.operation.regex.RegexSplitter;
 import cascading.pipe.CoGroup;
 import cascading.pipe.Each;
+import cascading.pipe.Every;
 import cascading.pipe.GroupBy;
 import cascading.pipe.Pipe;
+import cascading.pipe.assembly.AggregateBy;
 import cascading.platform.hadoop.HadoopPlatform;
 import cascading.property.AppProps;
+import cascading.scheme.hadoop.SequenceFile;
 import cascading.scheme.hadoop.TextLine;
 import cascading.tap.SinkMode;
 import cascading.tap.Tap;
 import cascading.tap.hadoop.Hfs;
 import cascading.tap.hadoop.Lfs;
 import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+import cascading.tuple.TupleEntryIterator;
 import org.apache.hadoop.mapred.JobConf;
 import org.junit.Test;
 
 import static data.InputData.inputFileLower;
+import static data.InputData.inputFileNums20;
 import static data.InputData.inputFileUpper;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
 
@@ -463,4 +477,58 @@ public class FlowPlatformTest extends PlatformTestCase
     assertEquals( "testname", flow.getProperty( AppProps.APP_NAME ) );
     assertEquals( "1.2.3", flow.getProperty( AppProps.APP_VERSION ) );
     }
+
+  @Test
+  public void testCombineAggregators() throws Exception
+    {
+    getPlatform().copyFromLocal( inputFileNums20 );
+
+    List<Tuple> expected = runCombineAggregators( false );
+    List<Tuple> results = runCombineAggregators( true );
+
+    assertEquals( 2, results.size() );
+    assertEquals( new Tuple( 0, 10L, 110L, "20", "2" ), results.get( 0 ) );
+    assertEquals( new Tuple( 1, 10L, 100L, "19", "1" ), results.get( 1 ) );
+    assertEquals( expected, results );
+    }
+
+  private List<Tuple> runCombineAggregators( boolean combine ) throws Exception
+    {
+    Tap source = new Hfs( new TextLine( new Fields( "offset", "line" ) ), inputFileNums20 );
+    Tap sink = new Hfs( new SequenceFile( new Fields( "parity", "count", "sum", "max", "min" ) ), getOutputPath( "combine" + combine ), SinkMode.REPLACE );
+
+    Pipe pipe = new Pipe( "nums" );
+
+    pipe = new Each( pipe, new Fields( "line" ), new ExpressionFunction( new Fields( "parity" ), "Integer.parseInt( $0 ) % 2", String.class ), Fields.ALL );
+    pipe = new GroupBy( pipe, new Fields( "parity" ) );
+    pipe = new Every( pipe, new Fields( "line" ), new Count( new Fields( "count" ) ) );
+    pipe = new Every( pipe, new Fields( "line" ), new Sum( new Fields( "sum" ), long.class ) );
+    pipe = new Every( pipe, new Fields( "line" ), new Max( new Fields( "max" ) ) );
+    pipe = new Every( pipe, new Fields( "line" ), new Min( new Fields( "min" ) ) );
+
+    Map<Object, Object> properties = getProperties();
+
+    HadoopPlanner.setCombineAggregators( properties, combine );
+
+    Flow flow = new HadoopFlowConnector( properties ).connect( source, sink, pipe );
+
+    boolean found = false;
+
+    for( FlowElement element : ( (BaseFlowStep) flow.getFlowSteps().get( 0 ) ).getGraph().vertexSet() )
+      found |= element instanceof Each && ( (Each) element ).getOperation() instanceof AggregateBy.CompositeFunction;
+
+    assertEquals( "partial aggregation", combine, found );
+
+    flow.complete();
+
+    List<Tuple> results = new ArrayList<Tuple>();
+    TupleEntryIterator iterator = flow.openSink();
+
+    while( iterator.hasNext() )
+      results.add( iterator.next().getTupleCopy() );
+
+    iterator.close();
+
+    return results;
+    }
   }
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.flow.hadoop;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+import cascading.tuple.collect.SpillableProps;
+import cascading.tuple.io.IndexTuple;
+import org.apache.hadoop.mapred.JobConf;
+
+/**
+ * Class HadoopCoGroupClosureBenchmark measures the add, iterate, and spill throughput of the
+ * {@link cascading.tuple.collect.SpillableTupleList} instances backing a {@link HadoopCoGroupClosure} on a
+ * CoGroup heavy workload, a two way join where every right hand side group is re-iterated for each left hand value.
+ * Spilling runs are measured with both synchronous and asynchronous spill writing.
+ * <p/>
+ * This is not run as part of the test suite. To run:
+ * {@code java cascading.flow.hadoop.HadoopCoGroupClosureBenchmark [numGroups] [groupSize] [passes]}
+ */
+public class HadoopCoGroupClosureBenchmark
+  {
+  public static void main( String[] args )
+    {
+    int numGroups = args.length > 0 ? Integer.parseInt( args[ 0 ] ) : 1000;
+    int groupSize = args.length > 1 ? Integer.parseInt( args[ 1 ] ) : 10 * 1000;
+    int passes = args.length > 2 ? Integer.parseInt( args[ 2 ] ) : 3;
+
+    int[] thresholds = new int[]{Integer.MAX_VALUE, groupSize / 4};
+
+    for( int threshold : thresholds )
+      run( numGroups, groupSize, passes, threshold, false ); // warm up
+
+    for( int threshold : thresholds )
+      {
+      for( boolean async : new boolean[]{false, true} )
+        {
+        if( async && threshold == Integer.MAX_VALUE )
+          continue;
+
+        long duration = run( numGroups, groupSize, passes, threshold, async );
+        long tuples = (long) numGroups * groupSize;
+
+        System.out.printf( "threshold: %10d, async: %5s, duration: %6d ms, tuples added/sec: %10.0f, tuples read/sec: %10.0f%n",
+          threshold, async, duration, tuples * 1000.0 / Math.max( 1, duration ), tuples * passes * 1000.0 / Math.max( 1, duration ) );
+        }
+      }
+    }
+
+  private static long run( int numGroups, int groupSize, int passes, int threshold, boolean async )
+    {
+    JobConf jobConf = new JobConf();
+
+    jobConf.set( SpillableProps.LIST_THRESHOLD, Integer.toString( threshold ) );
+    jobConf.set( SpillableProps.SPILL_ASYNC, Boolean.toString( async ) );
+    jobConf.set( SpillableProps.SPILL_COMPRESS, "false" );
+
+    HadoopFlowProcess flowProcess = new HadoopFlowProcess( jobConf );
+    Fields[] groupingFields = new Fields[]{new Fields( "k" ), new Fields( "k" )};
+    Fields[] valueFields = new Fields[]{new Fields( "k", "v" ), new Fields( "k", "v" )};
+
+    HadoopCoGroupClosure closure = new HadoopCoGroupClosure( flowProcess, 0, groupingFields, valueFields );
+
+    List<IndexTuple> values = new ArrayList<IndexTuple>( groupSize + 1 );
+
+    for( int i = 0; i < groupSize; i++ )
+      values.add( new IndexTuple( 1, new Tuple( 0, "right value " + i ) ) );
+
+    values.add( new IndexTuple( 0, new Tuple( 0, "left value" ) ) );
+
+    long count = 0;
+    long start = System.currentTimeMillis();
+
+    for( int group = 0; group < numGroups; group++ )
+      {
+      closure.reset( new Tuple( group ), values.iterator() );
+
+      for( int pass = 0; pass < passes; pass++ )
+        {
+        Iterator<Tuple> iterator = closure.getIterator( 1 );
+
+        while( iterator.hasNext() )
+          count += iterator.next().size();
+        }
+      }
+
+    long duration = System.currentTimeMillis() - start;
+
+    if( count != (long) numGroups * groupSize * passes * 2 )
+      throw new IllegalStateException( "wrong number of values read: " + count );
+
+    return duration;
+    }
+  }
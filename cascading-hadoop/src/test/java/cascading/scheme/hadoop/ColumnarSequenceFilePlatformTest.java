@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.scheme.hadoop;
+
+import java.util.Map;
+
+import cascading.PlatformTestCase;
+import cascading.flow.Flow;
+import cascading.flow.FlowConnectorProps;
+import cascading.flow.hadoop.HadoopFlowConnector;
+import cascading.operation.aggregator.Count;
+import cascading.operation.expression.ExpressionFunction;
+import cascading.operation.regex.RegexFilter;
+import cascading.pipe.Each;
+import cascading.pipe.Every;
+import cascading.pipe.GroupBy;
+import cascading.pipe.Pipe;
+import cascading.tap.SinkMode;
+import cascading.tap.Tap;
+import cascading.tap.hadoop.Hfs;
+import cascading.tuple.Fields;
+import cascading.tuple.TupleEntry;
+import cascading.tuple.TupleEntryIterator;
+import org.junit.Test;
+
+import static data.InputData.inputFileApache;
+
+public class ColumnarSequenceFilePlatformTest extends PlatformTestCase
+  {
+  public ColumnarSequenceFilePlatformTest()
+    {
+    super( true );
+    }
+
+  private Pipe createColumnsPipe()
+    {
+    Pipe pipe = new Pipe( "columns" );
+
+    pipe = new Each( pipe, new Fields( "line" ), new ExpressionFunction( new Fields( "post" ), "$0.indexOf( \"POST\" ) != -1 ? \"post\" : \"other\"", String.class ), Fields.ALL );
+    pipe = new Each( pipe, new Fields( "line" ), new ExpressionFunction( new Fields( "length" ), "$0.length()", String.class ), Fields.ALL );
+
+    return pipe;
+    }
+
+  @Test
+  public void testColumnar() throws Exception
+    {
+    getPlatform().copyFromLocal( inputFileApache );
+
+    Map<Object, Object> properties = getProperties();
+
+    properties.put( ColumnarSequenceFile.BLOCK_ROWS, "3" );
+
+    Fields fields = new Fields( "offset", "line", "post", "length" );
+
+    Tap source = new Hfs( new TextLine( new Fields( "offset", "line" ) ), inputFileApache );
+    Tap columnar = new Hfs( new ColumnarSequenceFile( fields ), getOutputPath( "columnar" ), SinkMode.REPLACE );
+
+    Flow flow = new HadoopFlowConnector( properties ).connect( source, columnar, createColumnsPipe() );
+
+    flow.complete();
+
+    validateLength( flow, 10, 4 );
+
+    Tap selected = new Hfs( new ColumnarSequenceFile( fields, new Fields( "length", "post" ) ), getOutputPath( "columnar" ) );
+    Tap sink = new Hfs( new SequenceFile( new Fields( "length", "post" ) ), getOutputPath( "selected" ), SinkMode.REPLACE );
+
+    Flow selectedFlow = new HadoopFlowConnector( properties ).connect( selected, sink, new Pipe( "selected" ) );
+
+    selectedFlow.complete();
+
+    validateLength( selectedFlow, 10, 2 );
+
+    TupleEntryIterator iterator = selectedFlow.openSink();
+    int posts = 0;
+
+    while( iterator.hasNext() )
+      {
+      TupleEntry entry = iterator.next();
+
+      assertTrue( "not an Integer", entry.getObject( "length" ) instanceof Integer );
+
+      if( entry.getString( "post" ).equals( "post" ) )
+        posts++;
+      }
+
+    iterator.close();
+
+    assertEquals( 7, posts );
+
+    Pipe filtered = new Each( new Pipe( "filtered" ), new Fields( "post" ), new RegexFilter( "post" ) );
+    Tap filteredSink = new Hfs( new SequenceFile( new Fields( "length", "post" ) ), getOutputPath( "filtered" ), SinkMode.REPLACE );
+
+    Flow filteredFlow = new HadoopFlowConnector( properties ).connect( selected, filteredSink, filtered );
+
+    filteredFlow.complete();
+
+    validateLength( filteredFlow, 7, 2 );
+    }
+
+  @Test
+  public void testColumnarIntermediate() throws Exception
+    {
+    getPlatform().copyFromLocal( inputFileApache );
+
+    Map<Object, Object> properties = getProperties();
+
+    FlowConnectorProps.setIntermediateSchemeClass( properties, ColumnarSequenceFile.class );
+
+    Tap source = new Hfs( new TextLine( new Fields( "offset", "line" ) ), inputFileApache );
+    Tap sink = new Hfs( new TextLine(), getOutputPath( "intermediate" ), SinkMode.REPLACE );
+
+    Pipe pipe = createColumnsPipe();
+
+    pipe = new GroupBy( pipe, new Fields( "post" ) );
+    pipe = new Every( pipe, new Count( new Fields( "count" ) ) );
+    pipe = new GroupBy( pipe, new Fields( "count" ) );
+
+    Flow flow = new HadoopFlowConnector( properties ).connect( source, sink, pipe );
+
+    flow.complete();
+
+    validateLength( flow, 2 );
+    }
+  }
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.tuple.hadoop;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import cascading.CascadingTestCase;
+import cascading.tuple.Tuple;
+import cascading.tuple.hadoop.collect.HadoopCompactTupleMap;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+/**
+ *
+ */
+public class CompactTupleMapHadoopTest extends CascadingTestCase
+  {
+  public CompactTupleMapHadoopTest()
+    {
+    super();
+    }
+
+  @Test
+  public void testCompactMap()
+    {
+    performMapTest( 5, 50, 1024 * 1024, false );
+    performMapTest( 5000, 5, 1024 * 1024, false );
+    performMapTest( 500, 50, 1024, false ); // forces many slabs
+    performMapTest( 10, 10, 16, false ); // every value larger than the slab size
+    }
+
+  @Test
+  public void testCompactMapOffHeap()
+    {
+    performMapTest( 5, 50, 1024 * 1024, true );
+    performMapTest( 500, 50, 1024, true );
+    }
+
+  @Test
+  public void testCompactMapClear()
+    {
+    HadoopCompactTupleMap map = new HadoopCompactTupleMap( new TupleSerialization(), 1024, false );
+
+    map.get( new Tuple( "a" ) ).add( new Tuple( 1 ) );
+
+    assertEquals( 1, map.size() );
+
+    map.clear();
+
+    assertEquals( 0, map.size() );
+    assertFalse( map.containsKey( new Tuple( "a" ) ) );
+    assertEquals( 0, map.get( new Tuple( "a" ) ).size() );
+    }
+
+  private void performMapTest( int numKeys, int listSize, int slabSize, boolean offHeap )
+    {
+    HadoopCompactTupleMap map = new HadoopCompactTupleMap( new TupleSerialization(), slabSize, offHeap );
+    Map<Tuple, List<Tuple>> expected = new HashMap<Tuple, List<Tuple>>();
+    Random gen = new Random( 1 );
+
+    for( int i = 0; i < listSize * numKeys; i++ )
+      {
+      String aString = "string number " + i;
+      Tuple key = new Tuple( gen.nextInt( numKeys ), "key" );
+      Tuple value = new Tuple( i, aString, gen.nextDouble(), new Text( aString ), null );
+
+      map.get( key ).add( value );
+
+      if( !expected.containsKey( key ) )
+        expected.put( key, new ArrayList<Tuple>() );
+
+      expected.get( key ).add( value );
+      }
+
+    assertEquals( "not equal: map.size();", expected.size(), map.size() );
+    assertFalse( map.containsKey( new Tuple( -1, "key" ) ) );
+    assertFalse( map.containsKey( new Tuple( 0L, "key" ) ) ); // differs by type
+
+    for( Map.Entry<Tuple, List<Tuple>> entry : expected.entrySet() )
+      {
+      assertTrue( map.containsKey( entry.getKey() ) );
+
+      Collection<Tuple> values = map.get( entry.getKey() );
+
+      assertEquals( entry.getValue().size(), values.size() );
+      assertEquals( entry.getValue(), new ArrayList<Tuple>( values ) );
+      }
+
+    int count = 0;
+    Iterator<Map.Entry<Tuple, Collection<Tuple>>> iterator = map.entrySet().iterator();
+
+    while( iterator.hasNext() )
+      {
+      Map.Entry<Tuple, Collection<Tuple>> entry = iterator.next();
+
+      assertEquals( expected.get( entry.getKey() ).size(), entry.getValue().size() );
+      count++;
+      }
+
+    assertEquals( expected.size(), count );
+    }
+  }
@@ -29,12 +29,15 @@ import java.util.Map;
 import cascading.PlatformTestCase;
 import cascading.flow.Flow;
 import cascading.flow.FlowProcess;
+import cascading.flow.hadoop.HadoopFlow;
 import cascading.flow.hadoop.HadoopFlowConnector;
+import cascading.flow.hadoop.HadoopFlowStep;
 import cascading.operation.BaseOperation;
 import cascading.operation.Function;
 import cascading.operation.FunctionCall;
 import cascading.operation.OperationCall;
 import cascading.operation.aggregator.Count;
+import cascading.operation.aggregator.First;
 import cascading.operation.regex.RegexParser;
 import cascading.operation.regex.RegexSplitter;
 import cascading.pipe.CoGroup;
@@ -54,6 +57,7 @@ import cascading.tuple.collect.SpillableTupleList;
 import cascading.tuple.hadoop.util.BytesComparator;
 import org.apache.hadoop.io.BooleanWritable;
 import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.mapred.JobConf;
 import org.junit.Test;
 
 import static data.InputData.*;
@@ -259,6 +263,61 @@ public class SerializedPipesPlatformTest extends PlatformTestCase
     validateLength( flow, 8, null );
     }
 
+  @Test
+  public void testTypedShuffleGroup() throws Exception
+    {
+    runTypedShuffleGroup( false );
+    }
+
+  @Test
+  public void testTypedShuffleGroupSorted() throws Exception
+    {
+    runTypedShuffleGroup( true );
+    }
+
+  private void runTypedShuffleGroup( boolean sorted ) throws Exception
+    {
+    getPlatform().copyFromLocal( inputFileApache );
+
+    Tap source = new Hfs( new TextLine( new Fields( "offset", "line" ) ), inputFileApache );
+
+    Pipe pipe = new Pipe( "test" );
+
+    pipe = new Each( pipe, new Fields( "line" ), new RegexParser( new Fields( "ip" ), "^[^ ]*" ), Fields.ALL );
+
+    if( sorted )
+      pipe = new GroupBy( pipe, new Fields( "ip" ), new Fields( "offset" ) );
+    else
+      pipe = new GroupBy( pipe, new Fields( "ip" ) );
+
+    pipe.getStepConfigDef().setProperty( TupleSerializationProps.SHUFFLE_TYPES, "long,String,String" );
+
+    pipe = new Every( pipe, new Fields( "offset" ), new First( new Fields( "first" ) ), new Fields( "ip", "first" ) );
+
+    Tap sink = new Hfs( new TextLine(), getOutputPath( "typedshuffle" + ( sorted ? "sorted" : "" ) ), SinkMode.REPLACE );
+
+    HadoopFlow flow = (HadoopFlow) new HadoopFlowConnector( getProperties() ).connect( source, sink, pipe );
+
+    JobConf jobConf = ( (HadoopFlowStep) flow.getFlowSteps().get( 0 ) ).getInitializedConfig( flow.getFlowProcess(), flow.getConfig() );
+
+    assertEquals( "1", jobConf.get( TupleSerialization.SHUFFLE_GROUP_TOKENS ) );
+    assertEquals( "5,1,1", jobConf.get( TupleSerialization.SHUFFLE_VALUE_TOKENS ) );
+
+    flow.complete();
+
+    validateLength( flow, 8, null );
+
+    if( !sorted )
+      return;
+
+    boolean found = false;
+
+    for( Tuple tuple : getSinkAsList( flow ) )
+      found |= tuple.getString( 1 ).equals( "75.185.76.245\t0" ); // the first offset of each ip is the smallest
+
+    assertTrue( "first offset not found", found );
+    }
+
   @Test
   public void testSimpleGroupOnBytes() throws Exception
     {
@@ -20,15 +20,19 @@
 
 package cascading.tuple.hadoop;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Random;
 import java.util.Set;
 
 import cascading.CascadingTestCase;
 import cascading.flow.hadoop.HadoopFlowProcess;
 import cascading.tuple.Tuple;
+import cascading.tuple.collect.Spillable;
 import cascading.tuple.collect.SpillableProps;
+import cascading.tuple.collect.SpillableTupleList;
 import cascading.tuple.hadoop.collect.HadoopSpillableTupleList;
 import cascading.tuple.hadoop.collect.HadoopSpillableTupleMap;
 import org.apache.hadoop.io.Text;
@@ -82,10 +86,94 @@ public class SpillableTupleHadoopTest extends CascadingTestCase
     System.out.println( "time = " + ( System.currentTimeMillis() - time ) );
     }
 
+  @Test
+  public void testSpillListAsync()
+    {
+    GzipCodec codec = ReflectionUtils.newInstance( GzipCodec.class, new JobConf() );
+
+    performListTest( 5, 50, codec, 0, true );
+    performListTest( 51, 50, codec, 1, true );
+    performListTest( 501, 50, codec, 10, true );
+    performListTest( 5001, 50, null, 100, true );
+    }
+
+  @Test
+  public void testSpillListsAsyncSharedSerialization()
+    {
+    TupleSerialization tupleSerialization = new TupleSerialization( new JobConf() );
+    List<HadoopSpillableTupleList> lists = new ArrayList<HadoopSpillableTupleList>();
+
+    for( int i = 0; i < 20; i++ )
+      {
+      HadoopSpillableTupleList list = new HadoopSpillableTupleList( 50, tupleSerialization, null );
+
+      list.setAsyncSpill( true );
+
+      for( int j = 0; j < 49; j++ )
+        list.add( new Tuple( j, "string number " + j, new Text( "text number " + j ) ) );
+
+      lists.add( list );
+      }
+
+    // every list starts a spill before any has completed, so the writers share the serialization concurrently
+    for( HadoopSpillableTupleList list : lists )
+      list.spill( "test" );
+
+    for( HadoopSpillableTupleList list : lists )
+      {
+      assertEquals( "not equal: list.spillCount()", 1, list.spillCount() );
+
+      int count = 0;
+
+      for( Tuple tuple : list )
+        {
+        assertEquals( "wrong value", new Tuple( count, "string number " + count, new Text( "text number " + count ) ), tuple );
+        count++;
+        }
+
+      assertEquals( "not equal: list.size();", 49, count );
+      }
+    }
+
+  @Test
+  public void testSpillListDictionary()
+    {
+    String[] statuses = new String[]{"active", "inactive", "deleted", "", "\u00e9tat"};
+
+    for( int dictionarySize : new int[]{1, 3, 100} )
+      {
+      HadoopSpillableTupleList list = new HadoopSpillableTupleList( 50, null, new JobConf() );
+
+      list.setDictionarySize( dictionarySize );
+
+      for( int i = 0; i < 501; i++ )
+        list.add( new Tuple( i, statuses[ i % statuses.length ], "string number " + i, statuses[ ( i / 2 ) % statuses.length ], null ) );
+
+      assertEquals( "not equal: list.getNumFiles()", 10, list.spillCount() );
+
+      int count = 0;
+
+      for( Tuple tuple : list )
+        {
+        assertEquals( "wrong value", new Tuple( count, statuses[ count % statuses.length ], "string number " + count, statuses[ ( count / 2 ) % statuses.length ], null ), tuple );
+        count++;
+        }
+
+      assertEquals( "not equal: list.size();", 501, count );
+      }
+    }
+
   private void performListTest( int size, int threshold, CompressionCodec codec, int spills )
+    {
+    performListTest( size, threshold, codec, spills, false );
+    }
+
+  private void performListTest( int size, int threshold, CompressionCodec codec, int spills, boolean async )
     {
     HadoopSpillableTupleList list = new HadoopSpillableTupleList( threshold, codec, new JobConf() );
 
+    list.setAsyncSpill( async );
+
     for( int i = 0; i < size; i++ )
       {
       String aString = "string number " + i;
@@ -148,6 +236,67 @@ public class SpillableTupleHadoopTest extends CascadingTestCase
     System.out.println( "time = " + ( System.currentTimeMillis() - time ) );
     }
 
+  @Test
+  public void testSpillMapBytes()
+    {
+    HadoopFlowProcess flowProcess = new HadoopFlowProcess( new JobConf() );
+    long bytesThreshold = 64 * 1024;
+    HadoopSpillableTupleMap map = new HadoopSpillableTupleMap( SpillableProps.defaultMapInitialCapacity, SpillableProps.defaultMapLoadFactor, Integer.MAX_VALUE, bytesThreshold, Integer.MAX_VALUE, flowProcess );
+
+    final int[] spills = new int[ 1 ];
+
+    map.setSpillListener( new Spillable.SpillListener()
+    {
+    @Override
+    public void notifyWriteSpillBegin( Spillable spillable, int spillSize, String spillReason )
+      {
+      spills[ 0 ]++;
+      }
+
+    @Override
+    public void notifyWriteSpillEnd( SpillableTupleList spillableTupleList, long duration )
+      {
+      }
+
+    @Override
+    public void notifyReadSpillBegin( Spillable spillable )
+      {
+      }
+    } );
+
+    int numKeys = 20;
+    int numValues = 10000;
+
+    for( int i = 0; i < numValues; i++ )
+      {
+      map.get( new Tuple( i % numKeys ) ).add( new Tuple( i, "string number " + i ) );
+
+      assertTrue( "retained too many bytes: " + map.getRetainedBytes(), map.getRetainedBytes() < bytesThreshold );
+      }
+
+    assertEquals( numKeys, map.size() );
+    assertTrue( "did not spill", map.spillCount() > 0 );
+    assertEquals( spills[ 0 ], map.spillCount() );
+
+    int count = 0;
+
+    for( int key = 0; key < numKeys; key++ )
+      {
+      int keyCount = 0;
+
+      for( Tuple tuple : map.get( new Tuple( key ) ) )
+        {
+        assertEquals( key, tuple.getInteger( 0 ) % numKeys );
+        keyCount++;
+        }
+
+      assertEquals( numValues / numKeys, keyCount );
+      count += keyCount;
+      }
+
+    assertEquals( numValues, count );
+    }
+
   private void performMapTest( int numKeys, int listSize, int mapThreshold, int listThreshold, JobConf jobConf )
     {
     HadoopFlowProcess flowProcess = new HadoopFlowProcess( jobConf );
@@ -23,13 +23,23 @@ package cascading.tuple.hadoop;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
 import cascading.CascadingTestCase;
 import cascading.tuple.Tuple;
 import cascading.tuple.hadoop.io.HadoopTupleInputStream;
 import cascading.tuple.hadoop.io.HadoopTupleOutputStream;
+import cascading.tuple.hadoop.util.GroupingComparator;
+import cascading.tuple.hadoop.util.GroupingSortingComparator;
+import cascading.tuple.hadoop.util.TupleComparator;
 import cascading.tuple.io.TupleInputStream;
 import cascading.tuple.io.TupleOutputStream;
+import cascading.tuple.io.TuplePair;
+import org.apache.hadoop.io.serializer.Deserializer;
+import org.apache.hadoop.io.serializer.Serializer;
+import org.apache.hadoop.mapred.JobConf;
 
 public class TupleTest extends CascadingTestCase
   {
@@ -70,4 +80,253 @@ public class TupleTest extends CascadingTestCase
 
     assertTrue( "not less than: aTuple < bTuple", aTuple.compareTo( bTuple ) > 0 );
     }
+  
+  public void testTypedReadWrite() throws IOException
+    {
+    int[] tokens = new int[]{1, 5, 4, 3, 6};
+
+    Tuple typed = new Tuple( "Just My Luck", 3L, 3, 3.0d, true );
+    Tuple nulls = new Tuple( null, 3L, null, 3.0d, null );
+    Tuple mismatched = new Tuple( "Just My Luck", 3, 3, 3.0d, true );
+    Tuple narrow = new Tuple( "Just My Luck" );
+
+    byte[] typedBytes = writeTyped( tokens, typed );
+
+    assertTrue( "typed not smaller", typedBytes.length < writeTyped( null, typed ).length );
+
+    assertEquals( typed, readTyped( typedBytes, tokens ) );
+    assertEquals( nulls, readTyped( writeTyped( tokens, nulls ), tokens ) );
+    assertEquals( mismatched, readTyped( writeTyped( tokens, mismatched ), tokens ) );
+    assertEquals( narrow, readTyped( writeTyped( tokens, narrow ), tokens ) );
+    assertEquals( Tuple.NULL, readTyped( writeTyped( new int[ 0 ], Tuple.NULL ), new int[ 0 ] ) );
+    }
+
+  public void testTypedCompare() throws IOException
+    {
+    int[] tokens = new int[]{1, 5};
+
+    JobConf jobConf = new JobConf();
+
+    TupleSerialization.setShuffleTokens( jobConf, TupleSerialization.SHUFFLE_GROUP_TOKENS, tokens );
+
+    TupleComparator comparator = new TupleComparator();
+
+    comparator.setConf( jobConf );
+
+    Tuple[] tuples = new Tuple[]{
+      new Tuple( "a", 1L ),
+      new Tuple( "a", 2L ),
+      new Tuple( "a", null ),
+      new Tuple( "b", 1L ),
+      new Tuple( null, 1L ),
+      new Tuple( "b", 1 ) // mismatched type, written with tokens
+    };
+
+    for( Tuple lhs : tuples )
+      {
+      for( Tuple rhs : tuples )
+        {
+        if( lhs.getObject( 1 ) instanceof Integer != rhs.getObject( 1 ) instanceof Integer )
+          continue; // Integer and Long elements are not comparable
+
+        byte[] lhsBytes = writeTyped( tokens, lhs );
+        byte[] rhsBytes = writeTyped( tokens, rhs );
+
+        int expected = Integer.signum( comparator.compare( lhs, rhs ) );
+        int result = Integer.signum( comparator.compare( lhsBytes, 0, lhsBytes.length, rhsBytes, 0, rhsBytes.length ) );
+
+        assertEquals( "lhs: " + lhs + " rhs: " + rhs, expected, result );
+        }
+      }
+    }
+
+  public void testRawCompare() throws IOException
+    {
+    String[] strings = new String[]{"", "a", "ab", "b", "\u00e9", "\u0800x", "\uffe0", "\ud83d\ude00", "\ud83d\ude01", "a\ud83d\ude00"};
+    Random random = new Random( 1 );
+
+    List<Tuple> tuples = new ArrayList<Tuple>();
+
+    for( int i = 0; i < 150; i++ )
+      {
+      Tuple tuple = new Tuple(
+        strings[ random.nextInt( strings.length ) ],
+        (long) random.nextInt( 5 ) - 2,
+        random.nextInt( 10 ) == 0 ? Double.NaN : random.nextInt( 5 ) - 2.5d,
+        random.nextBoolean(),
+        (short) ( random.nextInt( 5 ) - 2 ),
+        new Tuple( strings[ random.nextInt( strings.length ) ], random.nextInt( 3 ) - 1 ),
+        random.nextInt( 3 ) - 1.5f
+      );
+
+      if( i > 0 ) // keep the first tuple fully populated
+        tuple.set( random.nextInt( tuple.size() ), null );
+
+      tuples.add( tuple );
+      }
+
+    TupleComparator comparator = new TupleComparator();
+
+    comparator.setConf( new JobConf() );
+
+    for( Tuple lhs : tuples )
+      {
+      byte[] lhsBytes = write( lhs );
+
+      for( Tuple rhs : tuples )
+        {
+        byte[] rhsBytes = write( rhs );
+
+        int expected = Integer.signum( lhs.compareTo( rhs ) );
+        int result = Integer.signum( comparator.compare( lhsBytes, 0, lhsBytes.length, rhsBytes, 0, rhsBytes.length ) );
+
+        assertEquals( "lhs: " + lhs + " rhs: " + rhs, expected, result );
+        }
+      }
+    }
+
+  public void testNormalizedKeyCompare() throws IOException
+    {
+    String[] strings = new String[]{"", "a", "a\u0000", "ab", "abcdefgh", "abcdefgi", "\u00e9", "\uffe0", "\ud83d\ude00"};
+    Random random = new Random( 1 );
+
+    List<TuplePair> pairs = new ArrayList<TuplePair>();
+
+    for( int i = 0; i < 100; i++ )
+      {
+      Tuple group;
+
+      switch( random.nextInt( 3 ) )
+        {
+        case 0:
+          group = new Tuple( (long) random.nextInt( 5 ) - 2, strings[ random.nextInt( strings.length ) ] );
+          break;
+        case 1:
+          group = new Tuple( random.nextInt( 3 ) == 0 ? Long.MIN_VALUE : Long.MAX_VALUE, random.nextBoolean() ? null : "a" );
+          break;
+        default:
+          group = new Tuple( random.nextInt( 4 ) == 0 ? null : random.nextLong() % 3, random.nextDouble() < 0.1 ? Double.NaN : ( random.nextInt( 5 ) - 2 ) * 0.5d, strings[ random.nextInt( strings.length ) ] );
+        }
+
+      pairs.add( new TuplePair( group, new Tuple( random.nextInt( 3 ) ) ) );
+      }
+
+    for( int size : new int[]{1, 5, 12, 32} )
+      {
+      JobConf jobConf = new JobConf();
+
+      jobConf.setInt( TupleSerializationProps.NORMALIZED_KEY_SIZE, size );
+      jobConf.setInt( TupleSerialization.SHUFFLE_NORMALIZED_KEY_FIELDS, Integer.MAX_VALUE );
+
+      TupleSerialization serialization = new TupleSerialization( jobConf );
+
+      GroupingSortingComparator sortingComparator = new GroupingSortingComparator();
+      GroupingComparator groupingComparator = new GroupingComparator();
+
+      sortingComparator.setConf( jobConf );
+      groupingComparator.setConf( jobConf );
+
+      List<byte[]> serialized = new ArrayList<byte[]>();
+
+      for( TuplePair pair : pairs )
+        {
+        byte[] bytes = writePair( serialization, pair );
+
+        assertEquals( pair, readPair( serialization, bytes ) );
+
+        serialized.add( bytes );
+        }
+
+      for( int i = 0; i < pairs.size(); i++ )
+        {
+        byte[] lhsBytes = serialized.get( i );
+
+        for( int j = 0; j < pairs.size(); j++ )
+          {
+          byte[] rhsBytes = serialized.get( j );
+          TuplePair lhs = pairs.get( i );
+          TuplePair rhs = pairs.get( j );
+
+          if( !comparable( lhs.getLhs(), rhs.getLhs() ) )
+            continue;
+
+          String message = "size: " + size + " lhs: " + lhs + " rhs: " + rhs;
+
+          assertEquals( message, Integer.signum( sortingComparator.compare( lhs, rhs ) ), Integer.signum( sortingComparator.compare( lhsBytes, 0, lhsBytes.length, rhsBytes, 0, rhsBytes.length ) ) );
+          assertEquals( message, Integer.signum( groupingComparator.compare( lhs, rhs ) ), Integer.signum( groupingComparator.compare( lhsBytes, 0, lhsBytes.length, rhsBytes, 0, rhsBytes.length ) ) );
+          }
+        }
+      }
+    }
+
+  private boolean comparable( Tuple lhs, Tuple rhs )
+    {
+    if( lhs.size() != rhs.size() )
+      return true;
+
+    for( int i = 0; i < lhs.size(); i++ )
+      {
+      Object lhsObject = lhs.getObject( i );
+      Object rhsObject = rhs.getObject( i );
+
+      if( lhsObject != null && rhsObject != null && lhsObject.getClass() != rhsObject.getClass() )
+        return false;
+      }
+
+    return true;
+    }
+
+  private byte[] writePair( TupleSerialization serialization, TuplePair pair ) throws IOException
+    {
+    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+    Serializer<TuplePair> serializer = serialization.getSerializer( TuplePair.class );
+
+    serializer.open( byteArrayOutputStream );
+    serializer.serialize( pair );
+    serializer.close();
+
+    return byteArrayOutputStream.toByteArray();
+    }
+
+  private TuplePair readPair( TupleSerialization serialization, byte[] bytes ) throws IOException
+    {
+    Deserializer<TuplePair> deserializer = serialization.getDeserializer( TuplePair.class );
+
+    deserializer.open( new ByteArrayInputStream( bytes ) );
+
+    TuplePair pair = deserializer.deserialize( null );
+
+    deserializer.close();
+
+    return pair;
+    }
+
+  private byte[] write( Tuple tuple ) throws IOException
+    {
+    return writeTyped( null, tuple );
+    }
+
+  private byte[] writeTyped( int[] tokens, Tuple tuple ) throws IOException
+    {
+    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+    HadoopTupleOutputStream dataOutputStream = new HadoopTupleOutputStream( byteArrayOutputStream, new TupleSerialization().getElementWriter() );
+
+    dataOutputStream.writeTypedTuple( tuple, tokens );
+
+    dataOutputStream.flush();
+
+    return byteArrayOutputStream.toByteArray();
+    }
+
+  private Tuple readTyped( byte[] bytes, int[] tokens ) throws IOException
+    {
+    ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream( bytes );
+    HadoopTupleInputStream dataInputStream = new HadoopTupleInputStream( byteArrayInputStream, new TupleSerialization().getElementReader() );
+
+    Tuple tuple = dataInputStream.readTypedTuple( new Tuple(), tokens );
+
+    assertEquals( "unread bytes", -1, dataInputStream.read() );
+
+    return tuple;
+    }
   }
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.flow.local;
+
+import java.util.Properties;
+
+import cascading.property.Props;
+
+/**
+ * Class LocalFlowProps is a fluent interface for building properties specific to the local platform to be passed to a
+ * {@link LocalFlowConnector} before creating new {@link cascading.flow.Flow} instances.
+ * <p/>
+ * Most properties may also be set on an individual {@link cascading.pipe.Pipe} via its
+ * {@link cascading.pipe.Pipe#getConfigDef()}.
+ */
+public class LocalFlowProps extends Props
+  {
+  /**
+   * The approximate number of bytes of tuples a {@link cascading.pipe.GroupBy} will hold in memory before sorting
+   * and spilling them to a local temporary file. Spilled runs are merged when all incoming tuples have been received.
+   * <p/>
+   * A value of -1, the default, disables spilling, all values will remain in memory.
+   */
+  public static final String GROUPBY_SPILL_THRESHOLD = "cascading.local.groupby.spill.threshold";
+
+  public static final long defaultGroupBySpillThreshold = -1;
+
+  /**
+   * The maximum number of byte ranges a single local source file will be divided into, each range being read and
+   * processed by its own thread up to the first {@link cascading.pipe.GroupBy} or {@link cascading.pipe.Merge}.
+   * <p/>
+   * Only line oriented sources, {@link cascading.scheme.local.TextLine} with a single source field or
+   * {@link cascading.scheme.local.TextDelimited} not skipping a header, are partitioned. The operations in the
+   * partitioned branches will be called concurrently, so must be thread-safe.
+   * <p/>
+   * A value of 1, the default, disables partitioning.
+   */
+  public static final String SOURCE_PARTITIONS = "cascading.local.source.partitions";
+
+  /** The minimum number of bytes of a source file each partition will read, defaults to 32MB. */
+  public static final String SOURCE_PARTITION_MIN_SIZE = "cascading.local.source.partition.minsize";
+
+  /**
+   * If true, line oriented local sources, {@link cascading.scheme.local.TextLine} and
+   * {@link cascading.scheme.local.TextDelimited}, memory map their files and only decode the lines actually read,
+   * see {@link cascading.tap.local.io.MappedLineReader}. Files in charsets other than UTF-8, US-ASCII, or
+   * ISO-8859-1 are always read through a {@link java.io.Reader}.
+   * <p/>
+   * False by default, as mapped regions are only released when garbage collected, so reading many or very large
+   * files may exhaust the available address space, and a file truncated while mapped fails the flow.
+   */
+  public static final String SOURCE_MAPPED = "cascading.local.source.mapped";
+
+  public static final int defaultSourcePartitions = 1;
+  public static final long defaultSourcePartitionMinSize = 32L * 1024 * 1024;
+  public static final boolean defaultSourceMapped = false;
+
+  long groupBySpillThreshold = defaultGroupBySpillThreshold;
+  int sourcePartitions = defaultSourcePartitions;
+  long sourcePartitionMinSize = defaultSourcePartitionMinSize;
+  boolean sourceMapped = defaultSourceMapped;
+
+  public static LocalFlowProps localFlowProps()
+    {
+    return new LocalFlowProps();
+    }
+
+  public LocalFlowProps()
+    {
+    }
+
+  public long getGroupBySpillThreshold()
+    {
+    return groupBySpillThreshold;
+    }
+
+  /**
+   * Method setGroupBySpillThreshold sets the number of bytes a GroupBy may buffer in memory before spilling to disk.
+   *
+   * @param groupBySpillThreshold of type long
+   * @return LocalFlowProps
+   */
+  public LocalFlowProps setGroupBySpillThreshold( long groupBySpillThreshold )
+    {
+    this.groupBySpillThreshold = groupBySpillThreshold;
+
+    return this;
+    }
+
+  public int getSourcePartitions()
+    {
+    return sourcePartitions;
+    }
+
+  /**
+   * Method setSourcePartitions sets the maximum number of concurrently read partitions of a single source file.
+   *
+   * @param sourcePartitions of type int
+   * @return LocalFlowProps
+   */
+  public LocalFlowProps setSourcePartitions( int sourcePartitions )
+    {
+    this.sourcePartitions = sourcePartitions;
+
+    return this;
+    }
+
+  public long getSourcePartitionMinSize()
+    {
+    return sourcePartitionMinSize;
+    }
+
+  /**
+   * Method setSourcePartitionMinSize sets the minimum number of bytes read by each partition of a source file.
+   *
+   * @param sourcePartitionMinSize of type long
+   * @return LocalFlowProps
+   */
+  public LocalFlowProps setSourcePartitionMinSize( long sourcePartitionMinSize )
+    {
+    this.sourcePartitionMinSize = sourcePartitionMinSize;
+
+    return this;
+    }
+
+  public boolean isSourceMapped()
+    {
+    return sourceMapped;
+    }
+
+  /**
+   * Method setSourceMapped sets whether line oriented source files are memory mapped, false by default.
+   *
+   * @param sourceMapped of type boolean
+   * @return LocalFlowProps
+   */
+  public LocalFlowProps setSourceMapped( boolean sourceMapped )
+    {
+    this.sourceMapped = sourceMapped;
+
+    return this;
+    }
+
+  @Override
+  protected void addPropertiesTo( Properties properties )
+    {
+    properties.setProperty( GROUPBY_SPILL_THRESHOLD, Long.toString( groupBySpillThreshold ) );
+    properties.setProperty( SOURCE_PARTITIONS, Integer.toString( sourcePartitions ) );
+    properties.setProperty( SOURCE_PARTITION_MIN_SIZE, Long.toString( sourcePartitionMinSize ) );
+    properties.setProperty( SOURCE_MAPPED, Boolean.toString( sourceMapped ) );
+    }
+  }
@@ -33,6 +33,8 @@ import cascading.flow.planner.BaseFlowStep;
 import cascading.flow.planner.FlowStepJob;
 import cascading.property.ConfigDef;
 import cascading.tap.Tap;
+import cascading.tuple.Fields;
+import cascading.util.Util;
 
 /** Class LocalFlowStep is the local mode implementation of {@link cascading.flow.FlowStep}. */
 public class LocalFlowStep extends BaseFlowStep<Properties>
@@ -53,6 +55,8 @@ public class LocalFlowStep extends BaseFlowStep<Properties>
     {
     Properties currentProperties = parentConfig == null ? new Properties() : new Properties( parentConfig );
 
+    initSourceProjections( currentProperties );
+
     initTaps( flowProcess, currentProperties, getSources(), false );
     initTaps( flowProcess, currentProperties, getSinks(), true );
     initTaps( flowProcess, currentProperties, getTraps(), true );
@@ -62,6 +66,17 @@ public class LocalFlowStep extends BaseFlowStep<Properties>
     return currentProperties;
     }
 
+  protected void initSourceProjections( Properties properties )
+    {
+    for( Tap tap : getSources() )
+      {
+      Fields projected = getProjectedSourceFields( tap );
+
+      if( projected != null )
+        properties.setProperty( Tap.SOURCE_PROJECTION + Tap.id( tap ), Util.join( projected.getPos(), "," ) );
+      }
+    }
+
   protected void initTaps( FlowProcess<Properties> flowProcess, Properties conf, Set<Tap> taps, boolean isSink )
     {
     if( !taps.isEmpty() )
@@ -74,6 +74,9 @@ public class LocalPlanner extends FlowPlanner
       failOnGroupEverySplit( elementGraph );
 
       // generic
+      if( eliminateCommonSubAssemblies )
+        handleCommonSubAssemblies( elementGraph );
+
       elementGraph.removeUnnecessaryPipes(); // groups must be added before removing pipes
       elementGraph.resolveFields();
 
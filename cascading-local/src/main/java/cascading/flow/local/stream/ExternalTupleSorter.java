@@ -0,0 +1,380 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.flow.local.stream;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import cascading.tuple.Tuple;
+import cascading.tuple.TupleException;
+import cascading.tuple.local.io.LocalTupleInputStream;
+import cascading.tuple.local.io.LocalTupleOutputStream;
+import cascading.tuple.util.TupleBuilder;
+import cascading.tuple.util.TupleSizeEstimator;
+import com.google.common.base.Function;
+import com.google.common.collect.Iterators;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class ExternalTupleSorter buffers {@link Tuple} instances in memory until an approximate byte threshold is met,
+ * at which point the buffer is sorted and written to a local temporary file as a sorted run.
+ * <p/>
+ * Tuples are sorted by their key, then by the optional value comparator. The key of each tuple is only built once,
+ * when it is added or read back from a run, see {@link Entry}.
+ * <p/>
+ * Calling {@link #iterator()} sorts the remaining in memory tuples and returns a k-way merge over all
+ * the runs. Tuples that compare equal are returned in the order they were added.
+ * <p/>
+ * This class is not thread safe.
+ */
+public class ExternalTupleSorter implements Iterable<Tuple>
+  {
+  /** Field LOG */
+  private static final Logger LOG = LoggerFactory.getLogger( ExternalTupleSorter.class );
+
+  private final TupleBuilder keyBuilder;
+  private final Comparator<Entry> comparator;
+  private final long threshold;
+  private final boolean compress;
+
+  private List<Entry> current = new ArrayList<Entry>();
+  private long currentBytes = 0;
+  private final List<File> files = new ArrayList<File>();
+  private final List<Closeable> openStreams = new ArrayList<Closeable>();
+
+  /** Class Entry holds a tuple and its key, a view on the tuple. */
+  public static class Entry
+    {
+    final Tuple key;
+    final Tuple tuple;
+
+    Entry( Tuple key, Tuple tuple )
+      {
+      this.key = key;
+      this.tuple = tuple;
+      }
+
+    public Tuple getKey()
+      {
+      return key;
+      }
+
+    public Tuple getTuple()
+      {
+      return tuple;
+      }
+    }
+
+  /**
+   * Constructor ExternalTupleSorter creates a new ExternalTupleSorter instance.
+   *
+   * @param keyBuilder      builds the key of a tuple
+   * @param keyComparator   of type Comparator<Tuple>
+   * @param valueComparator of type Comparator<Tuple>, may be null
+   * @param threshold       the approximate number of bytes to hold in memory before spilling, -1 to never spill
+   * @param compress        whether the spilled runs should be compressed
+   */
+  public ExternalTupleSorter( TupleBuilder keyBuilder, Comparator<Tuple> keyComparator, Comparator<Tuple> valueComparator, long threshold, boolean compress )
+    {
+    this.keyBuilder = keyBuilder;
+    this.comparator = createComparator( keyComparator, valueComparator );
+    this.threshold = threshold;
+    this.compress = compress;
+    }
+
+  /**
+   * Method createComparator returns a comparator ordering entries by key, then by the given value comparator.
+   *
+   * @param keyComparator   of type Comparator<Tuple>
+   * @param valueComparator of type Comparator<Tuple>, may be null
+   * @return Comparator<Entry>
+   */
+  public static Comparator<Entry> createComparator( final Comparator<Tuple> keyComparator, final Comparator<Tuple> valueComparator )
+    {
+    return new Comparator<Entry>()
+    {
+    @Override
+    public int compare( Entry lhs, Entry rhs )
+      {
+      int result = keyComparator.compare( lhs.key, rhs.key );
+
+      if( result != 0 || valueComparator == null )
+        return result;
+
+      return valueComparator.compare( lhs.tuple, rhs.tuple );
+      }
+    };
+    }
+
+  public Comparator<Entry> getComparator()
+    {
+    return comparator;
+    }
+
+  private Entry createEntry( Tuple tuple )
+    {
+    return new Entry( keyBuilder.makeResult( tuple, null ), tuple );
+    }
+
+  public void add( Tuple tuple )
+    {
+    current.add( createEntry( tuple ) );
+
+    if( threshold <= 0 )
+      return;
+
+    currentBytes += TupleSizeEstimator.estimateSize( tuple );
+
+    if( currentBytes >= threshold )
+      spill();
+    }
+
+  /**
+   * The number of sorted runs written to disk.
+   *
+   * @return int
+   */
+  public int spillCount()
+    {
+    return files.size();
+    }
+
+  private void spill()
+    {
+    long start = System.currentTimeMillis();
+
+    LOG.info( "spilling {} tuples, approx {} bytes, to spill number {}", new Object[]{current.size(), currentBytes, files.size() + 1} );
+
+    Collections.sort( current, comparator );
+
+    File file = createTempFile();
+    LocalTupleOutputStream outputStream = null;
+
+    try
+      {
+      outputStream = new LocalTupleOutputStream( createOutputStream( file ) );
+
+      outputStream.writeLong( current.size() );
+
+      for( Entry entry : current )
+        outputStream.writeTuple( entry.tuple );
+      }
+    catch( IOException exception )
+      {
+      throw new TupleException( "unable to write to spill file: " + file, exception );
+      }
+    finally
+      {
+      closeSilent( outputStream );
+      }
+
+    files.add( file );
+
+    // let the gc reclaim the old buffer, vs clearing it
+    current = new ArrayList<Entry>();
+    currentBytes = 0;
+
+    LOG.info( "spill completed in {} ms", System.currentTimeMillis() - start );
+    }
+
+  private OutputStream createOutputStream( File file ) throws IOException
+    {
+    OutputStream outputStream = new FileOutputStream( file );
+
+    if( compress )
+      outputStream = new GZIPOutputStream( outputStream, 64 * 1024 );
+
+    return new BufferedOutputStream( outputStream, 64 * 1024 );
+    }
+
+  private InputStream createInputStream( File file ) throws IOException
+    {
+    InputStream inputStream = new FileInputStream( file );
+
+    if( compress )
+      inputStream = new GZIPInputStream( inputStream, 64 * 1024 );
+
+    return new BufferedInputStream( inputStream, 64 * 1024 );
+    }
+
+  private File createTempFile()
+    {
+    try
+      {
+      File file = File.createTempFile( "cascading-sortspill", null );
+      file.deleteOnExit();
+
+      return file;
+      }
+    catch( IOException exception )
+      {
+      throw new TupleException( "unable to create temporary file", exception );
+      }
+    }
+
+  /** Method sort sorts the tuples currently held in memory. */
+  public void sort()
+    {
+    Collections.sort( current, comparator );
+    }
+
+  /**
+   * Method openRuns returns an iterator for each sorted run, in the order the runs were created. The in memory
+   * tuples must be sorted first by calling {@link #sort()}.
+   *
+   * @return List<Iterator<Entry>>
+   */
+  public List<Iterator<Entry>> openRuns()
+    {
+    List<Iterator<Entry>> runs = new ArrayList<Iterator<Entry>>( files.size() + 1 );
+
+    for( File file : files )
+      runs.add( createRunIterator( file ) );
+
+    runs.add( current.iterator() ); // added last, the last run to be received
+
+    return runs;
+    }
+
+  /**
+   * Method iterator returns all the added tuples in sorted order. This method should only be called once after
+   * all tuples have been added.
+   *
+   * @return Iterator<Tuple>
+   */
+  @Override
+  public Iterator<Tuple> iterator()
+    {
+    sort();
+
+    Iterator<Entry> iterator = files.isEmpty() ? current.iterator() : new TupleMergeIterator<Entry>( comparator, openRuns() );
+
+    return Iterators.transform( iterator, new Function<Entry, Tuple>()
+    {
+    @Override
+    public Tuple apply( Entry entry )
+      {
+      return entry.tuple;
+      }
+    } );
+    }
+
+  private Iterator<Entry> createRunIterator( File file )
+    {
+    final LocalTupleInputStream inputStream;
+    final long size;
+
+    try
+      {
+      inputStream = new LocalTupleInputStream( createInputStream( file ) );
+      openStreams.add( inputStream );
+      size = inputStream.readLong();
+      }
+    catch( IOException exception )
+      {
+      throw new TupleException( "unable to read from spill file: " + file, exception );
+      }
+
+    return new Iterator<Entry>()
+    {
+    long count = 0;
+
+    @Override
+    public boolean hasNext()
+      {
+      return count < size;
+      }
+
+    @Override
+    public Entry next()
+      {
+      if( !hasNext() )
+        throw new NoSuchElementException();
+
+      try
+        {
+        return createEntry( inputStream.readTuple() ); // a new instance as downstream may retain views on the prior tuple
+        }
+      catch( IOException exception )
+        {
+        throw new TupleException( "unable to read from spill file", exception );
+        }
+      finally
+        {
+        count++;
+        }
+      }
+
+    @Override
+    public void remove()
+      {
+      throw new UnsupportedOperationException( "remove is not supported" );
+      }
+    };
+    }
+
+  /** Method clear closes any open runs and deletes all spill files. */
+  public void clear()
+    {
+    for( Closeable closeable : openStreams )
+      closeSilent( closeable );
+
+    for( File file : files )
+      {
+      if( !file.delete() )
+        LOG.warn( "unable to delete spill file: {}", file );
+      }
+
+    openStreams.clear();
+    files.clear();
+    current = new ArrayList<Entry>();
+    currentBytes = 0;
+    }
+
+  private static void closeSilent( Closeable closeable )
+    {
+    try
+      {
+      if( closeable != null )
+        closeable.close();
+      }
+    catch( IOException exception )
+      {
+      // ignore
+      }
+    }
+  }
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.flow.local.stream;
+
+import java.io.File;
+
+import cascading.flow.FlowProcess;
+import cascading.flow.stream.SourceStage;
+import cascading.tap.Tap;
+import cascading.tap.local.io.LineRangeInputStream;
+
+/**
+ * Class LineRangeSourceStage reads the lines of a single byte range of a local source file, allowing a large file
+ * to be read by many threads concurrently.
+ *
+ * @see LineRangeInputStream
+ */
+public class LineRangeSourceStage extends SourceStage
+  {
+  private final File file;
+  private final long start;
+  private final long end;
+
+  public LineRangeSourceStage( FlowProcess flowProcess, Tap source, File file, long start, long end )
+    {
+    super( flowProcess, source );
+    this.file = file;
+    this.start = start;
+    this.end = end;
+    }
+
+  @Override
+  public Throwable call() throws Exception
+    {
+    try
+      {
+      run( new LineRangeInputStream( file, start, end ) );
+      }
+    catch( Throwable throwable )
+      {
+      return throwable;
+      }
+
+    return null;
+    }
+
+  @Override
+  public String toString()
+    {
+    final StringBuilder sb = new StringBuilder();
+    sb.append( getClass().getSimpleName() );
+    sb.append( "{flowElement=" ).append( flowElement );
+    sb.append( ", start=" ).append( start );
+    sb.append( ", end=" ).append( end );
+    sb.append( '}' );
+    return sb.toString();
+    }
+  }
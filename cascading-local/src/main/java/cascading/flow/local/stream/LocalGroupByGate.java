@@ -20,25 +20,53 @@
 
 package cascading.flow.local.stream;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
 
 import cascading.flow.FlowProcess;
+import cascading.flow.local.LocalFlowProps;
 import cascading.flow.stream.Duct;
 import cascading.flow.stream.MemorySpliceGate;
 import cascading.pipe.Splice;
 import cascading.tuple.Tuple;
 import cascading.tuple.TupleEntry;
-import com.google.common.collect.ArrayListMultimap;
-import com.google.common.collect.ListMultimap;
-import com.google.common.collect.Multimaps;
+import cascading.tuple.collect.SpillableProps;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
 
 /**
- *
+ * Class LocalGroupByGate performs the {@link cascading.pipe.GroupBy} in local mode.
+ * <p/>
+ * Each thread calling {@link #receive(Duct, TupleEntry)} accumulates values into its own unsynchronized
+ * partition, so concurrent source threads do not contend on a shared monitor.
+ * <p/>
+ * By default all values are held in memory, collected into per thread hash tables by key. When the last incoming
+ * path completes, the tables are merged and the distinct keys sorted. Values are only sorted within a grouping, if
+ * the GroupBy declares sort fields. If {@link cascading.flow.FlowProps#HASH_GROUPING} is set, the keys are never
+ * sorted.
+ * <p/>
+ * If {@link LocalFlowProps#GROUPBY_SPILL_THRESHOLD} is set, each partition is an {@link ExternalTupleSorter}, values
+ * are sorted and spilled to local disk as the byte threshold is met, the threshold is divided evenly between the
+ * incoming paths. When the last incoming path completes, the partitions are sorted in parallel and merged.
  */
 public class LocalGroupByGate extends MemorySpliceGate
   {
-  private ListMultimap<Tuple, Tuple> valueMap;
+  private final List<ExternalTupleSorter> partitions = new ArrayList<ExternalTupleSorter>();
+  private ThreadLocal<ExternalTupleSorter> partition;
+
+  private final List<Map<Tuple, List<Tuple>>> hashPartitions = new ArrayList<Map<Tuple, List<Tuple>>>();
+  private ThreadLocal<Map<Tuple, List<Tuple>>> hashPartition;
+
+  private long spillThreshold;
+  private boolean compressSpill;
 
   public LocalGroupByGate( FlowProcess flowProcess, Splice splice )
     {
@@ -51,9 +79,52 @@ public class LocalGroupByGate extends MemorySpliceGate
     return true;
     }
 
-  private ListMultimap<Tuple, Tuple> initNewValueMap()
+  private ThreadLocal<ExternalTupleSorter> initNewPartition()
+    {
+    return new ThreadLocal<ExternalTupleSorter>()
+    {
+    @Override
+    protected ExternalTupleSorter initialValue()
+      {
+      ExternalTupleSorter sorter = new ExternalTupleSorter( keyBuilder[ 0 ], getKeyComparator(), getValueComparator(), spillThreshold, compressSpill );
+
+      synchronized( partitions )
+        {
+        partitions.add( sorter );
+        }
+
+      return sorter;
+      }
+    };
+    }
+
+  private ThreadLocal<Map<Tuple, List<Tuple>>> initNewHashPartition()
+    {
+    return new ThreadLocal<Map<Tuple, List<Tuple>>>()
+    {
+    @Override
+    protected Map<Tuple, List<Tuple>> initialValue()
+      {
+      Map<Tuple, List<Tuple>> map = new LinkedHashMap<Tuple, List<Tuple>>();
+
+      synchronized( hashPartitions )
+        {
+        hashPartitions.add( map );
+        }
+
+      return map;
+      }
+    };
+    }
+
+  private Comparator<Tuple> getValueComparator()
     {
-    return Multimaps.synchronizedListMultimap( ArrayListMultimap.<Tuple, Tuple>create() );
+    return valueComparators != null ? valueComparators[ 0 ] : null;
+    }
+
+  private boolean isSpilling()
+    {
+    return spillThreshold > 0;
     }
 
   @Override
@@ -61,7 +132,29 @@ public class LocalGroupByGate extends MemorySpliceGate
     {
     super.prepare();
 
-    valueMap = initNewValueMap();
+    spillThreshold = getSpillThreshold();
+
+    if( spillThreshold > 0 )
+      {
+      String compress = (String) flowProcess.getProperty( SpillableProps.SPILL_COMPRESS );
+
+      compressSpill = compress == null || Boolean.parseBoolean( compress );
+      spillThreshold = Math.max( 1, spillThreshold / Math.max( 1, numIncomingPaths ) );
+      hashGrouping = false; // spilled runs must be sorted
+      }
+
+    partition = initNewPartition();
+    hashPartition = initNewHashPartition();
+    }
+
+  private long getSpillThreshold()
+    {
+    Object value = flowProcess.getProperty( LocalFlowProps.GROUPBY_SPILL_THRESHOLD );
+
+    if( value == null || value.toString().length() == 0 )
+      return LocalFlowProps.defaultGroupBySpillThreshold;
+
+    return Long.parseLong( value.toString() );
     }
 
   @Override
@@ -73,11 +166,25 @@ public class LocalGroupByGate extends MemorySpliceGate
   @Override
   public void receive( Duct previous, TupleEntry incomingEntry )
     {
+    if( isSpilling() )
+      {
+      partition.get().add( incomingEntry.getTupleCopy() );
+      return;
+      }
+
     Tuple valuesTuple = incomingEntry.getTupleCopy();
-    Tuple groupTuple = keyBuilder[ 0 ].makeResult( valuesTuple, null ); // view on valuesTuple
+    Tuple keyTuple = getDelegatedTuple( keyBuilder[ 0 ].makeResult( valuesTuple, null ) ); // view in valuesTuple
 
-    keys.add( groupTuple );
-    valueMap.put( groupTuple, valuesTuple );
+    Map<Tuple, List<Tuple>> map = hashPartition.get();
+    List<Tuple> values = map.get( keyTuple );
+
+    if( values == null )
+      {
+      values = new ArrayList<Tuple>();
+      map.put( keyTuple, values );
+      }
+
+    values.add( valuesTuple );
     }
 
   @Override
@@ -91,27 +198,183 @@ public class LocalGroupByGate extends MemorySpliceGate
     try
       {
       // no need to synchronize here as we are guaranteed all writer threads are completed
-      for( Tuple groupTuple : keys )
+      if( isSpilling() )
+        emitSpilled();
+      else
+        emitGrouped();
+      }
+    finally
+      {
+      for( ExternalTupleSorter sorter : partitions )
+        sorter.clear();
+
+      partitions.clear();
+      partition = initNewPartition();
+      hashPartitions.clear();
+      hashPartition = initNewHashPartition();
+      count.set( numIncomingPaths );
+
+      next.complete( this );
+      }
+    }
+
+  private void emitSpilled()
+    {
+    PeekingIterator<ExternalTupleSorter.Entry> iterator = Iterators.peekingIterator( sortPartitions() );
+    Comparator<Tuple> keyComparator = getKeyComparator();
+
+    while( iterator.hasNext() )
+      {
+      Tuple groupTuple = iterator.peek().getKey(); // view on first values tuple
+
+      keyEntry.setTuple( groupTuple );
+
+      GroupIterator groupIterator = new GroupIterator( iterator, groupTuple, keyComparator );
+
+      tupleEntryIterator.reset( groupIterator );
+
+      next.receive( this, grouping );
+
+      groupIterator.drain(); // skip any values not consumed downstream
+      }
+    }
+
+  private void emitGrouped()
+    {
+    Comparator<Tuple> valueComparator = getValueComparator();
+    Map<Tuple, List<Tuple>> groups = mergeHashPartitions();
+
+    if( !hashGrouping )
+      groups = sortGroups( groups );
+
+    for( Map.Entry<Tuple, List<Tuple>> entry : groups.entrySet() )
+      {
+      List<Tuple> values = entry.getValue();
+
+      if( valueComparator != null )
+        Collections.sort( values, valueComparator );
+
+      keyEntry.setTuple( entry.getKey() );
+      tupleEntryIterator.reset( values.iterator() );
+
+      next.receive( this, grouping );
+      }
+    }
+
+  private Map<Tuple, List<Tuple>> mergeHashPartitions()
+    {
+    if( hashPartitions.isEmpty() )
+      return Collections.emptyMap();
+
+    Map<Tuple, List<Tuple>> target = hashPartitions.get( 0 );
+
+    for( int i = 1; i < hashPartitions.size(); i++ )
+      {
+      for( Map.Entry<Tuple, List<Tuple>> entry : hashPartitions.get( i ).entrySet() )
         {
-        keyEntry.setTuple( groupTuple );
+        List<Tuple> values = target.get( entry.getKey() );
+
+        if( values == null )
+          target.put( entry.getKey(), entry.getValue() );
+        else
+          values.addAll( entry.getValue() );
+        }
+      }
+
+    return target;
+    }
+
+  /** Sorts the distinct keys only, any keys equal by the comparator are grouped together */
+  private Map<Tuple, List<Tuple>> sortGroups( Map<Tuple, List<Tuple>> groups )
+    {
+    Map<Tuple, List<Tuple>> sorted = new TreeMap<Tuple, List<Tuple>>( getKeyComparator() );
+
+    for( Map.Entry<Tuple, List<Tuple>> entry : groups.entrySet() )
+      {
+      List<Tuple> values = sorted.get( entry.getKey() );
+
+      if( values == null )
+        sorted.put( entry.getKey(), entry.getValue() );
+      else
+        values.addAll( entry.getValue() );
+      }
 
-        List<Tuple> tuples = valueMap.get( groupTuple );
+    return sorted;
+    }
+
+  private Iterator<ExternalTupleSorter.Entry> sortPartitions()
+    {
+    if( partitions.isEmpty() )
+      return Iterators.emptyIterator();
 
-        if( valueComparators != null )
-          Collections.sort( tuples, valueComparators[ 0 ] );
+    List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
 
-        tupleEntryIterator.reset( tuples.iterator() );
+    for( final ExternalTupleSorter sorter : partitions )
+      {
+      tasks.add( new Callable<Void>()
+      {
+      @Override
+      public Void call()
+        {
+        sorter.sort();
 
-        next.receive( this, grouping );
+        return null;
         }
+      } );
       }
-    finally
+
+    invokeAll( tasks );
+
+    List<Iterator<ExternalTupleSorter.Entry>> runs = new ArrayList<Iterator<ExternalTupleSorter.Entry>>();
+
+    for( ExternalTupleSorter sorter : partitions )
+      runs.addAll( sorter.openRuns() );
+
+    if( runs.size() == 1 )
+      return runs.get( 0 );
+
+    return new TupleMergeIterator<ExternalTupleSorter.Entry>( partitions.get( 0 ).getComparator(), runs );
+    }
+
+  /** Iterates the values of the current grouping from the underlying merged and sorted iterator. */
+  private class GroupIterator implements Iterator<Tuple>
+    {
+    private final PeekingIterator<ExternalTupleSorter.Entry> iterator;
+    private final Tuple groupTuple;
+    private final Comparator<Tuple> keyComparator;
+
+    private GroupIterator( PeekingIterator<ExternalTupleSorter.Entry> iterator, Tuple groupTuple, Comparator<Tuple> keyComparator )
       {
-      keys = createKeySet();
-      valueMap = initNewValueMap();
-      count.set( numIncomingPaths );
+      this.iterator = iterator;
+      this.groupTuple = groupTuple;
+      this.keyComparator = keyComparator;
+      }
 
-      next.complete( this );
+    @Override
+    public boolean hasNext()
+      {
+      return iterator.hasNext() && keyComparator.compare( groupTuple, iterator.peek().getKey() ) == 0;
+      }
+
+    @Override
+    public Tuple next()
+      {
+      if( !hasNext() )
+        throw new NoSuchElementException();
+
+      return iterator.next().getTuple();
+      }
+
+    private void drain()
+      {
+      while( hasNext() )
+        iterator.next();
+      }
+
+    @Override
+    public void remove()
+      {
+      throw new UnsupportedOperationException( "remove is not supported" );
       }
     }
   }
@@ -20,28 +20,42 @@
 
 package cascading.flow.local.stream;
 
+import java.io.File;
+import java.nio.charset.Charset;
 import java.util.List;
 import java.util.Properties;
 
 import cascading.flow.FlowElement;
 import cascading.flow.FlowProcess;
 import cascading.flow.local.LocalFlowProcess;
+import cascading.flow.local.LocalFlowProps;
 import cascading.flow.local.LocalFlowStep;
 import cascading.flow.stream.Duct;
+import cascading.flow.stream.ElementStage;
 import cascading.flow.stream.Gate;
 import cascading.flow.stream.MemoryCoGroupGate;
+import cascading.flow.stream.MergeStage;
 import cascading.flow.stream.SinkStage;
 import cascading.flow.stream.SourceStage;
 import cascading.flow.stream.StepStreamGraph;
 import cascading.pipe.CoGroup;
+import cascading.pipe.Each;
 import cascading.pipe.GroupBy;
 import cascading.pipe.Merge;
 import cascading.pipe.Splice;
 import cascading.property.PropertyUtil;
+import cascading.scheme.Scheme;
+import cascading.scheme.local.TextDelimited;
+import cascading.scheme.local.TextLine;
 import cascading.tap.Tap;
+import cascading.tap.local.FileTap;
 
 /**
- *
+ * Class LocalStepStreamGraph builds the local mode stream graph.
+ * <p/>
+ * If {@link LocalFlowProps#SOURCE_PARTITIONS} is greater than 1, a large line oriented {@link FileTap} source is
+ * divided into byte ranges, each read by its own {@link LineRangeSourceStage}. Each range gets its own copy of
+ * the stages up to the first {@link GroupBy} or {@link Merge}, where the partitions are merged back together.
  */
 public class LocalStepStreamGraph extends StepStreamGraph
   {
@@ -58,10 +72,20 @@ public class LocalStepStreamGraph extends StepStreamGraph
     bind();
     }
 
+  private int currentPartition = 0;
+
   protected void buildGraph()
     {
     for( Object rhsElement : step.getSources() )
       {
+      int numPartitions = getNumPartitionsFor( (Tap) rhsElement );
+
+      if( numPartitions > 1 )
+        {
+        buildPartitionedSource( (FileTap) rhsElement, numPartitions );
+        continue;
+        }
+
       Duct rhsDuct = new SourceStage( tapFlowProcess( (Tap) rhsElement ), (Tap) rhsElement );
 
       addHead( rhsDuct );
@@ -70,6 +94,124 @@ public class LocalStepStreamGraph extends StepStreamGraph
       }
     }
 
+  private void buildPartitionedSource( FileTap source, int numPartitions )
+    {
+    File file = new File( source.getIdentifier() );
+    long length = file.length();
+
+    try
+      {
+      for( int i = 0; i < numPartitions; i++ )
+        {
+        currentPartition = i;
+
+        SourceStage rhsDuct = new LineRangeSourceStage( tapFlowProcess( source ), source, file, i * length / numPartitions, ( i + 1 ) * length / numPartitions );
+
+        rhsDuct.setPartition( i );
+
+        addHead( rhsDuct );
+
+        handleDuct( source, rhsDuct );
+        }
+      }
+    finally
+      {
+      currentPartition = 0;
+      }
+    }
+
+  /**
+   * Partitions the stages between a partitioned source and the first GroupBy or Merge. Gates, merges, and
+   * sinks are shared by all partitions.
+   */
+  @Override
+  protected Duct findExisting( Duct current )
+    {
+    if( currentPartition != 0 && current instanceof ElementStage && !( current instanceof MergeStage ) && !( current instanceof SinkStage ) )
+      ( (ElementStage) current ).setPartition( currentPartition );
+
+    return super.findExisting( current );
+    }
+
+  private int getNumPartitionsFor( Tap source )
+    {
+    FlowProcess tapFlowProcess = tapFlowProcess( source );
+    int maxPartitions = getIntProperty( tapFlowProcess, LocalFlowProps.SOURCE_PARTITIONS, LocalFlowProps.defaultSourcePartitions );
+
+    // gates and sinks are shared by all partitions, so only paths ending in a GroupBy or Merge may be partitioned
+    if( maxPartitions <= 1 || !isPartitionable( source ) || !isPartitionablePath( source ) )
+      return 1;
+
+    File file = new File( source.getIdentifier() );
+
+    if( !file.isFile() )
+      return 1;
+
+    long minSize = getLongProperty( tapFlowProcess, LocalFlowProps.SOURCE_PARTITION_MIN_SIZE, LocalFlowProps.defaultSourcePartitionMinSize );
+    long numPartitions = file.length() / Math.max( 1, minSize );
+
+    return (int) Math.max( 1, Math.min( maxPartitions, numPartitions ) );
+    }
+
+  private boolean isPartitionable( Tap source )
+    {
+    if( !( source instanceof FileTap ) || !step.getTraps().isEmpty() )
+      return false;
+
+    Scheme scheme = source.getScheme();
+
+    if( scheme instanceof TextLine )
+      return scheme.getSourceFields().size() == 1 && isLineDelimited( ( (TextLine) scheme ).getCharsetName() );
+
+    if( scheme instanceof TextDelimited )
+      return !( (TextDelimited) scheme ).isSkipHeader() && isLineDelimited( ( (TextDelimited) scheme ).getCharsetName() );
+
+    return false;
+    }
+
+  /** Returns true if a newline is always encoded as the single byte {@code '\n'}. */
+  private static boolean isLineDelimited( String charsetName )
+    {
+    String name = Charset.forName( charsetName ).name();
+
+    return name.equals( "UTF-8" ) || name.equals( "US-ASCII" ) || name.equals( "ISO-8859-1" );
+    }
+
+  /** Returns true if every path from the given element only passes through Each pipes before a GroupBy or Merge. */
+  private boolean isPartitionablePath( FlowElement element )
+    {
+    for( Object successor : step.getSuccessors( element ) )
+      {
+      if( successor instanceof GroupBy || successor instanceof Merge )
+        continue;
+
+      if( !( successor instanceof Each ) || !isPartitionablePath( (FlowElement) successor ) )
+        return false;
+      }
+
+    return true;
+    }
+
+  private static int getIntProperty( FlowProcess flowProcess, String name, int defaultValue )
+    {
+    Object value = flowProcess.getProperty( name );
+
+    if( value == null || value.toString().length() == 0 )
+      return defaultValue;
+
+    return Integer.parseInt( value.toString() );
+    }
+
+  private static long getLongProperty( FlowProcess flowProcess, String name, long defaultValue )
+    {
+    Object value = flowProcess.getProperty( name );
+
+    if( value == null || value.toString().length() == 0 )
+      return defaultValue;
+
+    return Long.parseLong( value.toString() );
+    }
+
   protected Gate createCoGroupGate( CoGroup element )
     {
     return new MemoryCoGroupGate( flowProcess, (Splice) element );
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.flow.local.stream;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Class TupleMergeIterator performs a k-way merge over the given sorted iterators, typically of
+ * {@link cascading.tuple.Tuple} or {@link ExternalTupleSorter.Entry} instances.
+ * <p/>
+ * Values that compare equal are returned in the order of the iterators given, so the merge is stable if the
+ * iterators are ordered by arrival.
+ */
+public class TupleMergeIterator<T> implements Iterator<T>
+  {
+  private final PriorityQueue<Run<T>> queue;
+
+  public TupleMergeIterator( Comparator<T> comparator, List<Iterator<T>> runs )
+    {
+    queue = new PriorityQueue<Run<T>>( Math.max( 1, runs.size() ) );
+
+    for( int i = 0; i < runs.size(); i++ )
+      {
+      Iterator<T> iterator = runs.get( i );
+
+      if( iterator.hasNext() )
+        queue.add( new Run<T>( comparator, i, iterator ) );
+      }
+    }
+
+  @Override
+  public boolean hasNext()
+    {
+    return !queue.isEmpty();
+    }
+
+  @Override
+  public T next()
+    {
+    Run<T> run = queue.poll();
+
+    if( run == null )
+      throw new NoSuchElementException();
+
+    T result = run.head;
+
+    if( run.advance() )
+      queue.add( run );
+
+    return result;
+    }
+
+  @Override
+  public void remove()
+    {
+    throw new UnsupportedOperationException( "remove is not supported" );
+    }
+
+  private static class Run<T> implements Comparable<Run<T>>
+    {
+    final Comparator<T> comparator;
+    final int ordinal;
+    final Iterator<T> iterator;
+    T head;
+
+    private Run( Comparator<T> comparator, int ordinal, Iterator<T> iterator )
+      {
+      this.comparator = comparator;
+      this.ordinal = ordinal;
+      this.iterator = iterator;
+      this.head = iterator.next();
+      }
+
+    boolean advance()
+      {
+      if( !iterator.hasNext() )
+        return false;
+
+      head = iterator.next();
+
+      return true;
+      }
+
+    @Override
+    public int compareTo( Run<T> other )
+      {
+      int result = comparator.compare( head, other.head );
+
+      if( result != 0 )
+        return result;
+
+      // earlier runs hold earlier tuples, keeps the merge stable
+      return ordinal < other.ordinal ? -1 : ( ordinal == other.ordinal ? 0 : 1 );
+      }
+    }
+  }
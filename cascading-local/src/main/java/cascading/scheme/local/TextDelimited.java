@@ -33,14 +33,17 @@ import java.nio.charset.Charset;
 import java.util.Properties;
 
 import cascading.flow.FlowProcess;
+import cascading.flow.local.LocalFlowProps;
 import cascading.scheme.Scheme;
 import cascading.scheme.SinkCall;
 import cascading.scheme.SourceCall;
 import cascading.scheme.util.DelimitedParser;
+import cascading.scheme.util.LineBuffer;
 import cascading.tap.CompositeTap;
 import cascading.tap.Tap;
 import cascading.tap.TapException;
 import cascading.tap.local.FileTap;
+import cascading.tap.local.io.MappedLineReader;
 import cascading.tuple.Fields;
 import cascading.tuple.Tuple;
 
@@ -91,10 +94,12 @@ import cascading.tuple.Tuple;
  *
  * @see TextLine
  */
-public class TextDelimited extends Scheme<Properties, InputStream, OutputStream, LineNumberReader, PrintWriter>
+public class TextDelimited extends Scheme<Properties, InputStream, OutputStream, Object[], PrintWriter>
   {
   public static final String DEFAULT_CHARSET = "UTF-8";
 
+  private static final String LINE_SEPARATOR = System.getProperty( "line.separator" );
+
   private final boolean skipHeader;
   private final boolean writeHeader;
   private final DelimitedParser delimitedParser;
@@ -461,6 +466,26 @@ public class TextDelimited extends Scheme<Properties, InputStream, OutputStream,
     return delimitedParser.getQuote();
     }
 
+  /**
+   * Method isSkipHeader returns true if the first line of the source file is skipped.
+   *
+   * @return a boolean
+   */
+  public boolean isSkipHeader()
+    {
+    return skipHeader;
+    }
+
+  /**
+   * Method getCharsetName returns the name of the charset used to encode/decode text.
+   *
+   * @return a String
+   */
+  public String getCharsetName()
+    {
+    return charsetName;
+    }
+
   public LineNumberReader createInput( InputStream inputStream )
     {
     try
@@ -473,13 +498,58 @@ public class TextDelimited extends Scheme<Properties, InputStream, OutputStream,
       }
     }
 
+  /**
+   * Method createInput returns a {@link MappedLineReader} for the given InputStream if possible and enabled by
+   * {@link LocalFlowProps#SOURCE_MAPPED}, otherwise delegates to {@link #createInput(java.io.InputStream)}.
+   *
+   * @param flowProcess of type FlowProcess
+   * @param inputStream of type InputStream
+   * @return LineNumberReader
+   * @throws IOException when the input cannot be mapped
+   */
+  protected LineNumberReader createInput( FlowProcess<Properties> flowProcess, InputStream inputStream ) throws IOException
+    {
+    if( "true".equalsIgnoreCase( flowProcess.getStringProperty( LocalFlowProps.SOURCE_MAPPED ) ) )
+      {
+      LineNumberReader reader = MappedLineReader.createFor( inputStream, charsetName );
+
+      if( reader != null )
+        return reader;
+      }
+
+    return createInput( inputStream );
+    }
+
   public PrintWriter createOutput( OutputStream outputStream )
+    {
+    return createOutput( outputStream, true );
+    }
+
+  /**
+   * Method createOutput returns a PrintWriter for the given OutputStream, only writing lines through a
+   * {@link LineBuffer} if the fast path is not disabled by {@link DelimitedParser#FAST_PATH}.
+   *
+   * @param flowProcess  of type FlowProcess
+   * @param outputStream of type OutputStream
+   * @return PrintWriter
+   */
+  protected PrintWriter createOutput( FlowProcess<Properties> flowProcess, OutputStream outputStream )
+    {
+    return createOutput( outputStream, DelimitedParser.isFastPathEnabled( flowProcess ) );
+    }
+
+  private PrintWriter createOutput( OutputStream outputStream, boolean fastPath )
     {
     try
       {
-      return new PrintWriter( new OutputStreamWriter( outputStream, charsetName ) );
+      Charset charset = Charset.forName( charsetName );
+
+      if( fastPath && LineBuffer.isSupported( charset ) )
+        return new LinePrintWriter( new LineBuffer( charset, outputStream ) );
+
+      return new PrintWriter( new OutputStreamWriter( outputStream, charset ) );
       }
-    catch( UnsupportedEncodingException exception )
+    catch( IllegalArgumentException exception )
       {
       throw new TapException( exception );
       }
@@ -503,6 +573,12 @@ public class TextDelimited extends Scheme<Properties, InputStream, OutputStream,
       delimitedParser.reset( getSourceFields(), getSinkFields() );
     }
 
+  @Override
+  public boolean isPredicatePushdown()
+    {
+    return true;
+    }
+
   @Override
   public boolean isSymmetrical()
     {
@@ -545,26 +621,37 @@ public class TextDelimited extends Scheme<Properties, InputStream, OutputStream,
     }
 
   @Override
-  public void sourcePrepare( FlowProcess<Properties> flowProcess, SourceCall<LineNumberReader, InputStream> sourceCall ) throws IOException
+  public void sourcePrepare( FlowProcess<Properties> flowProcess, SourceCall<Object[], InputStream> sourceCall ) throws IOException
     {
-    sourceCall.setContext( createInput( sourceCall.getInput() ) );
+    sourceCall.setContext( new Object[ 2 ] );
+
+    sourceCall.getContext()[ 0 ] = createInput( flowProcess, sourceCall.getInput() );
+    sourceCall.getContext()[ 1 ] = DelimitedParser.isFastPathEnabled( flowProcess ); // the parser is shared, so resolved per call
     }
 
   @Override
-  public boolean source( FlowProcess<Properties> flowProcess, SourceCall<LineNumberReader, InputStream> sourceCall ) throws IOException
+  public boolean source( FlowProcess<Properties> flowProcess, SourceCall<Object[], InputStream> sourceCall ) throws IOException
     {
-    String line = sourceCall.getContext().readLine();
+    LineNumberReader reader = (LineNumberReader) sourceCall.getContext()[ 0 ];
+    boolean fastPath = (Boolean) sourceCall.getContext()[ 1 ];
+    Object[] split = null;
 
-    if( line == null )
-      return false;
+    // read until a line is not removed by any pushed down filter
+    while( split == null )
+      {
+      String line = reader.readLine();
+
+      if( line == null )
+        return false;
 
-    if( skipHeader && sourceCall.getContext().getLineNumber() == 1 ) // todo: optimize this away
-      line = sourceCall.getContext().readLine();
+      if( skipHeader && reader.getLineNumber() == 1 ) // todo: optimize this away
+        line = reader.readLine();
 
-    if( line == null )
-      return false;
+      if( line == null )
+        return false;
 
-    Object[] split = delimitedParser.parseLine( line );
+      split = delimitedParser.parseLine( line, getProjectedFields( sourceCall ), getPredicate( sourceCall ), sourceCall.getIncomingEntry(), fastPath );
+      }
 
     // assumption it is better to re-use than to construct new
     Tuple tuple = sourceCall.getIncomingEntry().getTuple();
@@ -576,7 +663,7 @@ public class TextDelimited extends Scheme<Properties, InputStream, OutputStream,
     }
 
   @Override
-  public void sourceCleanup( FlowProcess<Properties> flowProcess, SourceCall<LineNumberReader, InputStream> sourceCall ) throws IOException
+  public void sourceCleanup( FlowProcess<Properties> flowProcess, SourceCall<Object[], InputStream> sourceCall ) throws IOException
     {
     sourceCall.setContext( null );
     }
@@ -589,7 +676,7 @@ public class TextDelimited extends Scheme<Properties, InputStream, OutputStream,
   @Override
   public void sinkPrepare( FlowProcess<Properties> flowProcess, SinkCall<PrintWriter, OutputStream> sinkCall )
     {
-    sinkCall.setContext( createOutput( sinkCall.getOutput() ) );
+    sinkCall.setContext( createOutput( flowProcess, sinkCall.getOutput() ) );
 
     if( writeHeader )
       {
@@ -605,6 +692,17 @@ public class TextDelimited extends Scheme<Properties, InputStream, OutputStream,
     {
     Tuple tuple = sinkCall.getOutgoingEntry().getTuple();
 
+    if( sinkCall.getContext() instanceof LinePrintWriter )
+      {
+      LineBuffer buffer = ( (LinePrintWriter) sinkCall.getContext() ).getLineBuffer();
+
+      delimitedParser.joinLine( tuple, buffer );
+
+      buffer.write( LINE_SEPARATOR );
+
+      return;
+      }
+
     delimitedParser.joinLine( tuple, sinkCall.getContext() );
 
     sinkCall.getContext().println();
@@ -616,4 +714,18 @@ public class TextDelimited extends Scheme<Properties, InputStream, OutputStream,
     sinkCall.getContext().flush();
     sinkCall.setContext( null );
     }
+
+  /** A PrintWriter writing through a {@link LineBuffer} so lines can be formatted directly into bytes */
+  private static class LinePrintWriter extends PrintWriter
+    {
+    public LinePrintWriter( LineBuffer lineBuffer )
+      {
+      super( lineBuffer );
+      }
+
+    public LineBuffer getLineBuffer()
+      {
+      return (LineBuffer) out;
+      }
+    }
   }
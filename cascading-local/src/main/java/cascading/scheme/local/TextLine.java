@@ -33,11 +33,13 @@ import java.nio.charset.Charset;
 import java.util.Properties;
 
 import cascading.flow.FlowProcess;
+import cascading.flow.local.LocalFlowProps;
 import cascading.scheme.Scheme;
 import cascading.scheme.SinkCall;
 import cascading.scheme.SourceCall;
 import cascading.tap.Tap;
 import cascading.tap.TapException;
+import cascading.tap.local.io.MappedLineReader;
 import cascading.tuple.Fields;
 import cascading.tuple.TupleEntry;
 
@@ -150,6 +152,16 @@ public class TextLine extends Scheme<Properties, InputStream, OutputStream, Line
     Charset.forName( this.charsetName );
     }
 
+  /**
+   * Method getCharsetName returns the name of the charset used to encode/decode text.
+   *
+   * @return a String
+   */
+  public String getCharsetName()
+    {
+    return charsetName;
+    }
+
   protected void verify( Fields sourceFields )
     {
     if( sourceFields.size() < 1 || sourceFields.size() > 2 )
@@ -168,6 +180,28 @@ public class TextLine extends Scheme<Properties, InputStream, OutputStream, Line
       }
     }
 
+  /**
+   * Method createInput returns a {@link MappedLineReader} for the given InputStream if possible and enabled by
+   * {@link LocalFlowProps#SOURCE_MAPPED}, otherwise delegates to {@link #createInput(java.io.InputStream)}.
+   *
+   * @param flowProcess of type FlowProcess
+   * @param inputStream of type InputStream
+   * @return LineNumberReader
+   * @throws IOException when the input cannot be mapped
+   */
+  protected LineNumberReader createInput( FlowProcess<Properties> flowProcess, InputStream inputStream ) throws IOException
+    {
+    if( "true".equalsIgnoreCase( flowProcess.getStringProperty( LocalFlowProps.SOURCE_MAPPED ) ) )
+      {
+      LineNumberReader reader = MappedLineReader.createFor( inputStream, charsetName );
+
+      if( reader != null )
+        return reader;
+      }
+
+    return createInput( inputStream );
+    }
+
   public PrintWriter createOutput( OutputStream outputStream )
     {
     try
@@ -205,7 +239,7 @@ public class TextLine extends Scheme<Properties, InputStream, OutputStream, Line
   @Override
   public void sourcePrepare( FlowProcess<Properties> flowProcess, SourceCall<LineNumberReader, InputStream> sourceCall ) throws IOException
     {
-    sourceCall.setContext( createInput( sourceCall.getInput() ) );
+    sourceCall.setContext( createInput( flowProcess, sourceCall.getInput() ) );
     }
 
   @Override
@@ -84,7 +84,7 @@ public class FileTap extends Tap<Properties, InputStream, OutputStream>
     if( input == null )
       input = new FileInputStream( getIdentifier() );
 
-    return new TupleEntrySchemeIterator<Properties, InputStream>( flowProcess, getScheme(), input, getIdentifier() );
+    return new TupleEntrySchemeIterator<Properties, InputStream>( flowProcess, getScheme(), input, getIdentifier(), getProjectedSourceFields( flowProcess ) );
     }
 
   @Override
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.tap.local.io;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+
+/**
+ * Class LineRangeInputStream reads the lines of a file that begin within the given byte range.
+ * <p/>
+ * If {@code start} is not zero, the partial line it falls within is skipped, as it belongs to the prior range. The
+ * line being read when {@code end} is reached is read to completion. So a file divided into contiguous ranges
+ * will have each line read exactly once.
+ * <p/>
+ * Lines are assumed to be terminated by a {@code '\n'} byte, so only ASCII compatible encodings are supported,
+ * for example UTF-8.
+ */
+public class LineRangeInputStream extends InputStream
+  {
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final FileInputStream fileInputStream;
+  private final InputStream inputStream;
+  private final long start;
+  private final long end;
+
+  /** The file offset of the next byte to be read. */
+  private long position;
+  private int last = '\n';
+  private boolean done = false;
+  private boolean started = false;
+
+  public LineRangeInputStream( File file, long start, long end ) throws IOException
+    {
+    this.fileInputStream = new FileInputStream( file );
+
+    this.position = Math.max( 0, start - 1 );
+    this.start = start;
+    this.end = end;
+
+    fileInputStream.getChannel().position( position );
+
+    this.inputStream = new BufferedInputStream( fileInputStream, BUFFER_SIZE );
+    }
+
+  /**
+   * Method getChannel returns the FileChannel of the underlying file, allowing the range to be read by other means,
+   * see {@link MappedLineReader}.
+   *
+   * @return FileChannel
+   */
+  public FileChannel getChannel()
+    {
+    return fileInputStream.getChannel();
+    }
+
+  public long getStart()
+    {
+    return start;
+    }
+
+  public long getEnd()
+    {
+    return end;
+    }
+
+  /** The partial line is skipped lazily, so nothing is read if the range is consumed through the channel */
+  private void skipPartialLine() throws IOException
+    {
+    started = true;
+
+    if( start == 0 )
+      return;
+
+    int value;
+
+    while( ( value = inputStream.read() ) != -1 )
+      {
+      position++;
+
+      if( value == '\n' )
+        return;
+      }
+
+    done = true;
+    }
+
+  private boolean isDone() throws IOException
+    {
+    if( !started )
+      skipPartialLine();
+
+    if( !done && position >= end && last == '\n' )
+      done = true;
+
+    return done;
+    }
+
+  @Override
+  public int read() throws IOException
+    {
+    if( isDone() )
+      return -1;
+
+    int value = inputStream.read();
+
+    if( value == -1 )
+      {
+      done = true;
+      return -1;
+      }
+
+    position++;
+    last = value;
+
+    return value;
+    }
+
+  @Override
+  public int read( byte[] bytes, int offset, int length ) throws IOException
+    {
+    if( length == 0 )
+      return 0;
+
+    if( isDone() )
+      return -1;
+
+    if( position < end )
+      {
+      int count = inputStream.read( bytes, offset, (int) Math.min( length, end - position ) );
+
+      if( count == -1 )
+        {
+        done = true;
+        return -1;
+        }
+
+      position += count;
+      last = bytes[ offset + count - 1 ] & 0xFF;
+
+      return count;
+      }
+
+    // past the end of the range, finish the current line
+    int count = 0;
+
+    while( count < length && !isDone() )
+      {
+      int value = read();
+
+      if( value == -1 )
+        break;
+
+      bytes[ offset + count++ ] = (byte) value;
+      }
+
+    return count == 0 ? -1 : count;
+    }
+
+  @Override
+  public void close() throws IOException
+    {
+    inputStream.close();
+    }
+  }
@@ -0,0 +1,410 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.tap.local.io;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.LineNumberReader;
+import java.io.StringReader;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+/**
+ * Class MappedLineReader is a {@link LineNumberReader} that memory maps a local file, or a byte range of it, and finds
+ * line boundaries on the raw bytes. Each line is only decoded into a String when it is actually read.
+ * <p/>
+ * Lines are terminated by {@code '\n'}, {@code '\r'}, or {@code "\r\n"}, exactly as {@link LineNumberReader#readLine()}
+ * would. Only charsets encoding these characters as single bytes that never occur within other characters are
+ * supported, see {@link #isSupported(java.nio.charset.Charset)}.
+ * <p/>
+ * When given a {@link LineRangeInputStream}, only the lines beginning within its range are read, with the same
+ * semantics.
+ * <p/>
+ * The file is mapped in windows of at most {@link #WINDOW_SIZE} bytes, so files of any size may be read.
+ */
+public class MappedLineReader extends LineNumberReader
+  {
+  /** Field WINDOW_SIZE, the maximum number of bytes mapped at once */
+  public static final int WINDOW_SIZE = 64 * 1024 * 1024;
+
+  private final FileChannel channel;
+  private final Charset charset;
+  /** Field limit, the offset after the last byte to read */
+  private final long limit;
+
+  private MappedByteBuffer window;
+  private long windowStart;
+  private long windowEnd;
+
+  /** Field position, the offset of the next byte to read */
+  private long position;
+  private int lineNumber = 0;
+  private byte[] bytes = new byte[ 1024 ];
+
+  /** Field pending, the unread remainder of a line consumed through the read methods */
+  private String pending;
+  private int pendingOffset;
+  private boolean closed = false;
+
+  /**
+   * Method createFor returns a new MappedLineReader for the given InputStream, or null if the stream is not
+   * a {@link FileInputStream} or {@link LineRangeInputStream}, or the charset is not supported.
+   *
+   * @param inputStream of type InputStream
+   * @param charsetName of type String
+   * @return MappedLineReader
+   * @throws IOException when the file cannot be mapped
+   */
+  public static MappedLineReader createFor( InputStream inputStream, String charsetName ) throws IOException
+    {
+    if( !Charset.isSupported( charsetName ) || !isSupported( Charset.forName( charsetName ) ) )
+      return null;
+
+    Charset charset = Charset.forName( charsetName );
+
+    if( inputStream instanceof LineRangeInputStream )
+      {
+      LineRangeInputStream rangeStream = (LineRangeInputStream) inputStream;
+
+      return new MappedLineReader( rangeStream.getChannel(), rangeStream.getStart(), rangeStream.getEnd(), charset );
+      }
+
+    if( inputStream != null && inputStream.getClass() == FileInputStream.class )
+      {
+      FileChannel channel = ( (FileInputStream) inputStream ).getChannel();
+
+      return new MappedLineReader( channel, channel.position(), Long.MAX_VALUE, charset );
+      }
+
+    return null;
+    }
+
+  /**
+   * Method isSupported returns true if the given charset encodes line terminators as single bytes that are never
+   * part of another character.
+   *
+   * @param charset of type Charset
+   * @return boolean
+   */
+  public static boolean isSupported( Charset charset )
+    {
+    String name = charset.name();
+
+    return name.equals( "UTF-8" ) || name.equals( "US-ASCII" ) || name.equals( "ISO-8859-1" );
+    }
+
+  /**
+   * Constructor MappedLineReader reads all lines beginning at or after {@code start} and before {@code end}. If
+   * {@code start} is not zero, the partial line it falls within is skipped, as it belongs to the prior range.
+   *
+   * @param channel of type FileChannel
+   * @param start   of type long
+   * @param end     of type long
+   * @param charset of type Charset
+   * @throws IOException when the file cannot be mapped
+   */
+  public MappedLineReader( FileChannel channel, long start, long end, Charset charset ) throws IOException
+    {
+    super( new StringReader( "" ), 1 );
+
+    this.channel = channel;
+    this.charset = charset;
+
+    long size = channel.size();
+
+    this.position = start <= 0 ? 0 : findLineStart( Math.min( start, size ) - 1, size );
+
+    if( end >= size )
+      this.limit = size;
+    else if( end <= 0 )
+      this.limit = position;
+    else
+      this.limit = Math.max( position, findLineStart( end - 1, size ) );
+    }
+
+  /** Returns the offset after the first '\n' at or after the given offset, or the given size if none */
+  private long findLineStart( long offset, long size ) throws IOException
+    {
+    while( offset < size )
+      {
+      if( byteAt( offset, size ) == '\n' )
+        return offset + 1;
+
+      offset++;
+      }
+
+    return size;
+    }
+
+  private byte byteAt( long offset, long size ) throws IOException
+    {
+    if( window == null || offset < windowStart || offset >= windowEnd )
+      map( offset, size );
+
+    return window.get( (int) ( offset - windowStart ) );
+    }
+
+  private void map( long offset, long size ) throws IOException
+    {
+    windowStart = offset;
+    windowEnd = Math.min( size, offset + WINDOW_SIZE );
+    window = channel.map( FileChannel.MapMode.READ_ONLY, windowStart, windowEnd - windowStart );
+    }
+
+  @Override
+  public String readLine() throws IOException
+    {
+    ensureOpen();
+
+    String line;
+
+    if( pending != null && pendingOffset < pending.length() )
+      {
+      // the line number was incremented when the pending line was read, if it was terminated
+      line = stripTerminator( pending.substring( pendingOffset ) );
+
+      if( line.length() == pending.length() - pendingOffset )
+        lineNumber++;
+      }
+    else
+      {
+      line = nextLine( false );
+
+      if( line != null )
+        lineNumber++;
+      }
+
+    pending = null;
+
+    return line;
+    }
+
+  private String nextLine( boolean keepTerminator ) throws IOException
+    {
+    if( position >= limit )
+      return null;
+
+    int length = 0;
+    long lineStart = position;
+
+    while( position < limit )
+      {
+      if( position >= windowEnd || position < windowStart || window == null )
+        {
+        length = copy( lineStart, position, length );
+        map( position, limit );
+        lineStart = position;
+        }
+
+      byte value = window.get( (int) ( position - windowStart ) );
+
+      if( value != '\n' && value != '\r' )
+        {
+        position++;
+        continue;
+        }
+
+      length = copy( lineStart, position, length );
+      position++;
+
+      if( value == '\r' && position < limit && byteAt( position, limit ) == '\n' )
+        {
+        position++;
+
+        if( keepTerminator )
+          length = append( (byte) '\r', length );
+
+        value = '\n';
+        }
+
+      if( keepTerminator )
+        length = append( value, length );
+
+      return new String( bytes, 0, length, charset );
+      }
+
+    length = copy( lineStart, position, length );
+
+    return new String( bytes, 0, length, charset );
+    }
+
+  private int copy( long from, long to, int length )
+    {
+    int count = (int) ( to - from );
+
+    if( count == 0 )
+      return length;
+
+    ensureCapacity( length + count );
+
+    window.position( (int) ( from - windowStart ) );
+    window.get( bytes, length, count );
+
+    return length + count;
+    }
+
+  private int append( byte value, int length )
+    {
+    ensureCapacity( length + 1 );
+
+    bytes[ length ] = value;
+
+    return length + 1;
+    }
+
+  private void ensureCapacity( int capacity )
+    {
+    if( capacity <= bytes.length )
+      return;
+
+    byte[] copy = new byte[ Math.max( bytes.length * 2, capacity ) ];
+
+    System.arraycopy( bytes, 0, copy, 0, bytes.length );
+
+    bytes = copy;
+    }
+
+  private static String stripTerminator( String line )
+    {
+    int length = line.length();
+
+    if( length != 0 && line.charAt( length - 1 ) == '\n' )
+      length--;
+
+    if( length != 0 && line.charAt( length - 1 ) == '\r' )
+      length--;
+
+    return line.substring( 0, length );
+    }
+
+  @Override
+  public int read() throws IOException
+    {
+    ensureOpen();
+
+    if( !fillPending() )
+      return -1;
+
+    return pending.charAt( pendingOffset++ );
+    }
+
+  @Override
+  public int read( char[] chars, int offset, int length ) throws IOException
+    {
+    ensureOpen();
+
+    if( length == 0 )
+      return 0;
+
+    if( !fillPending() )
+      return -1;
+
+    int count = Math.min( length, pending.length() - pendingOffset );
+
+    pending.getChars( pendingOffset, pendingOffset + count, chars, offset );
+    pendingOffset += count;
+
+    return count;
+    }
+
+  private boolean fillPending() throws IOException
+    {
+    if( pending != null && pendingOffset < pending.length() )
+      return true;
+
+    pending = nextLine( true );
+    pendingOffset = 0;
+
+    if( pending == null )
+      return false;
+
+    if( pending.endsWith( "\n" ) || pending.endsWith( "\r" ) )
+      lineNumber++;
+
+    return pending.length() != 0 || fillPending();
+    }
+
+  @Override
+  public long skip( long count ) throws IOException
+    {
+    long skipped = 0;
+
+    while( skipped < count && read() != -1 )
+      skipped++;
+
+    return skipped;
+    }
+
+  @Override
+  public boolean ready() throws IOException
+    {
+    ensureOpen();
+
+    return ( pending != null && pendingOffset < pending.length() ) || position < limit;
+    }
+
+  @Override
+  public int getLineNumber()
+    {
+    return lineNumber;
+    }
+
+  @Override
+  public void setLineNumber( int lineNumber )
+    {
+    this.lineNumber = lineNumber;
+    }
+
+  @Override
+  public boolean markSupported()
+    {
+    return false;
+    }
+
+  @Override
+  public void mark( int readAheadLimit ) throws IOException
+    {
+    throw new IOException( "mark not supported" );
+    }
+
+  @Override
+  public void reset() throws IOException
+    {
+    throw new IOException( "reset not supported" );
+    }
+
+  private void ensureOpen() throws IOException
+    {
+    if( closed )
+      throw new IOException( "reader closed" );
+    }
+
+  /** The underlying channel belongs to the InputStream given to {@link #createFor(java.io.InputStream, String)} */
+  @Override
+  public void close() throws IOException
+    {
+    closed = true;
+    window = null;
+    pending = null;
+    }
+  }
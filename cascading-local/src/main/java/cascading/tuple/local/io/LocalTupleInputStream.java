@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.tuple.local.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.util.Comparator;
+
+import cascading.tuple.TupleException;
+import cascading.tuple.io.IndexTuple;
+import cascading.tuple.io.TupleInputStream;
+
+/**
+ * Class LocalTupleInputStream is used by the local platform to read {@link cascading.tuple.Tuple} instances
+ * written by a {@link LocalTupleOutputStream}.
+ */
+public class LocalTupleInputStream extends TupleInputStream
+  {
+  /** Reads any types written with Java serialization. */
+  public static final ElementReader SERIALIZABLE_ELEMENT_READER = new ElementReader()
+  {
+  @Override
+  public Object read( int token, DataInputStream inputStream ) throws IOException
+    {
+    if( token != LocalTupleOutputStream.SERIALIZABLE_TOKEN )
+      throw new IOException( "unknown token: " + token );
+
+    byte[] bytes = new byte[ readVInt( inputStream ) ];
+
+    inputStream.readFully( bytes );
+
+    ObjectInputStream objectInputStream = new ObjectInputStream( new ByteArrayInputStream( bytes ) )
+    {
+    @Override
+    protected Class<?> resolveClass( ObjectStreamClass desc ) throws IOException, ClassNotFoundException
+      {
+      try
+        {
+        return Class.forName( desc.getName(), false, Thread.currentThread().getContextClassLoader() );
+        }
+      catch( ClassNotFoundException exception )
+        {
+        return super.resolveClass( desc );
+        }
+      }
+    };
+
+    try
+      {
+      return objectInputStream.readObject();
+      }
+    catch( ClassNotFoundException exception )
+      {
+      throw new TupleException( "unable to deserialize type", exception );
+      }
+    finally
+      {
+      objectInputStream.close();
+      }
+    }
+
+  @Override
+  public Comparator getComparatorFor( int type, DataInputStream inputStream ) throws IOException
+    {
+    return null;
+    }
+
+  @Override
+  public void close()
+    {
+    }
+  };
+
+  /**
+   * Method readVInt reads an int value written by {@link LocalTupleOutputStream#writeVInt(java.io.DataOutputStream, int)}.
+   *
+   * @param stream of type DataInputStream
+   * @return int
+   * @throws IOException when
+   */
+  public static int readVInt( DataInputStream stream ) throws IOException
+    {
+    int value = 0;
+
+    for( int shift = 0; ; shift += 7 )
+      {
+      int next = stream.readUnsignedByte();
+
+      value |= ( next & 0x7F ) << shift;
+
+      if( ( next & 0x80 ) == 0 )
+        return value;
+      }
+    }
+
+  public LocalTupleInputStream( InputStream inputStream )
+    {
+    this( inputStream, SERIALIZABLE_ELEMENT_READER );
+    }
+
+  public LocalTupleInputStream( InputStream inputStream, ElementReader elementReader )
+    {
+    super( inputStream, elementReader );
+    }
+
+  public int getNumElements() throws IOException
+    {
+    return readVInt( this );
+    }
+
+  public int readToken() throws IOException
+    {
+    return readVInt( this );
+    }
+
+  public Object getNextElement() throws IOException
+    {
+    return readType( readToken() );
+    }
+
+  public IndexTuple readIndexTuple( IndexTuple indexTuple ) throws IOException
+    {
+    indexTuple.setIndex( readVInt( this ) );
+    indexTuple.setTuple( readTuple() );
+
+    return indexTuple;
+    }
+
+  public String readString() throws IOException
+    {
+    byte[] bytes = new byte[ readVInt( this ) ];
+
+    readFully( bytes );
+
+    return new String( bytes, "UTF-8" );
+    }
+
+  protected final Object readType( int type ) throws IOException
+    {
+    switch( type )
+      {
+      case 0:
+        return null;
+      case 1:
+        return readString();
+      case 2:
+        return readFloat();
+      case 3:
+        return readDouble();
+      case 4:
+        return readInt();
+      case 5:
+        return readLong();
+      case 6:
+        return readBoolean();
+      case 7:
+        return readShort();
+      case 8:
+        return readTuple();
+      case 9:
+        return readTuplePair();
+      case 10:
+        return readIndexTuple();
+      default:
+        return elementReader.read( type, this );
+      }
+    }
+  }
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.tuple.local.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import cascading.tuple.Tuple;
+import cascading.tuple.TupleException;
+import cascading.tuple.io.IndexTuple;
+import cascading.tuple.io.TupleOutputStream;
+import cascading.tuple.io.TuplePair;
+
+/**
+ * Class LocalTupleOutputStream is used by the local platform to write {@link Tuple} instances to local storage,
+ * typically temporary spill files.
+ * <p/>
+ * The element tokens are the same as those used by the Hadoop platform. Any type not natively supported is written
+ * with Java serialization, so must implement {@link java.io.Serializable}.
+ *
+ * @see LocalTupleInputStream
+ */
+public class LocalTupleOutputStream extends TupleOutputStream
+  {
+  /** Field SERIALIZABLE_TOKEN */
+  public static final int SERIALIZABLE_TOKEN = 32;
+
+  private static final Map<Class, TupleElementWriter> staticTupleElementWriters = new IdentityHashMap<Class, TupleElementWriter>();
+
+  static
+    {
+    staticTupleElementWriters.put( String.class, new TupleElementWriter()
+    {
+    @Override
+    public void write( TupleOutputStream stream, Object element ) throws IOException
+      {
+      writeVInt( stream, 1 );
+      writeString( stream, (String) element );
+      }
+    } );
+
+    staticTupleElementWriters.put( Float.class, new TupleElementWriter()
+    {
+    @Override
+    public void write( TupleOutputStream stream, Object element ) throws IOException
+      {
+      writeVInt( stream, 2 );
+      stream.writeFloat( (Float) element );
+      }
+    } );
+
+    staticTupleElementWriters.put( Double.class, new TupleElementWriter()
+    {
+    @Override
+    public void write( TupleOutputStream stream, Object element ) throws IOException
+      {
+      writeVInt( stream, 3 );
+      stream.writeDouble( (Double) element );
+      }
+    } );
+
+    staticTupleElementWriters.put( Integer.class, new TupleElementWriter()
+    {
+    @Override
+    public void write( TupleOutputStream stream, Object element ) throws IOException
+      {
+      writeVInt( stream, 4 );
+      stream.writeInt( (Integer) element );
+      }
+    } );
+
+    staticTupleElementWriters.put( Long.class, new TupleElementWriter()
+    {
+    @Override
+    public void write( TupleOutputStream stream, Object element ) throws IOException
+      {
+      writeVInt( stream, 5 );
+      stream.writeLong( (Long) element );
+      }
+    } );
+
+    staticTupleElementWriters.put( Boolean.class, new TupleElementWriter()
+    {
+    @Override
+    public void write( TupleOutputStream stream, Object element ) throws IOException
+      {
+      writeVInt( stream, 6 );
+      stream.writeBoolean( (Boolean) element );
+      }
+    } );
+
+    staticTupleElementWriters.put( Short.class, new TupleElementWriter()
+    {
+    @Override
+    public void write( TupleOutputStream stream, Object element ) throws IOException
+      {
+      writeVInt( stream, 7 );
+      stream.writeShort( (Short) element );
+      }
+    } );
+
+    staticTupleElementWriters.put( Tuple.class, new TupleElementWriter()
+    {
+    @Override
+    public void write( TupleOutputStream stream, Object element ) throws IOException
+      {
+      writeVInt( stream, 8 );
+      stream.writeTuple( (Tuple) element );
+      }
+    } );
+
+    staticTupleElementWriters.put( TuplePair.class, new TupleElementWriter()
+    {
+    @Override
+    public void write( TupleOutputStream stream, Object element ) throws IOException
+      {
+      writeVInt( stream, 9 );
+      stream.writeTuplePair( (TuplePair) element );
+      }
+    } );
+
+    staticTupleElementWriters.put( IndexTuple.class, new TupleElementWriter()
+    {
+    @Override
+    public void write( TupleOutputStream stream, Object element ) throws IOException
+      {
+      writeVInt( stream, 10 );
+      stream.writeIndexTuple( (IndexTuple) element );
+      }
+    } );
+    }
+
+  /** Writes any remaining types using Java serialization. */
+  public static final ElementWriter SERIALIZABLE_ELEMENT_WRITER = new ElementWriter()
+  {
+  @Override
+  public void write( DataOutputStream outputStream, Object object ) throws IOException
+    {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ObjectOutputStream objectOutputStream = new ObjectOutputStream( bytes );
+
+    try
+      {
+      objectOutputStream.writeObject( object );
+      }
+    catch( IOException exception )
+      {
+      throw new TupleException( "unable to serialize type: " + object.getClass().getName() + ", must implement java.io.Serializable", exception );
+      }
+    finally
+      {
+      objectOutputStream.close();
+      }
+
+    writeVInt( outputStream, SERIALIZABLE_TOKEN );
+    writeVInt( outputStream, bytes.size() );
+    bytes.writeTo( outputStream );
+    }
+
+  @Override
+  public void close()
+    {
+    }
+  };
+
+  /**
+   * Method writeVInt writes the given non-negative int value using seven bits per byte, the high bit marking
+   * that more bytes follow.
+   *
+   * @param stream of type DataOutputStream
+   * @param value  of type int
+   * @throws IOException when
+   */
+  public static void writeVInt( DataOutputStream stream, int value ) throws IOException
+    {
+    while( ( value & ~0x7F ) != 0 )
+      {
+      stream.writeByte( ( value & 0x7F ) | 0x80 );
+      value >>>= 7;
+      }
+
+    stream.writeByte( value );
+    }
+
+  public static void writeString( DataOutputStream stream, String value ) throws IOException
+    {
+    byte[] bytes = value.getBytes( "UTF-8" );
+
+    writeVInt( stream, bytes.length );
+    stream.write( bytes );
+    }
+
+  public LocalTupleOutputStream( OutputStream outputStream )
+    {
+    this( outputStream, SERIALIZABLE_ELEMENT_WRITER );
+    }
+
+  public LocalTupleOutputStream( OutputStream outputStream, ElementWriter elementWriter )
+    {
+    super( staticTupleElementWriters, outputStream, elementWriter );
+    }
+
+  @Override
+  protected void writeIntInternal( int value ) throws IOException
+    {
+    writeVInt( this, value );
+    }
+
+  public void writeIndexTuple( IndexTuple indexTuple ) throws IOException
+    {
+    writeIntInternal( indexTuple.getIndex() );
+    writeTuple( indexTuple.getTuple() );
+    }
+  }
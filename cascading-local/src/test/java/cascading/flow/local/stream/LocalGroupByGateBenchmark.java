@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.flow.local.stream;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+
+import cascading.flow.Flow;
+import cascading.flow.local.LocalFlowConnector;
+import cascading.operation.aggregator.Count;
+import cascading.operation.regex.RegexSplitter;
+import cascading.pipe.Each;
+import cascading.pipe.Every;
+import cascading.pipe.GroupBy;
+import cascading.pipe.Pipe;
+import cascading.scheme.local.TextLine;
+import cascading.tap.SinkMode;
+import cascading.tap.Tap;
+import cascading.tap.local.FileTap;
+import cascading.tuple.Fields;
+
+/**
+ * Class LocalGroupByGateBenchmark measures local mode GroupBy throughput as the number of concurrent source
+ * threads grows, holding the total number of tuples constant.
+ * <p/>
+ * This is not run as part of the test suite. To run:
+ * {@code java cascading.flow.local.stream.LocalGroupByGateBenchmark [maxSources] [totalLines] [numKeys]}
+ */
+public class LocalGroupByGateBenchmark
+  {
+  public static void main( String[] args ) throws IOException
+    {
+    int maxSources = args.length > 0 ? Integer.parseInt( args[ 0 ] ) : Runtime.getRuntime().availableProcessors();
+    int totalLines = args.length > 1 ? Integer.parseInt( args[ 1 ] ) : 2 * 1000 * 1000;
+    int numKeys = args.length > 2 ? Integer.parseInt( args[ 2 ] ) : 100 * 1000;
+
+    File root = new File( System.getProperty( "java.io.tmpdir" ), "cascading-groupby-benchmark" );
+
+    root.mkdirs();
+
+    run( root, 1, totalLines, numKeys ); // warm up
+
+    for( int numSources = 1; numSources <= maxSources; numSources++ )
+      {
+      long duration = run( root, numSources, totalLines, numKeys );
+
+      System.out.printf( "sources: %2d, duration: %6d ms, tuples/sec: %10.0f%n", numSources, duration, totalLines * 1000.0 / Math.max( 1, duration ) );
+      }
+    }
+
+  private static long run( File root, int numSources, int totalLines, int numKeys ) throws IOException
+    {
+    Map<String, Tap> sources = new HashMap<String, Tap>();
+    Pipe[] pipes = new Pipe[ numSources ];
+
+    for( int i = 0; i < numSources; i++ )
+      {
+      File file = writeInput( root, i, numSources, totalLines / numSources, numKeys );
+
+      sources.put( "source" + i, new FileTap( new TextLine( new Fields( "line" ) ), file.getPath() ) );
+      pipes[ i ] = new Each( new Pipe( "source" + i ), new Fields( "line" ), new RegexSplitter( new Fields( "key", "value" ), "\t" ) );
+      }
+
+    Pipe pipe = new GroupBy( pipes, new Fields( "key" ) );
+
+    pipe = new Every( pipe, new Count() );
+
+    Tap sink = new FileTap( new TextLine(), new File( root, "output" ).getPath(), SinkMode.REPLACE );
+
+    Flow flow = new LocalFlowConnector( new Properties() ).connect( sources, sink, pipe );
+
+    long start = System.currentTimeMillis();
+
+    flow.complete();
+
+    return System.currentTimeMillis() - start;
+    }
+
+  private static File writeInput( File root, int index, int numSources, int numLines, int numKeys ) throws IOException
+    {
+    File file = new File( root, "input-" + numSources + "-" + index + ".txt" );
+
+    if( file.exists() )
+      return file;
+
+    Random random = new Random( index );
+    PrintWriter writer = new PrintWriter( new FileWriter( file ) );
+
+    try
+      {
+      for( int i = 0; i < numLines; i++ )
+        writer.append( "key" ).append( Integer.toString( random.nextInt( numKeys ) ) ).append( '\t' ).append( Integer.toString( i ) ).append( '\n' );
+      }
+    finally
+      {
+      writer.close();
+      }
+
+    return file;
+    }
+  }
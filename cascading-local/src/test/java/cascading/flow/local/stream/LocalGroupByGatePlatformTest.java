@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.flow.local.stream;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import cascading.PlatformTestCase;
+import cascading.flow.Flow;
+import cascading.flow.FlowProps;
+import cascading.flow.local.LocalFlowConnector;
+import cascading.flow.local.LocalFlowProps;
+import cascading.operation.Identity;
+import cascading.operation.regex.RegexParser;
+import cascading.operation.regex.RegexSplitter;
+import cascading.pipe.Each;
+import cascading.pipe.GroupBy;
+import cascading.pipe.Pipe;
+import cascading.scheme.local.TextLine;
+import cascading.tap.SinkMode;
+import cascading.tap.Tap;
+import cascading.tap.local.FileTap;
+import cascading.tuple.Fields;
+import cascading.tuple.TupleEntryIterator;
+import org.junit.Test;
+
+import static data.InputData.inputFileApache200;
+
+/**
+ *
+ */
+public class LocalGroupByGatePlatformTest extends PlatformTestCase
+  {
+  @Test
+  public void testSpillGroupBy() throws IOException
+    {
+    runSpillComparison( "spillgroupby", false, false );
+    }
+
+  @Test
+  public void testSpillGroupBySorted() throws IOException
+    {
+    runSpillComparison( "spillgroupbysorted", true, false );
+    }
+
+  @Test
+  public void testSpillGroupBySortedReversed() throws IOException
+    {
+    runSpillComparison( "spillgroupbysortedreversed", true, true );
+    }
+
+  @Test
+  public void testHashGroupBy() throws IOException
+    {
+    runHashComparison( "hashgroupby", false );
+    }
+
+  @Test
+  public void testHashGroupBySorted() throws IOException
+    {
+    runHashComparison( "hashgroupbysorted", true );
+    }
+
+  private void runSpillComparison( String path, boolean sorted, boolean reversed ) throws IOException
+    {
+    List<String> expected = runGroupBy( path + "/memory", sorted, reversed, -1, false );
+    List<String> results = runGroupBy( path + "/spill", sorted, reversed, 1024, false );
+
+    assertEquals( 200, expected.size() );
+    assertEquals( expected, results );
+    }
+
+  private void runHashComparison( String path, boolean sorted ) throws IOException
+    {
+    List<String> expected = runGroupBy( path + "/sorted", sorted, false, -1, false );
+    List<String> results = runGroupBy( path + "/hashed", sorted, false, -1, true );
+
+    assertEquals( 200, results.size() );
+
+    // groups are emitted in no particular order, but the values within each group must be contiguous and ordered
+    assertEquals( byGroup( expected ), byGroup( results ) );
+    }
+
+  private Map<String, List<String>> byGroup( List<String> results )
+    {
+    Map<String, List<String>> groups = new TreeMap<String, List<String>>();
+    String last = null;
+
+    for( String result : results )
+      {
+      String key = result.substring( result.lastIndexOf( '\t' ) + 1 );
+
+      if( !key.equals( last ) )
+        assertFalse( "group not contiguous: " + key, groups.containsKey( key ) );
+
+      if( !groups.containsKey( key ) )
+        groups.put( key, new ArrayList<String>() );
+
+      groups.get( key ).add( result );
+      last = key;
+      }
+
+    return groups;
+    }
+
+  private List<String> runGroupBy( String path, boolean sorted, boolean reversed, long threshold, boolean hash ) throws IOException
+    {
+    Tap source = new FileTap( new TextLine( new Fields( "offset", "line" ) ), inputFileApache200 );
+    Tap sink = new FileTap( new TextLine(), getOutputPath( path ), SinkMode.REPLACE );
+
+    Pipe pipe = new Pipe( "spill" );
+
+    pipe = new Each( pipe, new Fields( "line" ), new RegexSplitter( new Fields( "ip", "rest" ), "\\s+-\\s+-\\s+" ) );
+    pipe = new Each( pipe, new Fields( "ip" ), new RegexParser( new Fields( "octet" ), "^[^.]*" ), Fields.ALL );
+    pipe = new Each( pipe, new Fields( "octet" ), new Identity( long.class ), Fields.REPLACE );
+
+    if( sorted )
+      pipe = new GroupBy( pipe, new Fields( "octet" ), new Fields( "rest" ), reversed );
+    else
+      pipe = new GroupBy( pipe, new Fields( "octet" ) );
+
+    pipe = new Each( pipe, new Identity() );
+
+    Map<Object, Object> properties = getProperties();
+
+    properties.putAll( LocalFlowProps.localFlowProps().setGroupBySpillThreshold( threshold ).buildProperties() );
+
+    if( hash )
+      FlowProps.setHashGrouping( properties, true );
+
+    Flow flow = new LocalFlowConnector( properties ).connect( source, sink, pipe );
+
+    flow.complete();
+
+    List<String> results = new ArrayList<String>();
+    TupleEntryIterator iterator = flow.openSink();
+
+    while( iterator.hasNext() )
+      results.add( iterator.next().getString( "line" ) );
+
+    iterator.close();
+
+    return results;
+    }
+  }
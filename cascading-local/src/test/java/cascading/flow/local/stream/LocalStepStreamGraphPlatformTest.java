@@ -0,0 +1,491 @@
+/*
+ * Copyright (c) 2007-2013 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cascading.flow.local.stream;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+
+import cascading.PlatformTestCase;
+import cascading.flow.Flow;
+import cascading.flow.FlowDef;
+import cascading.flow.FlowProcess;
+import cascading.flow.FlowProps;
+import cascading.flow.local.LocalFlowConnector;
+import cascading.flow.local.LocalFlowProcess;
+import cascading.flow.local.LocalFlowProps;
+import cascading.flow.local.LocalFlowStep;
+import cascading.flow.planner.BaseFlowStep;
+import cascading.flow.stream.Duct;
+import cascading.flow.stream.SourceStage;
+import cascading.operation.FilterCall;
+import cascading.operation.Identity;
+import cascading.operation.aggregator.Count;
+import cascading.operation.regex.RegexFilter;
+import cascading.operation.regex.RegexParser;
+import cascading.operation.regex.RegexReplace;
+import cascading.operation.regex.RegexSplitGenerator;
+import cascading.operation.regex.RegexSplitter;
+import cascading.operation.text.FieldJoiner;
+import cascading.pipe.Each;
+import cascading.pipe.Every;
+import cascading.pipe.GroupBy;
+import cascading.pipe.HashJoin;
+import cascading.pipe.Merge;
+import cascading.pipe.Pipe;
+import cascading.scheme.local.TextDelimited;
+import cascading.scheme.local.TextLine;
+import cascading.tap.SinkMode;
+import cascading.tap.Tap;
+import cascading.tap.local.FileTap;
+import cascading.tuple.Fields;
+import cascading.tuple.TupleEntryIterator;
+import org.junit.Test;
+
+import static data.InputData.inputFileApache;
+import static data.InputData.inputFileApache200;
+
+/**
+ *
+ */
+public class LocalStepStreamGraphPlatformTest extends PlatformTestCase
+  {
+  @Test
+  public void testPartitionedSourceGroupBy() throws IOException
+    {
+    List<String> expected = runGroupBy( "partitionedgroupby/single", 1, false, true );
+    List<String> results = runGroupBy( "partitionedgroupby/partitioned", 4, false, true );
+
+    assertEquals( expected, results );
+    assertEquals( 200, sumCounts( results ) );
+    }
+
+  @Test
+  public void testPartitionedSourceMerge() throws IOException
+    {
+    List<String> expected = runGroupBy( "partitionedmerge/single", 1, true, true );
+    List<String> results = runGroupBy( "partitionedmerge/partitioned", 4, true, true );
+
+    assertEquals( expected, results );
+    assertEquals( 400, sumCounts( results ) );
+    }
+
+  @Test
+  public void testMappedSource() throws IOException
+    {
+    List<String> expected = runGroupBy( "mappedsource/reader", 1, false, false );
+    List<String> results = runGroupBy( "mappedsource/mapped", 1, false, true );
+    List<String> partitioned = runGroupBy( "mappedsource/partitioned", 4, false, true );
+
+    assertEquals( expected, results );
+    assertEquals( expected, partitioned );
+    assertEquals( 200, sumCounts( results ) );
+    }
+
+  @Test
+  public void testUnpartitionedSourceSink() throws IOException
+    {
+    Tap source = new FileTap( new TextLine( new Fields( "line" ) ), inputFileApache200 );
+    Tap sink = new FileTap( new TextLine(), getOutputPath( "unpartitionedsink" ), SinkMode.REPLACE );
+
+    Pipe pipe = new Pipe( "unpartitioned" );
+
+    pipe = new Each( pipe, new Fields( "line" ), new RegexParser( new Fields( "ip" ), "^[^ ]*" ) );
+
+    Flow flow = new LocalFlowConnector( getPartitionedProperties( 1024 ) ).connect( source, sink, pipe );
+
+    assertEquals( 1, countSourceStages( flow ) );
+
+    flow.complete();
+
+    validateLength( flow, 200 );
+    }
+
+  @Test
+  public void testUnpartitionedSourceHashJoin() throws IOException
+    {
+    List<String> expected = runHashJoin( "unpartitionedjoin/single", 1 );
+    List<String> results = runHashJoin( "unpartitionedjoin/partitioned", 4 );
+
+    assertEquals( expected, results );
+    assertFalse( results.isEmpty() );
+    }
+
+  private List<String> runHashJoin( String path, int partitions ) throws IOException
+    {
+    Tap lhsSource = new FileTap( new TextLine( new Fields( "line" ) ), inputFileApache200 );
+    Tap rhsSource = new FileTap( new TextLine( new Fields( "line" ) ), inputFileApache );
+    Tap sink = new FileTap( new TextLine(), getOutputPath( path ), SinkMode.REPLACE );
+
+    Pipe lhs = new Each( new Pipe( "lhs" ), new Fields( "line" ), new RegexParser( new Fields( "ip" ), "^[^ ]*" ) );
+    Pipe rhs = new Each( new Pipe( "rhs" ), new Fields( "line" ), new RegexParser( new Fields( "ip2" ), "^[^ ]*" ) );
+
+    Pipe pipe = new HashJoin( lhs, new Fields( "ip" ), rhs, new Fields( "ip2" ) );
+
+    Map<String, Tap> sources = new HashMap<String, Tap>();
+
+    sources.put( "lhs", lhsSource );
+    sources.put( "rhs", rhsSource );
+
+    Map<Object, Object> properties = getProperties();
+
+    properties.putAll( LocalFlowProps.localFlowProps().setSourcePartitions( partitions ).setSourcePartitionMinSize( 256 ).buildProperties() );
+
+    Flow flow = new LocalFlowConnector( properties ).connect( sources, sink, pipe );
+
+    assertEquals( 2, countSourceStages( flow ) );
+
+    flow.complete();
+
+    List<String> results = readSorted( flow );
+
+    return results;
+    }
+
+  private Map<Object, Object> getPartitionedProperties( int minSize )
+    {
+    Map<Object, Object> properties = getProperties();
+
+    properties.putAll( LocalFlowProps.localFlowProps().setSourcePartitions( 4 ).setSourcePartitionMinSize( minSize ).buildProperties() );
+
+    return properties;
+    }
+
+  private int countSourceStages( Flow flow )
+    {
+    Properties properties = new Properties();
+
+    properties.putAll( flow.getConfigAsProperties() );
+
+    LocalStepStreamGraph graph = new LocalStepStreamGraph( new LocalFlowProcess( properties ), (LocalFlowStep) flow.getFlowSteps().get( 0 ) );
+    int count = 0;
+
+    for( Duct head : graph.getHeads() )
+      {
+      if( head instanceof SourceStage )
+        count++;
+      }
+
+    return count;
+    }
+
+  private List<String> readSorted( Flow flow ) throws IOException
+    {
+    List<String> results = new ArrayList<String>();
+    TupleEntryIterator iterator = flow.openSink();
+
+    while( iterator.hasNext() )
+      results.add( iterator.next().getString( "line" ) );
+
+    iterator.close();
+
+    Collections.sort( results );
+
+    return results;
+    }
+
+  @Test
+  public void testFusedEachStages() throws IOException
+    {
+    List<String> expected = runFiltered( "fusedeach/unfused", false );
+    List<String> results = runFiltered( "fusedeach/fused", true );
+
+    assertEquals( expected, results );
+    assertEquals( 37, results.size() );
+    }
+
+  @Test
+  public void testFusedFunctionStages() throws IOException
+    {
+    List<String> expected = runFunctions( "fusedfunctions/unfused", false );
+    List<String> results = runFunctions( "fusedfunctions/fused", true );
+
+    assertEquals( expected, results );
+    assertFalse( results.isEmpty() );
+    }
+
+  @Test
+  public void testFusedFunctionStagesTrapped() throws IOException
+    {
+    List<String> expected = runTrapped( "fusedtrapped/unfused", false );
+    List<String> results = runTrapped( "fusedtrapped/fused", true );
+
+    assertEquals( expected, results );
+
+    int trapped = results.indexOf( "trapped" );
+
+    assertTrue( trapped > 0 );
+    assertTrue( trapped < results.size() - 1 );
+    }
+
+  @Test
+  public void testFusedMixedStages() throws IOException
+    {
+    List<String> expected = runMixed( "fusedmixed/unfused", false );
+    List<String> results = runMixed( "fusedmixed/fused", true );
+
+    assertEquals( expected, results );
+    assertFalse( results.isEmpty() );
+    }
+
+  @Test
+  public void testFusedPushedFilters() throws IOException
+    {
+    Tap source = new FileTap( new TextDelimited( new Fields( "line" ), "\t" ), inputFileApache200 );
+    Tap sink = new FileTap( new TextLine(), getOutputPath( "fusedpushed" ), SinkMode.REPLACE );
+
+    Pipe pipe = new Pipe( "fused" );
+
+    pipe = new Each( pipe, new Fields( "line" ), new RegexFilter( "GET" ) );
+    pipe = new Each( pipe, new Fields( "line" ), new CountingFilter( "." ) );
+    pipe = new Each( pipe, new Fields( "line" ), new RegexParser( new Fields( "ip" ), "^[^ ]*" ), Fields.ALL );
+
+    Flow flow = new LocalFlowConnector( getProperties() ).connect( source, sink, pipe );
+
+    assertEquals( 2, ( (BaseFlowStep) flow.getFlowSteps().get( 0 ) ).getPushedFilters( source ).size() );
+
+    CountingFilter.evaluations.set( 0 );
+
+    flow.complete();
+
+    List<String> results = readSorted( flow );
+
+    // every line the scheme accepted is evaluated once, not again by the fused run
+    assertFalse( results.isEmpty() );
+    assertEquals( results.size(), CountingFilter.evaluations.get() );
+    }
+
+  /** A pushable filter counting its evaluations */
+  public static class CountingFilter extends RegexFilter
+    {
+    static final AtomicInteger evaluations = new AtomicInteger();
+
+    public CountingFilter( String patternString )
+      {
+      super( patternString );
+      }
+
+    @Override
+    public boolean isRemove( FlowProcess flowProcess, FilterCall<Matcher> filterCall )
+      {
+      evaluations.incrementAndGet();
+
+      return super.isRemove( flowProcess, filterCall );
+      }
+    }
+
+  private List<String> runTrapped( String path, boolean fuse ) throws IOException
+    {
+    Tap source = new FileTap( new TextLine( new Fields( "line" ) ), inputFileApache200 );
+    Tap sink = new FileTap( new TextLine(), getOutputPath( path + "/sink" ), SinkMode.REPLACE );
+    Tap trap = new FileTap( new TextLine(), getOutputPath( path + "/trap" ), SinkMode.REPLACE );
+
+    Pipe pipe = new Pipe( "fused" );
+
+    // emits several results per line, some of which fail the following parser and are trapped
+    pipe = new Each( pipe, new Fields( "line" ), new RegexParser( new Fields( "ip" ), "^[^ ]*" ), Fields.ALL );
+    pipe = new Each( pipe, new Fields( "ip" ), new RegexSplitGenerator( new Fields( "octet" ), "\\." ), Fields.ALL );
+    pipe = new Each( pipe, new Fields( "octet" ), new RegexParser( new Fields( "even" ), "[02468]$" ), Fields.ALL );
+    pipe = new Each( pipe, new Fields( "line" ), new RegexFilter( "GET" ) );
+    pipe = new Each( pipe, new Fields( "ip", "octet", "even" ), new Identity(), Fields.RESULTS );
+
+    Map<Object, Object> properties = getProperties();
+
+    FlowProps.setFuseEachStages( properties, fuse );
+
+    FlowDef flowDef = FlowDef.flowDef()
+      .addSource( pipe, source )
+      .addTailSink( pipe, sink )
+      .addTrap( pipe, trap );
+
+    Flow flow = new LocalFlowConnector( properties ).connect( flowDef );
+
+    flow.complete();
+
+    List<String> results = readLines( flow.openSink() );
+
+    results.add( "trapped" );
+    results.addAll( readLines( flow.openTrap() ) );
+
+    return results;
+    }
+
+  private List<String> runMixed( String path, boolean fuse ) throws IOException
+    {
+    Tap source = new FileTap( new TextLine( new Fields( "line" ) ), inputFileApache200 );
+    Tap sink = new FileTap( new TextLine(), getOutputPath( path ), SinkMode.REPLACE );
+
+    Pipe pipe = new Pipe( "fused" );
+
+    // the unknown fields of the splitter cannot be selected by position, the stages after the identity can
+    pipe = new Each( pipe, new Fields( "line" ), new RegexParser( new Fields( "ip" ), "^[^ ]*" ), Fields.ALL );
+    pipe = new Each( pipe, new Fields( "line" ), new RegexFilter( "GET" ) );
+    pipe = new Each( pipe, new Fields( "ip" ), new RegexSplitter( Fields.UNKNOWN, "\\." ), Fields.RESULTS );
+    pipe = new Each( pipe, new Fields( 0, 1 ), new Identity( new Fields( "first", "second" ) ), Fields.RESULTS );
+    pipe = new Each( pipe, new Fields( "second" ), new RegexFilter( "^1" ) );
+    pipe = new Each( pipe, new Fields( "first", "second" ), new FieldJoiner( new Fields( "joined" ), "." ), Fields.ALL );
+
+    Map<Object, Object> properties = getProperties();
+
+    FlowProps.setFuseEachStages( properties, fuse );
+
+    Flow flow = new LocalFlowConnector( properties ).connect( source, sink, pipe );
+
+    flow.complete();
+
+    return readLines( flow.openSink() );
+    }
+
+  private List<String> readLines( TupleEntryIterator iterator ) throws IOException
+    {
+    List<String> results = new ArrayList<String>();
+
+    while( iterator.hasNext() )
+      results.add( iterator.next().getString( "line" ) );
+
+    iterator.close();
+
+    return results;
+    }
+
+  private List<String> runFunctions( String path, boolean fuse ) throws IOException
+    {
+    Tap source = new FileTap( new TextLine( new Fields( "line" ) ), inputFileApache200 );
+    Tap sink = new FileTap( new TextLine(), getOutputPath( path ), SinkMode.REPLACE );
+
+    Pipe pipe = new Pipe( "fused" );
+
+    pipe = new Each( pipe, new Fields( "line" ), new RegexParser( new Fields( "ip" ), "^[^ ]*" ), Fields.ALL );
+    pipe = new Each( pipe, new Fields( "ip" ), new RegexReplace( new Fields( "ip" ), "\\.", "-", true ), Fields.REPLACE );
+    pipe = new Each( pipe, new Fields( "ip" ), new RegexSplitGenerator( new Fields( "octet" ), "-" ), Fields.ALL );
+    pipe = new Each( pipe, new Fields( "line" ), new RegexFilter( "GET" ) );
+    pipe = new Each( pipe, new Fields( "ip", "octet" ), new FieldJoiner( new Fields( "joined" ), ":" ), Fields.SWAP );
+    pipe = new Each( pipe, new Fields( "joined", "line" ), new Identity(), Fields.RESULTS );
+
+    Map<Object, Object> properties = getProperties();
+
+    FlowProps.setFuseEachStages( properties, fuse );
+
+    Flow flow = new LocalFlowConnector( properties ).connect( source, sink, pipe );
+
+    flow.complete();
+
+    List<String> results = new ArrayList<String>();
+    TupleEntryIterator iterator = flow.openSink();
+
+    while( iterator.hasNext() )
+      results.add( iterator.next().getString( "line" ) );
+
+    iterator.close();
+
+    return results;
+    }
+
+  private List<String> runFiltered( String path, boolean fuse ) throws IOException
+    {
+    Tap source = new FileTap( new TextLine( new Fields( "line" ) ), inputFileApache200 );
+    Tap sink = new FileTap( new TextLine(), getOutputPath( path ), SinkMode.REPLACE );
+
+    Pipe pipe = new Pipe( "fused" );
+
+    pipe = new Each( pipe, new Fields( "line" ), new RegexFilter( "GET" ) );
+    pipe = new Each( pipe, new Fields( "line" ), new RegexFilter( "HTTP/1.0", true ) );
+    pipe = new Each( pipe, new Fields( "line" ), new RegexParser( new Fields( "ip" ), "^[^ ]*" ), Fields.ALL );
+    pipe = new Each( pipe, new Fields( "ip" ), new RegexFilter( "^72\\." ) );
+    pipe = new Each( pipe, new Fields( "line" ), new RegexFilter( "\\.gif", true ) );
+    pipe = new Each( pipe, new Fields( "ip" ), new Identity() );
+
+    Map<Object, Object> properties = getProperties();
+
+    FlowProps.setFuseEachStages( properties, fuse );
+
+    Flow flow = new LocalFlowConnector( properties ).connect( source, sink, pipe );
+
+    flow.complete();
+
+    List<String> results = new ArrayList<String>();
+    TupleEntryIterator iterator = flow.openSink();
+
+    while( iterator.hasNext() )
+      results.add( iterator.next().getString( "line" ) );
+
+    iterator.close();
+
+    return results;
+    }
+
+  private List<String> runGroupBy( String path, int partitions, boolean merge, boolean mapped ) throws IOException
+    {
+    Tap source = new FileTap( new TextLine( new Fields( "line" ) ), inputFileApache200 );
+    Tap sink = new FileTap( new TextLine(), getOutputPath( path ), SinkMode.REPLACE );
+
+    Pipe pipe = new Pipe( "partitioned" );
+
+    pipe = new Each( pipe, new Fields( "line" ), new RegexParser( new Fields( "ip" ), "^[^ ]*" ) );
+
+    if( merge )
+      {
+      Pipe lhs = new Each( new Pipe( "lhs", pipe ), new Identity() );
+      Pipe rhs = new Each( new Pipe( "rhs", pipe ), new Identity() );
+
+      pipe = new Merge( lhs, rhs );
+      }
+
+    pipe = new GroupBy( pipe, new Fields( "ip" ) );
+    pipe = new Every( pipe, new Count() );
+
+    Map<Object, Object> properties = getProperties();
+
+    properties.putAll( LocalFlowProps.localFlowProps().setSourcePartitions( partitions ).setSourcePartitionMinSize( 1024 ).setSourceMapped( mapped ).buildProperties() );
+
+    Flow flow = new LocalFlowConnector( properties ).connect( source, sink, pipe );
+
+    flow.complete();
+
+    List<String> results = new ArrayList<String>();
+    TupleEntryIterator iterator = flow.openSink();
+
+    while( iterator.hasNext() )
+      results.add( iterator.next().getString( "line" ) );
+
+    iterator.close();
+
+    Collections.sort( results );
+
+    return results;
+    }
+
+  private int sumCounts( List<String> results )
+    {
+    int sum = 0;
+
+    for( String result : results )
+      sum += Integer.parseInt( result.substring( result.lastIndexOf( '\t' ) + 1 ) );
+
+    return sum;
+    }
+  }
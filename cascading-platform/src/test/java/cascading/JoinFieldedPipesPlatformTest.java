@@ -48,6 +48,7 @@ import cascading.tap.SinkMode;
 import cascading.tap.Tap;
 import cascading.tuple.Fields;
 import cascading.tuple.Tuple;
+import cascading.tuple.collect.SpillableProps;
 import org.junit.Test;
 
 import static data.InputData.*;
@@ -512,6 +513,26 @@ public class JoinFieldedPipesPlatformTest extends PlatformTestCase
     if( getPlatform().isMapReduce() && getPlatform().isUseCluster() )
       return;
 
+    handleJoins( "joinouter", new OuterJoin(), getOuterJoinResults() );
+    }
+
+  /** Forces the accumulated side to be hash partitioned, where supported, joining a partition at a time. */
+  @Test
+  public void testJoinOuterPartitioned() throws Exception
+    {
+    // skip if hadoop cluster mode, outer joins don't behave the same
+    if( getPlatform().isMapReduce() && getPlatform().isUseCluster() )
+      return;
+
+    Map<Object, Object> properties = getProperties();
+
+    properties.putAll( SpillableProps.spillableProps().setJoinThreshold( 1 ).setJoinPartitions( 3 ).buildProperties() );
+
+    handleJoins( "joinouterpartitioned", new OuterJoin(), getOuterJoinResults(), properties );
+    }
+
+  private Set<Tuple> getOuterJoinResults()
+    {
     Set<Tuple> results = new HashSet<Tuple>();
 
     results.add( new Tuple( "1\ta1\t1\tA1" ) );
@@ -541,7 +562,7 @@ public class JoinFieldedPipesPlatformTest extends PlatformTestCase
     results.add( new Tuple( "7\tg4\tnull\tnull" ) );
     results.add( new Tuple( "7\tg5\tnull\tnull" ) );
 
-    handleJoins( "joinouter", new OuterJoin(), results );
+    return results;
     }
 
   /**
@@ -711,6 +732,11 @@ public class JoinFieldedPipesPlatformTest extends PlatformTestCase
     }
 
   private void handleJoins( String path, Joiner joiner, Set<Tuple> results ) throws Exception
+    {
+    handleJoins( path, joiner, results, getProperties() );
+    }
+
+  private void handleJoins( String path, Joiner joiner, Set<Tuple> results, Map<Object, Object> properties ) throws Exception
     {
     getPlatform().copyFromLocal( inputFileLhsSparse );
     getPlatform().copyFromLocal( inputFileRhsSparse );
@@ -735,7 +761,7 @@ public class JoinFieldedPipesPlatformTest extends PlatformTestCase
 
     splice = new Each( splice, Fields.ALL, new Identity(), Fields.RESULTS );
 
-    Flow flow = getPlatform().getFlowConnector().connect( sources, sink, splice );
+    Flow flow = getPlatform().getFlowConnector( properties ).connect( sources, sink, splice );
 
     flow.complete();
 
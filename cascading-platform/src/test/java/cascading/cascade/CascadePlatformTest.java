@@ -21,6 +21,7 @@
 package cascading.cascade;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
@@ -173,6 +174,42 @@ public class CascadePlatformTest extends PlatformTestCase
     assertTrue( cascade.getSinkTaps().containsAll( fourth.getSinksCollection() ) );
     }
 
+  @Test
+  public void testShareScansCascade() throws IOException
+    {
+    getPlatform().copyFromLocal( inputFileIps );
+
+    String path = "sharescans";
+
+    Flow first = firstFlow( path + "/first" );
+    Flow second = secondFlow( first.getSink(), path + "/second" );
+    Flow fourth = fourthFlow( first.getSink(), path + "/fourth" );
+
+    Map<Object, Object> properties = new HashMap<Object, Object>();
+
+    CascadeProps.setShareScans( properties, true );
+
+    Cascade cascade = new CascadeConnector( properties ).connect( fourth, second, first );
+
+    assertTrue( cascade.getFlows().contains( first ) );
+    assertEquals( 2, cascade.getFlows().size() );
+    assertFalse( cascade.getFlows().contains( second ) );
+    assertFalse( cascade.getFlows().contains( fourth ) );
+
+    for( Flow flow : cascade.getFlows() )
+      assertEquals( 1, flow.getFlowSteps().size() );
+
+    cascade.start();
+
+    cascade.complete();
+
+    validateLength( second, 20, 4 );
+    validateLength( fourth, 20 );
+
+    assertTrue( cascade.getSinkTaps().containsAll( second.getSinksCollection() ) );
+    assertTrue( cascade.getSinkTaps().containsAll( fourth.getSinksCollection() ) );
+    }
+
   @Test
   public void testMultiTapCascade() throws IOException
     {
@@ -21,11 +21,19 @@
 package cascading.scheme;
 
 import java.io.IOException;
+import java.util.Map;
 
 import cascading.ComparePlatformsTest;
 import cascading.PlatformTestCase;
 import cascading.flow.Flow;
+import cascading.flow.planner.BaseFlowStep;
+import cascading.operation.expression.ExpressionFilter;
+import cascading.operation.filter.Not;
+import cascading.operation.regex.RegexFilter;
+import cascading.pipe.Each;
 import cascading.pipe.Pipe;
+import cascading.pipe.assembly.Discard;
+import cascading.scheme.util.DelimitedParser;
 import cascading.tap.SinkMode;
 import cascading.tap.Tap;
 import cascading.tuple.Fields;
@@ -47,28 +55,40 @@ public class TextDelimitedPlatformTest extends PlatformTestCase
   @Test
   public void testQuotedText() throws IOException
     {
-    runQuotedText( "normchar", testDelimited, ",", false );
+    runQuotedText( "normchar", testDelimited, ",", false, true );
     }
 
   @Test
   public void testQuotedTextAll() throws IOException
     {
-    runQuotedText( "normchar", testDelimited, ",", true );
+    runQuotedText( "normchar", testDelimited, ",", true, true );
     }
 
   @Test
   public void testQuotedTextSpecChar() throws IOException
     {
-    runQuotedText( "specchar", testDelimitedSpecialCharData, "|", false );
+    runQuotedText( "specchar", testDelimitedSpecialCharData, "|", false, true );
     }
 
   @Test
   public void testQuotedTextSpecCharAll() throws IOException
     {
-    runQuotedText( "specchar", testDelimitedSpecialCharData, "|", true );
+    runQuotedText( "specchar", testDelimitedSpecialCharData, "|", true, true );
     }
 
-  private void runQuotedText( String path, String inputData, String delimiter, boolean useAll ) throws IOException
+  @Test
+  public void testQuotedTextRegex() throws IOException
+    {
+    runQuotedText( "normchar", testDelimited, ",", false, false );
+    }
+
+  @Test
+  public void testQuotedTextSpecCharRegex() throws IOException
+    {
+    runQuotedText( "specchar", testDelimitedSpecialCharData, "|", false, false );
+    }
+
+  private void runQuotedText( String path, String inputData, String delimiter, boolean useAll, boolean fastPath ) throws IOException
     {
     Object[][] results = new Object[][]{
       {"foo", "bar", "baz", "bin", 1L},
@@ -111,11 +131,15 @@ public class TextDelimitedPlatformTest extends PlatformTestCase
       }
 
     Tap input = getPlatform().getDelimitedFile( fields, false, delimiter, "\"", types, inputData, SinkMode.KEEP );
-    Tap output = getPlatform().getDelimitedFile( fields, false, delimiter, "\"", types, getOutputPath( "quoted/" + path + "" + useAll ), SinkMode.REPLACE );
+    Tap output = getPlatform().getDelimitedFile( fields, false, delimiter, "\"", types, getOutputPath( "quoted/" + path + "" + useAll + fastPath ), SinkMode.REPLACE );
 
     Pipe pipe = new Pipe( "pipe" );
 
-    Flow flow = getPlatform().getFlowConnector().connect( input, output, pipe );
+    Map<Object, Object> properties = getProperties();
+
+    properties.put( DelimitedParser.FAST_PATH, Boolean.toString( fastPath ) );
+
+    Flow flow = getPlatform().getFlowConnector( properties ).connect( input, output, pipe );
 
     flow.complete();
 
@@ -222,4 +246,63 @@ public class TextDelimitedPlatformTest extends PlatformTestCase
       // ignore
       }
     }
+
+  @Test
+  public void testProjectedFields() throws IOException
+    {
+    Class[] types = new Class[]{int.class, String.class, String.class};
+    Fields fields = new Fields( "num", "lower", "upper" );
+
+    Tap input = getPlatform().getDelimitedFile( fields, false, false, "\t", "\"", types, inputFileJoined, SinkMode.KEEP );
+    Tap output = getPlatform().getDelimitedFile( new Fields( "num", "upper" ), false, false, "\t", "\"", null, getOutputPath( "projected" ), SinkMode.REPLACE );
+
+    Pipe pipe = new Pipe( "pipe" );
+
+    pipe = new Discard( pipe, new Fields( "lower" ) );
+
+    Flow flow = getPlatform().getFlowConnector().connect( input, output, pipe );
+
+    Fields projected = ( (BaseFlowStep) flow.getFlowSteps().get( 0 ) ).getProjectedSourceFields( input );
+
+    assertEquals( new Fields( 0, 2 ), projected );
+
+    flow.complete();
+
+    validateLength( flow, 5, 2 );
+
+    TupleEntryIterator iterator = flow.openSink();
+
+    assertEquals( new Tuple( "1", "A" ), iterator.next().getTuple() );
+
+    iterator.close();
+    }
+
+  @Test
+  public void testPushedFilters() throws IOException
+    {
+    Class[] types = new Class[]{int.class, String.class, String.class};
+    Fields fields = new Fields( "num", "lower", "upper" );
+
+    Tap input = getPlatform().getDelimitedFile( fields, false, false, "\t", "\"", types, inputFileJoined, SinkMode.KEEP );
+    Tap output = getPlatform().getDelimitedFile( fields, false, false, "\t", "\"", null, getOutputPath( "pushed" ), SinkMode.REPLACE );
+
+    Pipe pipe = new Pipe( "pipe" );
+
+    pipe = new Each( pipe, new Fields( "lower" ), new RegexFilter( "[a-c]" ) );
+    pipe = new Each( pipe, new Fields( "num" ), new Not( new ExpressionFilter( "$0 == 2", Integer.TYPE ) ) );
+
+    Flow flow = getPlatform().getFlowConnector().connect( input, output, pipe );
+
+    assertEquals( 2, ( (BaseFlowStep) flow.getFlowSteps().get( 0 ) ).getPushedFilters( input ).size() );
+
+    flow.complete();
+
+    validateLength( flow, 1, 3 );
+
+    TupleEntryIterator iterator = flow.openSink();
+
+    assertEquals( new Tuple( "2", "b", "B" ), iterator.next().getTuple() );
+
+    iterator.close();
+    }
   }